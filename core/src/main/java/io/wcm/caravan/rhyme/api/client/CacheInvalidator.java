@@ -0,0 +1,79 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.impl.client.cache.CacheInvalidatorImpl;
+
+/**
+ * Allows to invalidate cached responses of the caching {@link HalResourceLoader} created by
+ * {@link HalResourceLoaderBuilder}, e.g. when you are notified that the content of an upstream service has changed.
+ * This allows to use much longer max-age values for resources that are rarely updated. Create an instance with
+ * {@link #create()}, pass it to {@link HalResourceLoaderBuilder#withCacheInvalidator(CacheInvalidator)}, and then
+ * keep a reference to the instance to invalidate responses whenever required. The same instance can also be shared by
+ * multiple {@link HalResourceLoader}s.
+ * <p>
+ * Invalidated responses will no longer be used by the caching {@link HalResourceLoader}, and will be removed from
+ * the underlying {@link HalResponseCache} (if it is supporting {@link HalResponseCache#remove(String)}). The
+ * next request for the same URI will then again be forwarded to the upstream service.
+ * </p>
+ * <p>
+ * Invalidation by prefix and tag is based on an index of the responses that were stored in (or loaded from) cache
+ * since the {@link HalResourceLoader} was created, so responses that were stored by another instance (e.g. in a
+ * persistent cache before a restart) will only be found after they have been requested again. Loaders that were
+ * built with {@link HalResourceLoaderBuilder#buildCloseable()} are no longer referenced by this instance once they
+ * are closed.
+ * </p>
+ */
+@ProviderType
+public interface CacheInvalidator {
+
+  /**
+   * @return a new instance to be passed to {@link HalResourceLoaderBuilder#withCacheInvalidator(CacheInvalidator)}
+   */
+  static CacheInvalidator create() {
+    return new CacheInvalidatorImpl();
+  }
+
+  /**
+   * Invalidates the cached response for a single URI
+   * @param uri the absolute URI of the resource
+   * @return the number of cached responses that were invalidated
+   */
+  int invalidate(String uri);
+
+  /**
+   * Invalidates the cached responses for all URIs starting with the given prefix
+   * @param uriPrefix e.g. the base URL of an upstream service, or a path within it
+   * @return the number of cached responses that were invalidated
+   */
+  int invalidateByPrefix(String uriPrefix);
+
+  /**
+   * Invalidates the cached responses for which the given tag was returned by
+   * {@link CachingConfiguration#getInvalidationTags(io.wcm.caravan.rhyme.api.common.HalResponse)}
+   * @param tag a tag extracted from cached responses
+   * @return the number of cached responses that were invalidated
+   */
+  int invalidateByTag(String tag);
+}
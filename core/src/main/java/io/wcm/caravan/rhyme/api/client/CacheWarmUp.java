@@ -0,0 +1,130 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.cache.CacheWarmUpImpl;
+
+/**
+ * A fluent builder to fill the cache of a {@link HalResourceLoader} (created with {@link HalResourceLoaderBuilder})
+ * before your service starts taking traffic. Starting from a set of entry point URLs, it loads all resources that are
+ * linked (directly or from embedded resources) with the selected relations, up to a maximum depth and number
+ * of resources.
+ * <p>
+ * The {@link Single} returned by {@link #start()} starts a new crawl (with its own progress) for each subscription.
+ * </p>
+ */
+@ProviderType
+public interface CacheWarmUp {
+
+  /**
+   * @param resourceLoader the (caching) loader that should be used to load all resources
+   * @return a new {@link CacheWarmUp} to start building
+   */
+  static CacheWarmUp create(HalResourceLoader resourceLoader) {
+    return new CacheWarmUpImpl(resourceLoader);
+  }
+
+  /**
+   * Add an URL from which crawling will start. You must call this method at least once.
+   * @param url the URL of an entry point
+   * @return this
+   */
+  CacheWarmUp withEntryPoint(String url);
+
+  /**
+   * Only follow links with the given relation. If you never call this method, links with all relations (except for
+   * "curies") will be followed.
+   * @param relation a link relation to be followed
+   * @return this
+   */
+  CacheWarmUp withRelation(String relation);
+
+  /**
+   * @param maxDepth the maximum number of links to follow from the entry points (default: 3, must not be negative)
+   * @return this
+   */
+  CacheWarmUp withMaxDepth(int maxDepth);
+
+  /**
+   * @param maxConcurrency the maximum number of resources that are loaded concurrently (default: 4, must be greater
+   *          than 0)
+   * @return this
+   */
+  CacheWarmUp withMaxConcurrency(int maxConcurrency);
+
+  /**
+   * @param maxNumResources the maximum number of resources to load (default: 1000, must be greater than 0)
+   * @return this
+   */
+  CacheWarmUp withLimit(int maxNumResources);
+
+  /**
+   * @param listener a function that will be called with the current progress after each resource has been loaded
+   * @return this
+   */
+  CacheWarmUp withProgressListener(Consumer<Progress> listener);
+
+  /**
+   * Start crawling the resources
+   * @return a {@link Single} that emits the final progress when all resources have been loaded (even if loading some
+   *         of them failed)
+   */
+  Single<Progress> start();
+
+  /**
+   * Provides information on the progress of a {@link CacheWarmUp}
+   */
+  @ProviderType
+  interface Progress {
+
+    /**
+     * @return the number of resources that were successfully loaded
+     */
+    int getNumLoaded();
+
+    /**
+     * @return the number of resources for which loading failed
+     */
+    int getNumFailed();
+
+    /**
+     * @return the number of resources at the current depth that haven't been loaded yet (links found in these
+     *         resources are only counted when the crawl proceeds to the next depth)
+     */
+    int getNumPending();
+
+    /**
+     * @return the time that has passed since the warm-up was started
+     */
+    Duration getElapsedTime();
+
+    /**
+     * @return true if the warm-up has completed
+     */
+    boolean isCompleted();
+  }
+}
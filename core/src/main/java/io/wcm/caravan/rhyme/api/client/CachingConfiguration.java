@@ -19,10 +19,13 @@
  */
 package io.wcm.caravan.rhyme.api.client;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 import org.osgi.annotation.versioning.ConsumerType;
 
+import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 
@@ -50,4 +53,119 @@ public interface CachingConfiguration {
    * @return true if error responses should be cached as well
    */
   boolean isCachingOfHalApiClientExceptionsEnabled();
+
+  /**
+   * Determines whether responses that are already stale may still be served from cache (according to the
+   * "stale-while-revalidate" and "stale-if-error" directives from RFC 5861). If this is enabled, a stale response
+   * will be returned immediately while it is still within its stale-while-revalidate window, and a fresh response
+   * will be loaded in the background. If the upstream request fails, a stale response will be returned instead as long
+   * as it is still within its stale-if-error window.
+   * @return true if stale responses should be served from cache
+   */
+  default boolean isServingOfStaleResponsesEnabled() {
+    return false;
+  }
+
+  /**
+   * Determines for how long a stale response that doesn't have a "cache-control: stale-while-revalidate" directive can
+   * be served from cache while a fresh response is loaded in the background. This is only used if
+   * {@link #isServingOfStaleResponsesEnabled()} returns true
+   * @param statusCode of the HTTP response (can be empty if the request failed without a status code)
+   * @return the number of seconds (after the max-age has expired) for which the stale response can still be used
+   */
+  default int getDefaultStaleWhileRevalidate(Optional<Integer> statusCode) {
+    return 0;
+  }
+
+  /**
+   * Determines for how long a stale response that doesn't have a "cache-control: stale-if-error" directive can be
+   * served from cache if the upstream request to revalidate it fails. This is only used if
+   * {@link #isServingOfStaleResponsesEnabled()} returns true
+   * @param statusCode of the HTTP response (can be empty if the request failed without a status code)
+   * @return the number of seconds (after the max-age has expired) for which the stale response can still be used
+   */
+  default int getDefaultStaleIfError(Optional<Integer> statusCode) {
+    return 0;
+  }
+
+  /**
+   * Determines whether frequently requested responses should be refreshed in the background before they expire, so that
+   * a popular resource never has to be loaded while the caller is waiting. A fresh response is refreshed as soon as
+   * {@link #getRefreshAheadFactor()} of its max-age has passed, but only if it was read from cache at least
+   * {@link #getRefreshAheadMinimumHits()} times since it was stored.
+   * @return true if hot responses should be refreshed ahead of expiry
+   */
+  default boolean isRefreshAheadEnabled() {
+    return false;
+  }
+
+  /**
+   * Determines after which fraction of a response's max-age a refresh in the background will be started. This is only
+   * used if {@link #isRefreshAheadEnabled()} returns true
+   * @return a value between 0 and 1
+   */
+  default double getRefreshAheadFactor() {
+    return 0.75;
+  }
+
+  /**
+   * Determines how often a cached response must have been read (since it was stored in cache) to be considered hot
+   * enough to be refreshed ahead of expiry. This is only used if {@link #isRefreshAheadEnabled()} returns true
+   * @return the minimum number of cache hits
+   */
+  default int getRefreshAheadMinimumHits() {
+    return 2;
+  }
+
+  /**
+   * Limits the number of background refreshes that are started within a second, to avoid that a large number of hot
+   * responses with the same max-age will result in a burst of upstream requests. This is only used if
+   * {@link #isRefreshAheadEnabled()} returns true
+   * @return the maximum number of refresh-ahead requests per second
+   */
+  default int getMaxRefreshAheadRequestsPerSecond() {
+    return 10;
+  }
+
+  /**
+   * Determines whether the max-age of successful responses that don't have a "cache-control: max-age" directive
+   * should be adapted to how often the resource is actually changing. Whenever a response for the same URI is
+   * retrieved again, its body is compared with the previous response: if it didn't change, the max-age is doubled,
+   * otherwise it is halved. The first response for each URI will use {@link #getDefaultMaxAge(Optional)}, and
+   * the adapted max-age will always be between {@link #getMinAdaptiveMaxAge()} and
+   * {@link #getMaxAdaptiveMaxAge()}.
+   * @return true if the max-age should be adapted
+   */
+  default boolean isAdaptiveMaxAgeEnabled() {
+    return false;
+  }
+
+  /**
+   * Defines the lower bound for the adapted max-age of a resource that changes frequently. This is only used if
+   * {@link #isAdaptiveMaxAgeEnabled()} returns true
+   * @return the minimum number of seconds
+   */
+  default int getMinAdaptiveMaxAge() {
+    return 10;
+  }
+
+  /**
+   * Defines the upper bound for the adapted max-age of a resource that rarely changes. This is only used if
+   * {@link #isAdaptiveMaxAgeEnabled()} returns true
+   * @return the maximum number of seconds
+   */
+  default int getMaxAdaptiveMaxAge() {
+    return 3600;
+  }
+
+  /**
+   * Extracts tags from a response that is stored in cache, so that all responses with a given tag can later be
+   * invalidated at once with {@link CacheInvalidator#invalidateByTag(String)}. You can for example return the
+   * IDs of all entities that were used to render the response (if your upstream service is including them).
+   * @param response that is about to be stored in cache
+   * @return the tags for the given response (the default implementation returns an empty list)
+   */
+  default Collection<String> getInvalidationTags(HalResponse response) {
+    return Collections.emptyList();
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.cache.CachingStatisticsImpl;
+
+/**
+ * Provides live statistics on the cache usage and upstream requests of the caching {@link HalResourceLoader}
+ * created by {@link HalResourceLoaderBuilder}. Create an instance with {@link #create()}, pass it to
+ * {@link HalResourceLoaderBuilder#withCachingStatistics(CachingStatistics)}, and then keep a reference to the
+ * instance to query the counters whenever you need them (e.g. to expose them to your monitoring system).
+ * <p>
+ * All values are cumulative since the instance was created. The same instance can also be shared by multiple
+ * {@link HalResourceLoader}s, and will then provide the aggregated values.
+ * </p>
+ */
+@ProviderType
+public interface CachingStatistics {
+
+  /**
+   * @return the number of requests that were served with a fresh response from cache (including cached error
+   *         responses)
+   */
+  long getHitCount();
+
+  /**
+   * @return the number of requests for which no usable response was found in cache, and an upstream request was
+   *         required
+   */
+  long getMissCount();
+
+  /**
+   * @return the number of requests that were served with a stale response from cache (because it was within its
+   *         "stale-while-revalidate" window, or the upstream request failed within its "stale-if-error" window)
+   */
+  long getStaleHitCount();
+
+  /**
+   * @return the ratio of fresh and stale hits to all requests (or 0 if there wasn't any request yet)
+   */
+  double getHitRatio();
+
+  /**
+   * @return the number of upstream requests that were executed (including requests in the background)
+   */
+  long getUpstreamRequestCount();
+
+  /**
+   * @return the number of upstream requests that failed (with or without a status code)
+   */
+  long getUpstreamFailureCount();
+
+  /**
+   * @return a map with the number of upstream responses for each status code. Requests that failed without any
+   *         response are not included.
+   */
+  Map<Integer, Long> getUpstreamResponseCountByStatus();
+
+  /**
+   * @return the average time between starting an upstream request and receiving the parsed response
+   */
+  Duration getAverageUpstreamLatency();
+
+  /**
+   * @param percentile a value between 0 and 100
+   * @return an upper bound for the time in which the given percentage of upstream requests was completed. Latencies
+   *         are collected in exponential buckets, so the value is only an approximation
+   */
+  Duration getUpstreamLatencyPercentile(double percentile);
+
+  /**
+   * @return the number of upstream requests that were started in the background to refresh responses ahead of expiry
+   * @see CachingConfiguration#isRefreshAheadEnabled()
+   */
+  long getRefreshAheadCount();
+
+  /**
+   * @return the number of callers that didn't need to start their own upstream request, because a request to the same
+   *         URL was already in flight. This is only available in the overall statistics, and will be zero in the
+   *         statistics for individual hosts.
+   */
+  long getCoalescedRequestCount();
+
+  /**
+   * @return the number of responses that were evicted from the cache because its size limit was reached or the
+   *         time-to-idle expired. This is only available in the overall statistics, and is counted by all caches
+   *         that can be enabled with {@link HalResourceLoaderBuilder} (for a second-level cache, only the evictions
+   *         from the in-memory cache in front of it are counted). Evictions from custom caches are only counted if
+   *         they implement {@link io.wcm.caravan.rhyme.api.spi.HalResponseCache#getEvictionCount()}.
+   */
+  long getEvictionCount();
+
+  /**
+   * @return the estimated number of bytes that are currently used by all responses in the in-memory cache. This is
+   *         only available in the overall statistics (and for caches created with
+   *         {@link HalResourceLoaderBuilder#withMemoryBudgetCache(long, java.time.Duration)} or
+   *         {@link HalResourceLoaderBuilder#withOffHeapCache(long, java.time.Duration, boolean)}), and will be zero
+   *         otherwise.
+   */
+  long getWeightInBytes();
+
+  /**
+   * @return a map with separate statistics for each upstream host (where resources with relative URIs are grouped
+   *         under an empty string). The statistics for each host will not contain any further breakdown.
+   */
+  Map<String, CachingStatistics> getStatisticsByHost();
+
+  /**
+   * @return a new instance to be passed to {@link HalResourceLoaderBuilder#withCachingStatistics(CachingStatistics)}
+   */
+  static CachingStatistics create() {
+    return new CachingStatisticsImpl();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.CircuitBreakerImpl;
+
+/**
+ * Keeps track of failed upstream requests for each host, and makes the {@link HalResourceLoader} created by
+ * {@link HalResourceLoaderBuilder} fail fast while a host is considered to be unreachable. Create an instance with
+ * {@link #create()} or {@link #create(int, Duration)}, pass it to
+ * {@link HalResourceLoaderBuilder#withCircuitBreaker(CircuitBreaker)}, and keep a reference to the instance if you
+ * want to monitor the state of the upstream hosts.
+ * <p>
+ * After a number of consecutive requests to the same host failed without a response (or with status 503 or 504),
+ * the circuit for this host is opened, and all further requests will immediately fail with a
+ * {@link HalApiClientException} (without status code). After the open duration has passed, a single probe request
+ * is let through. If it succeeds the circuit is closed again, otherwise it stays open for another period.
+ * </p>
+ * <p>
+ * If caching is enabled, responses that are available in cache are still served while the circuit is open (and
+ * stale responses can be used if {@link CachingConfiguration#isServingOfStaleResponsesEnabled()} is enabled).
+ * </p>
+ */
+@ProviderType
+public interface CircuitBreaker {
+
+  /**
+   * The state of the circuit for a specific host
+   */
+  enum State {
+
+    /**
+     * Requests are forwarded to the host
+     */
+    CLOSED,
+
+    /**
+     * Requests fail immediately, because the host was unreachable
+     */
+    OPEN,
+
+    /**
+     * A single probe request is forwarded to the host to check if it's reachable again
+     */
+    HALF_OPEN
+  }
+
+  /**
+   * @return a new instance that opens the circuit after 5 consecutive failures for 30 seconds
+   */
+  static CircuitBreaker create() {
+    return new CircuitBreakerImpl();
+  }
+
+  /**
+   * @param failureThreshold the number of consecutive failed requests after which the circuit will be opened
+   * @param openDuration for how long requests will fail immediately before another request is let through
+   * @return a new instance
+   */
+  static CircuitBreaker create(int failureThreshold, Duration openDuration) {
+    return new CircuitBreakerImpl(failureThreshold, openDuration);
+  }
+
+  /**
+   * @param host the host name from a request URI
+   * @return the current state of the circuit for the given host ({@link State#CLOSED} if no requests to this host
+   *         were made yet)
+   */
+  State getState(String host);
+
+  /**
+   * @return the current state of the circuits for all hosts to which requests were made
+   */
+  Map<String, State> getStates();
+
+  /**
+   * @return the number of requests that failed immediately because the circuit for the host was open
+   */
+  long getRejectedRequestCount();
+}
@@ -0,0 +1,40 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+
+/**
+ * A {@link HalResourceLoader} created with {@link HalResourceLoaderBuilder#buildCloseable()} that should be closed
+ * when your application is shut down (or the loader is no longer used). This will complete all pending writes to the
+ * cache, stop background tasks and release the files that are used by a persistent cache.
+ */
+@ProviderType
+public interface CloseableHalResourceLoader extends HalResourceLoader, AutoCloseable {
+
+  /**
+   * Completes all pending writes to the cache, and releases the resources held by the loader and its cache. The loader
+   * must not be used anymore after this method was called.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import java.util.Map;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.ConcurrencyLimiterImpl;
+
+/**
+ * Limits the number of concurrent upstream requests to each host that are executed by the {@link HalResourceLoader}
+ * created by {@link HalResourceLoaderBuilder}. Create an instance with {@link #create()} or
+ * {@link #create(int, int, int)}, pass it to {@link HalResourceLoaderBuilder#withConcurrencyLimiter(ConcurrencyLimiter)},
+ * and keep a reference to the instance if you want to monitor the current limits and queue sizes.
+ * <p>
+ * The limit for each host is adjusted automatically: it is slowly increased while the limit is actually used and
+ * responses arrive without delay, and decreased by 10% whenever a request fails (without a response, or with status
+ * 503 or 504) or takes more than twice as long as usual. Requests that exceed the current limit are queued until another
+ * request to the same host has completed. If the queue for a host is full, further requests will immediately fail with
+ * a {@link HalApiClientException} (without status code).
+ * </p>
+ */
+@ProviderType
+public interface ConcurrencyLimiter {
+
+  /**
+   * @return a new instance that starts with a limit of 10 concurrent requests per host (which can increase up to
+   *         100), and queues up to 100 requests per host
+   */
+  static ConcurrencyLimiter create() {
+    return new ConcurrencyLimiterImpl();
+  }
+
+  /**
+   * @param initialLimit the number of concurrent requests that are allowed for a host before any responses were
+   *          received
+   * @param maxLimit the upper bound for the adjusted limit
+   * @param maxQueueSize the maximum number of requests per host that are waiting to be executed
+   * @return a new instance
+   */
+  static ConcurrencyLimiter create(int initialLimit, int maxLimit, int maxQueueSize) {
+    return new ConcurrencyLimiterImpl(initialLimit, maxLimit, maxQueueSize);
+  }
+
+  /**
+   * @param host the host name from a request URI
+   * @return the current limit of concurrent requests for the given host
+   */
+  int getLimit(String host);
+
+  /**
+   * @return the current limit of concurrent requests for all hosts to which requests were made
+   */
+  Map<String, Integer> getLimits();
+
+  /**
+   * @param host the host name from a request URI
+   * @return the number of requests to the given host that are currently waiting to be executed
+   */
+  int getQueueSize(String host);
+
+  /**
+   * @return the number of waiting requests for all hosts to which requests were made
+   */
+  Map<String, Integer> getQueueSizes();
+
+  /**
+   * @return the number of requests that failed immediately because the queue for the host was full
+   */
+  long getRejectedRequestCount();
+}
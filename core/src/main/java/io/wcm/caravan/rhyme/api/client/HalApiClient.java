@@ -30,6 +30,7 @@ import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.spi.HalApiAnnotationSupport;
 import io.wcm.caravan.rhyme.api.spi.HalApiReturnTypeSupport;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.proxy.ClientProxyPrefetching;
 
 /**
  * A type-safe HAL client that will create a dynamic proxy implementation for a given URI
@@ -78,6 +79,26 @@ public interface HalApiClient {
    */
   <T> T getRemoteResource(String uri, Class<T> halApiInterface);
 
+  /**
+   * Start loading the resources of the given client proxies concurrently (without waiting for the responses),
+   * so that subsequent blocking method calls on these proxies don't have to load the resources one after another.
+   * This can be used for specific invocations of multi-valued {@link Related} methods, if you don't want to enable
+   * prefetching for all invocations with {@link HalApiClientBuilder#withPrefetchedRelation(String, int)}.
+   * Note that resources will only be loaded in parallel if your {@link HalResourceLoader} implementation is
+   * asynchronous.
+   * @param <C> the type of the collection
+   * @param proxies a collection of client proxies (e.g. returned by a {@link Related} method). Any objects that are not
+   *          client proxies are ignored
+   * @param maxConcurrency the maximum number of resources that are loaded concurrently
+   * @return the given collection of proxies
+   */
+  static <C extends Iterable<?>> C prefetch(C proxies, int maxConcurrency) {
+
+    ClientProxyPrefetching.prefetch(proxies, maxConcurrency);
+
+    return proxies;
+  }
+
   /**
    * Create a stand-alone {@link HalApiClient} (i.e. not to be used in the lifecycle of a {@link Rhyme} instance)
    * that is using a default, blocking HTTP client.
@@ -103,6 +103,54 @@ public interface HalApiClientBuilder {
    */
   HalApiClientBuilder withObjectMapper(ObjectMapper objectMapper);
 
+  /**
+   * Enables re-use of the Java objects that were created from the JSON of cached upstream resources
+   * (when calling methods annotated with {@link io.wcm.caravan.rhyme.api.annotations.ResourceState} or
+   * {@link io.wcm.caravan.rhyme.api.annotations.ResourceProperty}) across multiple incoming requests.
+   * @param resourceStateCache a single instance created with {@link ResourceStateCache#create()} that is shared
+   *          across requests
+   * @return this
+   * @see ResourceStateCache
+   */
+  HalApiClientBuilder withResourceStateCache(ResourceStateCache resourceStateCache);
+
+  /**
+   * Create client proxies as instances of a class that is generated (with Byte Buddy) once for each
+   * {@link io.wcm.caravan.rhyme.api.annotations.HalApiInterface}, rather than using {@link java.lang.reflect.Proxy}.
+   * Each generated method passes its constant index to a dispatcher function, so that the metadata of the invoked
+   * method is found in a precomputed array without any {@link java.lang.reflect.Method} lookup. Only
+   * {@link Object#toString()}, {@link Object#hashCode()} and {@link Object#equals(Object)} are still delegated to an
+   * invocation handler. This requires the (optional) net.bytebuddy:byte-buddy dependency to be available at runtime. If a proxy class cannot be generated for an interface, JDK dynamic
+   * proxies will still be used for that interface.
+   * @return this
+   */
+  HalApiClientBuilder withGeneratedProxyClasses();
+
+  /**
+   * Start loading all linked resources concurrently as soon as a multi-valued
+   * {@link io.wcm.caravan.rhyme.api.annotations.Related} method for the given relation is called (and the context
+   * resource has been loaded), rather than loading each resource only when a method is called on the corresponding
+   * client proxy. This avoids a sequence of requests being executed one after another when iterating over the
+   * proxies with blocking method calls, but requires an asynchronous {@link HalResourceLoader} implementation
+   * to actually execute the requests in parallel. You can call this method multiple times to enable prefetching
+   * for more than one relation. To enable prefetching only for a specific method call, use
+   * {@link HalApiClient#prefetch(Iterable, int)} instead.
+   * @param relation the relation of the linked resources to prefetch
+   * @param maxConcurrency the maximum number of resources that are loaded concurrently
+   * @return this
+   */
+  HalApiClientBuilder withPrefetchedRelation(String relation, int maxConcurrency);
+
+  /**
+   * Enables speculative prefetching of the linked resources for all relations that are usually followed after a
+   * resource with a specific {@link io.wcm.caravan.rhyme.api.annotations.HalApiInterface} has been loaded.
+   * @param speculativePrefetching a single instance created with {@link SpeculativePrefetching#create()} that is
+   *          shared across requests
+   * @return this
+   * @see SpeculativePrefetching
+   */
+  HalApiClientBuilder withSpeculativePrefetching(SpeculativePrefetching speculativePrefetching);
+
   /**
    * Defines an override that will make {@link HalApiClient#getRemoteResource(String, Class)} return a custom
    * implementation for a specific combination of entry point URI and interface class (rather than the default
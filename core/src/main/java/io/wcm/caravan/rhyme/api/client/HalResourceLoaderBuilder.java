@@ -19,14 +19,17 @@
  */
 package io.wcm.caravan.rhyme.api.client;
 
-import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import io.reactivex.rxjava3.core.Scheduler;
 import io.wcm.caravan.rhyme.api.RhymeBuilder;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
@@ -38,19 +41,26 @@ import io.wcm.caravan.rhyme.impl.client.HalResourceLoaderBuilderImpl;
  * <p>
  * By default (i.e. without calling any methods before {@link #build()}) this builder will create a
  * {@link HalResourceLoader}
- * that is not caching anything, and uses {@link HttpURLConnection} to retrieve responses synchronously. You can use
+ * that is not caching anything, and uses the JDK's {@link HttpClient} to retrieve responses asynchronously. You can use
  * {@link #withCustomHttpClient(HttpClientSupport)} to use a different {@link HttpClientSupport} implementation for all
  * HTTP requests.
  * </p>
  * <p>
  * To enable caching of HTTP responses, you must call {@link #withMemoryCache()},
- * {@link #withMemoryCache(int, Duration)} or {@link #withCustomCache(HalResponseCache)}, and then ensure that the same
- * {@link HalResourceLoader} instance is re-used throughout the life-time of your application.
+ * {@link #withMemoryCache(int, Duration)}, {@link #withMemoryBudgetCache(long, Duration)},
+ * {@link #withFrequencyBasedCache(int, Duration)},
+ * {@link #withOffHeapCache(long, Duration, boolean)}, {@link #withPersistentCache(Path)} or
+ * {@link #withCustomCache(HalResponseCache)}, and then ensure that the same
+ * {@link HalResourceLoader} instance is re-used throughout the life-time of your application. Concurrent requests
+ * for the same URL that cannot be served from cache will then share a single upstream request. A larger second cache
+ * tier can be added with {@link #withSecondLevelCache(AsyncHalResponseCache)}.
  * </p>
  * <p>
  * The caching logic will use the {@link HalResponse#getMaxAge()} value to determine for how long a response
  * from cache can be used before it is considered stale. If a stale value for a specific URL is found in cache, it is
- * ignored and another upstream request for this URL will be triggered.
+ * ignored and another upstream request for this URL will be triggered. You can change this by enabling
+ * {@link CachingConfiguration#isServingOfStaleResponsesEnabled()}, so that stale responses are still served within
+ * their "stale-while-revalidate" and "stale-if-error" windows.
  * </p>
  * <p>
  * By default, only 200/OK responses are being cached, and if the upstream responses do not contain any max-age header,
@@ -80,11 +90,30 @@ public interface HalResourceLoaderBuilder {
    */
   HalResourceLoaderBuilder withCustomHttpClient(HttpClientSupport client);
 
+  /**
+   * Limit the time to wait for each response of the default HTTP client. By default, the client only gives up if a
+   * connection to the server can't be established within 10 seconds, but will then wait indefinitely for the response.
+   * This can only be used with the default HTTP client, and not in combination with
+   * {@link #withCustomHttpClient(HttpClientSupport)} or {@link #withExistingLoader(HalResourceLoader)}.
+   * @param timeout the maximum duration to wait for the response headers after the request was sent
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withRequestTimeout(Duration timeout);
+
+  /**
+   * Reduce the heap memory retained by cached responses, by sharing equal strings and identical JSON objects and
+   * arrays (e.g. links, curies and embedded resources) between all response bodies parsed by the HTTP client.
+   * If you enable this, the JSON bodies of the loaded responses must never be modified.
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withDeduplicatedResponseBodies();
+
   /**
    * Enable in-memory caching of responses with default settings. The in-memory cache can contain up to 10.000 HAL+JSON
    * responses, and responses that haven't been read from cache for more than one day will be automatically discarded.
    * If your HAL responses have an average size of 100kb, this can take up to 1GB of memory. You can use
-   * {@link #withMemoryCache(int, Duration)} if you want to use a cache with a smaller or larger memory footprint.
+   * {@link #withMemoryCache(int, Duration)} if you want to use a cache with a smaller or larger memory footprint, or
+   * {@link #withMemoryBudgetCache(long, Duration)} if you want to limit the memory footprint directly.
    * @return a new instance of {@link HalResourceLoaderBuilder}
    */
   HalResourceLoaderBuilder withMemoryCache();
@@ -97,6 +126,67 @@ public interface HalResourceLoaderBuilder {
    */
   HalResourceLoaderBuilder withMemoryCache(int maxNumItems, Duration timeToIdle);
 
+  /**
+   * Enable in-memory caching of responses with a limit on the estimated heap memory that is retained by all cached
+   * responses (rather than the number of responses as in {@link #withMemoryCache(int, Duration)}). If the limit is
+   * reached, the least recently used responses will be discarded.
+   * @param maxBytes the maximum number of bytes (estimated from the size of the parsed JSON bodies) to be used
+   * @param timeToIdle the duration after which a response that hasn't been read from cache any more will be discarded
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withMemoryBudgetCache(long maxBytes, Duration timeToIdle);
+
+  /**
+   * Enable in-memory caching of responses with a frequency-based admission policy. In contrast to
+   * {@link #withMemoryCache(int, Duration)} (which always discards the least recently used responses when the cache is
+   * full), a new response will only be stored if it was requested more frequently than the response that would have to
+   * be discarded. This ensures that frequently used responses are not evicted when a large number of URLs is requested
+   * only once (e.g. by a crawler or a long paging traversal).
+   * @param maxNumItems the total number of HAL responses that can be stored in cache
+   * @param timeToIdle the duration after which a response that hasn't been read from cache any more will be discarded
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withFrequencyBasedCache(int maxNumItems, Duration timeToIdle);
+
+  /**
+   * Enable in-memory caching of responses outside of the Java heap. Responses will be stored in a compact binary format
+   * in direct memory, which reduces the heap size and garbage collection overhead compared to
+   * {@link #withMemoryCache(int, Duration)}, but requires the responses to be decoded again whenever they are read from
+   * cache. Note that you may have to increase the -XX:MaxDirectMemorySize JVM option accordingly. This requires the
+   * (optional) com.fasterxml.jackson.dataformat:jackson-dataformat-smile dependency to be available at runtime.
+   * @param maxBytes the maximum number of bytes to be used by all serialized responses
+   * @param timeToIdle the duration after which a response that hasn't been read from cache any more will be discarded
+   * @param compressed true if the responses should also be compressed. This further reduces memory usage, but the
+   *          compression (with the fastest deflate level) and decompression adds CPU time to every write and read of a
+   *          cached response, so it is only recommended if memory is more constrained than CPU
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withOffHeapCache(long maxBytes, Duration timeToIdle, boolean compressed);
+
+  /**
+   * Enable persistent caching of responses in memory-mapped files within the given directory. When a new
+   * {@link HalResourceLoader} is created for the same directory (e.g. after your application was restarted),
+   * all responses that are still fresh will be served from cache immediately. The cache files will use up to 1 GiB of
+   * disk space, and the loader should be created with {@link #buildCloseable()}. This requires the (optional)
+   * com.fasterxml.jackson.dataformat:jackson-dataformat-smile dependency to be available at runtime.
+   * @param directory where the cache files should be stored (it will be created if it doesn't exist)
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   * @see #withPersistentCache(Path, long)
+   */
+  HalResourceLoaderBuilder withPersistentCache(Path directory);
+
+  /**
+   * Enable persistent caching of responses in memory-mapped files within the given directory, with a limit on the
+   * disk space to be used. If the limit is reached, the oldest responses will be discarded. The directory can only
+   * be used by a single loader at a time (which must be created with {@link #buildCloseable()}, and closed before
+   * another loader can use the same directory). This requires the (optional)
+   * com.fasterxml.jackson.dataformat:jackson-dataformat-smile dependency to be available at runtime.
+   * @param directory where the cache files should be stored (it will be created if it doesn't exist)
+   * @param maxBytes the maximum number of bytes to be used by all cache files
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withPersistentCache(Path directory, long maxBytes);
+
   /**
    * Enable caching of responses using a custom caching implementation. This can be used to cache responses in an
    * external, persistent data store.
@@ -105,6 +195,18 @@ public interface HalResourceLoaderBuilder {
    */
   HalResourceLoaderBuilder withCustomCache(HalResponseCache cacheImplementation);
 
+  /**
+   * Add a second (larger, and usually slower) cache tier behind the in-memory cache. Responses that are not found in
+   * the first-level cache will then be looked up in the given cache, and will be promoted to the first-level cache if
+   * found. New responses are written to the second-level cache asynchronously in batches, so that the latency of the
+   * second-level cache doesn't affect the response time. The first-level cache can be configured with any other
+   * caching method of this builder (or will be an in-memory cache with default settings as created by
+   * {@link #withMemoryCache()})
+   * @param cacheImplementation an implementation of {@link AsyncHalResponseCache}
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withSecondLevelCache(AsyncHalResponseCache cacheImplementation);
+
   /**
    * Replace the default caching configuration that determines which responses are being cached and for how long
    * responses without a cache-control/max-age header will be used.
@@ -132,6 +234,52 @@ public interface HalResourceLoaderBuilder {
    */
   HalResourceLoaderBuilder withClock(Clock customClock);
 
+  /**
+   * Replace the scheduler that is used to load responses in the background, i.e. when stale responses are revalidated
+   * (see {@link CachingConfiguration#isServingOfStaleResponsesEnabled()}) or hot responses are refreshed ahead of their
+   * expiry (see {@link CachingConfiguration#isRefreshAheadEnabled()}). If you don't call this method, a scheduler with
+   * a fixed pool of four daemon threads (that is shared by all {@link HalResourceLoader} instances) will be used.
+   * @param scheduler a bounded {@link Scheduler} on which the background requests will be executed
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withBackgroundScheduler(Scheduler scheduler);
+
+  /**
+   * Collect statistics on cache hits, misses and upstream requests of the caching {@link HalResourceLoader} in the
+   * given instance. If you don't call this method, statistics will still be collected, but you won't have access to
+   * them.
+   * @param statistics an instance created with {@link CachingStatistics#create()}
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withCachingStatistics(CachingStatistics statistics);
+
+  /**
+   * Allows to invalidate responses stored by the caching {@link HalResourceLoader} (e.g. after the content of an
+   * upstream service was updated) by calling the methods of the given instance.
+   * @param invalidator an instance created with {@link CacheInvalidator#create()}
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withCacheInvalidator(CacheInvalidator invalidator);
+
+  /**
+   * Fail fast for all requests to an upstream host that has been unreachable for a number of consecutive requests,
+   * instead of waiting for each request to time out. Responses that are available in cache will still be used.
+   * @param circuitBreaker an instance created with {@link CircuitBreaker#create()}, which can also be used to check
+   *          the state of each host
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withCircuitBreaker(CircuitBreaker circuitBreaker);
+
+  /**
+   * Limit the number of concurrent upstream requests to each host, with a limit that is adjusted automatically
+   * according to the observed latency and failures. Requests exceeding the limit are queued, and fail immediately
+   * if too many requests are already waiting.
+   * @param limiter an instance created with {@link ConcurrencyLimiter#create()}, which can also be used to monitor
+   *          the current limits and queue sizes
+   * @return a new instance of {@link HalResourceLoaderBuilder}
+   */
+  HalResourceLoaderBuilder withConcurrencyLimiter(ConcurrencyLimiter limiter);
+
   /**
    * Create the {@link HalResourceLoader} with the HTTP and caching configuration defined by the previous methods calls
    * @return a {@link HalResourceLoader} instance that you should re-use for multiple calls to
@@ -140,4 +288,16 @@ public interface HalResourceLoaderBuilder {
    */
   HalResourceLoader build();
 
+  /**
+   * Create the {@link HalResourceLoader} with the HTTP and caching configuration defined by the previous methods calls,
+   * and allow it to be closed when your application is shut down. This should be used instead of {@link #build()} if
+   * you are using {@link #withPersistentCache(Path)} or {@link #withSecondLevelCache(AsyncHalResponseCache)}, as closing
+   * the loader will release the cache directory, and write all responses to the second-level cache that haven't been
+   * written yet.
+   * @return a {@link CloseableHalResourceLoader} instance that you should re-use for multiple calls to
+   *         {@link RhymeBuilder#withResourceLoader(HalResourceLoader)} or
+   *         {@link HalApiClient#create(HalResourceLoader)}, and close when it is no longer required
+   */
+  CloseableHalResourceLoader buildCloseable();
+
 }
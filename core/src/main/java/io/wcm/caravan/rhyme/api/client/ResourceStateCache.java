@@ -0,0 +1,75 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.RhymeBuilder;
+import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.impl.client.proxy.ResourceStateCacheImpl;
+
+/**
+ * A cache for the Java objects that are created by the client proxies when a method annotated with
+ * {@link ResourceState} or {@link ResourceProperty} is called. Without this cache, the JSON of the upstream
+ * resource is converted again in every incoming request, even if the JSON was taken from a
+ * caching {@link io.wcm.caravan.rhyme.api.spi.HalResourceLoader} and hasn't changed at all.
+ * <p>
+ * Create a single instance with {@link #create()} that is shared across requests, and pass it to
+ * {@link HalApiClientBuilder#withResourceStateCache(ResourceStateCache)} or
+ * {@link RhymeBuilder#withResourceStateCache(ResourceStateCache)}.
+ * </p>
+ * <p>
+ * Objects converted from embedded resources or properties are only kept for as long as the JSON instance they were
+ * created from is still referenced (e.g. by an in-memory cache). Objects converted from the state of a resource that
+ * was retrieved with a caching {@link io.wcm.caravan.rhyme.api.spi.HalResourceLoader} are kept until a newer response
+ * for the same URI is used, or the maximum number of items is reached. Since the same object instances are returned to
+ * all callers, you must only use this cache if your state and property classes are immutable (or at least never
+ * modified by your code).
+ * </p>
+ */
+@ProviderType
+public interface ResourceStateCache {
+
+  /**
+   * @return a new instance that keeps the converted objects for up to 10000 JSON nodes
+   */
+  static ResourceStateCache create() {
+    return new ResourceStateCacheImpl();
+  }
+
+  /**
+   * @param maxNumItems the maximum number of JSON nodes for which converted objects are kept
+   * @return a new instance
+   */
+  static ResourceStateCache create(long maxNumItems) {
+    return new ResourceStateCacheImpl(maxNumItems);
+  }
+
+  /**
+   * @return the number of conversions that were avoided because a converted object was found in this cache
+   */
+  long getHitCount();
+
+  /**
+   * @return the number of conversions that had to be performed because no converted object was found in this cache
+   */
+  long getMissCount();
+}
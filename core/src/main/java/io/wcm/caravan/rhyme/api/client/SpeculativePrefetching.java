@@ -0,0 +1,113 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.client;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+import io.wcm.caravan.rhyme.api.RhymeBuilder;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl;
+
+/**
+ * Learns which relations are usually followed by your code after a resource with a specific {@link HalApiInterface}
+ * has been loaded by a client proxy, and will then start loading the linked resources for these relations as soon as
+ * a resource of that type is retrieved (i.e. before the corresponding {@link Related} methods are actually called).
+ * <p>
+ * Create a single instance with {@link #create()} that is shared across requests, and pass it to
+ * {@link HalApiClientBuilder#withSpeculativePrefetching(SpeculativePrefetching)} or
+ * {@link RhymeBuilder#withSpeculativePrefetching(SpeculativePrefetching)}. Any configuration must be done
+ * before the instance is used.
+ * </p>
+ * <p>
+ * A relation is only prefetched if it was followed for a minimum ratio of the resources that have been loaded
+ * so far. A prefetched resource is considered to be wasted if it wasn't requested by a client proxy (yet), and
+ * prefetching is suspended for a relation if the ratio of wasted prefetches exceeds the configured budget. The overall
+ * number of resources that are prefetched for a single {@link HalApiClient} instance is also limited. Note that linked
+ * resources will only be loaded in parallel if your {@link io.wcm.caravan.rhyme.api.spi.HalResourceLoader}
+ * implementation is asynchronous.
+ * </p>
+ */
+@ProviderType
+public interface SpeculativePrefetching {
+
+  /**
+   * @return a new instance with default settings
+   */
+  static SpeculativePrefetching create() {
+    return new SpeculativePrefetchingImpl();
+  }
+
+  /**
+   * @param minSamples the number of loaded resources of a specific type that must be observed before any of its
+   *          relations are prefetched (default: 10)
+   * @return this
+   */
+  SpeculativePrefetching withMinimumSamples(int minSamples);
+
+  /**
+   * @param ratio the minimum ratio (between 0 and 1) of loaded resources from which a relation must have been
+   *          followed to be prefetched (default: 0.8)
+   * @return this
+   */
+  SpeculativePrefetching withMinimumFollowRatio(double ratio);
+
+  /**
+   * @param ratio the maximum ratio (between 0 and 1) of prefetched resources for a relation that may be wasted before
+   *          prefetching is suspended for that relation (default: 0.25)
+   * @return this
+   */
+  SpeculativePrefetching withMaxWasteRatio(double ratio);
+
+  /**
+   * @param maxNumResources the maximum number of resources that are prefetched for a single {@link HalApiClient}
+   *          instance (default: 50)
+   * @return this
+   */
+  SpeculativePrefetching withMaxPrefetchesPerClient(int maxNumResources);
+
+  /**
+   * @param maxConcurrency the maximum number of resources that are prefetched concurrently after a single resource
+   *          has been loaded (default: 4)
+   * @return this
+   */
+  SpeculativePrefetching withMaxConcurrency(int maxConcurrency);
+
+  /**
+   * @return the number of resources that were prefetched
+   */
+  long getPrefetchCount();
+
+  /**
+   * @return the number of prefetched resources that were requested by a client proxy afterwards
+   */
+  long getUsedPrefetchCount();
+
+  /**
+   * @return the number of prefetched resources that were not requested by a client proxy (yet)
+   */
+  long getWastedPrefetchCount();
+
+  /**
+   * @return the number of resources that were not prefetched (even though the relation is usually followed) because
+   *         the waste ratio for the relation or the limit for the client instance was exceeded
+   */
+  long getSuppressedPrefetchCount();
+}
@@ -38,6 +38,10 @@ public class HalResponse {
   private final String contentType;
   private final HalResource body;
   private final Integer maxAge;
+  private final Integer staleWhileRevalidate;
+  private final Integer staleIfError;
+  private final String entityTag;
+  private final String lastModified;
   private final Instant timestamp;
 
   /**
@@ -50,16 +54,25 @@ public class HalResponse {
     this.contentType = null;
     this.body = null;
     this.maxAge = null;
+    this.staleWhileRevalidate = null;
+    this.staleIfError = null;
+    this.entityTag = null;
+    this.lastModified = null;
     this.timestamp = Instant.now();
   }
 
 
-  private HalResponse(String uri, Integer status, String contentType, HalResource body, Integer maxAge, Instant date) {
+  private HalResponse(String uri, Integer status, String contentType, HalResource body, Integer maxAge,
+      Integer staleWhileRevalidate, Integer staleIfError, String entityTag, String lastModified, Instant date) {
     this.uri = uri;
     this.status = status;
     this.contentType = contentType;
     this.body = body;
     this.maxAge = maxAge;
+    this.staleWhileRevalidate = staleWhileRevalidate;
+    this.staleIfError = staleIfError;
+    this.entityTag = entityTag;
+    this.lastModified = lastModified;
     this.timestamp = date;
   }
 
@@ -75,7 +88,7 @@ public class HalResponse {
    * @return a new instance with the given URI
    */
   public HalResponse withUri(String value) {
-    return new HalResponse(value, status, contentType, body, maxAge, timestamp);
+    return new HalResponse(value, status, contentType, body, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
   }
 
   /**
@@ -90,7 +103,7 @@ public class HalResponse {
    * @return a new instance with the given status code
    */
   public HalResponse withStatus(Integer value) {
-    return new HalResponse(uri, value, contentType, body, maxAge, timestamp);
+    return new HalResponse(uri, value, contentType, body, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
   }
 
   /**
@@ -105,7 +118,7 @@ public class HalResponse {
    * @return a new instance with the given content type
    */
   public HalResponse withContentType(String value) {
-    return new HalResponse(uri, status, value, body, maxAge, timestamp);
+    return new HalResponse(uri, status, value, body, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
   }
 
   /**
@@ -121,7 +134,7 @@ public class HalResponse {
    * @return a new instance with the given body
    */
   public HalResponse withBody(HalResource value) {
-    return new HalResponse(uri, status, contentType, value, maxAge, timestamp);
+    return new HalResponse(uri, status, contentType, value, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
   }
 
   /**
@@ -130,7 +143,7 @@ public class HalResponse {
    */
   public HalResponse withBody(JsonNode value) {
     HalResource hal = value != null ? new HalResource(value) : null;
-    return new HalResponse(uri, status, contentType, hal, maxAge, timestamp);
+    return new HalResponse(uri, status, contentType, hal, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
   }
 
   /**
@@ -145,7 +158,67 @@ public class HalResponse {
    * @return a new instance with the given max age
    */
   public HalResponse withMaxAge(Integer value) {
-    return new HalResponse(uri, status, contentType, body, value, timestamp);
+    return new HalResponse(uri, status, contentType, body, value, staleWhileRevalidate, staleIfError, entityTag, lastModified, timestamp);
+  }
+
+  /**
+   * @return the "stale-while-revalidate" value of the "Cache-Control" header (or null if not defined)
+   */
+  public Integer getStaleWhileRevalidate() {
+    return staleWhileRevalidate;
+  }
+
+  /**
+   * @param value the "stale-while-revalidate" value of the "Cache-Control" header (or null if not defined)
+   * @return a new instance with the given stale-while-revalidate value
+   */
+  public HalResponse withStaleWhileRevalidate(Integer value) {
+    return new HalResponse(uri, status, contentType, body, maxAge, value, staleIfError, entityTag, lastModified, timestamp);
+  }
+
+  /**
+   * @return the "stale-if-error" value of the "Cache-Control" header (or null if not defined)
+   */
+  public Integer getStaleIfError() {
+    return staleIfError;
+  }
+
+  /**
+   * @param value the "stale-if-error" value of the "Cache-Control" header (or null if not defined)
+   * @return a new instance with the given stale-if-error value
+   */
+  public HalResponse withStaleIfError(Integer value) {
+    return new HalResponse(uri, status, contentType, body, maxAge, staleWhileRevalidate, value, entityTag, lastModified, timestamp);
+  }
+
+  /**
+   * @return the value of the "ETag" header (or null if not defined)
+   */
+  public String getEntityTag() {
+    return entityTag;
+  }
+
+  /**
+   * @param value the value of the "ETag" header (or null if not defined)
+   * @return a new instance with the given entity tag
+   */
+  public HalResponse withEntityTag(String value) {
+    return new HalResponse(uri, status, contentType, body, maxAge, staleWhileRevalidate, staleIfError, value, lastModified, timestamp);
+  }
+
+  /**
+   * @return the value of the "Last-Modified" header (or null if not defined)
+   */
+  public String getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * @param value the value of the "Last-Modified" header (or null if not defined)
+   * @return a new instance with the given last-modified date
+   */
+  public HalResponse withLastModified(String value) {
+    return new HalResponse(uri, status, contentType, body, maxAge, staleWhileRevalidate, staleIfError, entityTag, value, timestamp);
   }
 
   /**
@@ -160,6 +233,6 @@ public class HalResponse {
    * @return a new instance with the given date
    */
   public HalResponse withTimestamp(Instant value) {
-    return new HalResponse(uri, status, contentType, body, maxAge, value);
+    return new HalResponse(uri, status, contentType, body, maxAge, staleWhileRevalidate, staleIfError, entityTag, lastModified, value);
   }
 }
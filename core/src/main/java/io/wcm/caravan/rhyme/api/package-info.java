@@ -20,5 +20,5 @@
 /**
  * Facade interfaces for the core framework
  */
-@org.osgi.annotation.versioning.Version("1.2.0")
+@org.osgi.annotation.versioning.Version("1.3.0")
 package io.wcm.caravan.rhyme.api;
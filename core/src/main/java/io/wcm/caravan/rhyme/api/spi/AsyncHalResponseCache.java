@@ -0,0 +1,99 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.api.spi;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.osgi.annotation.versioning.ConsumerType;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
+import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * An SPI interface for an asynchronous cache implementation that can be given to
+ * {@link HalResourceLoaderBuilder#withSecondLevelCache(AsyncHalResponseCache)}. In contrast to
+ * {@link HalResponseCache}, storing responses is non-blocking, so it is suitable for caches that write to disk or to
+ * an external data store. The framework will keep an in-memory {@link HalResponseCache} in front of this cache, and
+ * will write responses to this cache in batches (using {@link #storeAll(Collection)}).
+ * @see HalResponseCache
+ */
+@ConsumerType
+public interface AsyncHalResponseCache {
+
+  /**
+   * Tries to retrieve a cached response for the given URI from the cache
+   * @param uri the absolute URI of the resource
+   * @return a {@link Maybe} that emits a {@link HalResponse} when a cached version is available (and is empty
+   *         otherwise)
+   */
+  Maybe<HalResponse> load(String uri);
+
+  /**
+   * Store a HAL response in the cache. It is essential that all fields from the {@link HalResponse} are stored, and
+   * retrieved later without modifications.
+   * @param response the {@link HalResponse} to store
+   * @return a {@link Completable} that completes when the response was stored
+   */
+  Completable store(HalResponse response);
+
+  /**
+   * Removes a response from the cache, because it was invalidated with {@link CacheInvalidator}. The default
+   * implementation does nothing, so you should override it to ensure that invalidated responses are not promoted
+   * to the in-memory cache again after they have been evicted there.
+   * @param uri the absolute URI of the resource
+   * @return a {@link Completable} that completes when the response was removed
+   */
+  default Completable remove(String uri) {
+    return Completable.complete();
+  }
+
+  /**
+   * Tries to retrieve cached responses for multiple URIs. The default implementation calls {@link #load(String)}
+   * for each URI, so you should override it if your data store supports loading multiple entries at once.
+   * @param uris the absolute URIs of the resources
+   * @return a {@link Single} that emits a map with an entry for each URI for which a cached response was found
+   */
+  default Single<Map<String, HalResponse>> loadAll(Collection<String> uris) {
+
+    return Observable.fromIterable(uris)
+        .flatMapMaybe(uri -> load(uri).map(response -> new SimpleImmutableEntry<>(uri, response)))
+        .toMap(Entry::getKey, Entry::getValue);
+  }
+
+  /**
+   * Store multiple HAL responses in the cache. The default implementation calls {@link #store(HalResponse)} for each
+   * response, so you should override it if your data store supports writing multiple entries at once.
+   * @param responses the {@link HalResponse}s to store
+   * @return a {@link Completable} that completes when all responses were stored
+   */
+  default Completable storeAll(Collection<HalResponse> responses) {
+
+    return Observable.fromIterable(responses)
+        .flatMapCompletable(this::store);
+  }
+}
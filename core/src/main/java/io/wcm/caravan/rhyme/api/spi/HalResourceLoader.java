@@ -20,7 +20,7 @@
 
 package io.wcm.caravan.rhyme.api.spi;
 
-import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
 
 import org.osgi.annotation.versioning.ConsumerType;
 
@@ -40,7 +40,7 @@ import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
  * <p>
  * If you don't need any configuration options (e.g. authentication), caching or asynchronous request handling,
  * you can can simply use {@link #create()} to create an instance that is using
- * {@link HttpURLConnection} to execute the HTTP requests while blocking the current request.
+ * the JDK's {@link HttpClient} to execute the HTTP requests asynchronously.
  * </p>
  * <p>
  * If you need full control over the HTTP client implementation to be used, and/or want to enable
@@ -83,15 +83,30 @@ public interface HalResourceLoader {
   Single<HalResponse> getHalResource(String uri);
 
   /**
-   * Create a {@link HalResourceLoader} that uses a {@link HttpURLConnection} with default configuration to
+   * Provides a fresh response for the given URL, when a stale response for the same URL is already available (e.g.
+   * from a cache). Implementations can use the "ETag" and "Last-Modified" values of the stale response to execute a
+   * conditional request, and if the resource wasn't modified, emit the stale response (with the updated max-age and
+   * other cache-control directives from the "304 Not Modified" response) without having to download and parse the
+   * body again. The default implementation just calls {@link #getHalResource(String)}.
+   * @param uri the URI of the resource to load
+   * @param staleResponse a stale response that was previously retrieved for the same URI
+   * @return a {@link Single} that emits a {@link HalResponse} entity if the request was successful, or otherwise fails
+   *         with a {@link HalApiClientException}
+   */
+  default Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+    return getHalResource(uri);
+  }
+
+  /**
+   * Create a {@link HalResourceLoader} that uses the JDK's {@link HttpClient} with default configuration to
    * load the upstream resources.
    * @return a {@link HalResourceLoader} that can handle fully qualified HTTP or HTTPS URIs,
-   *         blocks the current thread while loading the resource,
+   *         loads the resources asynchronously,
    *         and does not implement any caching
    */
   static HalResourceLoader create() {
 
-    // if no further methods are called, the builder will create a loader that uses HttpURLConnection (and no caching)
+    // if no further methods are called, the builder will create a loader that uses the JDK HttpClient (and no caching)
     return HalResourceLoaderBuilder.create()
         .build();
   }
@@ -22,6 +22,8 @@ package io.wcm.caravan.rhyme.api.spi;
 import org.osgi.annotation.versioning.ConsumerType;
 
 import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
 import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 
@@ -54,4 +56,34 @@ public interface HalResponseCache {
    */
   void store(HalResponse response);
 
+  /**
+   * Removes a response from the cache, because it was invalidated with {@link CacheInvalidator}. The default
+   * implementation does nothing: invalidated responses will then still occupy space until they are evicted, but
+   * they won't be used anymore by the caching {@link HalResourceLoader}.
+   * @param uri the absolute URI of the resource
+   */
+  default void remove(String uri) {
+    // removal is optional, as the caching HalResourceLoader will ignore invalidated responses anyway
+  }
+
+  /**
+   * Allows the number of evicted responses to be included in the {@link CachingStatistics}. The default
+   * implementation always returns 0, so you only need to override it if your cache implementation is keeping track of
+   * evictions.
+   * @return the number of responses that have been evicted from the cache (e.g. because a size limit was reached)
+   */
+  default long getEvictionCount() {
+    return 0;
+  }
+
+  /**
+   * Allows the memory used by all cached responses to be included in the {@link CachingStatistics}. The default
+   * implementation always returns 0, so you only need to override it if your cache implementation is keeping track of
+   * the size of its entries.
+   * @return the (estimated) number of bytes currently used by all responses in the cache
+   */
+  default long getWeightInBytes() {
+    return 0;
+  }
+
 }
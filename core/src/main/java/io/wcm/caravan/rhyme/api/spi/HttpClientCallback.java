@@ -21,6 +21,7 @@ package io.wcm.caravan.rhyme.api.spi;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
 
@@ -72,6 +73,23 @@ public interface HttpClientCallback {
    */
   void onBodyAvailable(InputStream responseBodyStream);
 
+  /**
+   * This can be called (instead of {@link #onBodyAvailable(InputStream)}) by asynchronous clients whenever the next
+   * chunk of the response body was received, so that the JSON can be parsed while the remaining body is still being
+   * transferred. It *must* only be called after {@link #onHeadersAvailable(int, Map)} and with the chunks in the
+   * right order, and you *must* finally call either {@link #onBodyComplete()} or {@link #onExceptionCaught(Throwable)}.
+   * @param chunk a buffer with the next bytes of the response body, which will be consumed completely before this
+   *          method returns (so it can be re-used afterwards)
+   */
+  void onBodyChunkAvailable(ByteBuffer chunk);
+
+  /**
+   * This *must* be called after all chunks of the response body were passed to {@link #onBodyChunkAvailable(ByteBuffer)}
+   * (or when an empty response body was received). It will ensure that {@link HalResponse#getBody()} will return the
+   * parsed HAL+JSON response.
+   */
+  void onBodyComplete();
+
   /**
    * This *must* be called when any exception was caught that prevented you from calling
    * {@link #onHeadersAvailable(int, Map)} and {@link #onBodyAvailable(InputStream)}. This will ensure that
@@ -20,13 +20,14 @@
 package io.wcm.caravan.rhyme.api.spi;
 
 import java.net.URI;
+import java.util.Map;
 
 import org.osgi.annotation.versioning.ConsumerType;
 
 import io.wcm.caravan.rhyme.api.Rhyme;
 import io.wcm.caravan.rhyme.api.client.HalApiClient;
 import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
-import io.wcm.caravan.rhyme.impl.client.http.HttpUrlConnectionSupport;
+import io.wcm.caravan.rhyme.impl.client.http.JdkHttpClientSupport;
 
 /**
  * A simpler callback-style SPI interface that you can implement instead of {@link HalResourceLoader}
@@ -37,7 +38,7 @@ import io.wcm.caravan.rhyme.impl.client.http.HttpUrlConnectionSupport;
  * handling.
  * @see HalResourceLoader
  * @see HalResourceLoaderBuilder
- * @see HttpUrlConnectionSupport
+ * @see JdkHttpClientSupport
  */
 @ConsumerType
 public interface HttpClientSupport {
@@ -50,6 +51,9 @@ public interface HttpClientSupport {
    * <li>{@link HttpClientCallback#onHeadersAvailable(int, java.util.Map)} (required)</li>
    * <li>{@link HttpClientCallback#onBodyAvailable(java.io.InputStream)} (required)</li>
    * </ul>
+   * Instead of calling {@link HttpClientCallback#onBodyAvailable(java.io.InputStream)} with the full response body,
+   * asynchronous implementations can also call {@link HttpClientCallback#onBodyChunkAvailable(java.nio.ByteBuffer)}
+   * for each chunk of the body as soon as it is received, followed by {@link HttpClientCallback#onBodyComplete()}.
    * If any exception is thrown that prevents starting or completing the request, you must call
    * {@link HttpClientCallback#onExceptionCaught(Throwable)} once (and do not call any further methods).
    * @param uri the URI of the resource to load. This is usually a fully qualified HTTP(S) URL,but it could be any
@@ -58,4 +62,21 @@ public interface HttpClientSupport {
    * @param callback that handles the response when it is available
    */
   void executeGetRequest(URI uri, HttpClientCallback callback);
+
+  /**
+   * Starts executing a HTTP GET request for the given URL with additional request headers. This is used to execute
+   * conditional requests (with "If-None-Match" and "If-Modified-Since" headers) to revalidate stale responses from
+   * cache. If the server responds with a 304 status code, you must still call
+   * {@link HttpClientCallback#onHeadersAvailable(int, java.util.Map)} with that status code and the headers of the 304
+   * response, and then call {@link HttpClientCallback#onBodyAvailable(java.io.InputStream)} (with an empty or null
+   * stream). The default implementation ignores the additional headers, so that a full response will be retrieved
+   * if you don't override this method.
+   * @param uri the URI of the resource to load
+   * @param requestHeaders a map of header names and values that should be added to the request
+   * @param callback that handles the response when it is available
+   * @see #executeGetRequest(URI, HttpClientCallback)
+   */
+  default void executeGetRequest(URI uri, Map<String, String> requestHeaders, HttpClientCallback callback) {
+    executeGetRequest(uri, callback);
+  }
 }
@@ -20,5 +20,5 @@
 /**
  * SPI interfaces for HTTP transfer, exception handling and extension the annotation support for HAL API interfaces
  */
-@org.osgi.annotation.versioning.Version("1.1.0")
+@org.osgi.annotation.versioning.Version("1.2.0")
 package io.wcm.caravan.rhyme.api.spi;
@@ -22,7 +22,9 @@ package io.wcm.caravan.rhyme.impl;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
@@ -30,11 +32,14 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
 
 import io.wcm.caravan.rhyme.api.Rhyme;
 import io.wcm.caravan.rhyme.api.RhymeBuilder;
 import io.wcm.caravan.rhyme.api.client.HalApiClient;
 import io.wcm.caravan.rhyme.api.client.HalApiClientBuilder;
+import io.wcm.caravan.rhyme.api.client.ResourceStateCache;
+import io.wcm.caravan.rhyme.api.client.SpeculativePrefetching;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
 import io.wcm.caravan.rhyme.api.server.AsyncHalResponseRenderer;
@@ -48,6 +53,8 @@ import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.api.spi.RhymeDocsSupport;
 import io.wcm.caravan.rhyme.impl.client.HalApiClientImpl;
 import io.wcm.caravan.rhyme.impl.client.RemoteResourceOverrides;
+import io.wcm.caravan.rhyme.impl.client.proxy.ResourceStateCacheImpl;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl;
 import io.wcm.caravan.rhyme.impl.reflection.CompositeHalApiTypeSupport;
 import io.wcm.caravan.rhyme.impl.reflection.DefaultHalApiTypeSupport;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
@@ -83,8 +90,16 @@ abstract class AbstractRhymeBuilder<I> {
 
   private ObjectMapper objectMapper;
 
+  private ResourceStateCacheImpl resourceStateCache;
+
   private final RemoteResourceOverrides resourceOverrides = new RemoteResourceOverrides();
 
+  private boolean generatedProxyClasses;
+
+  private final Map<String, Integer> prefetchedRelations = new LinkedHashMap<>();
+
+  private SpeculativePrefetchingImpl speculativePrefetching;
+
   protected boolean wasUsedToBuild;
 
   @SuppressWarnings("unchecked")
@@ -147,6 +162,48 @@ abstract class AbstractRhymeBuilder<I> {
     return (I)this;
   }
 
+  @SuppressWarnings("unchecked")
+  public I withResourceStateCache(ResourceStateCache cache) {
+
+    if (!(cache instanceof ResourceStateCacheImpl)) {
+      throw new HalApiDeveloperException("The " + ResourceStateCache.class.getSimpleName() + " instance must be created with "
+          + ResourceStateCache.class.getSimpleName() + "#create()");
+    }
+
+    resourceStateCache = (ResourceStateCacheImpl)cache;
+    return (I)this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public I withGeneratedProxyClasses() {
+
+    generatedProxyClasses = true;
+    return (I)this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public I withPrefetchedRelation(String relation, int maxConcurrency) {
+
+    if (maxConcurrency < 1) {
+      throw new HalApiDeveloperException("The maximum concurrency for prefetching resources with relation " + relation + " must be at least 1");
+    }
+
+    prefetchedRelations.put(relation, maxConcurrency);
+    return (I)this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public I withSpeculativePrefetching(SpeculativePrefetching prefetching) {
+
+    if (!(prefetching instanceof SpeculativePrefetchingImpl)) {
+      throw new HalApiDeveloperException("The " + SpeculativePrefetching.class.getSimpleName() + " instance must be created with "
+          + SpeculativePrefetching.class.getSimpleName() + "#create()");
+    }
+
+    speculativePrefetching = (SpeculativePrefetchingImpl)prefetching;
+    return (I)this;
+  }
+
   @SuppressWarnings("unchecked")
   public <T> I withRemoteResourceOverride(String entryPointUri, Class<T> halApiInterface, Function<RequestMetricsCollector, T> factoryFunc) {
 
@@ -233,7 +290,8 @@ abstract class AbstractRhymeBuilder<I> {
 
     HalApiTypeSupport effectiveTypeSupport = getEffectiveTypeSupport();
 
-    return new HalApiClientImpl(resourceLoader, metrics, effectiveTypeSupport, objectMapper, resourceOverrides);
+    return new HalApiClientImpl(resourceLoader, metrics, effectiveTypeSupport, objectMapper, resourceStateCache, resourceOverrides,
+        generatedProxyClasses, ImmutableMap.copyOf(prefetchedRelations), speculativePrefetching);
   }
 
   @SuppressWarnings("deprecation")
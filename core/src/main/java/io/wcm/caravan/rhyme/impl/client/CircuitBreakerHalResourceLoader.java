@@ -0,0 +1,102 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+
+/**
+ * A {@link HalResourceLoader} that delegates to another loader, unless the {@link CircuitBreakerImpl} indicates that
+ * the circuit for the target host is open. In that case, requests fail immediately with a
+ * {@link HalApiClientException} without status code (i.e. a {@link RejectedRequestException}).
+ */
+public class CircuitBreakerHalResourceLoader implements HalResourceLoader {
+
+  private final HalResourceLoader delegate;
+  private final CircuitBreakerImpl circuitBreaker;
+  private final Clock clock;
+
+  /**
+   * @param delegate the loader that executes the actual upstream requests
+   * @param circuitBreaker keeps track of the state of each host
+   * @param clock used to determine when to let through another request to a host
+   */
+  public CircuitBreakerHalResourceLoader(HalResourceLoader delegate, CircuitBreakerImpl circuitBreaker, Clock clock) {
+    this.delegate = delegate;
+    this.circuitBreaker = circuitBreaker;
+    this.clock = clock;
+  }
+
+  @Override
+  public Single<HalResponse> getHalResource(String uri) {
+
+    return executeIfCircuitIsClosed(uri, Single.defer(() -> delegate.getHalResource(uri)));
+  }
+
+  @Override
+  public Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+
+    return executeIfCircuitIsClosed(uri, Single.defer(() -> delegate.revalidateHalResource(uri, staleResponse)));
+  }
+
+  private Single<HalResponse> executeIfCircuitIsClosed(String uri, Single<HalResponse> request) {
+
+    String host = UpstreamHosts.getHost(uri);
+    if (host.isEmpty()) {
+      return request;
+    }
+
+    return Single.defer(() -> {
+
+      if (!circuitBreaker.tryAcquire(host, clock.instant())) {
+        String msg = "The request to " + uri + " was not executed, because the circuit breaker for " + host
+            + " is open after too many failed requests";
+        return Single.error(new RejectedRequestException(msg, uri));
+      }
+
+      AtomicBoolean completed = new AtomicBoolean();
+
+      return request
+          .doOnSuccess(response -> {
+            completed.set(true);
+            circuitBreaker.onSuccess(host);
+          })
+          .doOnError(ex -> {
+            completed.set(true);
+            if (UpstreamHosts.isHostFailure(ex)) {
+              circuitBreaker.onFailure(host, clock.instant());
+            }
+            else {
+              circuitBreaker.onSuccess(host);
+            }
+          })
+          .doOnDispose(() -> {
+            if (!completed.get()) {
+              circuitBreaker.onCancel(host);
+            }
+          });
+    });
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.wcm.caravan.rhyme.api.client.CircuitBreaker;
+
+/**
+ * Implementation of {@link CircuitBreaker} that keeps a separate state for each host. The state transitions are
+ * triggered by {@link CircuitBreakerHalResourceLoader}.
+ */
+public class CircuitBreakerImpl implements CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreakerImpl.class);
+
+  static final int DEFAULT_FAILURE_THRESHOLD = 5;
+  static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final int failureThreshold;
+  private final Duration openDuration;
+
+  private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+
+  private final LongAdder rejectedRequestCount = new LongAdder();
+
+  /**
+   * Create an instance with default settings
+   */
+  public CircuitBreakerImpl() {
+    this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION);
+  }
+
+  /**
+   * @param failureThreshold the number of consecutive failed requests after which the circuit will be opened
+   * @param openDuration for how long requests will fail immediately before another request is let through
+   */
+  public CircuitBreakerImpl(int failureThreshold, Duration openDuration) {
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+  }
+
+  /**
+   * @param host of the upstream request
+   * @param now the current time
+   * @return true if the request can be executed, false if it should be rejected
+   */
+  boolean tryAcquire(String host, Instant now) {
+
+    boolean permitted = getCircuit(host).tryAcquire(now);
+    if (!permitted) {
+      rejectedRequestCount.increment();
+    }
+    return permitted;
+  }
+
+  void onSuccess(String host) {
+
+    getCircuit(host).onSuccess();
+  }
+
+  void onFailure(String host, Instant now) {
+
+    getCircuit(host).onFailure(now);
+  }
+
+  void onCancel(String host) {
+
+    getCircuit(host).onCancel();
+  }
+
+  private HostCircuit getCircuit(String host) {
+
+    return circuits.computeIfAbsent(host, HostCircuit::new);
+  }
+
+  @Override
+  public State getState(String host) {
+
+    HostCircuit circuit = circuits.get(host);
+
+    return circuit != null ? circuit.getState() : State.CLOSED;
+  }
+
+  @Override
+  public Map<String, State> getStates() {
+
+    return circuits.values().stream()
+        .collect(Collectors.toMap(circuit -> circuit.host, HostCircuit::getState));
+  }
+
+  @Override
+  public long getRejectedRequestCount() {
+    return rejectedRequestCount.sum();
+  }
+
+  Duration getOpenDuration() {
+    return openDuration;
+  }
+
+  int getFailureThreshold() {
+    return failureThreshold;
+  }
+
+  private final class HostCircuit {
+
+    private final String host;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    HostCircuit(String host) {
+      this.host = host;
+    }
+
+    synchronized State getState() {
+      return state;
+    }
+
+    synchronized boolean tryAcquire(Instant now) {
+
+      switch (state) {
+        case CLOSED:
+          return true;
+
+        case OPEN:
+          if (now.isBefore(openedAt.plus(openDuration))) {
+            return false;
+          }
+          log.info("The circuit for {} was open for {}, so a probe request will be let through", host, openDuration);
+          state = State.HALF_OPEN;
+          probeInFlight = true;
+          return true;
+
+        default:
+          // only a single probe request is let through while the circuit is half-open
+          if (probeInFlight) {
+            return false;
+          }
+          probeInFlight = true;
+          return true;
+      }
+    }
+
+    synchronized void onSuccess() {
+
+      if (state != State.CLOSED) {
+        log.info("The circuit for {} is closed again, as a request was successful", host);
+      }
+
+      state = State.CLOSED;
+      consecutiveFailures = 0;
+      probeInFlight = false;
+    }
+
+    synchronized void onFailure(Instant now) {
+
+      consecutiveFailures++;
+      probeInFlight = false;
+
+      if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+        log.warn("The circuit for {} was opened after {} consecutive failures, so requests will fail immediately for the next {}",
+            host, consecutiveFailures, openDuration);
+
+        state = State.OPEN;
+        openedAt = now;
+      }
+    }
+
+    synchronized void onCancel() {
+
+      // if a probe request was cancelled, the next request can be used as a probe
+      probeInFlight = false;
+    }
+  }
+}
@@ -0,0 +1,277 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import io.wcm.caravan.rhyme.api.client.ConcurrencyLimiter;
+
+/**
+ * Implementation of {@link ConcurrencyLimiter} that keeps a separate limit and queue for each host, and adjusts the
+ * limit with an additive-increase/multiplicative-decrease algorithm. The requests are started and completed by
+ * {@link ConcurrencyLimitingHalResourceLoader}.
+ * <p>
+ * A host is considered to be overloaded if requests fail, or if the short-term average latency is much higher than
+ * the long-term average latency. Comparing averages (rather than individual latencies) ensures that hosts with a
+ * bimodal latency distribution (e.g. because some responses are served from a cache) are not considered overloaded
+ * whenever a slower response is received. The limit is decreased at most once per window (i.e. only requests that were
+ * started after the previous decrease can trigger another decrease), as the other requests were executed with the
+ * previous limit.
+ * </p>
+ */
+public class ConcurrencyLimiterImpl implements ConcurrencyLimiter {
+
+  static final int DEFAULT_INITIAL_LIMIT = 10;
+  static final int DEFAULT_MAX_LIMIT = 100;
+  static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+  private static final int MIN_LIMIT = 1;
+
+  // the limit is decreased if the short-term average latency is higher than this factor times the long-term average
+  private static final double LATENCY_TOLERANCE = 2.0;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final double SHORT_TERM_SMOOTHING = 0.3;
+  private static final double LONG_TERM_SMOOTHING = 0.05;
+
+  private final int initialLimit;
+  private final int maxLimit;
+  private final int maxQueueSize;
+
+  private final Map<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+  private final LongAdder rejectedRequestCount = new LongAdder();
+
+  /**
+   * Create an instance with default settings
+   */
+  public ConcurrencyLimiterImpl() {
+    this(DEFAULT_INITIAL_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_MAX_QUEUE_SIZE);
+  }
+
+  /**
+   * @param initialLimit the number of concurrent requests that are allowed for a host before any responses were
+   *          received
+   * @param maxLimit the upper bound for the adjusted limit
+   * @param maxQueueSize the maximum number of requests per host that are waiting to be executed
+   */
+  public ConcurrencyLimiterImpl(int initialLimit, int maxLimit, int maxQueueSize) {
+    this.initialLimit = initialLimit;
+    this.maxLimit = maxLimit;
+    this.maxQueueSize = maxQueueSize;
+  }
+
+  /**
+   * @param host of the upstream request
+   * @param request will be run as soon as the request can be executed (which may be immediately)
+   * @return false if the request was rejected because the queue is full
+   */
+  boolean tryAcquire(String host, Runnable request) {
+
+    Acquisition acquisition = getHostLimit(host).tryAcquire(request);
+    if (acquisition == Acquisition.REJECTED) {
+      rejectedRequestCount.increment();
+      return false;
+    }
+    if (acquisition == Acquisition.STARTED) {
+      request.run();
+    }
+    return true;
+  }
+
+  /**
+   * @param host of the upstream request
+   * @param request that was passed to {@link #tryAcquire(String, Runnable)}
+   * @return true if the request was still waiting in the queue (and has now been removed)
+   */
+  boolean removeFromQueue(String host, Runnable request) {
+
+    return getHostLimit(host).removeFromQueue(request);
+  }
+
+  /**
+   * @param host of the upstream request
+   * @param latency the time it took to execute the request (or null if it was cancelled)
+   * @param failed true if the request failed in a way that indicates the host is overloaded
+   */
+  void release(String host, Duration latency, boolean failed) {
+
+    getHostLimit(host).release(latency, failed)
+        .forEach(Runnable::run);
+  }
+
+  private HostLimit getHostLimit(String host) {
+
+    return limits.computeIfAbsent(host, h -> new HostLimit());
+  }
+
+  @Override
+  public int getLimit(String host) {
+
+    HostLimit limit = limits.get(host);
+
+    return limit != null ? limit.getLimit() : initialLimit;
+  }
+
+  @Override
+  public Map<String, Integer> getLimits() {
+
+    return limits.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getLimit()));
+  }
+
+  @Override
+  public int getQueueSize(String host) {
+
+    HostLimit limit = limits.get(host);
+
+    return limit != null ? limit.getQueueSize() : 0;
+  }
+
+  @Override
+  public Map<String, Integer> getQueueSizes() {
+
+    return limits.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQueueSize()));
+  }
+
+  @Override
+  public long getRejectedRequestCount() {
+    return rejectedRequestCount.sum();
+  }
+
+  int getInitialLimit() {
+    return initialLimit;
+  }
+
+  int getMaxLimit() {
+    return maxLimit;
+  }
+
+  int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  private enum Acquisition {
+    STARTED, QUEUED, REJECTED
+  }
+
+  private final class HostLimit {
+
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+
+    private double limit = initialLimit;
+    private int inFlight;
+    private double shortTermLatencyNanos;
+    private double longTermLatencyNanos;
+    // the number of requests that were in flight when the limit was decreased, and have not been completed yet
+    private int requestsBeforeNextDecrease;
+
+    synchronized int getLimit() {
+      return (int)limit;
+    }
+
+    synchronized int getQueueSize() {
+      return queue.size();
+    }
+
+    synchronized Acquisition tryAcquire(Runnable request) {
+
+      if (inFlight < (int)limit) {
+        inFlight++;
+        return Acquisition.STARTED;
+      }
+      if (queue.size() < maxQueueSize) {
+        queue.add(request);
+        return Acquisition.QUEUED;
+      }
+      return Acquisition.REJECTED;
+    }
+
+    synchronized boolean removeFromQueue(Runnable request) {
+
+      return queue.remove(request);
+    }
+
+    /**
+     * @return the queued requests that can now be executed
+     */
+    synchronized List<Runnable> release(Duration latency, boolean failed) {
+
+      if (latency != null) {
+        adjustLimit(latency.toNanos(), failed);
+      }
+      else if (requestsBeforeNextDecrease > 0) {
+        requestsBeforeNextDecrease--;
+      }
+
+      inFlight--;
+
+      List<Runnable> requestsToRun = new ArrayList<>();
+      while (inFlight < (int)limit && !queue.isEmpty()) {
+        inFlight++;
+        requestsToRun.add(queue.poll());
+      }
+      return requestsToRun;
+    }
+
+    private void adjustLimit(long latencyNanos, boolean failed) {
+
+      boolean overloaded = failed;
+      if (!failed) {
+        shortTermLatencyNanos = smooth(shortTermLatencyNanos, latencyNanos, SHORT_TERM_SMOOTHING);
+        overloaded = longTermLatencyNanos > 0 && shortTermLatencyNanos > longTermLatencyNanos * LATENCY_TOLERANCE;
+        // the long-term average is slowly following the observed latency, so that the limit can recover
+        // if an upstream service has become permanently slower
+        longTermLatencyNanos = smooth(longTermLatencyNanos, latencyNanos, LONG_TERM_SMOOTHING);
+      }
+
+      // if this request was started before the limit was decreased, it may still have been affected by the previous limit
+      boolean decreaseAllowed = requestsBeforeNextDecrease == 0;
+      if (!decreaseAllowed) {
+        requestsBeforeNextDecrease--;
+      }
+
+      if (overloaded) {
+        if (decreaseAllowed) {
+          limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+          // the current request is not included, as it is just being completed
+          requestsBeforeNextDecrease = inFlight - 1;
+        }
+      }
+      else if (inFlight >= limit / 2) {
+        // the limit is only increased if it's actually being used, by one for every 'limit' successful requests
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+      }
+    }
+
+    private double smooth(double average, long latencyNanos, double factor) {
+
+      return average > 0 ? average + (latencyNanos - average) * factor : latencyNanos;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+
+/**
+ * A {@link HalResourceLoader} that delegates to another loader, but only executes as many concurrent requests to
+ * each host as allowed by the {@link ConcurrencyLimiterImpl}. Any further requests are queued, or fail immediately
+ * with a {@link HalApiClientException} without status code (i.e. a {@link RejectedRequestException}) if the queue is
+ * full.
+ */
+public class ConcurrencyLimitingHalResourceLoader implements HalResourceLoader {
+
+  private final HalResourceLoader delegate;
+  private final ConcurrencyLimiterImpl limiter;
+  private final Ticker ticker;
+
+  /**
+   * @param delegate the loader that executes the actual upstream requests
+   * @param limiter keeps track of the limit and queue for each host
+   */
+  public ConcurrencyLimitingHalResourceLoader(HalResourceLoader delegate, ConcurrencyLimiterImpl limiter) {
+    this(delegate, limiter, Ticker.systemTicker());
+  }
+
+  /**
+   * @param delegate the loader that executes the actual upstream requests
+   * @param limiter keeps track of the limit and queue for each host
+   * @param ticker used to measure the latency of each request (which must not be affected by adjustments of the wall
+   *          clock)
+   */
+  ConcurrencyLimitingHalResourceLoader(HalResourceLoader delegate, ConcurrencyLimiterImpl limiter, Ticker ticker) {
+    this.delegate = delegate;
+    this.limiter = limiter;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public Single<HalResponse> getHalResource(String uri) {
+
+    return executeWithinLimit(uri, Single.defer(() -> delegate.getHalResource(uri)));
+  }
+
+  @Override
+  public Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+
+    return executeWithinLimit(uri, Single.defer(() -> delegate.revalidateHalResource(uri, staleResponse)));
+  }
+
+  private Single<HalResponse> executeWithinLimit(String uri, Single<HalResponse> request) {
+
+    String host = UpstreamHosts.getHost(uri);
+    if (host.isEmpty()) {
+      return request;
+    }
+
+    return Single.create(emitter -> new LimitedRequest(uri, host, request, emitter).start());
+  }
+
+  private final class LimitedRequest implements Runnable {
+
+    private final String uri;
+    private final String host;
+    private final Single<HalResponse> request;
+    private final SingleEmitter<HalResponse> emitter;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private volatile boolean started;
+    private volatile Stopwatch stopwatch;
+    private volatile Disposable subscription;
+
+    LimitedRequest(String uri, String host, Single<HalResponse> request, SingleEmitter<HalResponse> emitter) {
+      this.uri = uri;
+      this.host = host;
+      this.request = request;
+      this.emitter = emitter;
+    }
+
+    void start() {
+
+      emitter.setCancellable(this::cancel);
+
+      if (!limiter.tryAcquire(host, this)) {
+        String msg = "The request to " + uri + " was not executed, because there are already too many requests to " + host
+            + " in progress and waiting";
+        emitter.onError(new RejectedRequestException(msg, uri));
+      }
+    }
+
+    /**
+     * Called by the {@link ConcurrencyLimiterImpl} as soon as the request can be executed
+     */
+    @Override
+    public void run() {
+
+      started = true;
+      if (emitter.isDisposed()) {
+        release(null, false);
+        return;
+      }
+
+      stopwatch = Stopwatch.createStarted(ticker);
+      subscription = request.subscribe(
+          response -> {
+            release(getLatency(), false);
+            emitter.onSuccess(response);
+          },
+          ex -> {
+            if (ex instanceof RejectedRequestException) {
+              // the request wasn't sent to the host (e.g. because of an open circuit), so the limit isn't adjusted
+              release(null, false);
+            }
+            else {
+              release(getLatency(), UpstreamHosts.isHostFailure(ex));
+            }
+            emitter.onError(ex);
+          });
+    }
+
+    private Duration getLatency() {
+
+      return Duration.ofNanos(stopwatch.elapsed(TimeUnit.NANOSECONDS));
+    }
+
+    private void cancel() {
+
+      if (limiter.removeFromQueue(host, this) || !started) {
+        return;
+      }
+
+      Disposable disposable = subscription;
+      if (disposable != null) {
+        disposable.dispose();
+      }
+      release(null, false);
+    }
+
+    private void release(Duration latency, boolean failed) {
+
+      // this is only executed once, even if the request is cancelled while it completes
+      if (released.compareAndSet(false, true)) {
+        limiter.release(host, latency, failed);
+      }
+    }
+  }
+}
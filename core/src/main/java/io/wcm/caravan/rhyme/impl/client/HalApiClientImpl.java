@@ -19,6 +19,8 @@
  */
 package io.wcm.caravan.rhyme.impl.client;
 
+import java.util.Map;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 
@@ -26,6 +28,8 @@ import io.wcm.caravan.rhyme.api.client.HalApiClient;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.impl.client.proxy.HalApiClientProxyFactory;
+import io.wcm.caravan.rhyme.impl.client.proxy.ResourceStateCacheImpl;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 
 /**
@@ -47,15 +51,24 @@ public class HalApiClientImpl implements HalApiClient {
    *          incoming request
    * @param typeSupport the strategy to detect HAL API annotations and perform type conversions
    * @param objectMapper the Jackson {@link ObjectMapper} to use for all JSON deserialization
+   * @param resourceStateCache to re-use converted objects across requests (can be null)
    * @param overrides provides alternative implementations to be returned by {@link #getRemoteResource(String, Class)}
+   * @param generatedProxyClasses true if client proxies should be instances of generated classes rather than JDK
+   *          dynamic proxies
+   * @param prefetchedRelations a map of link relations (for which all linked resources should be loaded as soon as the
+   *          relation is followed) to the maximum number of resources to load concurrently
+   * @param speculativePrefetching to learn which relations are usually followed, and prefetch the linked resources
+   *          (can be null)
    */
   public HalApiClientImpl(HalResourceLoader resourceLoader, RequestMetricsCollector metrics, HalApiTypeSupport typeSupport, ObjectMapper objectMapper,
-      RemoteResourceOverrides overrides) {
+      ResourceStateCacheImpl resourceStateCache, RemoteResourceOverrides overrides, boolean generatedProxyClasses,
+      Map<String, Integer> prefetchedRelations, SpeculativePrefetchingImpl speculativePrefetching) {
 
     Preconditions.checkNotNull(resourceLoader, "A " + HalResourceLoader.class.getName() + " instance must be provided");
     HalResourceLoaderWrapper wrapper = new HalResourceLoaderWrapper(resourceLoader, metrics);
 
-    factory = new HalApiClientProxyFactory(wrapper, metrics, typeSupport, objectMapper);
+    factory = new HalApiClientProxyFactory(wrapper, metrics, typeSupport, objectMapper, resourceStateCache, generatedProxyClasses,
+        prefetchedRelations, speculativePrefetching);
 
     this.metrics = metrics;
     this.typeSupport = typeSupport;
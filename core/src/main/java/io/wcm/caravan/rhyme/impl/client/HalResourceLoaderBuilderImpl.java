@@ -19,101 +19,353 @@
  */
 package io.wcm.caravan.rhyme.impl.client;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
 import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
+import io.wcm.caravan.rhyme.api.client.CircuitBreaker;
+import io.wcm.caravan.rhyme.api.client.CloseableHalResourceLoader;
+import io.wcm.caravan.rhyme.api.client.ConcurrencyLimiter;
 import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
+import io.wcm.caravan.rhyme.impl.client.cache.CacheInvalidatorImpl;
 import io.wcm.caravan.rhyme.impl.client.cache.CachingHalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.cache.CachingStatisticsImpl;
 import io.wcm.caravan.rhyme.impl.client.cache.DefaultCachingConfiguration;
+import io.wcm.caravan.rhyme.impl.client.cache.FrequencyBasedCacheImplementation;
 import io.wcm.caravan.rhyme.impl.client.cache.GuavaCacheImplementation;
+import io.wcm.caravan.rhyme.impl.client.cache.OffHeapCacheImplementation;
+import io.wcm.caravan.rhyme.impl.client.cache.PersistentCacheImplementation;
+import io.wcm.caravan.rhyme.impl.client.cache.TieredCacheImplementation;
 import io.wcm.caravan.rhyme.impl.client.http.HttpHalResourceLoader;
-import io.wcm.caravan.rhyme.impl.client.http.HttpUrlConnectionSupport;
+import io.wcm.caravan.rhyme.impl.client.http.JdkHttpClientSupport;
 
 public class HalResourceLoaderBuilderImpl implements HalResourceLoaderBuilder {
 
-  private final HalResourceLoader loader;
-  private final CachingConfiguration cachingConfig;
-  private final HalResponseCache cache;
-  private final Clock clock;
+  private static final int DEFAULT_MAX_NUM_ITEMS = 10000;
+  private static final Duration DEFAULT_TIME_TO_IDLE = Duration.ofDays(1);
+
+  private static final String SMILE_FACTORY_CLASS_NAME = "com.fasterxml.jackson.dataformat.smile.SmileFactory";
+
+  // all fields are only assigned in the constructors or on a new copy created with #copyWith, so the builder is immutable
+  private HalResourceLoader loader;
+  private CachingConfiguration cachingConfig;
+  // caches are only created in #build, so that they can depend on the final configuration of the builder
+  private Function<HalResourceLoaderBuilderImpl, HalResponseCache> cacheFactory;
+  private Clock clock;
+  private Scheduler backgroundScheduler;
+  private AsyncHalResponseCache secondLevelCache;
+  private CachingStatisticsImpl statistics;
+  private CacheInvalidatorImpl invalidator;
+  private CircuitBreakerImpl circuitBreaker;
+  private ConcurrencyLimiterImpl concurrencyLimiter;
 
   public HalResourceLoaderBuilderImpl() {
-    this.loader = HttpHalResourceLoader.withClientImplementation(new HttpUrlConnectionSupport());
+    this.loader = HttpHalResourceLoader.withClientImplementation(new JdkHttpClientSupport());
     this.cachingConfig = new DefaultCachingConfiguration();
-    this.cache = null;
+    this.cacheFactory = null;
     this.clock = Clock.systemUTC();
+    this.backgroundScheduler = null;
+    this.secondLevelCache = null;
+    this.statistics = null;
+    this.invalidator = null;
+    this.circuitBreaker = null;
+    this.concurrencyLimiter = null;
   }
 
-  private HalResourceLoaderBuilderImpl(HalResourceLoader loader, CachingConfiguration cachingConfig, HalResponseCache cache, Clock clock) {
-    this.loader = loader;
-    this.cachingConfig = cachingConfig;
-    this.cache = cache;
-    this.clock = clock;
+  private HalResourceLoaderBuilderImpl(HalResourceLoaderBuilderImpl other) {
+    this.loader = other.loader;
+    this.cachingConfig = other.cachingConfig;
+    this.cacheFactory = other.cacheFactory;
+    this.clock = other.clock;
+    this.backgroundScheduler = other.backgroundScheduler;
+    this.secondLevelCache = other.secondLevelCache;
+    this.statistics = other.statistics;
+    this.invalidator = other.invalidator;
+    this.circuitBreaker = other.circuitBreaker;
+    this.concurrencyLimiter = other.concurrencyLimiter;
+  }
+
+  private HalResourceLoaderBuilderImpl copyWith(Consumer<HalResourceLoaderBuilderImpl> modification) {
+
+    HalResourceLoaderBuilderImpl copy = new HalResourceLoaderBuilderImpl(this);
+    modification.accept(copy);
+    return copy;
   }
 
   @Override
   public HalResourceLoaderBuilder withExistingLoader(HalResourceLoader customLoader) {
 
-    return new HalResourceLoaderBuilderImpl(customLoader, cachingConfig, cache, clock);
+    return copyWith(b -> b.loader = customLoader);
   }
 
   @Override
   public HalResourceLoaderBuilder withCustomHttpClient(HttpClientSupport client) {
 
-    HttpHalResourceLoader customLoader = HttpHalResourceLoader.withClientImplementation(client);
+    HttpHalResourceLoader httpLoader = HttpHalResourceLoader.withClientImplementation(client);
+    boolean deduplicating = loader instanceof HttpHalResourceLoader && ((HttpHalResourceLoader)loader).isDeduplicatingBodies();
+    HttpHalResourceLoader customLoader = deduplicating ? httpLoader.withDeduplicatedBodies() : httpLoader;
+
+    return copyWith(b -> b.loader = customLoader);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withRequestTimeout(Duration timeout) {
+
+    if (!(loader instanceof HttpHalResourceLoader) || !(((HttpHalResourceLoader)loader).getClient() instanceof JdkHttpClientSupport)) {
+      throw new HalApiDeveloperException("#withRequestTimeout can only be used with the default HTTP client, "
+          + "but not with #withCustomHttpClient or #withExistingLoader");
+    }
+
+    HttpHalResourceLoader httpLoader = HttpHalResourceLoader.withClientImplementation(new JdkHttpClientSupport(timeout));
+    boolean deduplicating = ((HttpHalResourceLoader)loader).isDeduplicatingBodies();
+    HttpHalResourceLoader timeoutLoader = deduplicating ? httpLoader.withDeduplicatedBodies() : httpLoader;
+
+    return copyWith(b -> b.loader = timeoutLoader);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withDeduplicatedResponseBodies() {
+
+    if (!(loader instanceof HttpHalResourceLoader)) {
+      throw new HalApiDeveloperException("#withDeduplicatedResponseBodies can only be used with the default HTTP client or #withCustomHttpClient, "
+          + "but not with #withExistingLoader");
+    }
 
-    return new HalResourceLoaderBuilderImpl(customLoader, cachingConfig, cache, clock);
+    HttpHalResourceLoader deduplicatingLoader = ((HttpHalResourceLoader)loader).withDeduplicatedBodies();
+
+    return copyWith(b -> b.loader = deduplicatingLoader);
   }
 
   @Override
   public HalResourceLoaderBuilder withMemoryCache() {
 
-    return withMemoryCache(10000, Duration.ofDays(1));
+    return withMemoryCache(DEFAULT_MAX_NUM_ITEMS, DEFAULT_TIME_TO_IDLE);
   }
 
   @Override
   public HalResourceLoaderBuilder withMemoryCache(int maxNumItems, Duration timeToIdle) {
 
-    GuavaCacheImplementation guava = new GuavaCacheImplementation(maxNumItems, timeToIdle);
+    return copyWith(b -> b.cacheFactory = config -> new GuavaCacheImplementation(maxNumItems, timeToIdle, config.statistics != null));
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withMemoryBudgetCache(long maxBytes, Duration timeToIdle) {
+
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive, but was " + maxBytes);
+    }
+
+    return copyWith(b -> b.cacheFactory = config -> GuavaCacheImplementation.withMaxBytes(maxBytes, timeToIdle));
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withFrequencyBasedCache(int maxNumItems, Duration timeToIdle) {
 
-    return new HalResourceLoaderBuilderImpl(loader, cachingConfig, guava, clock);
+    return copyWith(b -> b.cacheFactory = config -> new FrequencyBasedCacheImplementation(maxNumItems, timeToIdle));
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withOffHeapCache(long maxBytes, Duration timeToIdle, boolean compressed) {
+
+    ensureSmileIsAvailable("#withOffHeapCache");
+
+    return copyWith(b -> b.cacheFactory = config -> new OffHeapCacheImplementation(maxBytes, timeToIdle, compressed));
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withPersistentCache(Path directory) {
+
+    return withPersistentCache(directory, PersistentCacheImplementation.DEFAULT_MAX_BYTES);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withPersistentCache(Path directory, long maxBytes) {
+
+    ensureSmileIsAvailable("#withPersistentCache");
+
+    return copyWith(b -> b.cacheFactory = config -> new PersistentCacheImplementation(directory, maxBytes, config.clock));
+  }
+
+  private static void ensureSmileIsAvailable(String methodName) {
+
+    try {
+      Class.forName(SMILE_FACTORY_CLASS_NAME, false, HalResourceLoaderBuilderImpl.class.getClassLoader());
+    }
+    catch (ClassNotFoundException | LinkageError ex) {
+      throw new HalApiDeveloperException(methodName + " requires the optional com.fasterxml.jackson.dataformat:jackson-dataformat-smile "
+          + "dependency to be available at runtime", ex);
+    }
   }
 
   @Override
   public HalResourceLoaderBuilder withCustomCache(HalResponseCache cacheImplementation) {
 
-    return new HalResourceLoaderBuilderImpl(loader, cachingConfig, cacheImplementation, clock);
+    return copyWith(b -> b.cacheFactory = config -> cacheImplementation);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withSecondLevelCache(AsyncHalResponseCache cacheImplementation) {
+
+    return copyWith(b -> b.secondLevelCache = cacheImplementation);
   }
 
   @Override
   public HalResourceLoaderBuilder withCachingConfiguration(CachingConfiguration config) {
 
-    return new HalResourceLoaderBuilderImpl(loader, config, cache, clock);
+    return copyWith(b -> b.cachingConfig = config);
   }
 
   @Override
   public HalResourceLoaderBuilder withClock(Clock customClock) {
 
-    return new HalResourceLoaderBuilderImpl(loader, cachingConfig, cache, customClock);
+    return copyWith(b -> b.clock = customClock);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withBackgroundScheduler(Scheduler scheduler) {
+
+    return copyWith(b -> b.backgroundScheduler = scheduler);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withCachingStatistics(CachingStatistics cachingStatistics) {
+
+    if (!(cachingStatistics instanceof CachingStatisticsImpl)) {
+      throw new HalApiDeveloperException("The " + CachingStatistics.class.getSimpleName() + " instance must be created with "
+          + CachingStatistics.class.getSimpleName() + "#create()");
+    }
+
+    return copyWith(b -> b.statistics = (CachingStatisticsImpl)cachingStatistics);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withCacheInvalidator(CacheInvalidator cacheInvalidator) {
+
+    if (!(cacheInvalidator instanceof CacheInvalidatorImpl)) {
+      throw new HalApiDeveloperException("The " + CacheInvalidator.class.getSimpleName() + " instance must be created with "
+          + CacheInvalidator.class.getSimpleName() + "#create()");
+    }
+
+    return copyWith(b -> b.invalidator = (CacheInvalidatorImpl)cacheInvalidator);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withCircuitBreaker(CircuitBreaker breaker) {
+
+    if (!(breaker instanceof CircuitBreakerImpl)) {
+      throw new HalApiDeveloperException("The " + CircuitBreaker.class.getSimpleName() + " instance must be created with "
+          + CircuitBreaker.class.getSimpleName() + "#create()");
+    }
+
+    return copyWith(b -> b.circuitBreaker = (CircuitBreakerImpl)breaker);
+  }
+
+  @Override
+  public HalResourceLoaderBuilder withConcurrencyLimiter(ConcurrencyLimiter limiter) {
+
+    if (!(limiter instanceof ConcurrencyLimiterImpl)) {
+      throw new HalApiDeveloperException("The " + ConcurrencyLimiter.class.getSimpleName() + " instance must be created with "
+          + ConcurrencyLimiter.class.getSimpleName() + "#create()");
+    }
+
+    return copyWith(b -> b.concurrencyLimiter = (ConcurrencyLimiterImpl)limiter);
   }
 
   @Override
   public HalResourceLoader build() {
 
+    Scheduler scheduler = backgroundScheduler != null ? backgroundScheduler : CachingHalResourceLoader.getDefaultBackgroundScheduler();
+    CachingStatisticsImpl stats = statistics != null ? statistics : new CachingStatisticsImpl();
+
+    // the circuit breaker and concurrency limits are applied only to upstream requests, so that cached responses can still be used
+    HalResourceLoader upstream = circuitBreaker != null ? new CircuitBreakerHalResourceLoader(loader, circuitBreaker, clock) : loader;
+    if (concurrencyLimiter != null) {
+      upstream = new ConcurrencyLimitingHalResourceLoader(upstream, concurrencyLimiter);
+    }
+
+    HalResponseCache cache = cacheFactory != null ? cacheFactory.apply(this) : null;
+
+    if (secondLevelCache != null) {
+      HalResponseCache firstLevelCache = cache != null ? cache : new GuavaCacheImplementation(DEFAULT_MAX_NUM_ITEMS, DEFAULT_TIME_TO_IDLE, statistics != null);
+      TieredCacheImplementation tiered = new TieredCacheImplementation(firstLevelCache, secondLevelCache, scheduler);
+      return registerWithInvalidator(new CachingHalResourceLoader(upstream, tiered, cachingConfig, clock, scheduler, stats));
+    }
+
     if (cache != null) {
-      return new CachingHalResourceLoader(loader, cache, cachingConfig, clock);
+      return registerWithInvalidator(new CachingHalResourceLoader(upstream, cache, cachingConfig, clock, scheduler, stats));
     }
 
     if (!(cachingConfig instanceof DefaultCachingConfiguration)) {
       throw new HalApiDeveloperException("You have only provided a " + CachingConfiguration.class.getSimpleName()
           + ", but you must also actually enable caching by calling #withMemoryCache or #withCustomCache");
     }
+    ensureCachingIsEnabled(backgroundScheduler, "#withBackgroundScheduler");
+    ensureCachingIsEnabled(statistics, "#withCachingStatistics");
+    ensureCachingIsEnabled(invalidator, "#withCacheInvalidator");
+
+    return upstream;
+  }
+
+  @Override
+  public CloseableHalResourceLoader buildCloseable() {
+
+    HalResourceLoader built = build();
+    if (built instanceof CloseableHalResourceLoader) {
+      return (CloseableHalResourceLoader)built;
+    }
+    return new NonCachingCloseableLoader(built);
+  }
+
+  private static void ensureCachingIsEnabled(Object option, String methodName) {
 
-    return loader;
+    if (option != null) {
+      throw new HalApiDeveloperException("You have called " + methodName
+          + ", but you must also actually enable caching by calling #withMemoryCache or #withCustomCache");
+    }
   }
 
+  private CachingHalResourceLoader registerWithInvalidator(CachingHalResourceLoader cachingLoader) {
+
+    if (invalidator != null) {
+      invalidator.register(cachingLoader);
+    }
+    return cachingLoader;
+  }
+
+  private static final class NonCachingCloseableLoader implements CloseableHalResourceLoader {
+
+    private final HalResourceLoader delegate;
+
+    NonCachingCloseableLoader(HalResourceLoader delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Single<HalResponse> getHalResource(String uri) {
+      return delegate.getHalResource(uri);
+    }
+
+    @Override
+    public Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+      return delegate.revalidateHalResource(uri, staleResponse);
+    }
+
+    @Override
+    public void close() {
+      // there are no caches or background tasks that would need to be shut down
+    }
+  }
 }
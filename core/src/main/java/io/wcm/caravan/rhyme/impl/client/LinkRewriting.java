@@ -21,10 +21,17 @@ package io.wcm.caravan.rhyme.impl.client;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 import io.wcm.caravan.hal.resource.HalResource;
 import io.wcm.caravan.hal.resource.Link;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
@@ -36,6 +43,9 @@ import io.wcm.caravan.rhyme.api.common.HalResponse;
  */
 public class LinkRewriting {
 
+  private static final String PROPERTY_LINKS = "_links";
+  private static final String PROPERTY_EMBEDDED = "_embedded";
+
   private static final String PATH_PLACEHOLDER = "/lets/assume/this/technically/valid/path/isnt/actually/used/anywhere";
 
   private static final Logger log = LoggerFactory.getLogger(LinkRewriting.class);
@@ -45,7 +55,7 @@ public class LinkRewriting {
   /**
    * @param contextUrl the URI from which the resource to be processed was retrieved
    */
-  LinkRewriting(String contextUrl) {
+  public LinkRewriting(String contextUrl) {
     try {
       this.contextUri = new URI(contextUrl);
     }
@@ -54,12 +64,26 @@ public class LinkRewriting {
     }
   }
 
+  /**
+   * @param contextUrl the URI from which the resource to be processed was retrieved
+   * @param response from which the links in the body will be rewritten
+   * @return a new instance with rewritten links (or the given response if no links had to be rewritten)
+   * @see #resolveRelativeLinks(HalResponse)
+   */
+  public static HalResponse resolveRelativeLinks(String contextUrl, HalResponse response) {
+
+    return new LinkRewriting(contextUrl).resolveRelativeLinks(response);
+  }
+
   /**
    * Rewrites all relative link URLs in the given to become absolute URLs, using protocol, hostname port
    * etc. from the context URL given in the constructor.
    * If that context URL isn't absolute, then the links remain unchanged.
+   * The given response is never modified, as its body may be shared with other responses (e.g. if it was
+   * retrieved from a cache, or contains JSON nodes that were de-duplicated across responses). Only the JSON objects
+   * that contain a relative link (and their parents) are copied, all other nodes are shared with the given response.
    * @param response from which the links in the body will be rewritten
-   * @return a new instance with rewritten links
+   * @return a new instance with rewritten links (or the given response if no links had to be rewritten)
    */
   HalResponse resolveRelativeLinks(HalResponse response) {
 
@@ -68,24 +92,129 @@ public class LinkRewriting {
     }
 
     HalResource body = response.getBody();
+    if (body == null) {
+      return response;
+    }
+
+    ObjectNode model = body.getModel();
+    ObjectNode rewritten = rewriteResource(model);
+    if (rewritten == model) {
+      return response;
+    }
+
+    return response.withBody(new HalResource(rewritten));
+  }
+
+  /**
+   * @param resource the JSON of a HAL resource (which will not be modified)
+   * @return the same instance if no links had to be rewritten, or a shallow copy with rewritten links and embedded
+   *         resources
+   */
+  private ObjectNode rewriteResource(ObjectNode resource) {
+
+    JsonNode links = resource.get(PROPERTY_LINKS);
+    JsonNode embedded = resource.get(PROPERTY_EMBEDDED);
+
+    JsonNode rewrittenLinks = links != null ? rewriteRelations(links, this::rewriteLinkObject) : null;
+    JsonNode rewrittenEmbedded = embedded != null ? rewriteRelations(embedded, this::rewriteResource) : null;
+
+    if (rewrittenLinks == links && rewrittenEmbedded == embedded) {
+      return resource;
+    }
+
+    ObjectNode copy = resource.objectNode();
+    copy.setAll(resource);
+    if (links != null) {
+      copy.set(PROPERTY_LINKS, rewrittenLinks);
+    }
+    if (embedded != null) {
+      copy.set(PROPERTY_EMBEDDED, rewrittenEmbedded);
+    }
+    return copy;
+  }
+
+  /**
+   * @param relations the "_links" or "_embedded" object
+   * @param rewriteFunc to rewrite a single link or embedded resource
+   * @return the same instance if nothing was rewritten, or a shallow copy with the rewritten values
+   */
+  private static JsonNode rewriteRelations(JsonNode relations, UnaryOperator<ObjectNode> rewriteFunc) {
+
+    if (!relations.isObject()) {
+      return relations;
+    }
 
-    rewriteLinksRecursively(body);
+    ObjectNode copy = null;
 
-    return response.withBody(body);
+    Iterator<Map.Entry<String, JsonNode>> fields = relations.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+
+      JsonNode value = field.getValue();
+      JsonNode rewrittenValue = value.isArray() ? rewriteArray((ArrayNode)value, rewriteFunc) : rewriteObject(value, rewriteFunc);
+
+      if (rewrittenValue != value) {
+        if (copy == null) {
+          copy = ((ObjectNode)relations).objectNode();
+          copy.setAll((ObjectNode)relations);
+        }
+        copy.set(field.getKey(), rewrittenValue);
+      }
+    }
+
+    return copy != null ? copy : relations;
   }
 
-  private void rewriteLinksRecursively(HalResource resource) {
+  private static JsonNode rewriteArray(ArrayNode array, UnaryOperator<ObjectNode> rewriteFunc) {
+
+    ArrayNode copy = null;
+
+    for (int i = 0; i < array.size(); i++) {
+      JsonNode value = array.get(i);
+      JsonNode rewrittenValue = rewriteObject(value, rewriteFunc);
 
-    resource.getLinks().values().forEach(this::rewriteLink);
+      if (rewrittenValue != value) {
+        if (copy == null) {
+          copy = array.arrayNode(array.size());
+          copy.addAll(array);
+        }
+        copy.set(i, rewrittenValue);
+      }
+    }
+
+    return copy != null ? copy : array;
+  }
+
+  private static JsonNode rewriteObject(JsonNode value, UnaryOperator<ObjectNode> rewriteFunc) {
+
+    return value.isObject() ? rewriteFunc.apply((ObjectNode)value) : value;
+  }
+
+  private ObjectNode rewriteLinkObject(ObjectNode link) {
+
+    JsonNode hrefNode = link.get("href");
+    if (hrefNode == null || !isRelative(hrefNode.asText(null))) {
+      return link;
+    }
+
+    String href = hrefNode.asText();
+    String newHref = link.path("templated").asBoolean() ? resolvePathTemplate(href) : resolvePath(href);
+
+    ObjectNode copy = link.objectNode();
+    copy.setAll(link);
+    copy.put("href", newHref);
+    return copy;
+  }
 
-    resource.getEmbedded().values().forEach(this::rewriteLinksRecursively);
+  private static boolean isRelative(String href) {
+    return href != null && (href.startsWith("/") || href.startsWith("{"));
   }
 
   void rewriteLink(Link link) {
 
     String href = link.getHref();
 
-    if (href.startsWith("/") || href.startsWith("{")) {
+    if (isRelative(href)) {
 
       // URI templates cannot be parsed by the URI class, so we need a workaround for them
       String newHref = link.isTemplated() ? resolvePathTemplate(href) : resolvePath(href);
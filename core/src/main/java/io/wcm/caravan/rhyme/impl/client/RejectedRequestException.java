@@ -0,0 +1,37 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+
+/**
+ * A {@link HalApiClientException} (without status code) for requests that were rejected without actually being sent
+ * to the upstream host, e.g. by the {@link CircuitBreakerHalResourceLoader} or
+ * {@link ConcurrencyLimitingHalResourceLoader}. This allows to distinguish these rejections from actual network
+ * errors or timeouts, which also don't have a status code.
+ */
+final class RejectedRequestException extends HalApiClientException {
+
+  private static final long serialVersionUID = 1L;
+
+  RejectedRequestException(String message, String requestUrl) {
+    super(message, null, requestUrl, null);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+
+/**
+ * Common logic to determine the host of an upstream request, and whether a failed request indicates that the host is
+ * unavailable or overloaded. This is shared by {@link CircuitBreakerHalResourceLoader},
+ * {@link ConcurrencyLimitingHalResourceLoader} and the caching statistics, so that all of them attribute the same
+ * requests to the same hosts, and treat the same failures in the same way.
+ */
+public final class UpstreamHosts {
+
+  private UpstreamHosts() {
+    // only static methods
+  }
+
+  /**
+   * Extracts the host name from an absolute URI without parsing the whole URI, as this is called for every request
+   * @param uri the URI of the requested resource
+   * @return the host name (or an empty string if the given URI is not absolute)
+   */
+  public static String getHost(String uri) {
+
+    int schemeEnd = uri.indexOf("://");
+    if (schemeEnd <= 0 || !isValidScheme(uri, schemeEnd)) {
+      return "";
+    }
+
+    int authorityStart = schemeEnd + 3;
+    int authorityEnd = authorityStart;
+    while (authorityEnd < uri.length() && "/?#".indexOf(uri.charAt(authorityEnd)) < 0) {
+      authorityEnd++;
+    }
+
+    // skip any user info
+    int hostStart = authorityStart;
+    int at = uri.lastIndexOf('@', authorityEnd - 1);
+    if (at >= authorityStart) {
+      hostStart = at + 1;
+    }
+
+    // remove the port (but keep the brackets around an IPv6 address, as URI#getHost does)
+    int hostEnd = authorityEnd;
+    if (hostStart < authorityEnd && uri.charAt(hostStart) == '[') {
+      int bracket = uri.indexOf(']', hostStart);
+      if (bracket >= 0 && bracket < authorityEnd) {
+        hostEnd = bracket + 1;
+      }
+    }
+    else {
+      int colon = uri.indexOf(':', hostStart);
+      if (colon >= 0 && colon < authorityEnd) {
+        hostEnd = colon;
+      }
+    }
+
+    return uri.substring(hostStart, hostEnd);
+  }
+
+  private static boolean isValidScheme(String uri, int schemeEnd) {
+
+    for (int i = 0; i < schemeEnd; i++) {
+      char c = uri.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '+' && c != '-' && c != '.') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param ex the error emitted by the upstream request
+   * @return true if the host could not be reached, or responded that it is unavailable
+   */
+  static boolean isHostFailure(Throwable ex) {
+
+    if (!(ex instanceof HalApiClientException)) {
+      return true;
+    }
+
+    // any other status code means that the host is reachable and responding
+    Integer status = ((HalApiClientException)ex).getStatusCode();
+    return status == null || status == 503 || status == 504;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.nio.charset.StandardCharsets;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * Learns how often the body of each resource without "cache-control: max-age" header is actually changing, by
+ * comparing a fingerprint of each response body with the one that was previously retrieved for the same URI. The
+ * max-age is doubled whenever the body was unchanged, and halved whenever the body has changed (within the bounds
+ * defined by the {@link CachingConfiguration}).
+ * <p>
+ * Once a response with adapted max-age was stored in cache, it will be revalidated with a conditional request. If the
+ * upstream server confirms that it wasn't modified, the max-age is also doubled.
+ * </p>
+ */
+class AdaptiveMaxAgeTracker {
+
+  private static final int MAX_TRACKED_URIS = 10000;
+
+  private final CachingConfiguration configuration;
+
+  private final Cache<String, Observation> observations = CacheBuilder.newBuilder()
+      .maximumSize(MAX_TRACKED_URIS)
+      .build();
+
+  AdaptiveMaxAgeTracker(CachingConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  boolean isEnabled() {
+    return configuration.isAdaptiveMaxAgeEnabled();
+  }
+
+  /**
+   * @param response a successful response without max-age that was just retrieved from upstream
+   * @param defaultMaxAge the max-age that would be used if it wasn't adapted
+   * @return the adapted max-age
+   */
+  int adaptMaxAge(HalResponse response, int defaultMaxAge) {
+
+    long fingerprint = calculateFingerprint(response);
+
+    Observation previous = observations.getIfPresent(response.getUri());
+
+    int maxAge;
+    if (previous == null) {
+      maxAge = defaultMaxAge;
+    }
+    else if (previous.fingerprint == fingerprint) {
+      maxAge = previous.maxAge * 2;
+    }
+    else {
+      maxAge = previous.maxAge / 2;
+    }
+
+    return updateObservation(response.getUri(), fingerprint, maxAge);
+  }
+
+  /**
+   * @param response a response that was revalidated with a "304 Not Modified" response from upstream
+   * @param defaultMaxAge the max-age that would be used if it wasn't adapted
+   * @return the adapted max-age
+   */
+  int adaptMaxAgeOfUnchangedResponse(HalResponse response, int defaultMaxAge) {
+
+    Observation previous = observations.getIfPresent(response.getUri());
+    if (previous == null) {
+      return adaptMaxAge(response, defaultMaxAge);
+    }
+
+    return updateObservation(response.getUri(), previous.fingerprint, previous.maxAge * 2);
+  }
+
+  /**
+   * @param response a response that was previously stored in cache
+   * @return true if the max-age of that response was calculated by this tracker
+   */
+  boolean hasAdaptedMaxAge(HalResponse response) {
+
+    Observation observation = observations.getIfPresent(response.getUri());
+
+    return observation != null && response.getMaxAge() != null && observation.maxAge == response.getMaxAge();
+  }
+
+  private int updateObservation(String uri, long fingerprint, int maxAge) {
+
+    int boundedMaxAge = Math.max(configuration.getMinAdaptiveMaxAge(), Math.min(configuration.getMaxAdaptiveMaxAge(), maxAge));
+
+    observations.put(uri, new Observation(fingerprint, boundedMaxAge));
+
+    return boundedMaxAge;
+  }
+
+  private static long calculateFingerprint(HalResponse response) {
+
+    if (response.getBody() == null) {
+      return 0;
+    }
+
+    String json = response.getBody().getModel().toString();
+
+    return Hashing.murmur3_128().hashString(json, StandardCharsets.UTF_8).asLong();
+  }
+
+  private static final class Observation {
+
+    private final long fingerprint;
+    private final int maxAge;
+
+    Observation(long fingerprint, int maxAge) {
+      this.fingerprint = fingerprint;
+      this.maxAge = maxAge;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * Adapts a blocking {@link HalResponseCache} implementation (e.g. {@link PersistentCacheImplementation}) to the
+ * {@link AsyncHalResponseCache} interface, by executing all writes on the given {@link Scheduler}
+ */
+public class AsyncCacheAdapter implements AsyncHalResponseCache {
+
+  private final HalResponseCache blockingCache;
+  private final Scheduler scheduler;
+
+  /**
+   * @param blockingCache the cache implementation to adapt
+   * @param scheduler on which the blocking calls to {@link HalResponseCache#store(HalResponse)} are executed
+   */
+  public AsyncCacheAdapter(HalResponseCache blockingCache, Scheduler scheduler) {
+    this.blockingCache = blockingCache;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public Maybe<HalResponse> load(String uri) {
+
+    return blockingCache.load(uri);
+  }
+
+  @Override
+  public Completable store(HalResponse response) {
+
+    return Completable.fromAction(() -> blockingCache.store(response))
+        .subscribeOn(scheduler);
+  }
+
+  @Override
+  public Completable remove(String uri) {
+
+    return Completable.fromAction(() -> blockingCache.remove(uri))
+        .subscribeOn(scheduler);
+  }
+
+  HalResponseCache getBlockingCache() {
+    return blockingCache;
+  }
+}
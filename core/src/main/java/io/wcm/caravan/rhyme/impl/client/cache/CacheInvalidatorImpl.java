@@ -0,0 +1,71 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToIntFunction;
+
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
+
+/**
+ * Implementation of {@link CacheInvalidator} that delegates to all {@link CachingHalResourceLoader} instances
+ * that were created with this instance
+ */
+public class CacheInvalidatorImpl implements CacheInvalidator {
+
+  private final List<CachingHalResourceLoader> loaders = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param loader a caching loader whose responses should be invalidated by this instance
+   */
+  public void register(CachingHalResourceLoader loader) {
+    loader.enableInvalidation(this);
+    loaders.add(loader);
+  }
+
+  /**
+   * @param loader a caching loader that was closed, and must no longer be referenced by this instance
+   */
+  void unregister(CachingHalResourceLoader loader) {
+    loaders.remove(loader);
+  }
+
+  @Override
+  public int invalidate(String uri) {
+    return sumOf(loader -> loader.invalidate(uri));
+  }
+
+  @Override
+  public int invalidateByPrefix(String uriPrefix) {
+    return sumOf(loader -> loader.invalidateByPrefix(uriPrefix));
+  }
+
+  @Override
+  public int invalidateByTag(String tag) {
+    return sumOf(loader -> loader.invalidateByTag(tag));
+  }
+
+  private int sumOf(ToIntFunction<CachingHalResourceLoader> func) {
+    return loaders.stream()
+        .mapToInt(func)
+        .sum();
+  }
+}
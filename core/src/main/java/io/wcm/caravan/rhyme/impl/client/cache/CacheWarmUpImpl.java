@@ -0,0 +1,342 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ListMultimap;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.client.CacheWarmUp;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.relations.StandardRelations;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * Implementation of {@link CacheWarmUp} that crawls the resources breadth-first (i.e. all resources at the same depth
+ * are loaded concurrently before any links from these resources are followed)
+ */
+public class CacheWarmUpImpl implements CacheWarmUp {
+
+  private static final Logger log = LoggerFactory.getLogger(CacheWarmUpImpl.class);
+
+  private final HalResourceLoader resourceLoader;
+
+  private final Set<String> entryPoints = new LinkedHashSet<>();
+  private final Set<String> relationsToFollow = new LinkedHashSet<>();
+
+  private int maxDepth = 3;
+  private int maxConcurrency = 4;
+  private int limit = 1000;
+  private Consumer<Progress> progressListener = progress -> {
+    // progress is not reported by default
+  };
+
+  /**
+   * @param resourceLoader used to load all resources
+   */
+  public CacheWarmUpImpl(HalResourceLoader resourceLoader) {
+    this.resourceLoader = resourceLoader;
+  }
+
+  @Override
+  public CacheWarmUp withEntryPoint(String url) {
+    entryPoints.add(url);
+    return this;
+  }
+
+  @Override
+  public CacheWarmUp withRelation(String relation) {
+    relationsToFollow.add(relation);
+    return this;
+  }
+
+  @Override
+  public CacheWarmUp withMaxDepth(int value) {
+    checkArgument(value >= 0, "The maximum depth must not be negative");
+    maxDepth = value;
+    return this;
+  }
+
+  @Override
+  public CacheWarmUp withMaxConcurrency(int value) {
+    checkArgument(value > 0, "The maximum concurrency must be greater than 0");
+    maxConcurrency = value;
+    return this;
+  }
+
+  @Override
+  public CacheWarmUp withLimit(int maxNumResources) {
+    checkArgument(maxNumResources > 0, "The maximum number of resources must be greater than 0");
+    limit = maxNumResources;
+    return this;
+  }
+
+  private static void checkArgument(boolean condition, String message) {
+    if (!condition) {
+      throw new HalApiDeveloperException(message);
+    }
+  }
+
+  @Override
+  public CacheWarmUp withProgressListener(Consumer<Progress> listener) {
+    progressListener = listener;
+    return this;
+  }
+
+  @Override
+  public Single<Progress> start() {
+
+    if (entryPoints.isEmpty()) {
+      throw new HalApiDeveloperException("You must call #withEntryPoint at least once before starting the cache warm-up");
+    }
+
+    // a new crawl (with its own state) is started for each subscription, so that the returned Single can be re-used
+    return Single.defer(() -> new Crawl().run(new ArrayList<>(entryPoints)));
+  }
+
+  /**
+   * Keeps track of the URLs and progress of a single execution of the cache warm-up
+   */
+  private final class Crawl {
+
+    private final Set<String> crawledUrls = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger numLoaded = new AtomicInteger();
+    private final AtomicInteger numFailed = new AtomicInteger();
+    private final AtomicInteger numPending = new AtomicInteger();
+    private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+    private Single<Progress> run(List<String> urls) {
+
+      stopwatch.start();
+      log.info("Starting cache warm-up from {} entry points", urls.size());
+
+      return crawl(urls, 0)
+          .toSingle(() -> {
+            stopwatch.stop();
+            Progress progress = createProgress(true);
+            log.info("Cache warm-up completed after {} with {} resources loaded and {} failures", progress.getElapsedTime(),
+                progress.getNumLoaded(), progress.getNumFailed());
+            return progress;
+          });
+    }
+
+    private Completable crawl(List<String> urls, int depth) {
+
+      List<String> urlsToLoad = urls.stream()
+          .filter(url -> crawledUrls.size() < limit && crawledUrls.add(url))
+          .collect(Collectors.toList());
+
+      if (urlsToLoad.isEmpty()) {
+        return Completable.complete();
+      }
+
+      numPending.addAndGet(urlsToLoad.size());
+
+      return promoteFromSecondLevelCache(urlsToLoad)
+          .andThen(Flowable.fromIterable(urlsToLoad))
+          .flatMapSingle(url -> loadAndExtractLinks(url, depth), false, maxConcurrency)
+          .flatMapIterable(links -> links)
+          .distinct()
+          .toList()
+          .flatMapCompletable(linkedUrls -> depth < maxDepth ? crawl(linkedUrls, depth + 1) : Completable.complete());
+    }
+
+    private Completable promoteFromSecondLevelCache(List<String> urls) {
+
+      if (!(resourceLoader instanceof CachingHalResourceLoader)) {
+        return Completable.complete();
+      }
+
+      // all responses that are available in a second-level cache can be loaded with a single batch request
+      HalResponseCache cache = ((CachingHalResourceLoader)resourceLoader).getCache();
+      if (!(cache instanceof TieredCacheImplementation)) {
+        return Completable.complete();
+      }
+
+      return ((TieredCacheImplementation)cache).promoteAll(urls)
+          .onErrorComplete(ex -> {
+            log.warn("Failed to load {} resources from the second-level cache during cache warm-up: {}", urls.size(), ex.getMessage());
+            return true;
+          });
+    }
+
+    private Single<List<String>> loadAndExtractLinks(String url, int depth) {
+
+      return resourceLoader.getHalResource(url)
+          .map(response -> {
+            numLoaded.incrementAndGet();
+            return depth < maxDepth ? collectLinkedUrls(url, response) : Collections.<String>emptyList();
+          })
+          .onErrorReturn(ex -> {
+            log.warn("Failed to load {} during cache warm-up: {}", url, ex.getMessage());
+            numFailed.incrementAndGet();
+            return Collections.emptyList();
+          })
+          .doOnSuccess(links -> {
+            numPending.decrementAndGet();
+            progressListener.accept(createProgress(false));
+          });
+    }
+
+    private Progress createProgress(boolean completed) {
+
+      return new ProgressSnapshot(numLoaded.get(), numFailed.get(), numPending.get(), Duration.ofNanos(stopwatch.elapsed(TimeUnit.NANOSECONDS)),
+          completed);
+    }
+  }
+
+  private List<String> collectLinkedUrls(String url, HalResponse response) {
+
+    if (response.getBody() == null) {
+      return Collections.emptyList();
+    }
+
+    // relative links (also from embedded resources) must be resolved against the URL of the resource that contained them
+    URI contextUri = parseUri(url);
+
+    return collectLinks(response.getBody())
+        .map(link -> resolve(contextUri, link.getHref()))
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  private static URI parseUri(String url) {
+    try {
+      return new URI(url);
+    }
+    catch (URISyntaxException ex) {
+      log.warn("Failed to parse the URL {}, so relative links from that resource will not be resolved", url);
+      return null;
+    }
+  }
+
+  private static String resolve(URI contextUri, String href) {
+
+    if (contextUri == null) {
+      return href;
+    }
+    try {
+      return contextUri.resolve(new URI(href)).toString();
+    }
+    catch (URISyntaxException ex) {
+      log.warn("Failed to parse the URL {} found in a link within the resource at {}", href, contextUri);
+      return href;
+    }
+  }
+
+  private Stream<Link> collectLinks(HalResource hal) {
+
+    Stream<Link> directlyLinked = filterRelations(hal.getLinks())
+        .filter(link -> link.getType() == null || link.getType().equals(HalResource.CONTENT_TYPE))
+        .filter(link -> !link.isTemplated());
+
+    Stream<Link> linkedFromEmbedded = filterRelations(hal.getEmbedded())
+        .flatMap(this::collectLinks);
+
+    return Stream.concat(directlyLinked, linkedFromEmbedded);
+  }
+
+  private <T> Stream<T> filterRelations(ListMultimap<String, T> mapWithRelationKeys) {
+
+    return mapWithRelationKeys.entries().stream()
+        .filter(entry -> isRelationToFollow(entry.getKey()))
+        .map(Entry::getValue);
+  }
+
+  private boolean isRelationToFollow(String relation) {
+
+    if (relationsToFollow.isEmpty()) {
+      return !StandardRelations.CURIES.equals(relation);
+    }
+    return relationsToFollow.contains(relation);
+  }
+
+  private static final class ProgressSnapshot implements Progress {
+
+    private final int loaded;
+    private final int failed;
+    private final int pending;
+    private final Duration elapsed;
+    private final boolean completed;
+
+    private ProgressSnapshot(int loaded, int failed, int pending, Duration elapsed, boolean completed) {
+      this.loaded = loaded;
+      this.failed = failed;
+      this.pending = pending;
+      this.elapsed = elapsed;
+      this.completed = completed;
+    }
+
+    @Override
+    public int getNumLoaded() {
+      return loaded;
+    }
+
+    @Override
+    public int getNumFailed() {
+      return failed;
+    }
+
+    @Override
+    public int getNumPending() {
+      return pending;
+    }
+
+    @Override
+    public Duration getElapsedTime() {
+      return elapsed;
+    }
+
+    @Override
+    public boolean isCompleted() {
+      return completed;
+    }
+
+    @Override
+    public String toString() {
+      return "loaded=" + loaded + ", failed=" + failed + ", pending=" + pending + ", elapsed=" + elapsed;
+    }
+  }
+}
@@ -21,23 +21,42 @@ package io.wcm.caravan.rhyme.impl.client.cache;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.reactivex.rxjava3.core.Maybe;
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
+import io.wcm.caravan.rhyme.api.client.CloseableHalResourceLoader;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.impl.client.LinkRewriting;
 
-public class CachingHalResourceLoader implements HalResourceLoader {
+public class CachingHalResourceLoader implements CloseableHalResourceLoader {
 
   private static final Logger log = LoggerFactory.getLogger(CachingHalResourceLoader.class);
 
+  static final int MAX_INVALIDATED_URIS = 10000;
+
   private final HalResourceLoader upstream;
 
   private final HalResponseCache cache;
@@ -46,8 +65,45 @@ public class CachingHalResourceLoader implements HalResourceLoader {
 
   private final Clock clock;
 
+  private final Scheduler backgroundScheduler;
+
+  private final Set<String> urisBeingRefreshed = ConcurrentHashMap.newKeySet();
+
+  private final InFlightRequests inFlightRequests;
+
+  private final RefreshAheadTracker refreshAhead;
+
+  private final AdaptiveMaxAgeTracker adaptiveMaxAge;
+
+  private final CachingStatisticsImpl statistics;
+
+  private final InvalidationIndex invalidationIndex = new InvalidationIndex();
+
+  // the index is only populated once this loader was registered with a CacheInvalidator (and until it is closed)
+  private volatile CacheInvalidatorImpl invalidator;
+
+  // is incremented with every invalidation, so that responses which were requested before are not stored afterwards
+  private final AtomicLong invalidationGeneration = new AtomicLong();
+
+  // URIs that were invalidated (with the generation of their invalidation), and must not be served from cache until a
+  // new response has been stored. The size is limited, as the cache may not support removal of responses (so entries
+  // can't be dropped when the response was removed), but then the oldest invalidations may be forgotten.
+  private final Cache<String, Long> invalidatedUris = CacheBuilder.newBuilder()
+      .maximumSize(MAX_INVALIDATED_URIS)
+      .build();
+
   public CachingHalResourceLoader(HalResourceLoader upstream, HalResponseCache cache, CachingConfiguration configuration,
       Clock clock) {
+    this(upstream, cache, configuration, clock, getDefaultBackgroundScheduler());
+  }
+
+  public CachingHalResourceLoader(HalResourceLoader upstream, HalResponseCache cache, CachingConfiguration configuration,
+      Clock clock, Scheduler backgroundScheduler) {
+    this(upstream, cache, configuration, clock, backgroundScheduler, new CachingStatisticsImpl());
+  }
+
+  public CachingHalResourceLoader(HalResourceLoader upstream, HalResponseCache cache, CachingConfiguration configuration,
+      Clock clock, Scheduler backgroundScheduler, CachingStatisticsImpl statistics) {
     log.info("{} was created using {} as a cache backend. "
         + "If you are seeing this log message frequently, then you are not re-using your HalResourceLoader instance properly.",
         getClass().getSimpleName(), cache.getClass());
@@ -55,38 +111,201 @@ public class CachingHalResourceLoader implements HalResourceLoader {
     this.cache = cache;
     this.configuration = configuration;
     this.clock = clock;
+    this.backgroundScheduler = backgroundScheduler;
+    this.refreshAhead = new RefreshAheadTracker(configuration, clock);
+    this.adaptiveMaxAge = new AdaptiveMaxAgeTracker(configuration);
+    this.statistics = statistics;
+    this.inFlightRequests = new InFlightRequests(statistics::recordCoalescedCallers);
+
+    statistics.registerCache(cache);
+  }
+
+  /**
+   * @return a shared {@link Scheduler} with a fixed number of daemon threads that is used to revalidate and refresh
+   *         responses in the background, if no other scheduler is specified
+   */
+  public static Scheduler getDefaultBackgroundScheduler() {
+    return DefaultBackgroundScheduler.INSTANCE;
   }
 
   @Override
   public Single<HalResponse> getHalResource(String uri) {
 
-    return loadFromCache(uri)
-        .switchIfEmpty(loadFromUpstreamAndStoreInCache(uri));
+    return cache.load(uri)
+        .filter(response -> invalidatedUris.getIfPresent(uri) == null)
+        .doOnSuccess(this::addCachedResponseToIndex)
+        .map(CachedResponse::new)
+        .flatMapSingle(cached -> useCachedResponse(uri, cached))
+        .switchIfEmpty(Single.defer(() -> {
+          statistics.recordMiss(uri);
+          return loadFromUpstreamAndStoreInCache(uri);
+        }));
   }
 
-  private Maybe<HalResponse> loadFromCache(String uri) {
+  private Single<HalResponse> useCachedResponse(String uri, CachedResponse cached) {
 
-    return cache.load(uri)
-        .map(CachedResponse::new)
-        .filter(CachedResponse::isFresh)
-        .map(CachedResponse::getResponseWithAdjustedMaxAge)
-        .flatMap(this::throwExceptionForErrorStatusCodes)
-        .doOnSuccess(response -> log.debug("A fresh response for {} was as found in {} with remaining max-age of {}",
-            uri, cache.getClass().getSimpleName(), response.getMaxAge()));
+    if (cached.isFresh()) {
+      statistics.recordHit(uri);
+      refreshAheadIfHot(uri, cached);
+
+      return Single.just(cached.getResponseWithAdjustedMaxAge())
+          .flatMap(this::throwExceptionForErrorStatusCodes)
+          .doOnSuccess(response -> log.debug("A fresh response for {} was as found in {} with remaining max-age of {}",
+              uri, cache.getClass().getSimpleName(), response.getMaxAge()));
+    }
+
+    if (cached.isWithinStaleWhileRevalidateWindow()) {
+      log.debug("A stale response for {} was found in {} and will be used while it is revalidated in the background",
+          uri, cache.getClass().getSimpleName());
+
+      statistics.recordStaleHit(uri);
+
+      if (!urisBeingRefreshed.add(uri)) {
+        log.debug("A revalidation of {} is already in progress", uri);
+      }
+      else {
+        loadInBackground(uri, cached);
+      }
+
+      return Single.just(cached.getResponseWithAdjustedMaxAge());
+    }
+
+    if (cached.isWithinStaleIfErrorWindow()) {
+      // any error response must not be stored in cache here, as it would replace the stale response that is used
+      // as a fallback (useStaleResponseIfUpstreamFailed will store the error if the stale response can't be used)
+      return loadFromUpstream(uri, cached)
+          .doOnSuccess(response -> statistics.recordMiss(uri))
+          .onErrorResumeNext(ex -> useStaleResponseIfUpstreamFailed(uri, cached, ex));
+    }
+
+    statistics.recordMiss(uri);
+
+    return revalidateAndStoreInCache(uri, cached);
+  }
+
+  private Single<HalResponse> loadFromUpstream(String uri, CachedResponse stale) {
+
+    // concurrent cache misses for the same URI should only result in a single upstream request
+    return inFlightRequests.join(uri, () -> Single.defer(() -> {
+
+      long generation = invalidationGeneration.get();
+
+      return requestFromUpstream(uri, stale)
+          // relative links are resolved only once before the response is stored, so that the cached body can be
+          // shared by all clients without being copied again for every request
+          .map(response -> LinkRewriting.resolveRelativeLinks(uri, response))
+          .map(response -> updateResponseWithTimestampAndDefaultMaxAge(response, stale))
+          .doOnSuccess(response -> storeInCache(response, generation));
+    }));
+  }
+
+  private Single<HalResponse> requestFromUpstream(String uri, CachedResponse stale) {
+
+    if (stale != null && stale.isRevalidationPossible()) {
+      // allow the upstream loader to execute a conditional request, so that the body doesn't need to be transferred again
+      return measureUpstreamRequest(uri, upstream.revalidateHalResource(uri, stale.response));
+    }
+    return measureUpstreamRequest(uri, upstream.getHalResource(uri));
+  }
+
+  private Single<HalResponse> measureUpstreamRequest(String uri, Single<HalResponse> request) {
+
+    return Single.defer(() -> {
+      Stopwatch stopwatch = Stopwatch.createStarted();
+
+      return request
+          .doOnSuccess(response -> statistics.recordUpstreamResponse(uri, response.getStatus(), false, stopwatch.elapsed(TimeUnit.NANOSECONDS)))
+          .doOnError(ex -> statistics.recordUpstreamResponse(uri, getStatusCode(ex), true, stopwatch.elapsed(TimeUnit.NANOSECONDS)));
+    });
+  }
+
+  private static Integer getStatusCode(Throwable ex) {
+
+    return ex instanceof HalApiClientException ? ((HalApiClientException)ex).getStatusCode() : null;
   }
 
   private Single<HalResponse> loadFromUpstreamAndStoreInCache(String uri) {
 
-    return upstream.getHalResource(uri)
-        .map(this::updateResponseWithTimestampAndDefaultMaxAge)
-        .doOnSuccess(this::storeInCache)
+    return revalidateAndStoreInCache(uri, null);
+  }
+
+  private Single<HalResponse> revalidateAndStoreInCache(String uri, CachedResponse stale) {
+
+    return loadFromUpstream(uri, stale)
         .doOnError(this::handleResourceLoaderException);
   }
 
-  private Maybe<HalResponse> throwExceptionForErrorStatusCodes(HalResponse response) {
+  private void refreshAheadIfHot(String uri, CachedResponse cached) {
+
+    if (!refreshAhead.isEnabled() || !isSuccessful(cached.response)) {
+      return;
+    }
 
-    if (response.getStatus() != null && response.getStatus() < 400) {
-      return Maybe.just(response);
+    int hits = refreshAhead.recordHit(uri);
+    if (!refreshAhead.isRefreshDue(hits, cached.getSecondsInCache(), cached.response.getMaxAge())) {
+      return;
+    }
+
+    // the URI is added first to ensure that no permits are wasted for refreshes that are already in progress
+    if (!urisBeingRefreshed.add(uri)) {
+      return;
+    }
+
+    if (!refreshAhead.tryAcquirePermit()) {
+      log.debug("A refresh-ahead of {} was skipped because too many refreshes were started within the last second", uri);
+      urisBeingRefreshed.remove(uri);
+      return;
+    }
+
+    log.debug("A fresh response for {} was read {} times from cache and will be refreshed in the background ahead of its expiry", uri, hits);
+
+    statistics.recordRefreshAhead(uri);
+
+    loadInBackground(uri, cached);
+  }
+
+  private void loadInBackground(String uri, CachedResponse cached) {
+
+    // the URI must already have been added to urisBeingRefreshed by the caller
+    loadFromUpstream(uri, cached)
+        .subscribeOn(backgroundScheduler)
+        .doFinally(() -> urisBeingRefreshed.remove(uri))
+        .subscribe(
+            response -> log.debug("A cached response for {} was successfully refreshed in the background", uri),
+            ex -> log.warn("Failed to refresh a cached response for {} in the background", uri, ex));
+  }
+
+  private Single<HalResponse> useStaleResponseIfUpstreamFailed(String uri, CachedResponse cached, Throwable ex) {
+
+    if (!isStaleIfErrorApplicable(ex)) {
+      statistics.recordMiss(uri);
+      handleResourceLoaderException(ex);
+      return Single.error(ex);
+    }
+
+    statistics.recordStaleHit(uri);
+
+    log.info("Failed to revalidate a stale response for {}, so the stale response will be used instead: {}",
+        cached.response.getUri(), ex.getMessage());
+
+    return Single.just(cached.getResponseWithAdjustedMaxAge());
+  }
+
+  private static boolean isStaleIfErrorApplicable(Throwable ex) {
+
+    if (!(ex instanceof HalApiClientException)) {
+      return false;
+    }
+
+    // stale responses should only be used if the request failed due to a server or network error
+    Integer status = ((HalApiClientException)ex).getStatusCode();
+    return status == null || status >= 500;
+  }
+
+  private Single<HalResponse> throwExceptionForErrorStatusCodes(HalResponse response) {
+
+    if (isSuccessful(response)) {
+      return Single.just(response);
     }
 
     String msg = "An error response with status code " + response.getStatus() + " from a previous request was found in cache,"
@@ -96,30 +315,155 @@ public class CachingHalResourceLoader implements HalResourceLoader {
 
     RuntimeException cause = new RuntimeException(msg);
 
-    return Maybe.error(new HalApiClientException(response, cause));
+    return Single.error(new HalApiClientException(response, cause));
+  }
+
+  private static boolean isSuccessful(HalResponse response) {
+
+    return response.getStatus() != null && response.getStatus() < 400;
   }
 
   private HalResponse updateResponseWithTimestampAndDefaultMaxAge(HalResponse response) {
 
+    return updateResponseWithTimestampAndDefaultMaxAge(response, null);
+  }
+
+  private HalResponse updateResponseWithTimestampAndDefaultMaxAge(HalResponse response, CachedResponse stale) {
+
     HalResponse updatedResponse = response
         .withTimestamp(clock.instant());
 
+    Optional<Integer> status = Optional.ofNullable(updatedResponse.getStatus());
+
+    if (isRevalidatedWithAdaptedMaxAge(updatedResponse, stale)) {
+      // the HttpHalResourceLoader is re-using the body of the stale response if it received a "304 Not Modified" response
+      boolean unchanged = updatedResponse.getBody() == stale.response.getBody();
+      int defaultMaxAge = configuration.getDefaultMaxAge(status);
+
+      int maxAge = unchanged
+          ? adaptiveMaxAge.adaptMaxAgeOfUnchangedResponse(updatedResponse, defaultMaxAge)
+          : adaptiveMaxAge.adaptMaxAge(updatedResponse, defaultMaxAge);
+
+      return updatedResponse.withMaxAge(maxAge);
+    }
+
     if (updatedResponse.getMaxAge() != null) {
       return updatedResponse;
     }
 
-    Optional<Integer> status = Optional.ofNullable(updatedResponse.getStatus());
     int maxAge = configuration.getDefaultMaxAge(status);
+
+    if (adaptiveMaxAge.isEnabled() && isSuccessful(updatedResponse)) {
+      maxAge = adaptiveMaxAge.adaptMaxAge(updatedResponse, maxAge);
+    }
+
     return updatedResponse.withMaxAge(maxAge);
   }
 
-  private void storeInCache(HalResponse response) {
+  private boolean isRevalidatedWithAdaptedMaxAge(HalResponse response, CachedResponse stale) {
 
-    if (response.getMaxAge() > 0) {
-      log.debug("Response for {} is being stored in {} with max-age={} seconds", response.getUri(), cache.getClass().getSimpleName(), response.getMaxAge());
+    if (stale == null || !adaptiveMaxAge.isEnabled() || !isSuccessful(response)) {
+      return false;
+    }
+
+    // if the upstream server didn't specify a max-age, the revalidated response will have the same max-age as the
+    // stale response, which was adapted when it was stored in cache
+    return adaptiveMaxAge.hasAdaptedMaxAge(stale.response) && Objects.equals(response.getMaxAge(), stale.response.getMaxAge());
+  }
 
-      cache.store(response);
+  private void storeInCache(HalResponse response, long generation) {
+
+    if (response.getMaxAge() <= 0) {
+      return;
     }
+
+    Long invalidatedGeneration = invalidatedUris.getIfPresent(response.getUri());
+    if (invalidatedGeneration != null && invalidatedGeneration > generation) {
+      log.debug("Response for {} will not be stored, because it was invalidated while the request was in progress", response.getUri());
+      return;
+    }
+
+    log.debug("Response for {} is being stored in {} with max-age={} seconds", response.getUri(), cache.getClass().getSimpleName(), response.getMaxAge());
+
+    cache.store(response);
+    refreshAhead.resetHits(response.getUri());
+
+    if (invalidator != null) {
+      invalidationIndex.add(response.getUri(), configuration.getInvalidationTags(response), calculateExpiry(response), clock.instant());
+    }
+    if (invalidatedGeneration != null) {
+      // if the URI was invalidated again in the meantime, it must remain invalidated
+      invalidatedUris.asMap().remove(response.getUri(), invalidatedGeneration);
+    }
+  }
+
+  private void addCachedResponseToIndex(HalResponse response) {
+
+    // responses that were stored by a previous instance (e.g. in a persistent or second-level cache) must be indexed
+    // when they are first loaded from cache, otherwise they couldn't be invalidated by prefix or tag
+    if (invalidator != null && response.getTimestamp() != null && response.getMaxAge() != null) {
+      invalidationIndex.addIfAbsent(response.getUri(), () -> configuration.getInvalidationTags(response), calculateExpiry(response),
+          clock.instant());
+    }
+  }
+
+  private Instant calculateExpiry(HalResponse response) {
+
+    Optional<Integer> status = Optional.ofNullable(response.getStatus());
+
+    int staleWhileRevalidate = Optional.ofNullable(response.getStaleWhileRevalidate())
+        .orElseGet(() -> configuration.getDefaultStaleWhileRevalidate(status));
+    int staleIfError = Optional.ofNullable(response.getStaleIfError())
+        .orElseGet(() -> configuration.getDefaultStaleIfError(status));
+
+    return response.getTimestamp().plusSeconds(response.getMaxAge() + (long)Math.max(staleWhileRevalidate, staleIfError));
+  }
+
+  /**
+   * Ensures that the URIs and tags of all responses stored (or loaded from cache) from now on are indexed, so that they
+   * can be invalidated
+   * @param registeredInvalidator the invalidator from which this loader will be unregistered when it is closed
+   */
+  void enableInvalidation(CacheInvalidatorImpl registeredInvalidator) {
+    invalidator = registeredInvalidator;
+  }
+
+  int invalidate(String uri) {
+
+    boolean wasIndexed = invalidationIndex.remove(uri);
+
+    // the URI is invalidated even if it is not found in the index, as it may have been stored by another instance
+    invalidateInCache(uri);
+
+    return wasIndexed ? 1 : 0;
+  }
+
+  int invalidateByPrefix(String uriPrefix) {
+
+    return invalidateAll(invalidationIndex.findByPrefix(uriPrefix));
+  }
+
+  int invalidateByTag(String tag) {
+
+    return invalidateAll(invalidationIndex.findByTag(tag));
+  }
+
+  private int invalidateAll(Collection<String> uris) {
+
+    uris.forEach(uri -> {
+      invalidationIndex.remove(uri);
+      invalidateInCache(uri);
+    });
+
+    log.debug("{} responses were invalidated in {}", uris.size(), cache.getClass().getSimpleName());
+
+    return uris.size();
+  }
+
+  private void invalidateInCache(String uri) {
+
+    invalidatedUris.put(uri, invalidationGeneration.incrementAndGet());
+    cache.remove(uri);
   }
 
   private void handleResourceLoaderException(Throwable ex) {
@@ -132,7 +476,34 @@ public class CachingHalResourceLoader implements HalResourceLoader {
 
     HalResponse updatedResponse = updateResponseWithTimestampAndDefaultMaxAge(hace.getErrorResponse());
 
-    storeInCache(updatedResponse);
+    storeInCache(updatedResponse, invalidationGeneration.get());
+  }
+
+  /**
+   * Unregisters this loader from its {@link io.wcm.caravan.rhyme.api.client.CacheInvalidator}, and closes the underlying
+   * cache implementation if it holds resources (e.g. files or background threads) that need to be released
+   */
+  @Override
+  public void close() {
+
+    CacheInvalidatorImpl registeredInvalidator = invalidator;
+    if (registeredInvalidator != null) {
+      registeredInvalidator.unregister(this);
+      invalidator = null;
+    }
+
+    if (!(cache instanceof AutoCloseable)) {
+      return;
+    }
+
+    try {
+      ((AutoCloseable)cache).close();
+    }
+    // CHECKSTYLE:OFF - any exception when closing the cache is logged, as there is nothing else that can be done
+    catch (Exception ex) {
+      // CHECKSTYLE:ON
+      log.warn("Failed to close {}", cache.getClass().getSimpleName(), ex);
+    }
   }
 
   class CachedResponse {
@@ -143,7 +514,7 @@ public class CachingHalResourceLoader implements HalResourceLoader {
       this.response = response;
     }
 
-    private int getSecondsInCache() {
+    int getSecondsInCache() {
 
       Duration cachedFor = Duration.between(response.getTimestamp(), clock.instant());
 
@@ -162,6 +533,45 @@ public class CachingHalResourceLoader implements HalResourceLoader {
       return fresh;
     }
 
+    private boolean isStaleResponseUsable() {
+
+      return configuration.isServingOfStaleResponsesEnabled() && isSuccessful(response);
+    }
+
+    boolean isRevalidationPossible() {
+
+      return isSuccessful(response) && (response.getEntityTag() != null || response.getLastModified() != null);
+    }
+
+    private int getSecondsStale() {
+
+      return getSecondsInCache() - response.getMaxAge();
+    }
+
+    boolean isWithinStaleWhileRevalidateWindow() {
+
+      if (!isStaleResponseUsable()) {
+        return false;
+      }
+
+      int staleWhileRevalidate = Optional.ofNullable(response.getStaleWhileRevalidate())
+          .orElseGet(() -> configuration.getDefaultStaleWhileRevalidate(Optional.ofNullable(response.getStatus())));
+
+      return getSecondsStale() < staleWhileRevalidate;
+    }
+
+    boolean isWithinStaleIfErrorWindow() {
+
+      if (!isStaleResponseUsable()) {
+        return false;
+      }
+
+      int staleIfError = Optional.ofNullable(response.getStaleIfError())
+          .orElseGet(() -> configuration.getDefaultStaleIfError(Optional.ofNullable(response.getStatus())));
+
+      return getSecondsStale() < staleIfError;
+    }
+
     HalResponse getResponseWithAdjustedMaxAge() {
 
       int newMaxAge = Math.max(0, response.getMaxAge() - getSecondsInCache());
@@ -184,4 +594,43 @@ public class CachingHalResourceLoader implements HalResourceLoader {
   Clock getClock() {
     return clock;
   }
+
+  Scheduler getBackgroundScheduler() {
+    return backgroundScheduler;
+  }
+
+  InFlightRequests getInFlightRequests() {
+    return inFlightRequests;
+  }
+
+  /**
+   * @return the live statistics for this loader (which may be shared with other loaders)
+   */
+  public CachingStatistics getStatistics() {
+    return statistics;
+  }
+
+  RefreshAheadTracker getRefreshAheadTracker() {
+    return refreshAhead;
+  }
+
+  long getInvalidatedUriCount() {
+    invalidatedUris.cleanUp();
+    return invalidatedUris.size();
+  }
+
+  InvalidationIndex getInvalidationIndex() {
+    return invalidationIndex;
+  }
+
+  private static final class DefaultBackgroundScheduler {
+
+    private static final int NUM_THREADS = 4;
+
+    // the scheduler is only created when it is actually used (and then shared by all loaders)
+    static final Scheduler INSTANCE = Schedulers.from(Executors.newFixedThreadPool(NUM_THREADS, new ThreadFactoryBuilder()
+        .setNameFormat("rhyme-background-%d")
+        .setDaemon(true)
+        .build()));
+  }
 }
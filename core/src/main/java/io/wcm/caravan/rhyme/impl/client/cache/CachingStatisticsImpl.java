@@ -0,0 +1,327 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.impl.client.UpstreamHosts;
+
+/**
+ * Implementation of {@link CachingStatistics} that is updated by {@link CachingHalResourceLoader}, and keeps separate
+ * counters for the overall statistics and each upstream host
+ */
+public class CachingStatisticsImpl implements CachingStatistics {
+
+  private final Counters total = new Counters();
+
+  private final Map<String, Counters> countersByHost = new ConcurrentHashMap<>();
+
+  private final AtomicLong coalescedRequests = new AtomicLong();
+
+  // multiple loaders may be using the same cache instance, but its evictions must only be counted once
+  private final Set<HalResponseCache> caches = ConcurrentHashMap.newKeySet();
+
+  private void increment(String uri, Consumer<Counters> func) {
+
+    func.accept(total);
+    func.accept(countersByHost.computeIfAbsent(UpstreamHosts.getHost(uri), host -> new Counters()));
+  }
+
+  void recordHit(String uri) {
+    increment(uri, counters -> counters.hits.incrementAndGet());
+  }
+
+  void recordMiss(String uri) {
+    increment(uri, counters -> counters.misses.incrementAndGet());
+  }
+
+  void recordStaleHit(String uri) {
+    increment(uri, counters -> counters.staleHits.incrementAndGet());
+  }
+
+  void recordRefreshAhead(String uri) {
+    increment(uri, counters -> counters.refreshAheads.incrementAndGet());
+  }
+
+  void recordUpstreamResponse(String uri, Integer status, boolean failed, long latencyNanos) {
+    increment(uri, counters -> counters.recordUpstreamResponse(status, failed, latencyNanos));
+  }
+
+  void recordCoalescedCallers(int numCallers) {
+    coalescedRequests.addAndGet(numCallers);
+  }
+
+  void registerCache(HalResponseCache cache) {
+    caches.add(cache);
+  }
+
+  @Override
+  public long getHitCount() {
+    return total.getHitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return total.getMissCount();
+  }
+
+  @Override
+  public long getStaleHitCount() {
+    return total.getStaleHitCount();
+  }
+
+  @Override
+  public double getHitRatio() {
+    return total.getHitRatio();
+  }
+
+  @Override
+  public long getUpstreamRequestCount() {
+    return total.getUpstreamRequestCount();
+  }
+
+  @Override
+  public long getUpstreamFailureCount() {
+    return total.getUpstreamFailureCount();
+  }
+
+  @Override
+  public Map<Integer, Long> getUpstreamResponseCountByStatus() {
+    return total.getUpstreamResponseCountByStatus();
+  }
+
+  @Override
+  public Duration getAverageUpstreamLatency() {
+    return total.getAverageUpstreamLatency();
+  }
+
+  @Override
+  public Duration getUpstreamLatencyPercentile(double percentile) {
+    return total.getUpstreamLatencyPercentile(percentile);
+  }
+
+  @Override
+  public long getRefreshAheadCount() {
+    return total.getRefreshAheadCount();
+  }
+
+  @Override
+  public long getCoalescedRequestCount() {
+    return coalescedRequests.get();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return caches.stream()
+        .mapToLong(HalResponseCache::getEvictionCount)
+        .sum();
+  }
+
+  @Override
+  public long getWeightInBytes() {
+    return caches.stream()
+        .mapToLong(HalResponseCache::getWeightInBytes)
+        .sum();
+  }
+
+  @Override
+  public Map<String, CachingStatistics> getStatisticsByHost() {
+    return Collections.unmodifiableMap(new TreeMap<>(countersByHost));
+  }
+
+  @Override
+  public String toString() {
+    return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", staleHits=" + getStaleHitCount()
+        + ", upstreamRequests=" + getUpstreamRequestCount() + ", upstreamFailures=" + getUpstreamFailureCount()
+        + ", coalescedRequests=" + getCoalescedRequestCount() + ", evictions=" + getEvictionCount();
+  }
+
+  private static final class Counters implements CachingStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong refreshAheads = new AtomicLong();
+    private final AtomicLong upstreamFailures = new AtomicLong();
+    private final Map<Integer, AtomicLong> responsesByStatus = new ConcurrentHashMap<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    void recordUpstreamResponse(Integer status, boolean failed, long latencyNanos) {
+
+      latencies.record(latencyNanos);
+      if (failed) {
+        upstreamFailures.incrementAndGet();
+      }
+      if (status != null) {
+        responsesByStatus.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+      }
+    }
+
+    @Override
+    public long getHitCount() {
+      return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+      return misses.get();
+    }
+
+    @Override
+    public long getStaleHitCount() {
+      return staleHits.get();
+    }
+
+    @Override
+    public double getHitRatio() {
+
+      long allHits = hits.get() + staleHits.get();
+      long requests = allHits + misses.get();
+
+      return requests > 0 ? (double)allHits / requests : 0.0;
+    }
+
+    @Override
+    public long getUpstreamRequestCount() {
+      return latencies.getCount();
+    }
+
+    @Override
+    public long getUpstreamFailureCount() {
+      return upstreamFailures.get();
+    }
+
+    @Override
+    public Map<Integer, Long> getUpstreamResponseCountByStatus() {
+
+      Map<Integer, Long> map = new TreeMap<>();
+      responsesByStatus.forEach((status, count) -> map.put(status, count.get()));
+      return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public Duration getAverageUpstreamLatency() {
+      return latencies.getAverage();
+    }
+
+    @Override
+    public Duration getUpstreamLatencyPercentile(double percentile) {
+      return latencies.getPercentile(percentile);
+    }
+
+    @Override
+    public long getRefreshAheadCount() {
+      return refreshAheads.get();
+    }
+
+    @Override
+    public long getCoalescedRequestCount() {
+      return 0;
+    }
+
+    @Override
+    public long getEvictionCount() {
+      return 0;
+    }
+
+    @Override
+    public long getWeightInBytes() {
+      return 0;
+    }
+
+    @Override
+    public Map<String, CachingStatistics> getStatisticsByHost() {
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * Counts latencies in exponential buckets, so that percentiles can be approximated without keeping all measurements
+   */
+  static final class LatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000
+    };
+
+    // the last bucket counts all latencies above the highest upper bound
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long latencyNanos) {
+
+      long millis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+
+      int index = 0;
+      while (index < BUCKET_UPPER_BOUNDS_MILLIS.length && millis >= BUCKET_UPPER_BOUNDS_MILLIS[index]) {
+        index++;
+      }
+
+      buckets.incrementAndGet(index);
+      count.incrementAndGet();
+      sumNanos.addAndGet(latencyNanos);
+      maxNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    long getCount() {
+      return count.get();
+    }
+
+    Duration getAverage() {
+
+      long numMeasurements = count.get();
+
+      return numMeasurements > 0 ? Duration.ofNanos(sumNanos.get() / numMeasurements) : Duration.ZERO;
+    }
+
+    Duration getPercentile(double percentile) {
+
+      long numMeasurements = count.get();
+      if (numMeasurements == 0) {
+        return Duration.ZERO;
+      }
+
+      long threshold = (long)Math.ceil(numMeasurements * percentile / 100.0);
+
+      long cumulative = 0;
+      for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+        cumulative += buckets.get(i);
+        if (cumulative >= threshold) {
+          return Duration.ofMillis(BUCKET_UPPER_BOUNDS_MILLIS[i]);
+        }
+      }
+      return Duration.ofNanos(maxNanos.get());
+    }
+  }
+}
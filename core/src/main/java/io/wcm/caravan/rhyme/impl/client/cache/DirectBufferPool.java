@@ -0,0 +1,204 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-uses direct {@link ByteBuffer}s for {@link OffHeapCacheImplementation}, so that the direct memory of evicted
+ * entries doesn't have to be reclaimed by the garbage collector (which may happen long after the entries were evicted).
+ * Buffers are allocated in a limited number of size classes (with up to 25% unused capacity), so that they can be
+ * re-used for responses of a similar size. The total capacity of all allocated buffers is kept close to the given
+ * limit: once it is exceeded, released buffers are discarded rather than kept in the pool.
+ */
+final class DirectBufferPool {
+
+  private static final int MIN_CAPACITY = 256;
+
+  private final long maxBytes;
+
+  private final Map<Integer, Queue<Slot>> freeBuffers = new ConcurrentHashMap<>();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+
+  DirectBufferPool(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @param bytes the content to be copied into a direct buffer
+   * @return an {@link Allocation} of a buffer from the pool (or a newly allocated buffer) that contains the given bytes
+   */
+  Allocation acquire(byte[] bytes) {
+
+    int capacity = getCapacity(bytes.length);
+
+    Slot slot = getQueue(capacity).poll();
+    if (slot == null) {
+      allocatedBytes.addAndGet(capacity);
+      slot = new Slot(ByteBuffer.allocateDirect(capacity));
+    }
+
+    return slot.write(bytes);
+  }
+
+  private void release(Slot slot) {
+
+    int capacity = slot.buffer.capacity();
+
+    // if the size classes of the cached responses have changed, the buffers that are no longer used are discarded
+    if (allocatedBytes.get() > maxBytes) {
+      allocatedBytes.addAndGet(-capacity);
+      return;
+    }
+
+    getQueue(capacity).add(slot);
+  }
+
+  private Queue<Slot> getQueue(int capacity) {
+    return freeBuffers.computeIfAbsent(capacity, c -> new ConcurrentLinkedQueue<>());
+  }
+
+  /**
+   * @param length the number of bytes to store
+   * @return the capacity of the size class that fits the given number of bytes
+   */
+  static int getCapacity(int length) {
+
+    if (length <= MIN_CAPACITY) {
+      return MIN_CAPACITY;
+    }
+
+    // each power of two is divided into four size classes
+    int step = Integer.highestOneBit(length - 1) / 4;
+    return (length + step - 1) / step * step;
+  }
+
+  long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /**
+   * A direct buffer that is returned to the pool once it was released by the cache and all concurrent readers
+   */
+  private final class Slot {
+
+    private final ByteBuffer buffer;
+
+    // one reference is held by the cache, and additional references by each reader
+    private final AtomicInteger references = new AtomicInteger();
+    // is incremented whenever the buffer is re-used, so that outdated allocations can be detected
+    private int generation;
+    private int length;
+
+    private Slot(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private Allocation write(byte[] bytes) {
+
+      ByteBuffer target = buffer.duplicate();
+      target.clear();
+      target.put(bytes);
+
+      length = bytes.length;
+      generation++;
+      // this also ensures that the fields written above are visible to all readers that retained the buffer
+      references.set(1);
+
+      return new Allocation(this, generation);
+    }
+
+    private boolean tryRetain() {
+
+      int current = references.get();
+      while (current > 0) {
+        if (references.compareAndSet(current, current + 1)) {
+          return true;
+        }
+        current = references.get();
+      }
+      return false;
+    }
+
+    private void release() {
+
+      if (references.decrementAndGet() == 0) {
+        DirectBufferPool.this.release(this);
+      }
+    }
+  }
+
+  /**
+   * The content of a single cache entry, which is stored in a pooled buffer
+   */
+  static final class Allocation {
+
+    private final Slot slot;
+    private final int generation;
+
+    private Allocation(Slot slot, int generation) {
+      this.slot = slot;
+      this.generation = generation;
+    }
+
+    /**
+     * @return a copy of the content, or null if the allocation has already been released (and the buffer may have
+     *         been re-used)
+     */
+    byte[] read() {
+
+      if (!slot.tryRetain()) {
+        return null;
+      }
+      try {
+        // the buffer can't be re-used while it is retained, but it may have been re-used before
+        if (slot.generation != generation) {
+          return null;
+        }
+        ByteBuffer source = slot.buffer.duplicate();
+        source.clear();
+        byte[] bytes = new byte[slot.length];
+        source.get(bytes);
+        return bytes;
+      }
+      finally {
+        slot.release();
+      }
+    }
+
+    /**
+     * Releases the reference held by the cache, so that the buffer will be returned to the pool as soon as no
+     * more reads are in progress. This must only be called once.
+     */
+    void release() {
+      slot.release();
+    }
+
+    int capacity() {
+      return slot.buffer.capacity();
+    }
+  }
+}
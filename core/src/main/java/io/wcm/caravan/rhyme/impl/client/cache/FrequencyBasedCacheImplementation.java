@@ -0,0 +1,247 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.base.Ticker;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * An in-memory {@link HalResponseCache} with a frequency-based admission policy (TinyLFU): when the cache is full, a
+ * new response is only stored if its URI was requested more often recently than the URI of the least recently used
+ * response (which is then evicted). This ensures that a large number of requests to URIs that are only used once
+ * (e.g. by a crawler) will not evict the responses that are frequently used.
+ * <p>
+ * Responses are loaded without locking. The accesses are recorded in a buffer that is applied to the frequency sketch
+ * and the LRU order by whichever thread is able to acquire the lock next, so that concurrent reads never have to wait
+ * for each other. If the buffer is full, additional accesses are not recorded.
+ * </p>
+ */
+public class FrequencyBasedCacheImplementation implements HalResponseCache {
+
+  static final int MAX_BUFFERED_ACCESSES = 1024;
+
+  private final int maxNumItems;
+  private final Duration timeToIdle;
+  private final Ticker ticker;
+
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+  private final Queue<String> accessBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger numBufferedAccesses = new AtomicInteger();
+
+  // the LRU order and the sketch are guarded by the lock, while entries are only added or removed when holding it
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, CacheEntry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+  private final FrequencySketch sketch;
+
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong rejectionCount = new AtomicLong();
+
+  /**
+   * @param maxNumItems the maximum number of responses to keep
+   * @param timeToIdle the duration after which a response that hasn't been read from cache will be discarded
+   */
+  public FrequencyBasedCacheImplementation(int maxNumItems, Duration timeToIdle) {
+    this(maxNumItems, timeToIdle, Ticker.systemTicker());
+  }
+
+  FrequencyBasedCacheImplementation(int maxNumItems, Duration timeToIdle, Ticker ticker) {
+    this.maxNumItems = maxNumItems;
+    this.timeToIdle = timeToIdle;
+    this.ticker = ticker;
+    this.sketch = new FrequencySketch(maxNumItems);
+  }
+
+  @Override
+  public Maybe<HalResponse> load(String uri) {
+
+    recordAccess(uri);
+
+    CacheEntry entry = entries.get(uri);
+    if (entry == null) {
+      return Maybe.empty();
+    }
+
+    long now = ticker.read();
+    if (entry.isIdle(now)) {
+      // the idle entry will be removed when the buffered accesses are applied
+      return Maybe.empty();
+    }
+
+    entry.lastAccessNanos = now;
+    return Maybe.just(entry.response);
+  }
+
+  private void recordAccess(String uri) {
+
+    if (numBufferedAccesses.incrementAndGet() <= MAX_BUFFERED_ACCESSES) {
+      accessBuffer.add(uri);
+    }
+    else {
+      numBufferedAccesses.decrementAndGet();
+    }
+
+    if (lock.tryLock()) {
+      try {
+        drainAccessBuffer();
+      }
+      finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void drainAccessBuffer() {
+
+    long now = ticker.read();
+
+    String uri;
+    while ((uri = accessBuffer.poll()) != null) {
+      numBufferedAccesses.decrementAndGet();
+
+      sketch.increment(uri);
+
+      CacheEntry entry = accessOrder.get(uri);
+      if (entry != null && entry.isIdle(now)) {
+        removeEntry(uri);
+        evictionCount.incrementAndGet();
+      }
+    }
+  }
+
+  @Override
+  public void store(HalResponse response) {
+
+    String uri = response.getUri();
+    CacheEntry entry = new CacheEntry(response, ticker.read());
+
+    lock.lock();
+    try {
+      drainAccessBuffer();
+
+      if (accessOrder.containsKey(uri) || accessOrder.size() < maxNumItems) {
+        addEntry(uri, entry);
+        return;
+      }
+
+      Iterator<Map.Entry<String, CacheEntry>> lruIterator = accessOrder.entrySet().iterator();
+      Map.Entry<String, CacheEntry> victim = lruIterator.next();
+
+      // idle entries are always replaced, otherwise the more frequently used URI wins
+      if (victim.getValue().isIdle(entry.lastAccessNanos) || sketch.frequency(uri) > sketch.frequency(victim.getKey())) {
+        lruIterator.remove();
+        entries.remove(victim.getKey());
+        evictionCount.incrementAndGet();
+        addEntry(uri, entry);
+      }
+      else {
+        rejectionCount.incrementAndGet();
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(String uri) {
+
+    lock.lock();
+    try {
+      removeEntry(uri);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  private void addEntry(String uri, CacheEntry entry) {
+
+    accessOrder.put(uri, entry);
+    entries.put(uri, entry);
+  }
+
+  private void removeEntry(String uri) {
+
+    accessOrder.remove(uri);
+    entries.remove(uri);
+  }
+
+  /**
+   * @return the number of responses currently in the cache
+   */
+  public int getSize() {
+    return entries.size();
+  }
+
+  /**
+   * @return the number of responses that have been evicted to make room for more frequently used responses, or
+   *         because the time-to-idle expired
+   */
+  @Override
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * @return the number of responses that were not stored, because the cache was full with more frequently used
+   *         responses
+   */
+  public long getRejectionCount() {
+    return rejectionCount.get();
+  }
+
+  int getMaxNumItems() {
+    return maxNumItems;
+  }
+
+  Duration getTimeToIdle() {
+    return timeToIdle;
+  }
+
+  private final class CacheEntry {
+
+    private final HalResponse response;
+    private volatile long lastAccessNanos;
+
+    private CacheEntry(HalResponse response, long lastAccessNanos) {
+      this.response = response;
+      this.lastAccessNanos = lastAccessNanos;
+    }
+
+    private boolean isIdle(long nowNanos) {
+      return nowNanos - lastAccessNanos >= timeToIdle.toNanos();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+/**
+ * A probabilistic counter of how often each key was accessed recently (a count-min sketch with 4-bit counters, as
+ * used by the TinyLFU admission policy). All counters are halved whenever the number of increments reaches ten times
+ * the maximum cache size, so that the frequencies of keys that are no longer accessed decay over time. This class is
+ * not thread-safe.
+ * <p>
+ * The implementation is derived from the {@code FrequencySketch} class of the Caffeine library
+ * (<a href="https://github.com/ben-manes/caffeine">https://github.com/ben-manes/caffeine</a>),
+ * Copyright 2015 Ben Manes, which is licensed under the Apache License, Version 2.0.
+ * </p>
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+
+  static final int MAX_FREQUENCY = 15;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+
+  private int size;
+
+  /**
+   * @param maximumSize the maximum number of entries in the cache
+   */
+  FrequencySketch(int maximumSize) {
+
+    int capacity = Integer.highestOneBit(Math.max(maximumSize, 2) - 1) << 1;
+
+    this.table = new long[capacity];
+    this.tableMask = capacity - 1;
+    this.sampleSize = 10 * Math.max(maximumSize, 1);
+  }
+
+  /**
+   * @param key to look up
+   * @return the estimated number of recent accesses (between 0 and {@link #MAX_FREQUENCY})
+   */
+  int frequency(String key) {
+
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = indexOf(hash, i);
+      int count = (int)((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * @param key that was accessed
+   */
+  void increment(String key) {
+
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  private void reset() {
+
+    int numOddCounters = 0;
+    for (int i = 0; i < table.length; i++) {
+      numOddCounters += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size >>> 1) - (numOddCounters >>> 2);
+  }
+
+  private int indexOf(int hash, int i) {
+
+    long value = (hash + SEEDS[i]) * SEEDS[i];
+    value += value >>> 32;
+    return ((int)value) & tableMask;
+  }
+
+  private static int spread(int value) {
+
+    int x = ((value >>> 16) ^ value) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
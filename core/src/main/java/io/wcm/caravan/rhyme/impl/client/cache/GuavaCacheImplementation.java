@@ -21,9 +21,11 @@ package io.wcm.caravan.rhyme.impl.client.cache;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 
 import io.reactivex.rxjava3.core.Maybe;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
@@ -32,41 +34,147 @@ import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
 public class GuavaCacheImplementation implements HalResponseCache {
 
   private final int maxNumItems;
+  private final long maxBytes;
   private final Duration timeToIdle;
 
-  private final Cache<String, HalResponse> cache;
+  private final AtomicLong weightInBytes = new AtomicLong();
 
+  private final Cache<String, WeighedResponse> cache;
+
+  /**
+   * Creates a cache that is limited by the number of responses
+   * @param maxNumItems the maximum number of responses to keep
+   * @param timeToIdle the duration after which a response that hasn't been read from cache will be discarded
+   */
   public GuavaCacheImplementation(int maxNumItems, Duration timeToIdle) {
+    this(maxNumItems, timeToIdle, false);
+  }
+
+  /**
+   * Creates a cache that is limited by the number of responses
+   * @param maxNumItems the maximum number of responses to keep
+   * @param timeToIdle the duration after which a response that hasn't been read from cache will be discarded
+   * @param recordEvictions true if the number of evicted responses should be available with
+   *          {@link #getEvictionCount()}
+   */
+  public GuavaCacheImplementation(int maxNumItems, Duration timeToIdle, boolean recordEvictions) {
 
     this.maxNumItems = maxNumItems;
+    this.maxBytes = 0;
     this.timeToIdle = timeToIdle;
 
-    this.cache = CacheBuilder.newBuilder()
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
         .maximumSize(maxNumItems)
+        .expireAfterAccess(timeToIdle.getSeconds(), TimeUnit.SECONDS);
+
+    if (recordEvictions) {
+      builder = builder.recordStats();
+    }
+    this.cache = builder.build();
+  }
+
+  private GuavaCacheImplementation(long maxBytes, Duration timeToIdle) {
+
+    this.maxNumItems = 0;
+    this.maxBytes = maxBytes;
+    this.timeToIdle = timeToIdle;
+
+    this.cache = CacheBuilder.newBuilder()
+        // the maximum weight would otherwise be split between multiple segments, each evicting entries independently
+        .concurrencyLevel(1)
+        .maximumWeight(maxBytes)
+        .weigher((String uri, WeighedResponse entry) -> (int)Math.min(entry.bytes, Integer.MAX_VALUE))
         .expireAfterAccess(timeToIdle.getSeconds(), TimeUnit.SECONDS)
+        .recordStats()
+        .removalListener((RemovalNotification<String, WeighedResponse> notification) -> weightInBytes.addAndGet(-notification.getValue().bytes))
         .build();
   }
 
+  /**
+   * Creates a cache that is limited by the estimated heap size of all responses
+   * @param maxBytes the maximum number of (estimated) bytes to be retained by all responses
+   * @param timeToIdle the duration after which a response that hasn't been read from cache will be discarded
+   * @return a new cache instance
+   */
+  public static GuavaCacheImplementation withMaxBytes(long maxBytes, Duration timeToIdle) {
+
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive, but was " + maxBytes);
+    }
+    return new GuavaCacheImplementation(maxBytes, timeToIdle);
+  }
+
   @Override
   public Maybe<HalResponse> load(String uri) {
 
-    HalResponse entry = cache.getIfPresent(uri);
+    WeighedResponse entry = cache.getIfPresent(uri);
 
-    return entry != null ? Maybe.just(entry) : Maybe.empty();
+    return entry != null ? Maybe.just(entry.response) : Maybe.empty();
   }
 
   @Override
   public void store(HalResponse response) {
 
-    cache.put(response.getUri(), response);
+    // the size of the response only needs to be estimated (and tracked) if the cache is limited by the number of bytes
+    WeighedResponse entry;
+    if (maxBytes > 0) {
+      entry = new WeighedResponse(response, HalResponseSizeEstimator.estimateRetainedBytes(response));
+      weightInBytes.addAndGet(entry.bytes);
+    }
+    else {
+      entry = new WeighedResponse(response, 0);
+    }
+
+    cache.put(response.getUri(), entry);
+  }
+
+  @Override
+  public void remove(String uri) {
+
+    cache.invalidate(uri);
+  }
+
+  /**
+   * @return the estimated number of bytes retained by all responses that are currently in the cache (which is only
+   *         calculated if the cache was created with {@link #withMaxBytes(long, Duration)}, and zero otherwise)
+   */
+  @Override
+  public long getWeightInBytes() {
+    // pending removals are only processed during other cache operations, so this ensures an accurate value
+    cache.cleanUp();
+    return weightInBytes.get();
+  }
+
+  /**
+   * @return the number of responses that have been evicted because the size limit was reached or the time-to-idle
+   *         expired (which is only counted if the cache was created with {@link #withMaxBytes(long, Duration)}, or
+   *         with recordEvictions enabled, and zero otherwise)
+   */
+  @Override
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
   }
 
   int getMaxNumItems() {
     return maxNumItems;
   }
 
+  long getMaxBytes() {
+    return maxBytes;
+  }
+
   Duration getTimeToIdle() {
     return timeToIdle;
   }
 
+  private static final class WeighedResponse {
+
+    private final HalResponse response;
+    private final long bytes;
+
+    private WeighedResponse(HalResponse response, long bytes) {
+      this.response = response;
+      this.bytes = bytes;
+    }
+  }
 }
@@ -0,0 +1,221 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * A compact, versioned binary representation of all fields of a {@link HalResponse}, which can be used by
+ * {@link HalResponseCache} implementations that need to store responses outside of the Java heap. The JSON body is
+ * encoded in the binary Smile format, and can optionally be compressed. Compression uses the fastest deflate level,
+ * but still adds CPU time to every write and read of a cached response (while the Smile format already reduces the
+ * size of typical JSON bodies considerably), so it should only be enabled if memory or disk space is the bottleneck.
+ */
+public final class HalResponseCodec {
+
+  static final int FORMAT_VERSION = 1;
+
+  private static final int FLAG_COMPRESSED_BODY = 1;
+
+  private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+  private final boolean compressBody;
+
+  /**
+   * @param compressBody true if the Smile-encoded body should also be compressed
+   */
+  public HalResponseCodec(boolean compressBody) {
+    this.compressBody = compressBody;
+  }
+
+  /**
+   * @param response the response to encode
+   * @return a byte array that contains all fields of the given response
+   */
+  public byte[] encode(HalResponse response) {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+
+      out.writeByte(FORMAT_VERSION);
+      out.writeByte(compressBody ? FLAG_COMPRESSED_BODY : 0);
+
+      writeNullableString(out, response.getUri());
+      writeNullableInt(out, response.getStatus());
+      writeNullableString(out, response.getContentType());
+      writeNullableInt(out, response.getMaxAge());
+      writeNullableInt(out, response.getStaleWhileRevalidate());
+      writeNullableInt(out, response.getStaleIfError());
+      writeNullableString(out, response.getEntityTag());
+      writeNullableString(out, response.getLastModified());
+      writeNullableInstant(out, response.getTimestamp());
+
+      byte[] body = response.getBody() != null ? encodeBody(response.getBody().getModel()) : null;
+      writeNullableBytes(out, body);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException("Failed to encode response from " + response.getUri(), ex);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @param encoded a byte array that was created with {@link #encode(HalResponse)} (with any codec configuration)
+   * @return a {@link HalResponse} with the same field values as the encoded response
+   */
+  public HalResponse decode(byte[] encoded) {
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+
+      int version = in.readUnsignedByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported format version " + version);
+      }
+      int flags = in.readUnsignedByte();
+
+      HalResponse response = new HalResponse()
+          .withUri(readNullableString(in))
+          .withStatus(readNullableInt(in))
+          .withContentType(readNullableString(in))
+          .withMaxAge(readNullableInt(in))
+          .withStaleWhileRevalidate(readNullableInt(in))
+          .withStaleIfError(readNullableInt(in))
+          .withEntityTag(readNullableString(in))
+          .withLastModified(readNullableString(in))
+          .withTimestamp(readNullableInstant(in));
+
+      byte[] body = readNullableBytes(in);
+      if (body != null) {
+        boolean compressed = (flags & FLAG_COMPRESSED_BODY) != 0;
+        response = response.withBody(decodeBody(body, compressed));
+      }
+      return response;
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException("Failed to decode an encoded response with " + encoded.length + " bytes", ex);
+    }
+  }
+
+  private byte[] encodeBody(JsonNode json) throws IOException {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    if (!compressBody) {
+      SMILE_MAPPER.writeValue(bytes, json);
+      return bytes.toByteArray();
+    }
+
+    // the fastest compression level is used, as the body is compressed whenever a response is stored in cache
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+      SMILE_MAPPER.writeValue(out, json);
+    }
+    finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+  private static JsonNode decodeBody(byte[] body, boolean compressed) throws IOException {
+
+    InputStream bytes = new ByteArrayInputStream(body);
+    try (InputStream in = compressed ? new InflaterInputStream(bytes) : bytes) {
+      return SMILE_MAPPER.readTree(in);
+    }
+  }
+
+  private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+
+    writeNullableBytes(out, value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+
+    byte[] bytes = readNullableBytes(in);
+    return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+  }
+
+  private static void writeNullableBytes(DataOutputStream out, byte[] value) throws IOException {
+
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(value.length);
+    out.write(value);
+  }
+
+  @SuppressWarnings("PMD.ReturnEmptyArrayRatherThanNull")
+  private static byte[] readNullableBytes(DataInputStream in) throws IOException {
+
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeInt(value);
+    }
+  }
+
+  private static Integer readNullableInt(DataInputStream in) throws IOException {
+
+    return in.readBoolean() ? in.readInt() : null;
+  }
+
+  private static void writeNullableInstant(DataOutputStream out, Instant value) throws IOException {
+
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value.getEpochSecond());
+      out.writeInt(value.getNano());
+    }
+  }
+
+  private static Instant readNullableInstant(DataInputStream in) throws IOException {
+
+    return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * Estimates how many bytes of heap memory are retained by a {@link HalResponse}, which is mostly determined by the
+ * Jackson {@link JsonNode} tree of its body. The estimates assume a 64-bit JVM with compressed object pointers and
+ * compact strings, and are only meant to be used for the eviction of cache entries, so they don't need to be exact.
+ */
+final class HalResponseSizeEstimator {
+
+  private static final int OBJECT_HEADER = 12;
+  private static final int REFERENCE = 4;
+
+  // a String instance, and the byte array holding its characters
+  private static final int STRING_OVERHEAD = 24 + 16;
+
+  // HalResponse and HalResource instances, and the boxed integer and Instant fields
+  private static final int RESPONSE_OVERHEAD = 48 + 16 + 4 * 16 + 24;
+
+  // ObjectNode and the LinkedHashMap that contains its fields
+  private static final int OBJECT_NODE_OVERHEAD = 16 + 56 + 16;
+  // each LinkedHashMap.Entry, and the reference to it in the hash table (with default load factor)
+  private static final int OBJECT_FIELD_OVERHEAD = 40 + 2 * REFERENCE;
+
+  // ArrayNode and the ArrayList that contains its elements
+  private static final int ARRAY_NODE_OVERHEAD = 16 + 24 + 16;
+
+  private HalResponseSizeEstimator() {
+    // only static methods
+  }
+
+  static long estimateRetainedBytes(HalResponse response) {
+
+    long bytes = RESPONSE_OVERHEAD
+        + estimateStringBytes(response.getUri())
+        + estimateStringBytes(response.getContentType());
+
+    if (response.getBody() != null) {
+      bytes += estimateRetainedBytes(response.getBody().getModel());
+    }
+
+    return bytes;
+  }
+
+  static long estimateRetainedBytes(JsonNode rootNode) {
+
+    long bytes = 0;
+
+    // use an explicit stack rather than recursion, as there is no limit to the depth of the JSON documents
+    Deque<JsonNode> stack = new ArrayDeque<>();
+    stack.push(rootNode);
+
+    while (!stack.isEmpty()) {
+      JsonNode node = stack.pop();
+
+      if (node.isObject()) {
+        bytes += OBJECT_NODE_OVERHEAD;
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          bytes += OBJECT_FIELD_OVERHEAD + estimateStringBytes(field.getKey());
+          stack.push(field.getValue());
+        }
+      }
+      else if (node.isArray()) {
+        bytes += ARRAY_NODE_OVERHEAD + (long)REFERENCE * node.size();
+        node.elements().forEachRemaining(stack::push);
+      }
+      else {
+        bytes += estimateValueNodeBytes(node);
+      }
+    }
+
+    return bytes;
+  }
+
+  private static long estimateValueNodeBytes(JsonNode node) {
+
+    if (node.isTextual()) {
+      return OBJECT_HEADER + REFERENCE + estimateStringBytes(node.textValue());
+    }
+    if (node.isBoolean() || node.isNull() || node.isMissingNode()) {
+      // these are singleton instances that don't use any additional memory
+      return 0;
+    }
+    if (node.isBigInteger() || node.isBigDecimal()) {
+      return 16 + 40 + node.asText().length();
+    }
+    if (node.isBinary()) {
+      return 16 + 16 + node.asText().length() * 3L / 4;
+    }
+    // IntNode, LongNode, DoubleNode etc.
+    return 24;
+  }
+
+  private static long estimateStringBytes(String value) {
+
+    if (value == null) {
+      return 0;
+    }
+    // characters outside of the Latin-1 range will require two bytes, but that is rare enough to be ignored here
+    return STRING_OVERHEAD + value.length();
+  }
+}
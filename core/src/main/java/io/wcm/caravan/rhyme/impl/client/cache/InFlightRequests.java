@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * Keeps track of all upstream requests that are currently in flight, so that concurrent requests for the same URI
+ * (e.g. from multiple incoming requests that all had a cache miss) will share the same upstream request
+ */
+class InFlightRequests {
+
+  private static final Logger log = LoggerFactory.getLogger(InFlightRequests.class);
+
+  private final ConcurrentHashMap<String, InFlightRequest> requests = new ConcurrentHashMap<>();
+
+  private final AtomicLong numCoalescedCallers = new AtomicLong();
+
+  private final IntConsumer coalescedCallersListener;
+
+  InFlightRequests() {
+    this(numCallers -> {
+      // no listener required
+    });
+  }
+
+  /**
+   * @param coalescedCallersListener is called with the number of additional callers whenever a shared request completed
+   */
+  InFlightRequests(IntConsumer coalescedCallersListener) {
+    this.coalescedCallersListener = coalescedCallersListener;
+  }
+
+  /**
+   * @param uri of the resource to load
+   * @param loadFunc a function that provides the {@link Single} to load the resource, which is only called if there
+   *          isn't already a request for the same URI in flight
+   * @return a {@link Single} that will join an in-flight request for the same URI (or start a new one) when subscribed
+   */
+  Single<HalResponse> join(String uri, Supplier<Single<HalResponse>> loadFunc) {
+
+    return Single.defer(() -> requests.computeIfAbsent(uri, key -> new InFlightRequest(key, loadFunc.get()))
+        .join());
+  }
+
+  /**
+   * @return the number of URIs for which an upstream request is currently in flight
+   */
+  int getNumRequestsInFlight() {
+    return requests.size();
+  }
+
+  /**
+   * @return the total number of callers that did not trigger their own upstream request, because they joined
+   *         a request that was already in flight
+   */
+  long getNumCoalescedCallers() {
+    return numCoalescedCallers.get();
+  }
+
+  private final class InFlightRequest {
+
+    private final String uri;
+    private final AtomicInteger numCallers = new AtomicInteger();
+    private final Single<HalResponse> sharedResult;
+
+    private InFlightRequest(String uri, Single<HalResponse> load) {
+      this.uri = uri;
+      this.sharedResult = load
+          .doFinally(this::onCompleted)
+          .cache();
+    }
+
+    private Single<HalResponse> join() {
+
+      numCallers.incrementAndGet();
+
+      return sharedResult;
+    }
+
+    private void onCompleted() {
+
+      requests.remove(uri, this);
+
+      int callers = numCallers.get();
+      if (callers > 1) {
+        numCoalescedCallers.addAndGet(callers - 1L);
+        coalescedCallersListener.accept(callers - 1);
+        log.debug("The upstream request to {} was shared by {} concurrent callers", uri, callers);
+      }
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of the URIs (and tags) of all responses that were stored in cache, so that the responses to be
+ * invalidated can be found without iterating over all entries of the cache. The URIs are kept in a sorted map,
+ * so that all URIs with a given prefix can be found with a single range query.
+ * <p>
+ * Since the index isn't notified when entries are evicted from the cache, it also keeps track of the time until
+ * which each response could be used from cache. Whenever the index has doubled in size since it was last pruned,
+ * all entries that have expired are removed.
+ * </p>
+ */
+final class InvalidationIndex {
+
+  // a character that is greater than any character allowed in URIs, to find the end of the range with a given prefix
+  private static final char MAX_URI_CHAR = Character.MAX_VALUE;
+
+  private static final int MIN_SIZE_BEFORE_PRUNING = 1000;
+
+  private final NavigableMap<String, Instant> expiryByUri = new TreeMap<>();
+
+  private final Map<String, Set<String>> urisByTag = new HashMap<>();
+
+  private final Map<String, Collection<String>> tagsByUri = new HashMap<>();
+
+  private int sizeBeforePruning = MIN_SIZE_BEFORE_PRUNING;
+
+  /**
+   * @param uri of the response that was stored in cache
+   * @param tags the invalidation tags of the response
+   * @param expiry the time after which the response can no longer be used from cache
+   * @param now the current time (to remove entries that have already expired)
+   */
+  synchronized void add(String uri, Collection<String> tags, Instant expiry, Instant now) {
+
+    removeTags(uri);
+
+    expiryByUri.put(uri, expiry);
+
+    if (!tags.isEmpty()) {
+      tagsByUri.put(uri, new LinkedHashSet<>(tags));
+      tags.forEach(tag -> urisByTag.computeIfAbsent(tag, t -> new LinkedHashSet<>()).add(uri));
+    }
+
+    if (expiryByUri.size() >= sizeBeforePruning) {
+      pruneExpiredEntries(now);
+    }
+  }
+
+  /**
+   * @param uri of the response that was loaded from cache
+   * @param tags provides the invalidation tags of the response (only called if the URI isn't indexed yet)
+   * @param expiry the time after which the response can no longer be used from cache
+   * @param now the current time (to remove entries that have already expired)
+   */
+  synchronized void addIfAbsent(String uri, Supplier<Collection<String>> tags, Instant expiry, Instant now) {
+
+    if (!expiryByUri.containsKey(uri)) {
+      add(uri, tags.get(), expiry, now);
+    }
+  }
+
+  private void pruneExpiredEntries(Instant now) {
+
+    List<String> expiredUris = expiryByUri.entrySet().stream()
+        .filter(entry -> !entry.getValue().isAfter(now))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+
+    expiredUris.forEach(this::remove);
+
+    sizeBeforePruning = Math.max(MIN_SIZE_BEFORE_PRUNING, 2 * expiryByUri.size());
+  }
+
+  synchronized boolean remove(String uri) {
+
+    removeTags(uri);
+    return expiryByUri.remove(uri) != null;
+  }
+
+  private void removeTags(String uri) {
+
+    Collection<String> tags = tagsByUri.remove(uri);
+    if (tags == null) {
+      return;
+    }
+
+    for (String tag : tags) {
+      Set<String> taggedUris = urisByTag.get(tag);
+      taggedUris.remove(uri);
+      if (taggedUris.isEmpty()) {
+        urisByTag.remove(tag);
+      }
+    }
+  }
+
+  synchronized List<String> findByPrefix(String prefix) {
+
+    return new ArrayList<>(expiryByUri.subMap(prefix, true, prefix + MAX_URI_CHAR, false).keySet());
+  }
+
+  synchronized List<String> findByTag(String tag) {
+
+    Set<String> taggedUris = urisByTag.get(tag);
+
+    return taggedUris != null ? new ArrayList<>(taggedUris) : new ArrayList<>();
+  }
+
+  synchronized int size() {
+    return expiryByUri.size();
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.impl.client.cache.DirectBufferPool.Allocation;
+
+/**
+ * A {@link HalResponseCache} implementation that keeps responses in direct (off-heap) memory, serialized with
+ * {@link HalResponseCodec}. Only the small {@link ByteBuffer} wrappers remain on the heap, and the total size of all
+ * serialized responses is limited to a given number of bytes. The buffers of evicted responses are re-used with a
+ * {@link DirectBufferPool}, so that the direct memory in use doesn't depend on when the garbage collector is run.
+ */
+public class OffHeapCacheImplementation implements HalResponseCache {
+
+  private static final Logger log = LoggerFactory.getLogger(OffHeapCacheImplementation.class);
+
+  private final long maxBytes;
+  private final Duration timeToIdle;
+  private final HalResponseCodec codec;
+  private final DirectBufferPool bufferPool;
+
+  private final Cache<String, Allocation> cache;
+
+  public OffHeapCacheImplementation(long maxBytes, Duration timeToIdle, boolean compressed) {
+
+    this.maxBytes = maxBytes;
+    this.timeToIdle = timeToIdle;
+    this.codec = new HalResponseCodec(compressed);
+    this.bufferPool = new DirectBufferPool(maxBytes);
+
+    this.cache = CacheBuilder.newBuilder()
+        // the maximum weight would otherwise be split between multiple segments, each evicting entries independently
+        .concurrencyLevel(1)
+        .maximumWeight(maxBytes)
+        .weigher((String uri, Allocation allocation) -> allocation.capacity())
+        .expireAfterAccess(timeToIdle.getSeconds(), TimeUnit.SECONDS)
+        .recordStats()
+        .removalListener((RemovalNotification<String, Allocation> notification) -> notification.getValue().release())
+        .build();
+  }
+
+  @Override
+  public Maybe<HalResponse> load(String uri) {
+
+    Allocation entry = cache.getIfPresent(uri);
+    if (entry == null) {
+      return Maybe.empty();
+    }
+
+    // the entry may have been evicted concurrently (and its buffer already re-used for another response)
+    byte[] bytes = entry.read();
+    if (bytes == null) {
+      return Maybe.empty();
+    }
+
+    try {
+      return Maybe.just(codec.decode(bytes));
+    }
+    catch (RuntimeException ex) {
+      log.warn("Failed to decode cached response for {}, so it will be removed from cache", uri, ex);
+      cache.invalidate(uri);
+      return Maybe.empty();
+    }
+  }
+
+  @Override
+  public void store(HalResponse response) {
+
+    byte[] bytes = codec.encode(response);
+
+    if (DirectBufferPool.getCapacity(bytes.length) > maxBytes) {
+      log.debug("Response from {} with {} bytes is larger than the maximum size of the cache", response.getUri(), bytes.length);
+      return;
+    }
+
+    cache.put(response.getUri(), bufferPool.acquire(bytes));
+  }
+
+  @Override
+  public void remove(String uri) {
+
+    cache.invalidate(uri);
+  }
+
+  /**
+   * @return the number of responses that have been evicted because the size limit was reached or the time-to-idle
+   *         expired
+   */
+  @Override
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  /**
+   * @return the total capacity of the buffers used by all serialized responses in the cache
+   */
+  public long getUsedBytes() {
+    return cache.asMap().values().stream()
+        .mapToLong(Allocation::capacity)
+        .sum();
+  }
+
+  /**
+   * @return the total capacity of the buffers used by all serialized responses in the cache
+   */
+  @Override
+  public long getWeightInBytes() {
+    return getUsedBytes();
+  }
+
+  /**
+   * @return the total capacity of all direct buffers that were allocated (including those that are currently unused)
+   */
+  long getAllocatedBytes() {
+    return bufferPool.getAllocatedBytes();
+  }
+
+  long getMaxBytes() {
+    return maxBytes;
+  }
+
+  Duration getTimeToIdle() {
+    return timeToIdle;
+  }
+}
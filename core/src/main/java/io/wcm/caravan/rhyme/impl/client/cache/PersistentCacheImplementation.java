@@ -0,0 +1,740 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * A persistent {@link HalResponseCache} implementation that appends all responses (serialized with
+ * {@link HalResponseCodec}) to memory-mapped segment files in a given directory. Only an index with the location of
+ * the latest entry for each URI is kept on the heap. When an instance is created for a directory that already
+ * contains segment files (e.g. after a restart), all entries that haven't expired yet will be available immediately.
+ * <p>
+ * An entry is considered expired if its max-age (and additional stale-while-revalidate or stale-if-error window) has
+ * passed. Expired and replaced entries are removed in the background by regularly copying the remaining entries of
+ * sparsely used segments to the current segment, and then deleting the old segment files.
+ * </p>
+ * <p>
+ * If a segment file was truncated or partially written (e.g. because of a crash), all complete entries before the
+ * first invalid entry will be recovered, and the remainder of the segment will be discarded.
+ * </p>
+ * <p>
+ * When an entry is removed (or has expired), the latest record for its URI must not be deleted as long as older
+ * records for the same URI may still exist in other segments, as these would otherwise be restored when the index is
+ * rebuilt. Such records are kept as tombstones (and rewritten by the compaction if required) until all older
+ * segments have been deleted.
+ * </p>
+ * <p>
+ * The total size of all segment files is limited by discarding the oldest segment (and all entries within it)
+ * whenever a new segment would exceed that limit. A directory can only be used by a single instance at a time, which
+ * is ensured with a lock file that is only released when the instance is closed.
+ * </p>
+ */
+public class PersistentCacheImplementation implements HalResponseCache, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(PersistentCacheImplementation.class);
+
+  static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+  static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(5);
+
+  /** the default limit for the total size of all segment files */
+  public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+
+  private static final String SEGMENT_FILE_PREFIX = "segment-";
+  private static final String SEGMENT_FILE_SUFFIX = ".dat";
+  private static final String LOCK_FILE_NAME = ".lock";
+
+  // each record starts with a magic number, the length of the record's content and its CRC32 checksum
+  private static final int RECORD_MAGIC = 0x48414c52;
+  private static final int RECORD_HEADER_BYTES = 3 * Integer.BYTES;
+  // the content starts with the expiry timestamp and the URI, so that the index can be rebuilt without decoding
+  private static final int CONTENT_PREFIX_BYTES = Long.BYTES + Integer.BYTES;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final Clock clock;
+  private final HalResponseCodec codec = new HalResponseCodec(true);
+
+  private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Location> tombstones = new ConcurrentHashMap<>();
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+  private final Object writeLock = new Object();
+  private volatile Segment activeSegment;
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  private final FileLock directoryLock;
+  private final ScheduledExecutorService compactionExecutor;
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * @param directory where the segment files should be stored (it will be created if it doesn't exist)
+   * @param clock used to determine which entries have expired
+   */
+  public PersistentCacheImplementation(Path directory, Clock clock) {
+    this(directory, DEFAULT_MAX_BYTES, clock);
+  }
+
+  /**
+   * @param directory where the segment files should be stored (it will be created if it doesn't exist)
+   * @param maxBytes the maximum total size of all segment files
+   * @param clock used to determine which entries have expired
+   */
+  public PersistentCacheImplementation(Path directory, long maxBytes, Clock clock) {
+    this(directory, DEFAULT_SEGMENT_SIZE, maxBytes, clock, DEFAULT_COMPACTION_INTERVAL);
+  }
+
+  PersistentCacheImplementation(Path directory, int segmentSize, Clock clock, Duration compactionInterval) {
+    this(directory, segmentSize, Long.MAX_VALUE, clock, compactionInterval);
+  }
+
+  PersistentCacheImplementation(Path directory, int segmentSize, long maxBytes, Clock clock, Duration compactionInterval) {
+
+    this.directory = directory;
+    // the segment size is reduced if necessary, as at least two segments are required for the compaction to work
+    this.segmentSize = (int)Math.max(1, Math.min(segmentSize, maxBytes / 2));
+    this.maxSegments = (int)Math.max(2, Math.min(Integer.MAX_VALUE, maxBytes / this.segmentSize));
+    this.clock = clock;
+
+    try {
+      Files.createDirectories(directory);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException("Failed to create directory for persistent cache in " + directory, ex);
+    }
+
+    directoryLock = acquireLock(directory);
+
+    try {
+      openExistingSegments();
+      if (activeSegment == null) {
+        activeSegment = createSegment(1);
+      }
+    }
+    catch (IOException ex) {
+      releaseLock();
+      throw new UncheckedIOException("Failed to open persistent cache in " + directory, ex);
+    }
+    catch (RuntimeException ex) {
+      releaseLock();
+      throw ex;
+    }
+
+    log.info("{} was opened with {} entries in {} segments from {}", getClass().getSimpleName(), index.size(), segments.size(), directory);
+
+    if (compactionInterval != null) {
+      compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, getClass().getSimpleName() + "-compaction");
+        thread.setDaemon(true);
+        return thread;
+      });
+      long intervalMillis = compactionInterval.toMillis();
+      compactionExecutor.scheduleWithFixedDelay(this::compactAndLogErrors, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    else {
+      compactionExecutor = null;
+    }
+  }
+
+  private static FileLock acquireLock(Path directory) {
+
+    Path lockFile = directory.resolve(LOCK_FILE_NAME);
+    FileChannel channel = null;
+    try {
+      channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock lock = channel.tryLock();
+      if (lock != null) {
+        return lock;
+      }
+    }
+    catch (OverlappingFileLockException ex) {
+      // the lock is already held by another instance within this JVM, which is handled below
+    }
+    catch (IOException ex) {
+      closeQuietly(channel);
+      throw new UncheckedIOException("Failed to acquire lock on " + lockFile, ex);
+    }
+
+    closeQuietly(channel);
+    throw new HalApiDeveloperException("The persistent cache directory " + directory + " is already used by another loader. "
+        + "Each directory can only be used by a single instance, and that instance must be closed before the directory can be re-used");
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    }
+    catch (IOException ex) {
+      log.warn("Failed to close file channel", ex);
+    }
+  }
+
+  private void releaseLock() {
+    try {
+      directoryLock.release();
+    }
+    catch (IOException ex) {
+      log.warn("Failed to release lock on persistent cache directory {}", directory, ex);
+    }
+    closeQuietly(directoryLock.channel());
+  }
+
+  @Override
+  public Maybe<HalResponse> load(String uri) {
+
+    Location location = index.get(uri);
+    if (location == null) {
+      return Maybe.empty();
+    }
+
+    try {
+      return Maybe.just(codec.decode(location.readPayload()));
+    }
+    catch (RuntimeException ex) {
+      log.warn("Failed to decode cached response for {}, so it will be removed from cache", uri, ex);
+      remove(uri, location);
+      return Maybe.empty();
+    }
+  }
+
+  @Override
+  public void store(HalResponse response) {
+
+    byte[] uri = response.getUri().getBytes(StandardCharsets.UTF_8);
+    byte[] payload = codec.encode(response);
+
+    int contentLength = CONTENT_PREFIX_BYTES + uri.length + payload.length;
+    if (RECORD_HEADER_BYTES + contentLength > segmentSize) {
+      log.debug("Response from {} with {} bytes is larger than the segment size", response.getUri(), payload.length);
+      return;
+    }
+
+    ByteBuffer content = ByteBuffer.allocate(contentLength)
+        .putLong(calculateExpiry(response).toEpochMilli())
+        .putInt(uri.length)
+        .put(uri)
+        .put(payload);
+
+    synchronized (writeLock) {
+      boolean supersedesOlderRecords = index.containsKey(response.getUri()) || tombstones.containsKey(response.getUri());
+      // any older tombstone is no longer required, as the new record supersedes all records written before
+      removeTombstone(response.getUri());
+      addToIndex(response.getUri(), append(content.array()), supersedesOlderRecords);
+    }
+  }
+
+  @Override
+  public void remove(String uri) {
+
+    synchronized (writeLock) {
+      if (index.containsKey(uri)) {
+        // an already expired entry without payload is appended, so that the removal is still effective when the
+        // index is rebuilt from the segments after a restart
+        addTombstone(uri, appendTombstone(uri));
+        remove(uri, index.get(uri));
+      }
+    }
+  }
+
+  private Location appendTombstone(String uri) {
+
+    byte[] uriBytes = uri.getBytes(StandardCharsets.UTF_8);
+
+    ByteBuffer content = ByteBuffer.allocate(CONTENT_PREFIX_BYTES + uriBytes.length)
+        .putLong(0L)
+        .putInt(uriBytes.length)
+        .put(uriBytes);
+
+    return append(content.array());
+  }
+
+  private static Instant calculateExpiry(HalResponse response) {
+
+    int maxAge = Optional.ofNullable(response.getMaxAge()).orElse(0);
+    int staleWhileRevalidate = Optional.ofNullable(response.getStaleWhileRevalidate()).orElse(0);
+    int staleIfError = Optional.ofNullable(response.getStaleIfError()).orElse(0);
+
+    return response.getTimestamp().plusSeconds(maxAge + (long)Math.max(staleWhileRevalidate, staleIfError));
+  }
+
+  private Location append(byte[] content) {
+
+    if (!activeSegment.hasRoomFor(content.length)) {
+      while (segments.size() >= maxSegments) {
+        evictOldestSegment();
+      }
+      activeSegment = createSegment(activeSegment.id + 1);
+    }
+
+    return activeSegment.append(content);
+  }
+
+  private void addToIndex(String uri, Location location, boolean supersedesOlderRecords) {
+
+    location.supersedesOlderRecords = supersedesOlderRecords;
+    location.retain();
+
+    Location previous = index.put(uri, location);
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  private void remove(String uri, Location location) {
+
+    if (index.remove(uri, location)) {
+      location.release();
+    }
+  }
+
+  private void addTombstone(String uri, Location location) {
+
+    location.retain();
+
+    Location previous = tombstones.put(uri, location);
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  private void removeTombstone(String uri) {
+
+    Location previous = tombstones.remove(uri);
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  private void removeTombstone(String uri, Location location) {
+
+    if (tombstones.remove(uri, location)) {
+      location.release();
+    }
+  }
+
+  /**
+   * Removes all expired entries from the index, and then rewrites and deletes all segments that are less than
+   * half-full with valid entries
+   */
+  void compact() {
+
+    Instant now = clock.instant();
+    long oldestSegmentId = segments.get(0).id;
+
+    index.forEach((uri, location) -> {
+      if (location.isExpired(now)) {
+        synchronized (writeLock) {
+          // the entry may have been replaced or removed concurrently
+          if (index.get(uri) == location) {
+            // older records for the same URI could still exist in another segment, and must not be restored
+            if (location.supersedesOlderRecords && location.segment.id > oldestSegmentId) {
+              addTombstone(uri, appendTombstone(uri));
+            }
+            remove(uri, location);
+          }
+        }
+      }
+    });
+
+    // tombstones in the oldest segment can be dropped, as all records that they supersede are in the same segment
+    tombstones.forEach((uri, location) -> {
+      if (location.segment.id <= oldestSegmentId) {
+        synchronized (writeLock) {
+          removeTombstone(uri, location);
+        }
+      }
+    });
+
+    for (Segment segment : segments) {
+      long liveBytes = segment.liveBytes.get();
+      if (segment != activeSegment && (liveBytes == 0 || liveBytes < segment.writePosition / 2)) {
+        relocateEntriesAndDelete(segment);
+      }
+    }
+  }
+
+  private void compactAndLogErrors() {
+    try {
+      compact();
+    }
+    catch (RuntimeException ex) {
+      log.error("Failed to compact segments in {}", directory, ex);
+    }
+  }
+
+  private void relocateEntriesAndDelete(Segment segment) {
+
+    index.forEach((uri, location) -> {
+      if (location.segment == segment) {
+        synchronized (writeLock) {
+          // the entry may have been replaced or removed concurrently
+          if (index.get(uri) == location) {
+            addToIndex(uri, append(location.readContent()), location.supersedesOlderRecords);
+          }
+        }
+      }
+    });
+
+    tombstones.forEach((uri, location) -> {
+      if (location.segment == segment) {
+        synchronized (writeLock) {
+          // the tombstone may have been superseded by a new entry concurrently
+          if (tombstones.get(uri) == location) {
+            addTombstone(uri, appendTombstone(uri));
+          }
+        }
+      }
+    });
+
+    segments.remove(segment);
+    segment.delete();
+
+    log.debug("Segment {} was compacted and deleted", segment.path);
+  }
+
+  /**
+   * Discards all entries in the oldest segment and then deletes it, to ensure that the size limit is not exceeded.
+   * This must only be called while holding the write lock.
+   */
+  private void evictOldestSegment() {
+
+    Segment oldest = segments.get(0);
+
+    index.forEach((uri, location) -> {
+      if (location.segment == oldest) {
+        remove(uri, location);
+        evictionCount.incrementAndGet();
+      }
+    });
+
+    // tombstones in the oldest segment can only supersede records in the same segment, so they are no longer required
+    tombstones.forEach((uri, location) -> {
+      if (location.segment == oldest) {
+        removeTombstone(uri, location);
+      }
+    });
+
+    segments.remove(oldest);
+    oldest.delete();
+
+    log.debug("Segment {} was deleted as the size limit of the persistent cache was reached", oldest.path);
+  }
+
+  private void openExistingSegments() throws IOException {
+
+    List<Path> segmentFiles;
+    try (Stream<Path> files = Files.list(directory)) {
+      segmentFiles = files
+          .filter(path -> parseSegmentId(path) > 0)
+          .sorted((p1, p2) -> Long.compare(parseSegmentId(p1), parseSegmentId(p2)))
+          .collect(Collectors.toList());
+    }
+
+    Instant now = clock.instant();
+    for (Path path : segmentFiles) {
+      Segment segment = new Segment(parseSegmentId(path), path);
+      segment.recoverEntries(now);
+      segments.add(segment);
+      activeSegment = segment;
+    }
+  }
+
+  private static long parseSegmentId(Path path) {
+
+    String fileName = path.getFileName().toString();
+    String id = StringUtils.substringBetween(fileName, SEGMENT_FILE_PREFIX, SEGMENT_FILE_SUFFIX);
+
+    return StringUtils.isNumeric(id) ? Long.parseLong(id) : -1;
+  }
+
+  private Segment createSegment(long id) {
+
+    Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_FILE_PREFIX, id, SEGMENT_FILE_SUFFIX));
+    try {
+      Segment segment = new Segment(id, path);
+      segments.add(segment);
+      return segment;
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException("Failed to create new segment file " + path, ex);
+    }
+  }
+
+  /**
+   * @return the number of entries that are currently available
+   */
+  public int getNumEntries() {
+    return index.size();
+  }
+
+  /**
+   * @return the number of entries that were discarded because the size limit was reached
+   */
+  @Override
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  int getNumSegments() {
+    return segments.size();
+  }
+
+  int getNumTombstones() {
+    return tombstones.size();
+  }
+
+  Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Stops the background compaction, ensures that all segments are completely written to disk and releases the lock on
+   * the directory. Calling this method more than once has no effect.
+   */
+  @Override
+  public void close() {
+
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+
+    if (compactionExecutor != null) {
+      compactionExecutor.shutdownNow();
+    }
+
+    synchronized (writeLock) {
+      segments.forEach(Segment::close);
+    }
+
+    releaseLock();
+  }
+
+  private final class Segment {
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private final AtomicLong liveBytes = new AtomicLong();
+    private volatile int writePosition;
+
+    private Segment(long id, Path path) throws IOException {
+      this.id = id;
+      this.path = path;
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      // this will also extend a file that was truncated to the full segment size (filled with zeros)
+      this.buffer = channel.map(MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+    }
+
+    private boolean hasRoomFor(int contentLength) {
+      return writePosition + RECORD_HEADER_BYTES + contentLength <= buffer.capacity();
+    }
+
+    private Location append(byte[] content) {
+
+      CRC32 crc = new CRC32();
+      crc.update(content);
+
+      int offset = writePosition;
+
+      ByteBuffer target = buffer.duplicate();
+      target.position(offset);
+      target.putInt(RECORD_MAGIC)
+          .putInt(content.length)
+          .putInt((int)crc.getValue())
+          .put(content);
+
+      writePosition = target.position();
+
+      return new Location(this, offset, content.length, ByteBuffer.wrap(content).getLong());
+    }
+
+    private void recoverEntries(Instant now) {
+
+      int position = 0;
+      while (position + RECORD_HEADER_BYTES <= buffer.capacity() && buffer.getInt(position) == RECORD_MAGIC) {
+
+        int contentLength = buffer.getInt(position + Integer.BYTES);
+        int checksum = buffer.getInt(position + 2 * Integer.BYTES);
+
+        if (contentLength < CONTENT_PREFIX_BYTES || position + RECORD_HEADER_BYTES + contentLength > buffer.capacity()) {
+          break;
+        }
+
+        Location location = new Location(this, position, contentLength, buffer.getLong(position + RECORD_HEADER_BYTES));
+        byte[] content = location.readContent();
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int)crc.getValue() != checksum) {
+          break;
+        }
+
+        String uri = location.readUri(content);
+        if (!location.isExpired(now)) {
+          boolean supersedesOlderRecords = index.containsKey(uri) || tombstones.containsKey(uri);
+          removeTombstone(uri);
+          addToIndex(uri, location, supersedesOlderRecords);
+        }
+        else if (index.containsKey(uri) || tombstones.containsKey(uri)) {
+          // an expired entry supersedes all entries for the same URI that were written before
+          addTombstone(uri, location);
+          Optional.ofNullable(index.get(uri)).ifPresent(previous -> remove(uri, previous));
+        }
+        position += location.getRecordSize();
+      }
+
+      writePosition = position;
+
+      if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+        log.warn("Segment {} contains an incomplete or corrupted entry at position {}, which will be discarded", path, position);
+        // overwrite the remainder of the segment, so that it won't be confused with valid entries later
+        ByteBuffer remainder = buffer.duplicate();
+        remainder.position(position);
+        while (remainder.hasRemaining()) {
+          remainder.put((byte)0);
+        }
+      }
+    }
+
+    private void close() {
+      try {
+        buffer.force();
+        channel.close();
+      }
+      catch (IOException ex) {
+        log.warn("Failed to close segment file {}", path, ex);
+      }
+    }
+
+    private void delete() {
+      try {
+        channel.close();
+        Files.deleteIfExists(path);
+      }
+      catch (IOException ex) {
+        log.warn("Failed to delete segment file {}", path, ex);
+      }
+    }
+  }
+
+  private static final class Location {
+
+    private final Segment segment;
+    private final int offset;
+    private final int contentLength;
+    private final long expiresAtMillis;
+
+    // only modified before the location is added to the index
+    private boolean supersedesOlderRecords;
+
+    private Location(Segment segment, int offset, int contentLength, long expiresAtMillis) {
+      this.segment = segment;
+      this.offset = offset;
+      this.contentLength = contentLength;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    private int getRecordSize() {
+      return RECORD_HEADER_BYTES + contentLength;
+    }
+
+    private boolean isExpired(Instant now) {
+      return now.toEpochMilli() >= expiresAtMillis;
+    }
+
+    private void retain() {
+      segment.liveBytes.addAndGet(getRecordSize());
+    }
+
+    private void release() {
+      segment.liveBytes.addAndGet(-getRecordSize());
+    }
+
+    private byte[] readContent() {
+
+      ByteBuffer source = segment.buffer.duplicate();
+      source.position(offset + RECORD_HEADER_BYTES);
+
+      byte[] content = new byte[contentLength];
+      source.get(content);
+      return content;
+    }
+
+    private String readUri(byte[] content) {
+
+      ByteBuffer source = ByteBuffer.wrap(content);
+      source.position(Long.BYTES);
+      int uriLength = source.getInt();
+
+      return new String(content, CONTENT_PREFIX_BYTES, uriLength, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readPayload() {
+
+      byte[] content = readContent();
+      int uriLength = ByteBuffer.wrap(content).getInt(Long.BYTES);
+      int payloadOffset = CONTENT_PREFIX_BYTES + uriLength;
+
+      byte[] payload = new byte[content.length - payloadOffset];
+      System.arraycopy(content, payloadOffset, payload, 0, payload.length);
+      return payload;
+    }
+  }
+}
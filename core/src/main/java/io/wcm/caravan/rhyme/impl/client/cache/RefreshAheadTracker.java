@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+
+/**
+ * Keeps track of how often each cached response was read since it was stored, to decide whether a fresh response is
+ * requested frequently enough to be refreshed ahead of its expiry, and limits the number of such background refreshes
+ * that are started per second.
+ */
+class RefreshAheadTracker {
+
+  private static final int MAX_TRACKED_URIS = 10000;
+
+  private final CachingConfiguration configuration;
+
+  private final Clock clock;
+
+  private final Cache<String, AtomicInteger> hitCounts = CacheBuilder.newBuilder()
+      .maximumSize(MAX_TRACKED_URIS)
+      .build();
+
+  private long currentSecond;
+
+  private int refreshesInCurrentSecond;
+
+  private long numRefreshesRejected;
+
+  RefreshAheadTracker(CachingConfiguration configuration, Clock clock) {
+    this.configuration = configuration;
+    this.clock = clock;
+  }
+
+  boolean isEnabled() {
+    return configuration.isRefreshAheadEnabled();
+  }
+
+  /**
+   * @param uri of a response that was read from cache
+   * @return the number of times the response was read since it was stored in cache
+   */
+  int recordHit(String uri) {
+
+    AtomicInteger counter = hitCounts.asMap().computeIfAbsent(uri, key -> new AtomicInteger());
+
+    return counter.incrementAndGet();
+  }
+
+  /**
+   * @param uri of a response that was just stored in cache
+   */
+  void resetHits(String uri) {
+
+    hitCounts.invalidate(uri);
+  }
+
+  /**
+   * @param hits the number of times the response was read since it was stored in cache
+   * @param secondsInCache how long the response has been in cache
+   * @param maxAge of the cached response
+   * @return true if the response should be refreshed in the background
+   */
+  boolean isRefreshDue(int hits, int secondsInCache, int maxAge) {
+
+    if (hits < configuration.getRefreshAheadMinimumHits() || maxAge <= 0) {
+      return false;
+    }
+
+    return secondsInCache >= maxAge * configuration.getRefreshAheadFactor();
+  }
+
+  /**
+   * @return true if another background refresh can be started without exceeding
+   *         {@link CachingConfiguration#getMaxRefreshAheadRequestsPerSecond()}
+   */
+  synchronized boolean tryAcquirePermit() {
+
+    long second = clock.millis() / 1000;
+    if (second != currentSecond) {
+      currentSecond = second;
+      refreshesInCurrentSecond = 0;
+    }
+
+    if (refreshesInCurrentSecond >= configuration.getMaxRefreshAheadRequestsPerSecond()) {
+      numRefreshesRejected++;
+      return false;
+    }
+
+    refreshesInCurrentSecond++;
+    return true;
+  }
+
+  synchronized long getNumRefreshesRejected() {
+    return numRefreshesRejected;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+
+/**
+ * A {@link HalResponseCache} implementation that combines a fast (first-level) {@link HalResponseCache} with a larger
+ * (second-level) {@link AsyncHalResponseCache}. Responses are stored in the first-level cache immediately, and are
+ * written to the second-level cache in batches in the background. Responses that are only found in the second-level
+ * cache are promoted to the first-level cache. When the caching loader is closed, all pending writes are flushed.
+ */
+public class TieredCacheImplementation implements HalResponseCache, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(TieredCacheImplementation.class);
+
+  static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  static final Duration DEFAULT_MAX_WRITE_DELAY = Duration.ofSeconds(1);
+  static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+  private final HalResponseCache firstLevel;
+  private final AsyncHalResponseCache secondLevel;
+  private final Scheduler scheduler;
+  private final int maxBatchSize;
+  private final Duration maxWriteDelay;
+
+  // guarded by synchronization on the map itself
+  private final Map<String, HalResponse> pendingWrites = new LinkedHashMap<>();
+  private boolean flushScheduled;
+
+  private final AtomicLong numPromotions = new AtomicLong();
+  private final AtomicLong numFailedWrites = new AtomicLong();
+
+  /**
+   * @param firstLevel the cache that is checked first, and where all responses are stored immediately
+   * @param secondLevel the cache that is checked if a response wasn't found in the first-level cache
+   * @param scheduler used to write responses to the second-level cache in the background
+   */
+  public TieredCacheImplementation(HalResponseCache firstLevel, AsyncHalResponseCache secondLevel, Scheduler scheduler) {
+    this(firstLevel, secondLevel, scheduler, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_WRITE_DELAY);
+  }
+
+  TieredCacheImplementation(HalResponseCache firstLevel, AsyncHalResponseCache secondLevel, Scheduler scheduler,
+      int maxBatchSize, Duration maxWriteDelay) {
+    this.firstLevel = firstLevel;
+    this.secondLevel = secondLevel;
+    this.scheduler = scheduler;
+    this.maxBatchSize = maxBatchSize;
+    this.maxWriteDelay = maxWriteDelay;
+  }
+
+  @Override
+  public Maybe<HalResponse> load(String uri) {
+
+    return firstLevel.load(uri)
+        .switchIfEmpty(Maybe.defer(() -> secondLevel.load(uri)
+            .doOnSuccess(this::promoteToFirstLevel)));
+  }
+
+  private void promoteToFirstLevel(HalResponse response) {
+
+    log.debug("A response for {} was found in the second-level cache and is promoted to the first-level cache", response.getUri());
+
+    numPromotions.incrementAndGet();
+    firstLevel.store(response);
+  }
+
+  /**
+   * Loads the responses for all given URIs that are not available in the first-level cache from the second-level cache
+   * (with a single call to {@link AsyncHalResponseCache#loadAll(Collection)}) and stores them in the first-level cache.
+   * This is used by {@link CacheWarmUpImpl} before the resources are loaded.
+   * @param uris the absolute URIs of the resources
+   * @return a {@link Completable} that completes when all responses that were found have been promoted
+   */
+  public Completable promoteAll(Collection<String> uris) {
+
+    return Observable.fromIterable(uris)
+        .concatMapMaybe(uri -> firstLevel.load(uri).isEmpty()
+            .filter(Boolean::booleanValue)
+            .map(missing -> uri))
+        .toList()
+        .flatMapCompletable(missingUris -> missingUris.isEmpty() ? Completable.complete() : secondLevel.loadAll(missingUris)
+            .doOnSuccess(responses -> responses.values().forEach(this::promoteToFirstLevel))
+            .ignoreElement());
+  }
+
+  @Override
+  public void store(HalResponse response) {
+
+    firstLevel.store(response);
+
+    boolean batchIsFull;
+    boolean scheduleFlush = false;
+    synchronized (pendingWrites) {
+      // if the same URI is stored again before the batch is written, only the latest response needs to be written
+      pendingWrites.put(response.getUri(), response);
+
+      batchIsFull = pendingWrites.size() >= maxBatchSize;
+      if (!batchIsFull && !flushScheduled) {
+        flushScheduled = true;
+        scheduleFlush = true;
+      }
+    }
+
+    if (batchIsFull) {
+      scheduler.scheduleDirect(this::flushInBackground);
+    }
+    else if (scheduleFlush) {
+      scheduler.scheduleDirect(this::flushInBackground, maxWriteDelay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void remove(String uri) {
+
+    firstLevel.remove(uri);
+
+    synchronized (pendingWrites) {
+      pendingWrites.remove(uri);
+    }
+
+    secondLevel.remove(uri).subscribe(
+        () -> log.debug("A response for {} was removed from the second-level cache", uri),
+        ex -> log.warn("Failed to remove a response for {} from the second-level cache", uri, ex));
+  }
+
+  private void flushInBackground() {
+
+    flush().subscribe(
+        () -> { /* the number of written responses is already logged in #flush */ },
+        ex -> log.warn("Failed to write responses to the second-level cache", ex));
+  }
+
+  /**
+   * Writes all responses that haven't been written to the second-level cache yet (e.g. before your application is shut
+   * down)
+   * @return a {@link Completable} that completes when all pending responses have been written
+   */
+  public Completable flush() {
+
+    return Completable.defer(() -> {
+
+      List<HalResponse> batch = drainPendingWrites();
+      if (batch.isEmpty()) {
+        return Completable.complete();
+      }
+
+      return secondLevel.storeAll(batch)
+          .doOnComplete(() -> log.debug("{} responses were written to the second-level cache", batch.size()))
+          .doOnError(ex -> numFailedWrites.addAndGet(batch.size()));
+    });
+  }
+
+  /**
+   * Writes all pending responses to the second-level cache (waiting for at most 10 seconds), and then closes the
+   * first-level cache if it holds any resources. The second-level cache is not closed, as it was provided by the caller.
+   */
+  @Override
+  public void close() throws Exception {
+
+    try {
+      if (!flush().blockingAwait(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Pending responses were not written to the second-level cache within {} when the cache was closed", CLOSE_TIMEOUT);
+      }
+    }
+    catch (RuntimeException ex) {
+      log.warn("Failed to write pending responses to the second-level cache when the cache was closed", ex);
+    }
+
+    if (firstLevel instanceof AutoCloseable) {
+      ((AutoCloseable)firstLevel).close();
+    }
+  }
+
+  private List<HalResponse> drainPendingWrites() {
+
+    synchronized (pendingWrites) {
+      List<HalResponse> batch = new ArrayList<>(pendingWrites.values());
+      pendingWrites.clear();
+      flushScheduled = false;
+      return batch;
+    }
+  }
+
+  /**
+   * @return the number of responses that haven't been written to the second-level cache yet
+   */
+  public int getNumPendingWrites() {
+
+    synchronized (pendingWrites) {
+      return pendingWrites.size();
+    }
+  }
+
+  /**
+   * @return the number of responses that were found in the second-level cache and promoted to the first-level cache
+   */
+  public long getNumPromotions() {
+    return numPromotions.get();
+  }
+
+  /**
+   * @return the number of responses for which the write to the second-level cache failed
+   */
+  public long getNumFailedWrites() {
+    return numFailedWrites.get();
+  }
+
+  /**
+   * @return the number of responses that have been evicted from the first-level cache
+   */
+  @Override
+  public long getEvictionCount() {
+    return firstLevel.getEvictionCount();
+  }
+
+  /**
+   * @return the number of bytes used by all responses in the first-level cache
+   */
+  @Override
+  public long getWeightInBytes() {
+    return firstLevel.getWeightInBytes();
+  }
+
+  HalResponseCache getFirstLevel() {
+    return firstLevel;
+  }
+
+  AsyncHalResponseCache getSecondLevel() {
+    return secondLevel;
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a gzip or deflate encoded response body while its chunks are arriving, so that the decompressed chunks
+ * can be passed on to an {@link IncrementalJsonParser} without buffering the whole body. This class is not
+ * thread-safe, and expects that chunks are fed sequentially.
+ */
+class ChunkInflater {
+
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int GZIP_TRAILER_LENGTH = 8;
+
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+
+  private final boolean gzip;
+
+  private final Inflater inflater;
+  private final CRC32 crc = new CRC32();
+
+  private final ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_SIZE);
+
+  // the gzip header and trailer are collected here until they are complete
+  private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+  private boolean headerComplete;
+  private boolean inputReceived;
+
+  ChunkInflater(boolean gzip) {
+    this.gzip = gzip;
+    this.inflater = new Inflater(gzip);
+    this.headerComplete = !gzip;
+  }
+
+  /**
+   * @param chunk the next chunk of the compressed response body (which will be consumed completely)
+   * @param consumer that will be called with the decompressed bytes (the buffer is re-used for subsequent calls)
+   * @throws ZipException if the data is not correctly compressed
+   */
+  void inflate(ByteBuffer chunk, Consumer<ByteBuffer> consumer) throws ZipException {
+
+    inputReceived |= chunk.hasRemaining();
+
+    if (!headerComplete) {
+      readGzipHeader(chunk);
+    }
+
+    if (!headerComplete || inflater.finished()) {
+      collectTrailer(chunk);
+      return;
+    }
+
+    inflater.setInput(chunk);
+    try {
+      while (!inflater.finished()) {
+        output.clear();
+        int length = inflater.inflate(output);
+        if (length > 0) {
+          output.flip();
+          crc.update(output.duplicate());
+          consumer.accept(output);
+        }
+        else if (inflater.needsInput()) {
+          break;
+        }
+        else if (inflater.needsDictionary()) {
+          throw new ZipException("The response body was compressed with a preset dictionary");
+        }
+      }
+    }
+    catch (DataFormatException ex) {
+      ZipException zipException = new ZipException("The compressed response body is corrupt");
+      zipException.initCause(ex);
+      throw zipException;
+    }
+
+    collectTrailer(chunk);
+  }
+
+  /**
+   * @throws ZipException if the compressed data was incomplete or corrupt
+   * @throws EOFException if the compressed data ended unexpectedly
+   */
+  void finish() throws ZipException, EOFException {
+
+    try {
+      if (!inputReceived) {
+        // the body was completely empty, which is not the responsibility of this class to handle
+        return;
+      }
+      if (!inflater.finished()) {
+        throw new EOFException("The compressed response body ended unexpectedly");
+      }
+      if (gzip) {
+        verifyGzipTrailer();
+      }
+    }
+    finally {
+      inflater.end();
+    }
+  }
+
+  private void readGzipHeader(ByteBuffer chunk) throws ZipException {
+
+    while (chunk.hasRemaining() && !headerComplete) {
+      pending.write(chunk.get());
+      headerComplete = isGzipHeaderComplete(pending.toByteArray());
+    }
+    if (headerComplete) {
+      pending.reset();
+    }
+  }
+
+  private static boolean isGzipHeaderComplete(byte[] header) throws ZipException {
+
+    if (header.length < 10) {
+      return false;
+    }
+    if (readUnsignedShort(header, 0) != GZIP_MAGIC || header[2] != 8) {
+      throw new ZipException("The response body is not in gzip format");
+    }
+
+    int flags = header[3] & 0xff;
+    int pos = 10;
+
+    if ((flags & FEXTRA) != 0) {
+      if (header.length < pos + 2) {
+        return false;
+      }
+      pos += 2 + readUnsignedShort(header, pos);
+    }
+    if ((flags & FNAME) != 0) {
+      pos = skipZeroTerminatedString(header, pos);
+    }
+    if (pos >= 0 && (flags & FCOMMENT) != 0) {
+      pos = skipZeroTerminatedString(header, pos);
+    }
+    if (pos < 0) {
+      return false;
+    }
+    if ((flags & FHCRC) != 0) {
+      pos += 2;
+    }
+    return header.length == pos;
+  }
+
+  private static int skipZeroTerminatedString(byte[] header, int start) {
+
+    for (int i = start; i < header.length; i++) {
+      if (header[i] == 0) {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  private static int readUnsignedShort(byte[] bytes, int pos) {
+
+    return (bytes[pos] & 0xff) | ((bytes[pos + 1] & 0xff) << 8);
+  }
+
+  private void collectTrailer(ByteBuffer chunk) {
+
+    // only the gzip trailer is expected after the compressed data, and anything else will be ignored
+    while (gzip && chunk.hasRemaining() && pending.size() < GZIP_TRAILER_LENGTH) {
+      pending.write(chunk.get());
+    }
+    chunk.position(chunk.limit());
+  }
+
+  private void verifyGzipTrailer() throws ZipException, EOFException {
+
+    if (pending.size() < GZIP_TRAILER_LENGTH) {
+      throw new EOFException("The gzip trailer of the response body is incomplete");
+    }
+
+    ByteBuffer trailer = ByteBuffer.wrap(pending.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    long expectedCrc = trailer.getInt() & 0xffffffffL;
+    long expectedSize = trailer.getInt() & 0xffffffffL;
+
+    if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+      throw new ZipException("The checksum of the decompressed response body doesn't match the gzip trailer");
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The compressed content encodings that are supported (and requested with an "Accept-Encoding" header) by the
+ * built-in HTTP client implementations
+ */
+enum ContentEncoding {
+
+  GZIP("gzip"),
+  DEFLATE("deflate");
+
+  static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
+  static final String ACCEPT_ENCODING_VALUE = "gzip, deflate";
+
+  private final String token;
+
+  ContentEncoding(String token) {
+    this.token = token;
+  }
+
+  /**
+   * @param contentEncoding the value of a "Content-Encoding" response header
+   * @return the matching encoding, or an empty optional if the content is not encoded
+   * @throws IOException for encodings that are not supported
+   */
+  static Optional<ContentEncoding> fromHeaderValue(String contentEncoding) throws IOException {
+
+    String value = StringUtils.trimToEmpty(contentEncoding).toLowerCase();
+    if (value.isEmpty() || "identity".equals(value)) {
+      return Optional.empty();
+    }
+    if ("x-gzip".equals(value)) {
+      return Optional.of(GZIP);
+    }
+    return Optional.of(Stream.of(values())
+        .filter(encoding -> encoding.token.equals(value))
+        .findFirst()
+        .orElseThrow(() -> new IOException("The response has an unsupported content encoding " + contentEncoding)));
+  }
+
+  /**
+   * @param encoded the stream with the encoded content (which may be null or empty)
+   * @return a stream that decompresses the content while it is being read
+   * @throws IOException if the stream can't be read
+   */
+  InputStream decode(InputStream encoded) throws IOException {
+
+    if (encoded == null) {
+      return null;
+    }
+
+    // the body of some responses (e.g. 304) will be empty, and GZIPInputStream would fail to read the header
+    PushbackInputStream pushback = new PushbackInputStream(encoded);
+    int firstByte = pushback.read();
+    if (firstByte == -1) {
+      return pushback;
+    }
+    pushback.unread(firstByte);
+
+    return this == GZIP ? new GZIPInputStream(pushback) : new InflaterInputStream(pushback);
+  }
+
+  /**
+   * @return a new {@link ChunkInflater} that decompresses a single response body
+   */
+  ChunkInflater createChunkInflater() {
+
+    return new ChunkInflater(this == GZIP);
+  }
+}
@@ -22,9 +22,12 @@ package io.wcm.caravan.rhyme.impl.client.http;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -58,18 +61,34 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
   private static final Logger log = LoggerFactory.getLogger(HttpHalResourceLoader.class);
 
+  private static final int HTTP_NOT_MODIFIED = 304;
+
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   private static final JsonFactory JSON_FACTORY = new JsonFactory(OBJECT_MAPPER);
 
   private final HttpClientSupport client;
 
-  private HttpHalResourceLoader(HttpClientSupport client) {
+  private final JsonDeduplicator deduplicator;
+
+  private HttpHalResourceLoader(HttpClientSupport client, JsonDeduplicator deduplicator) {
     this.client = client;
+    this.deduplicator = deduplicator;
   }
 
   public static HttpHalResourceLoader withClientImplementation(HttpClientSupport client) {
 
-    return new HttpHalResourceLoader(client);
+    return new HttpHalResourceLoader(client, null);
+  }
+
+  /**
+   * Create a loader that shares equal strings and identical JSON objects and arrays between all parsed response
+   * bodies. This reduces the heap memory retained by cached responses, but requires that the bodies of the
+   * responses are never modified.
+   * @return a new instance that uses the same {@link HttpClientSupport}
+   */
+  public HttpHalResourceLoader withDeduplicatedBodies() {
+
+    return new HttpHalResourceLoader(client, new JsonDeduplicator());
   }
 
   @Override
@@ -77,7 +96,22 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
     return Single.create(subscriber -> {
 
-      HttpClientCallbackImpl callback = new HttpClientCallbackImpl(uri, subscriber);
+      HttpClientCallbackImpl callback = new HttpClientCallbackImpl(uri, null, subscriber);
+
+      callback.executeRequestAndWaitForCallbacks();
+    });
+  }
+
+  @Override
+  public Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+
+    if (staleResponse.getEntityTag() == null && staleResponse.getLastModified() == null) {
+      return getHalResource(uri);
+    }
+
+    return Single.create(subscriber -> {
+
+      HttpClientCallbackImpl callback = new HttpClientCallbackImpl(uri, staleResponse, subscriber);
 
       callback.executeRequestAndWaitForCallbacks();
     });
@@ -92,13 +126,18 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
     private final String originalUri;
 
+    private final HalResponse staleResponse;
+
     private volatile HttpHeadersParser parsedHeaders;
 
     private volatile HalResponse halResponse = new HalResponse();
 
-    HttpClientCallbackImpl(String uri, SingleEmitter<HalResponse> subscriber) {
+    private volatile IncrementalJsonParser incrementalParser;
+
+    HttpClientCallbackImpl(String uri, HalResponse staleResponse, SingleEmitter<HalResponse> subscriber) {
       this.subscriber = subscriber;
       this.originalUri = uri;
+      this.staleResponse = staleResponse;
     }
 
     void executeRequestAndWaitForCallbacks() {
@@ -107,7 +146,12 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
         URI actualUri = URI.create(originalUri);
 
-        client.executeGetRequest(actualUri, this);
+        if (staleResponse != null) {
+          client.executeGetRequest(actualUri, createConditionalRequestHeaders(), this);
+        }
+        else {
+          client.executeGetRequest(actualUri, this);
+        }
       }
       catch (RuntimeException ex) {
 
@@ -115,6 +159,18 @@ public class HttpHalResourceLoader implements HalResourceLoader {
       }
     }
 
+    private Map<String, String> createConditionalRequestHeaders() {
+
+      Map<String, String> headers = new LinkedHashMap<>();
+      if (staleResponse.getEntityTag() != null) {
+        headers.put("If-None-Match", staleResponse.getEntityTag());
+      }
+      if (staleResponse.getLastModified() != null) {
+        headers.put("If-Modified-Since", staleResponse.getLastModified());
+      }
+      return headers;
+    }
+
     private void updateUri(String uri) {
       halResponse = halResponse.withUri(uri);
     }
@@ -131,6 +187,22 @@ public class HttpHalResourceLoader implements HalResourceLoader {
       halResponse = halResponse.withMaxAge(maxAge);
     }
 
+    private void updateStaleWhileRevalidate(Integer seconds) {
+      halResponse = halResponse.withStaleWhileRevalidate(seconds);
+    }
+
+    private void updateStaleIfError(Integer seconds) {
+      halResponse = halResponse.withStaleIfError(seconds);
+    }
+
+    private void updateEntityTag(String entityTag) {
+      halResponse = halResponse.withEntityTag(entityTag);
+    }
+
+    private void updateLastModified(String lastModified) {
+      halResponse = halResponse.withLastModified(lastModified);
+    }
+
     private void updateBody(JsonNode parsedJson) {
       halResponse = halResponse.withBody(parsedJson);
     }
@@ -181,22 +253,87 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
       parsedHeaders.getMaxAge()
           .ifPresent(this::updateMaxAge);
+
+      parsedHeaders.getStaleWhileRevalidate()
+          .ifPresent(this::updateStaleWhileRevalidate);
+
+      parsedHeaders.getStaleIfError()
+          .ifPresent(this::updateStaleIfError);
+
+      parsedHeaders.getEntityTag()
+          .ifPresent(this::updateEntityTag);
+
+      parsedHeaders.getLastModified()
+          .ifPresent(this::updateLastModified);
     }
 
     @Override
     public void onBodyAvailable(InputStream is) {
 
+      ensureHeadersAreAvailable("onBodyAvailable()");
+
+      if (isNotModifiedResponse()) {
+        closeQuietly(is);
+        emitRevalidatedStaleResponse();
+        return;
+      }
+
+      emitResponseWithParsedBody(() -> parseJson(is));
+    }
+
+    @Override
+    public void onBodyChunkAvailable(ByteBuffer chunk) {
+
+      ensureHeadersAreAvailable("onBodyChunkAvailable()");
+
+      if (isNotModifiedResponse()) {
+        return;
+      }
+
+      if (incrementalParser == null) {
+        incrementalParser = createIncrementalParser();
+      }
+      incrementalParser.feed(chunk);
+    }
+
+    @Override
+    public void onBodyComplete() {
+
+      ensureHeadersAreAvailable("onBodyComplete()");
+
+      if (isNotModifiedResponse()) {
+        emitRevalidatedStaleResponse();
+        return;
+      }
+
+      IncrementalJsonParser parser = incrementalParser != null ? incrementalParser : createIncrementalParser();
+
+      emitResponseWithParsedBody(() -> deduplicate(parser.finish()));
+    }
+
+    private void ensureHeadersAreAvailable(String methodName) {
+
       if (parsedHeaders == null) {
-        throw new HalApiDeveloperException("onHeadersAvailable() should be called before onBodyAvailable()");
+        throw new HalApiDeveloperException("onHeadersAvailable() should be called before " + methodName);
       }
+    }
+
+    private boolean isNotModifiedResponse() {
 
       Integer status = halResponse.getStatus();
+      return staleResponse != null && status != null && status == HTTP_NOT_MODIFIED;
+    }
+
+    private void emitResponseWithParsedBody(Supplier<JsonNode> bodyParser) {
+
+      Integer status = halResponse.getStatus();
+
       String msgPrefix = "An HTTP response with status code " + status + " was retrieved, ";
       boolean statusIsOk = status != null && status == 200;
 
       try {
         // we try to parse the JSON and include it in the HalResponse even when the request failed
-        JsonNode parsedJson = parseJson(is);
+        JsonNode parsedJson = bodyParser.get();
 
         updateBody(parsedJson);
 
@@ -232,6 +369,23 @@ public class HttpHalResourceLoader implements HalResourceLoader {
       }
     }
 
+    private void emitRevalidatedStaleResponse() {
+
+      // a "304 Not Modified" response only contains the headers that should be updated in the stale response,
+      // all other values (especially the body) are taken from the stale response that was used for the conditional request
+      halResponse = staleResponse
+          .withUri(halResponse.getUri())
+          .withMaxAge(parsedHeaders.getMaxAge().orElse(staleResponse.getMaxAge()))
+          .withStaleWhileRevalidate(parsedHeaders.getStaleWhileRevalidate().orElse(staleResponse.getStaleWhileRevalidate()))
+          .withStaleIfError(parsedHeaders.getStaleIfError().orElse(staleResponse.getStaleIfError()))
+          .withEntityTag(parsedHeaders.getEntityTag().orElse(staleResponse.getEntityTag()))
+          .withLastModified(parsedHeaders.getLastModified().orElse(staleResponse.getLastModified()));
+
+      log.debug("The stale response for {} was revalidated with a 304 response", halResponse.getUri());
+
+      emitHalResponse();
+    }
+
     @Override
     public void onExceptionCaught(Throwable ex) {
 
@@ -240,14 +394,42 @@ public class HttpHalResourceLoader implements HalResourceLoader {
 
   }
 
-  private static JsonNode parseJson(InputStream is) {
+  private static void closeQuietly(InputStream is) {
+
+    if (is == null) {
+      return;
+    }
+    try {
+      is.close();
+    }
+    catch (IOException ex) {
+      log.debug("Failed to close the input stream of a 304 response", ex);
+    }
+  }
+
+  private IncrementalJsonParser createIncrementalParser() {
+
+    if (deduplicator != null) {
+      return new IncrementalJsonParser(deduplicator.getJsonFactory(), deduplicator.getNodeFactory());
+    }
+    return new IncrementalJsonParser(JSON_FACTORY, OBJECT_MAPPER.getNodeFactory());
+  }
+
+  private JsonNode deduplicate(JsonNode jsonNode) {
 
-    try (InputStream autoClosingStream = is; JsonParser parser = JSON_FACTORY.createParser(autoClosingStream)) {
+    return deduplicator != null ? deduplicator.deduplicate(jsonNode) : jsonNode;
+  }
+
+  private JsonNode parseJson(InputStream is) {
+
+    JsonFactory jsonFactory = deduplicator != null ? deduplicator.getJsonFactory() : JSON_FACTORY;
+
+    try (InputStream autoClosingStream = is; JsonParser parser = jsonFactory.createParser(autoClosingStream)) {
       JsonNode jsonNode = parser.readValueAsTree();
       if (jsonNode == null) {
         throw new HttpClientSupportException("The response body was completely empty (or consisted only of whitespace)");
       }
-      return jsonNode;
+      return deduplicate(jsonNode);
     }
     catch (JsonProcessingException ex) {
       throw new HttpClientSupportException("The response body was read completely, but it's not valid JSON.", ex);
@@ -274,4 +456,8 @@ public class HttpHalResourceLoader implements HalResourceLoader {
     return client;
   }
 
+  public boolean isDeduplicatingBodies() {
+    return deduplicator != null;
+  }
+
 }
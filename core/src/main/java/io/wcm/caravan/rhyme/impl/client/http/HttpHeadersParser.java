@@ -32,6 +32,21 @@ class HttpHeadersParser {
     return findHeader("content-type");
   }
 
+  Optional<String> getContentEncoding() {
+
+    return findHeader("content-encoding");
+  }
+
+  Optional<String> getEntityTag() {
+
+    return findHeader("etag");
+  }
+
+  Optional<String> getLastModified() {
+
+    return findHeader("last-modified");
+  }
+
   Optional<Integer> getMaxAge() {
 
     return findHeaders("cache-control")
@@ -40,6 +55,22 @@ class HttpHeadersParser {
         .max(Ordering.natural());
   }
 
+  Optional<Integer> getStaleWhileRevalidate() {
+
+    return findHeaders("cache-control")
+        .map(HttpHeadersParser::parseStaleWhileRevalidate)
+        .filter(Objects::nonNull)
+        .max(Ordering.natural());
+  }
+
+  Optional<Integer> getStaleIfError() {
+
+    return findHeaders("cache-control")
+        .map(HttpHeadersParser::parseStaleIfError)
+        .filter(Objects::nonNull)
+        .max(Ordering.natural());
+  }
+
   private Optional<String> findHeader(String name) {
 
     return findHeaders(name)
@@ -68,8 +99,33 @@ class HttpHeadersParser {
       return 0;
     }
 
-    return Stream.of(StringUtils.split(lowerCase, ","))
-        .map(directive -> StringUtils.substringAfter(directive, "max-age="))
+    return parseSecondsDirective(lowerCase, "max-age");
+  }
+
+  static Integer parseStaleWhileRevalidate(String cacheControl) {
+
+    if (cacheControl == null) {
+      return null;
+    }
+
+    return parseSecondsDirective(cacheControl.toLowerCase(), "stale-while-revalidate");
+  }
+
+  static Integer parseStaleIfError(String cacheControl) {
+
+    if (cacheControl == null) {
+      return null;
+    }
+
+    return parseSecondsDirective(cacheControl.toLowerCase(), "stale-if-error");
+  }
+
+  private static Integer parseSecondsDirective(String lowerCaseCacheControl, String directiveName) {
+
+    return Stream.of(StringUtils.split(lowerCaseCacheControl, ","))
+        .map(StringUtils::trim)
+        .filter(directive -> directive.startsWith(directiveName + "="))
+        .map(directive -> StringUtils.substringAfter(directive, "="))
         .map(StringUtils::trimToNull)
         .filter(StringUtils::isNumeric)
         .findFirst()
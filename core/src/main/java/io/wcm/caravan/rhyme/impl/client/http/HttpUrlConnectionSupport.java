@@ -20,10 +20,13 @@
 package io.wcm.caravan.rhyme.impl.client.http;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import io.wcm.caravan.rhyme.api.RhymeBuilder;
 import io.wcm.caravan.rhyme.api.client.HalApiClient;
@@ -33,9 +36,10 @@ import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
 
 
 /**
- * A default implementation of {@link HttpClientSupport} that is used in factory methods
- * that allow requesting resources without providing a more sophisticated implementation.
- * It's using {@link HttpURLConnection} without any configuration options.
+ * A simple implementation of {@link HttpClientSupport} that is using {@link HttpURLConnection} without any
+ * configuration options (except for requesting and decompressing gzip or deflate encoded responses). It was used as
+ * default implementation in previous versions, but has been replaced with {@link JdkHttpClientSupport} which doesn't
+ * block a thread while waiting for the response.
  * @see HalResourceLoader#create()
  * @see HalApiClient#create()
  * @see RhymeBuilder#create()
@@ -45,20 +49,35 @@ public class HttpUrlConnectionSupport implements HttpClientSupport {
   @Override
   public void executeGetRequest(URI uri, HttpClientCallback callback) {
 
+    executeGetRequest(uri, Collections.emptyMap(), callback);
+  }
+
+  @Override
+  public void executeGetRequest(URI uri, Map<String, String> requestHeaders, HttpClientCallback callback) {
+
     try {
       HttpURLConnection connection = (HttpURLConnection)uri.toURL().openConnection();
 
+      requestHeaders.forEach(connection::setRequestProperty);
+
+      if (connection.getRequestProperty(ContentEncoding.ACCEPT_ENCODING_HEADER) == null) {
+        connection.setRequestProperty(ContentEncoding.ACCEPT_ENCODING_HEADER, ContentEncoding.ACCEPT_ENCODING_VALUE);
+      }
+
       int statusCode = connection.getResponseCode();
       Map<String, List<String>> headers = connection.getHeaderFields();
 
       callback.onHeadersAvailable(statusCode, headers);
 
-      if (statusCode == 200) {
-        callback.onBodyAvailable(connection.getInputStream());
-      }
-      else {
-        callback.onBodyAvailable(connection.getErrorStream());
+      InputStream body = statusCode == 200 ? connection.getInputStream() : connection.getErrorStream();
+
+      // the body is decompressed while it's being parsed
+      Optional<ContentEncoding> encoding = ContentEncoding.fromHeaderValue(connection.getContentEncoding());
+      if (encoding.isPresent()) {
+        body = encoding.get().decode(body);
       }
+
+      callback.onBodyAvailable(body);
     }
     catch (IOException ex) {
       callback.onExceptionCaught(ex);
@@ -0,0 +1,207 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.wcm.caravan.rhyme.impl.client.http.HttpHalResourceLoader.HttpClientSupportException;
+
+/**
+ * Builds a {@link JsonNode} tree from chunks of a response body as soon as they arrive, using Jackson's non-blocking
+ * parser. This allows the parsing to overlap with the network transfer, and avoids that the whole response body
+ * needs to be buffered in a byte array. Any parsing errors are deferred until {@link #finish()} is called.
+ * This class is not thread-safe, and expects that chunks are fed sequentially.
+ */
+class IncrementalJsonParser {
+
+  private static final int MAX_BUFFER_SIZE = 16 * 1024;
+
+  private final JsonParser parser;
+  private final ByteArrayFeeder feeder;
+  private final JsonNodeFactory nodeFactory;
+
+  private final Deque<ContainerNode<?>> openContainers = new ArrayDeque<>();
+
+  private byte[] buffer = new byte[0];
+
+  private String fieldName;
+  private JsonNode root;
+
+  private IOException failure;
+
+  IncrementalJsonParser(JsonFactory jsonFactory, JsonNodeFactory nodeFactory) {
+    try {
+      this.parser = jsonFactory.createNonBlockingByteArrayParser();
+    }
+    catch (IOException ex) {
+      throw new HttpClientSupportException("Failed to create a non-blocking JSON parser", ex);
+    }
+    this.feeder = (ByteArrayFeeder)parser.getNonBlockingInputFeeder();
+    this.nodeFactory = nodeFactory;
+  }
+
+  /**
+   * @param chunk the next chunk of the response body (which will be consumed completely)
+   */
+  void feed(ByteBuffer chunk) {
+
+    while (failure == null && chunk.hasRemaining()) {
+
+      // the bytes of the last chunk have already been processed completely, so the buffer can be re-used
+      int length = Math.min(chunk.remaining(), MAX_BUFFER_SIZE);
+      if (buffer.length < length) {
+        buffer = new byte[length];
+      }
+      chunk.get(buffer, 0, length);
+
+      try {
+        feeder.feedInput(buffer, 0, length);
+        processAvailableTokens();
+      }
+      catch (IOException ex) {
+        failure = ex;
+      }
+    }
+  }
+
+  /**
+   * @return the root node of the parsed JSON document
+   * @throws HttpClientSupportException if the document was empty, incomplete or not valid JSON
+   */
+  JsonNode finish() {
+
+    if (failure == null) {
+      try {
+        feeder.endOfInput();
+        processAvailableTokens();
+        parser.close();
+      }
+      catch (IOException ex) {
+        failure = ex;
+      }
+    }
+
+    if (failure instanceof JsonProcessingException) {
+      throw new HttpClientSupportException("The response body was read completely, but it's not valid JSON.", failure);
+    }
+    if (failure != null) {
+      throw new HttpClientSupportException("The response body could not be read completely from the input stream", failure);
+    }
+    if (root == null) {
+      throw new HttpClientSupportException("The response body was completely empty (or consisted only of whitespace)");
+    }
+    if (!openContainers.isEmpty()) {
+      throw new HttpClientSupportException("The response body was read completely, but it ended before the JSON document was complete");
+    }
+    return root;
+  }
+
+  private void processAvailableTokens() throws IOException {
+
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      if (root != null && openContainers.isEmpty()) {
+        // just like ObjectMapper#readTree, we ignore anything that follows the first JSON value
+        continue;
+      }
+      processToken(token);
+    }
+  }
+
+  private void processToken(JsonToken token) throws IOException {
+
+    switch (token) {
+      case FIELD_NAME:
+        fieldName = parser.getCurrentName();
+        return;
+      case START_OBJECT:
+        ObjectNode object = nodeFactory.objectNode();
+        addValue(object);
+        openContainers.push(object);
+        return;
+      case START_ARRAY:
+        ArrayNode array = nodeFactory.arrayNode();
+        addValue(array);
+        openContainers.push(array);
+        return;
+      case END_OBJECT:
+      case END_ARRAY:
+        openContainers.pop();
+        return;
+      default:
+        addValue(createValueNode(token));
+    }
+  }
+
+  private JsonNode createValueNode(JsonToken token) throws IOException {
+
+    switch (token) {
+      case VALUE_STRING:
+        return nodeFactory.textNode(parser.getText());
+      case VALUE_NUMBER_INT:
+        switch (parser.getNumberType()) {
+          case INT:
+            return nodeFactory.numberNode(parser.getIntValue());
+          case LONG:
+            return nodeFactory.numberNode(parser.getLongValue());
+          default:
+            return nodeFactory.numberNode(parser.getBigIntegerValue());
+        }
+      case VALUE_NUMBER_FLOAT:
+        return nodeFactory.numberNode(parser.getDoubleValue());
+      case VALUE_TRUE:
+        return nodeFactory.booleanNode(true);
+      case VALUE_FALSE:
+        return nodeFactory.booleanNode(false);
+      case VALUE_NULL:
+        return nodeFactory.nullNode();
+      default:
+        throw new HttpClientSupportException("Unexpected JSON token " + token);
+    }
+  }
+
+  private void addValue(JsonNode value) {
+
+    ContainerNode<?> parent = openContainers.peek();
+    if (parent == null) {
+      root = value;
+    }
+    else if (parent.isObject()) {
+      ((ObjectNode)parent).set(fieldName, value);
+    }
+    else {
+      ((ArrayNode)parent).add(value);
+    }
+  }
+}
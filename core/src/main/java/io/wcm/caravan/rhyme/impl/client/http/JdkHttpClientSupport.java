@@ -0,0 +1,241 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow.Subscription;
+
+import io.wcm.caravan.rhyme.api.RhymeBuilder;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HttpClientCallback;
+import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
+
+/**
+ * The default implementation of {@link HttpClientSupport} that is used in factory methods
+ * that allow requesting resources without providing a more sophisticated implementation.
+ * It's using the JDK's {@link HttpClient} to execute all requests asynchronously (so that no thread is blocked
+ * while waiting for the response), passes each chunk of the response body to
+ * {@link HttpClientCallback#onBodyChunkAvailable(ByteBuffer)} as soon as it arrives (decompressing gzip or deflate
+ * encoded responses on the fly), and will use HTTP/2 to multiplex concurrent requests if the server supports it.
+ * By default, a single {@link HttpClient} instance (and its connection pool) is shared by all instances of this
+ * class, which gives up connecting to a server after {@value #DEFAULT_CONNECT_TIMEOUT_SECONDS} seconds.
+ * @see HalResourceLoader#create()
+ * @see HalApiClient#create()
+ * @see RhymeBuilder#create()
+ */
+public class JdkHttpClientSupport implements HttpClientSupport {
+
+  static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+
+  private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+      .version(Version.HTTP_2)
+      .followRedirects(Redirect.NORMAL)
+      .connectTimeout(Duration.ofSeconds(DEFAULT_CONNECT_TIMEOUT_SECONDS))
+      .build();
+
+  private final HttpClient client;
+
+  private final Duration requestTimeout;
+
+  /**
+   * Create an instance that uses the shared {@link HttpClient} without a request timeout
+   */
+  public JdkHttpClientSupport() {
+    this(SHARED_CLIENT, null);
+  }
+
+  /**
+   * Create an instance that uses the shared {@link HttpClient} with the given request timeout
+   * @param requestTimeout the maximum duration to wait for each response (or null to wait indefinitely)
+   */
+  public JdkHttpClientSupport(Duration requestTimeout) {
+    this(SHARED_CLIENT, requestTimeout);
+  }
+
+  /**
+   * @param client the (already configured) client to use
+   * @param requestTimeout the maximum duration to wait for each response (or null to wait indefinitely)
+   */
+  public JdkHttpClientSupport(HttpClient client, Duration requestTimeout) {
+    this.client = client;
+    this.requestTimeout = requestTimeout;
+  }
+
+  @Override
+  public void executeGetRequest(URI uri, HttpClientCallback callback) {
+
+    executeGetRequest(uri, Collections.emptyMap(), callback);
+  }
+
+  @Override
+  public void executeGetRequest(URI uri, Map<String, String> requestHeaders, HttpClientCallback callback) {
+
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET();
+
+    requestHeaders.forEach(request::header);
+
+    boolean acceptEncodingIsDefined = requestHeaders.keySet().stream()
+        .anyMatch(name -> ContentEncoding.ACCEPT_ENCODING_HEADER.equalsIgnoreCase(name));
+    if (!acceptEncodingIsDefined) {
+      request.header(ContentEncoding.ACCEPT_ENCODING_HEADER, ContentEncoding.ACCEPT_ENCODING_VALUE);
+    }
+
+    if (requestTimeout != null) {
+      request.timeout(requestTimeout);
+    }
+
+    // each chunk of the body is forwarded to the callback as soon as it arrives, so that the JSON can be parsed
+    // while the remaining body is still being transferred
+    BodyHandler<Void> bodyHandler = responseInfo -> {
+      callback.onHeadersAvailable(responseInfo.statusCode(), responseInfo.headers().map());
+      return new ChunkForwardingSubscriber(callback, responseInfo.headers().firstValue("Content-Encoding").orElse(null));
+    };
+
+    client.sendAsync(request.build(), bodyHandler)
+        .whenComplete((response, ex) -> {
+          if (ex != null) {
+            callback.onExceptionCaught(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+          }
+          else {
+            handleCompletedResponse(uri, response, callback);
+          }
+        });
+  }
+
+  private static void handleCompletedResponse(URI requestUri, HttpResponse<Void> response, HttpClientCallback callback) {
+
+    // the final URI (after following any redirects) is only known when the response is complete
+    if (!requestUri.equals(response.uri())) {
+      callback.onUrlModified(response.uri());
+    }
+
+    callback.onBodyComplete();
+  }
+
+  public HttpClient getClient() {
+    return client;
+  }
+
+  public Duration getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  private static final class ChunkForwardingSubscriber implements BodySubscriber<Void> {
+
+    private final HttpClientCallback callback;
+    private final String contentEncoding;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Subscription subscription;
+    private ChunkInflater inflater;
+
+    private ChunkForwardingSubscriber(HttpClientCallback callback, String contentEncoding) {
+      this.callback = callback;
+      this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public void onSubscribe(Subscription newSubscription) {
+      this.subscription = newSubscription;
+      try {
+        inflater = ContentEncoding.fromHeaderValue(contentEncoding)
+            .map(ContentEncoding::createChunkInflater)
+            .orElse(null);
+
+        subscription.request(Long.MAX_VALUE);
+      }
+      catch (IOException ex) {
+        fail(ex);
+      }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> chunks) {
+      if (completion.isDone()) {
+        return;
+      }
+      try {
+        for (ByteBuffer chunk : chunks) {
+          if (inflater != null) {
+            // compressed chunks are decompressed one by one, and passed on to the parser immediately
+            inflater.inflate(chunk, callback::onBodyChunkAvailable);
+          }
+          else {
+            callback.onBodyChunkAvailable(chunk);
+          }
+        }
+      }
+      catch (IOException | RuntimeException ex) {
+        // exceptions thrown by the callback (e.g. if the body cannot be parsed) must not escape to the HTTP client's
+        // thread, but fail the response instead
+        fail(ex);
+      }
+    }
+
+    private void fail(Exception ex) {
+      subscription.cancel();
+      completion.completeExceptionally(ex);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      if (completion.isDone()) {
+        return;
+      }
+      try {
+        if (inflater != null) {
+          inflater.finish();
+        }
+        completion.complete(null);
+      }
+      catch (IOException | RuntimeException ex) {
+        completion.completeExceptionally(ex);
+      }
+    }
+
+    @Override
+    public CompletionStage<Void> getBody() {
+      return completion;
+    }
+  }
+}
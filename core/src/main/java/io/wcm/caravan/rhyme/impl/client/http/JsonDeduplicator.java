@@ -0,0 +1,283 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Lists;
+
+/**
+ * Reduces the heap memory retained by many parsed HAL+JSON responses (e.g. in a response cache), by re-using the same
+ * instances for equal string values, and for identical JSON objects and arrays (such as links, curies or embedded
+ * resources that appear in many responses). Property names don't need to be handled here, as they are already
+ * interned by Jackson's {@link JsonFactory}.
+ * <p>
+ * Since nodes are shared between multiple responses, the JSON trees created by this class must never be modified.
+ * </p>
+ * <p>
+ * Only small subtrees (which are most likely to be repeated) are shared, and the estimated memory retained by all
+ * shared subtrees is limited, so that large responses that are no longer used can still be garbage collected.
+ * </p>
+ */
+class JsonDeduplicator {
+
+  static final int MAX_SHARED_SUBTREE_BYTES = 4 * 1024;
+
+  static final long MAX_SHARED_BYTES = 16L * 1024 * 1024;
+
+  // rough estimates of the memory used by JSON nodes on a 64-bit JVM with compressed pointers
+  private static final int CONTAINER_NODE_BYTES = 48;
+  private static final int CHILD_ENTRY_BYTES = 32;
+  private static final int VALUE_NODE_BYTES = 16;
+  private static final int STRING_BYTES = 40;
+
+  private final Interner<TextNode> textNodes = Interners.newWeakInterner();
+
+  private final Cache<SubtreeKey, JsonNode> subtrees = CacheBuilder.newBuilder()
+      .maximumWeight(MAX_SHARED_BYTES)
+      .weigher((SubtreeKey key, JsonNode node) -> key.estimatedBytes)
+      .build();
+
+  private final JsonNodeFactory nodeFactory = new InterningNodeFactory();
+
+  private final JsonFactory jsonFactory;
+
+  JsonDeduplicator() {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.setNodeFactory(nodeFactory);
+    this.jsonFactory = new JsonFactory(objectMapper);
+  }
+
+  /**
+   * @return a {@link JsonFactory} which will create parsers that intern all string values
+   */
+  JsonFactory getJsonFactory() {
+    return jsonFactory;
+  }
+
+  /**
+   * @return a {@link JsonNodeFactory} that interns all string values
+   */
+  JsonNodeFactory getNodeFactory() {
+    return nodeFactory;
+  }
+
+  /**
+   * Replaces all objects and arrays within the given JSON tree with an identical instance that was seen before (if
+   * available). The given root node itself is never replaced.
+   * @param root a JSON tree that was parsed with {@link #getJsonFactory()} or created with {@link #getNodeFactory()}
+   * @return the same root node
+   */
+  JsonNode deduplicate(JsonNode root) {
+
+    replaceChildren(root);
+
+    return root;
+  }
+
+  /**
+   * @param node a container node whose children have already been de-duplicated
+   * @param estimatedBytes the estimated memory used by the node (and all its descendants)
+   * @return an identical instance that was seen before (or the given node itself)
+   */
+  private JsonNode share(JsonNode node, int estimatedBytes) {
+
+    if (estimatedBytes > MAX_SHARED_SUBTREE_BYTES) {
+      return node;
+    }
+
+    JsonNode existing = subtrees.asMap().putIfAbsent(new SubtreeKey(node, estimatedBytes), node);
+
+    return existing != null ? existing : node;
+  }
+
+  /**
+   * @param node any JSON node
+   * @return the estimated memory used by the node (and all its descendants)
+   */
+  private int replaceChildren(JsonNode node) {
+
+    if (!node.isContainerNode()) {
+      return node.isTextual() ? VALUE_NODE_BYTES + STRING_BYTES + 2 * node.textValue().length() : VALUE_NODE_BYTES;
+    }
+
+    long estimatedBytes = CONTAINER_NODE_BYTES + (long)CHILD_ENTRY_BYTES * node.size();
+
+    if (node.isObject()) {
+      ObjectNode object = (ObjectNode)node;
+      List<String> fieldNames = Lists.newArrayList(object.fieldNames());
+      for (String fieldName : fieldNames) {
+        JsonNode child = object.get(fieldName);
+        int childBytes = replaceChildren(child);
+        estimatedBytes += childBytes;
+        if (child.isContainerNode()) {
+          JsonNode shared = share(child, childBytes);
+          if (shared != child) {
+            object.replace(fieldName, shared);
+          }
+        }
+      }
+    }
+    else {
+      ArrayNode array = (ArrayNode)node;
+      for (int i = 0; i < array.size(); i++) {
+        JsonNode child = array.get(i);
+        int childBytes = replaceChildren(child);
+        estimatedBytes += childBytes;
+        if (child.isContainerNode()) {
+          JsonNode shared = share(child, childBytes);
+          if (shared != child) {
+            array.set(i, shared);
+          }
+        }
+      }
+    }
+
+    return (int)Math.min(estimatedBytes, Integer.MAX_VALUE);
+  }
+
+  int getNumSharedSubtrees() {
+    return (int)subtrees.size();
+  }
+
+  long getSharedBytes() {
+    return subtrees.asMap().keySet().stream()
+        .mapToLong(key -> key.estimatedBytes)
+        .sum();
+  }
+
+  private final class InterningNodeFactory extends JsonNodeFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public TextNode textNode(String text) {
+
+      TextNode node = super.textNode(text);
+      if (node == null) {
+        return null;
+      }
+      return textNodes.intern(node);
+    }
+  }
+
+  /**
+   * A key for an object or array node, whose children have already been de-duplicated. This allows to compare
+   * child containers by identity, so that neither calculating the hash code nor comparing nodes requires a deep
+   * traversal of the tree. In contrast to {@link ObjectNode#equals(Object)}, the order of properties is significant.
+   */
+  private static final class SubtreeKey {
+
+    private final JsonNode node;
+    private final int hash;
+    private final int estimatedBytes;
+
+    SubtreeKey(JsonNode node, int estimatedBytes) {
+      this.node = node;
+      this.hash = calculateHash(node);
+      this.estimatedBytes = estimatedBytes;
+    }
+
+    private static int calculateHash(JsonNode node) {
+
+      int result = node.isObject() ? 1 : 2;
+
+      if (node.isObject()) {
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+          Map.Entry<String, JsonNode> field = it.next();
+          result = 31 * result + field.getKey().hashCode();
+          result = 31 * result + hashChild(field.getValue());
+        }
+      }
+      else {
+        for (JsonNode child : node) {
+          result = 31 * result + hashChild(child);
+        }
+      }
+      return result;
+    }
+
+    private static int hashChild(JsonNode child) {
+      return child.isContainerNode() ? System.identityHashCode(child) : child.hashCode();
+    }
+
+    private static boolean isSameChild(JsonNode child, JsonNode other) {
+      return child.isContainerNode() ? child == other : child.equals(other);
+    }
+
+    private boolean isIdentical(JsonNode other) {
+
+      if (node.getNodeType() != other.getNodeType() || node.size() != other.size()) {
+        return false;
+      }
+
+      if (node.isObject()) {
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        Iterator<Map.Entry<String, JsonNode>> otherIt = other.fields();
+        while (it.hasNext()) {
+          Map.Entry<String, JsonNode> field = it.next();
+          Map.Entry<String, JsonNode> otherField = otherIt.next();
+          if (!field.getKey().equals(otherField.getKey()) || !isSameChild(field.getValue(), otherField.getValue())) {
+            return false;
+          }
+        }
+      }
+      else {
+        for (int i = 0; i < node.size(); i++) {
+          if (!isSameChild(node.get(i), other.get(i))) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof SubtreeKey)) {
+        return false;
+      }
+      SubtreeKey other = (SubtreeKey)obj;
+      return hash == other.hash && isIdentical(other.node);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.hal.resource.HalResource;
+
+/**
+ * Starts loading the resources represented by multiple client proxies concurrently (with a limited number
+ * of parallel requests), so that consumers that are iterating over these proxies with blocking method calls don't
+ * have to wait for each resource to be loaded one after another.
+ */
+public final class ClientProxyPrefetching {
+
+  private static final Logger log = LoggerFactory.getLogger(ClientProxyPrefetching.class);
+
+  private ClientProxyPrefetching() {
+    // only static methods
+  }
+
+  /**
+   * Subscribes to the resources of the given proxies, without waiting for the responses. Since the
+   * {@link HalApiClientProxyFactory} ensures that each resource is only requested once, any subsequent method calls on
+   * the proxies will then just wait for the requests that are already in progress. Any other objects (e.g. links or
+   * server-side implementations) are ignored.
+   * @param proxies client proxies created by a {@link HalApiClientProxyFactory}
+   * @param maxConcurrency the maximum number of resources to load concurrently
+   */
+  public static void prefetch(Iterable<?> proxies, int maxConcurrency) {
+
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be greater than 0, but was %s", maxConcurrency);
+
+    List<Single<HalResource>> resources = new ArrayList<>();
+    for (Object proxy : proxies) {
+      HalApiInvocationHandler handler = proxy != null ? HalApiClientProxyFactory.getInvocationHandler(proxy) : null;
+      if (handler != null) {
+        resources.add(handler.getResourceForPrefetching());
+      }
+    }
+
+    if (resources.isEmpty()) {
+      return;
+    }
+
+    log.debug("Prefetching {} resources with a maximum concurrency of {}", resources.size(), maxConcurrency);
+
+    Flowable.fromIterable(resources)
+        .flatMapMaybe(rxResource -> rxResource.toMaybe()
+            // failed requests will be retried (and the error handled) when a method is called on the proxy
+            .doOnError(ex -> log.debug("Failed to prefetch a resource", ex))
+            .onErrorComplete(), false, maxConcurrency)
+        .subscribe();
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.proxy;
+
+import static net.bytebuddy.matcher.ElementMatchers.isEquals;
+import static net.bytebuddy.matcher.ElementMatchers.isHashCode;
+import static net.bytebuddy.matcher.ElementMatchers.isToString;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.method.ParameterList;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.constant.NullConstant;
+import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+
+/**
+ * Creates client proxy instances of classes that are generated with Byte Buddy (once for each
+ * {@link HalApiInterface}) as an alternative to JDK dynamic proxies created with {@link Proxy}. Each method of the
+ * interface is implemented by calling a dispatcher function (which is stored in a final field) with the constant
+ * index of the method, so that the {@link HalApiMethodMetadata} can be found in a {@link DispatchTable} array without
+ * any {@link Method} instances being passed around and looked up in a map (as it is done for JDK proxies).
+ * Only {@link Object#toString()}, {@link Object#hashCode()} and {@link Object#equals(Object)} are still delegated to
+ * an {@link InvocationHandler}. The generated classes only refer to JDK types, so that they can be defined in the
+ * class loader of the interface.
+ */
+final class GeneratedProxyClasses {
+
+  static final String CLASS_NAME_SUFFIX = "$RhymeClientProxy";
+
+  private static final Logger log = LoggerFactory.getLogger(GeneratedProxyClasses.class);
+
+  private static final String HANDLER_FIELD = "handler";
+  private static final String DISPATCHER_FIELD = "dispatcher";
+
+  private static final ClassValue<Method[]> DISPATCHED_METHODS = new ClassValue<Method[]>() {
+
+    @Override
+    protected Method[] computeValue(Class<?> halApiInterface) {
+      return findDispatchedMethods(halApiInterface);
+    }
+  };
+
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+
+    @Override
+    protected Constructor<?> computeValue(Class<?> halApiInterface) {
+      return getOrGenerateProxyConstructor(halApiInterface);
+    }
+  };
+
+  private static final ClassValue<Field> HANDLER_FIELDS = new ClassValue<Field>() {
+
+    @Override
+    protected Field computeValue(Class<?> proxyClass) {
+      try {
+        Field field = proxyClass.getDeclaredField(HANDLER_FIELD);
+        field.setAccessible(true);
+        return field;
+      }
+      catch (NoSuchFieldException | RuntimeException ex) {
+        throw new HalApiDeveloperException("Failed to access the invocation handler of generated proxy class " + proxyClass.getName(), ex);
+      }
+    }
+  };
+
+  private GeneratedProxyClasses() {
+    // only static methods
+  }
+
+  /**
+   * @param <T> the {@link HalApiInterface} type
+   * @param halApiInterface the interface to be implemented by the proxy
+   * @param handler that will handle all method invocations on a JDK proxy, and the methods inherited from
+   *          {@link Object} on a generated proxy
+   * @param dispatchTable of the interface (which can be shared by all proxies created by the same {@link HalApiClient})
+   * @return a new instance of the generated proxy class (or a JDK dynamic proxy if the class could not be generated)
+   */
+  static <T> T newInstance(Class<T> halApiInterface, HalApiInvocationHandler handler, DispatchTable dispatchTable) {
+
+    Constructor<?> constructor = CONSTRUCTORS.get(halApiInterface);
+    if (constructor == null) {
+      return halApiInterface.cast(Proxy.newProxyInstance(halApiInterface.getClassLoader(), new Class[] { halApiInterface }, handler));
+    }
+
+    BiFunction<Integer, Object[], Object> dispatcher = (index, args) -> dispatchTable.dispatch(handler, index, args);
+    try {
+      return halApiInterface.cast(constructor.newInstance(handler, dispatcher));
+    }
+    catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+      throw new HalApiDeveloperException("Failed to instantiate generated proxy class " + constructor.getDeclaringClass().getName(), ex);
+    }
+  }
+
+  /**
+   * @param proxy an instance that was created with {@link #newInstance(Class, HalApiInvocationHandler, DispatchTable)}
+   * @return the handler that was given to the constructor of the generated class
+   */
+  static InvocationHandler getInvocationHandler(Object proxy) {
+    try {
+      return (InvocationHandler)HANDLER_FIELDS.get(proxy.getClass()).get(proxy);
+    }
+    catch (IllegalAccessException ex) {
+      throw new HalApiDeveloperException("Failed to access the invocation handler of generated proxy class " + proxy.getClass().getName(), ex);
+    }
+  }
+
+  // ClassValue#computeValue may be called concurrently for the same interface, so the generation must be synchronized
+  // (and we need to check for a class that was already defined by another thread)
+  private static synchronized Constructor<?> getOrGenerateProxyConstructor(Class<?> halApiInterface) {
+
+    String className = halApiInterface.getName() + CLASS_NAME_SUFFIX;
+    try {
+      Class<?> proxyClass = findExistingClass(halApiInterface, className);
+      if (proxyClass == null) {
+        proxyClass = generateProxyClass(halApiInterface, className);
+      }
+      return proxyClass.getConstructor(InvocationHandler.class, BiFunction.class);
+    }
+    // CHECKSTYLE:OFF - class generation can fail for many reasons (including a missing Byte Buddy bundle), and we always want to fall back to JDK proxies
+    catch (RuntimeException | LinkageError | ReflectiveOperationException ex) {
+      // CHECKSTYLE:ON
+      log.warn("Failed to generate a client proxy class for {}, JDK dynamic proxies will be used instead", halApiInterface.getName(), ex);
+      return null;
+    }
+  }
+
+  private static Class<?> findExistingClass(Class<?> halApiInterface, String className) {
+    try {
+      return Class.forName(className, false, halApiInterface.getClassLoader());
+    }
+    catch (ClassNotFoundException ex) {
+      return null;
+    }
+  }
+
+  private static Class<?> generateProxyClass(Class<?> halApiInterface, String className) throws ReflectiveOperationException {
+
+    // the class is defined in the same package (and class loader) as the interface, so that non-public interfaces are supported as well
+    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(halApiInterface, MethodHandles.lookup());
+
+    DynamicType.Builder<?> builder = new ByteBuddy()
+        .subclass(Object.class)
+        .name(className)
+        .modifiers(Modifier.PUBLIC | Modifier.FINAL)
+        .implement(halApiInterface)
+        .defineField(HANDLER_FIELD, InvocationHandler.class, Visibility.PRIVATE, FieldManifestation.FINAL)
+        .defineField(DISPATCHER_FIELD, BiFunction.class, Visibility.PRIVATE, FieldManifestation.FINAL)
+        .defineConstructor(Visibility.PUBLIC)
+        .withParameters(InvocationHandler.class, BiFunction.class)
+        .intercept(MethodCall.invoke(Object.class.getConstructor())
+            .andThen(FieldAccessor.ofField(HANDLER_FIELD).setsArgumentAt(0))
+            .andThen(FieldAccessor.ofField(DISPATCHER_FIELD).setsArgumentAt(1)))
+        .method(isToString().or(isHashCode()).or(isEquals()))
+        .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD));
+
+    Method apply = BiFunction.class.getMethod("apply", Object.class, Object.class);
+
+    Method[] methods = DISPATCHED_METHODS.get(halApiInterface);
+    for (int i = 0; i < methods.length; i++) {
+      builder = builder
+          .method(named(methods[i].getName()).and(takesArguments(methods[i].getParameterTypes())))
+          .intercept(MethodCall.invoke(apply)
+              .onField(DISPATCHER_FIELD)
+              .with(i)
+              .with(createArgumentArray(methods[i]), Object[].class)
+              .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+    }
+
+    return builder
+        .make()
+        .load(halApiInterface.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup))
+        .getLoaded();
+  }
+
+  /**
+   * @param method the method to be implemented
+   * @return a stack manipulation that creates an array with all (boxed) arguments of the method, or a null value for
+   *         methods without parameters (as it is passed to JDK proxies)
+   */
+  private static StackManipulation createArgumentArray(Method method) {
+
+    ParameterList<?> parameters = new MethodDescription.ForLoadedMethod(method).getParameters();
+    if (parameters.isEmpty()) {
+      return NullConstant.INSTANCE;
+    }
+
+    List<StackManipulation> values = new ArrayList<>();
+    for (ParameterDescription parameter : parameters) {
+      values.add(new StackManipulation.Compound(
+          MethodVariableAccess.load(parameter),
+          Assigner.DEFAULT.assign(parameter.getType(), TypeDescription.Generic.OBJECT, Assigner.Typing.STATIC)));
+    }
+    return ArrayFactory.forType(TypeDescription.Generic.OBJECT).withValues(values);
+  }
+
+  /**
+   * @param halApiInterface the interface to be implemented by the proxy
+   * @return all (abstract and default) methods of the interface, in the order of the indices that are given to the
+   *         dispatcher by the generated class
+   */
+  private static Method[] findDispatchedMethods(Class<?> halApiInterface) {
+
+    // the same method may be declared in multiple super-interfaces, but it can only be implemented once
+    Map<String, Method> methodsBySignature = new TreeMap<>();
+    for (Method method : halApiInterface.getMethods()) {
+      if (!Modifier.isStatic(method.getModifiers())) {
+        methodsBySignature.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), method);
+      }
+    }
+    return methodsBySignature.values().toArray(new Method[0]);
+  }
+
+  /**
+   * Finds the {@link HalApiMethodMetadata} for the index of a method that was called on a generated proxy class
+   */
+  static final class DispatchTable {
+
+    private final HalApiInterfaceMetadata interfaceMetadata;
+    private final Method[] methods;
+    private final HalApiMethodMetadata[] methodMetadata;
+
+    /**
+     * @param interfaceMetadata of the interface that is implemented by the generated proxy class
+     */
+    DispatchTable(HalApiInterfaceMetadata interfaceMetadata) {
+      this.interfaceMetadata = interfaceMetadata;
+      this.methods = DISPATCHED_METHODS.get(interfaceMetadata.getInterface());
+      this.methodMetadata = new HalApiMethodMetadata[methods.length];
+    }
+
+    private Object dispatch(HalApiInvocationHandler handler, int index, Object[] args) {
+
+      HalApiMethodMetadata metadata = methodMetadata[index];
+      if (metadata == null) {
+        // the metadata is only created on first invocation (as it would be for JDK proxies), and since the interface
+        // metadata always returns the same (immutable) instance, concurrent initialization is not a problem
+        metadata = interfaceMetadata.getMethod(methods[index]);
+        methodMetadata[index] = metadata;
+      }
+
+      return handler.invoke(metadata, args);
+    }
+  }
+}
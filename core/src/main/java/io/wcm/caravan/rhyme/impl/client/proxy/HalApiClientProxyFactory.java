@@ -19,10 +19,11 @@
  */
 package io.wcm.caravan.rhyme.impl.client.proxy;
 
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.isHalApiInterface;
-
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
 import com.damnhandy.uri.template.UriTemplate;
@@ -41,7 +42,10 @@ import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsStopwatch;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl.ResourceObservation;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl.Session;
 import io.wcm.caravan.rhyme.impl.metadata.EmissionStopwatch;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 
 /**
@@ -57,6 +61,13 @@ public final class HalApiClientProxyFactory {
   private final RequestMetricsCollector metrics;
   private final HalApiTypeSupport typeSupport;
   private final ObjectMapper objectMapper;
+  private final ResourceStateCacheImpl resourceStateCache;
+  private final boolean generatedProxyClasses;
+  private final Map<String, Integer> prefetchedRelations;
+  private final Session speculativePrefetchingSession;
+
+  // only used if generatedProxyClasses is true (and the values must not be created otherwise, as Byte Buddy may not be available)
+  private final Map<Class<?>, GeneratedProxyClasses.DispatchTable> dispatchTables = new ConcurrentHashMap<>();
 
   /**
    * @param resourceLoader used to load/cache HAL+JSON resources
@@ -64,47 +75,116 @@ public final class HalApiClientProxyFactory {
    *          incoming request
    * @param typeSupport the strategy to detect HAL API annotations and perform type conversions
    * @param objectMapper the Jackson {@link ObjectMapper} to use for all JSON deserialization
+   * @param resourceStateCache to re-use converted objects across requests (can be null)
+   * @param generatedProxyClasses true if proxies should be instances of classes generated with
+   *          {@link GeneratedProxyClasses} rather than JDK dynamic proxies
+   * @param prefetchedRelations a map of link relations (for which all linked resources should be loaded as soon as the
+   *          relation is followed) to the maximum number of resources to load concurrently
+   * @param speculativePrefetching to learn which relations are usually followed, and prefetch the linked resources
+   *          (can be null)
    */
-  public HalApiClientProxyFactory(HalResourceLoader resourceLoader, RequestMetricsCollector metrics, HalApiTypeSupport typeSupport, ObjectMapper objectMapper) {
+  public HalApiClientProxyFactory(HalResourceLoader resourceLoader, RequestMetricsCollector metrics, HalApiTypeSupport typeSupport, ObjectMapper objectMapper,
+      ResourceStateCacheImpl resourceStateCache, boolean generatedProxyClasses, Map<String, Integer> prefetchedRelations,
+      SpeculativePrefetchingImpl speculativePrefetching) {
     this.metrics = metrics;
     this.resourceLoader = resourceLoader;
     this.typeSupport = typeSupport;
     this.objectMapper = objectMapper;
+    this.resourceStateCache = resourceStateCache;
+    this.generatedProxyClasses = generatedProxyClasses;
+    this.prefetchedRelations = prefetchedRelations;
+    this.speculativePrefetchingSession = speculativePrefetching != null ? speculativePrefetching.createSession(resourceLoader) : null;
   }
 
   public <T> T createProxyFromUrl(Class<T> relatedResourceType, String url) {
 
-    Single<HalResource> rxHal = loadHalResource(url, relatedResourceType);
+    ResourceObservation observation = observeResource(relatedResourceType);
+
+    Single<HalResource> rxHal = loadHalResource(url, relatedResourceType, observation);
 
-    return getProxy(relatedResourceType, rxHal, new Link(url));
+    return getProxy(relatedResourceType, rxHal, new Link(url), observation);
   }
 
   <T> T createProxyFromLink(Class<T> relatedResourceType, Link link) {
 
-    Single<HalResource> rxHal = loadHalResource(link.getHref(), relatedResourceType);
+    ResourceObservation observation = observeResource(relatedResourceType);
 
-    return getProxy(relatedResourceType, rxHal, link);
+    Single<HalResource> rxHal = loadHalResource(link.getHref(), relatedResourceType, observation);
+
+    return getProxy(relatedResourceType, rxHal, link, observation);
   }
 
   <T> T createProxyFromHalResource(Class<T> relatedResourceType, HalResource contextResource, Link link) {
 
     Single<HalResource> rxHal = Single.just(contextResource);
 
-    return getProxy(relatedResourceType, rxHal, link);
+    return getProxy(relatedResourceType, rxHal, link, null);
+  }
+
+  private ResourceObservation observeResource(Class<?> relatedResourceType) {
+
+    if (speculativePrefetchingSession == null) {
+      return null;
+    }
+    return speculativePrefetchingSession.observe(relatedResourceType);
+  }
+
+  /**
+   * @param relation of the related resources that are being followed
+   * @return the maximum number of linked resources to prefetch concurrently, or 0 if prefetching is not enabled for
+   *         the relation
+   */
+  int getPrefetchConcurrency(String relation) {
+    return prefetchedRelations.getOrDefault(relation, 0);
+  }
+
+  /**
+   * @param proxy an object that may have been created by any {@link HalApiClientProxyFactory}
+   * @return the invocation handler of the given proxy, or null if the object isn't a client proxy
+   */
+  static HalApiInvocationHandler getInvocationHandler(Object proxy) {
+
+    InvocationHandler handler = null;
+    if (Proxy.isProxyClass(proxy.getClass())) {
+      handler = Proxy.getInvocationHandler(proxy);
+    }
+    // only check the name here, as GeneratedProxyClasses must not be loaded if Byte Buddy isn't available
+    else if (proxy.getClass().getName().endsWith(GeneratedProxyClasses.CLASS_NAME_SUFFIX)) {
+      handler = GeneratedProxyClasses.getInvocationHandler(proxy);
+    }
+
+    return handler instanceof HalApiInvocationHandler ? (HalApiInvocationHandler)handler : null;
   }
 
-  private <T> Single<HalResource> loadHalResource(String resourceUrl, Class<T> relatedResourceType) {
+  private <T> Single<HalResource> loadHalResource(String resourceUrl, Class<T> relatedResourceType, ResourceObservation observation) {
 
     // this additional single is only required because we want to validate the URL only on subscription
     // (e.g. right before it is actually retrieved).
     // This is because it should still be possible to create a proxy just to get a URI template
     // by calling a method annotated with @ResourceLink.
-    return Single.just(resourceUrl)
-        .flatMap(this::validateUrlAndLoadResourceBody)
+    Single<HalResource> rxHal = Single.just(resourceUrl)
+        .flatMap(url -> validateUrlAndLoadResourceBody(url, true))
         .compose(EmissionStopwatch.collectMetrics(() -> "fetching " + relatedResourceType.getSimpleName() + " from upstream server (or cache)", metrics));
+
+    if (observation != null) {
+      // start prefetching the resources for the relations that are usually followed as soon as the resource is available
+      return rxHal.doOnSuccess(observation::onResourceLoaded);
+    }
+
+    return rxHal;
+  }
+
+  /**
+   * @param resourceUrl of a resource for which a proxy was created
+   * @return a {@link Single} that loads the resource without reporting it as requested for speculative prefetching
+   */
+  Single<HalResource> loadHalResourceForPrefetching(String resourceUrl) {
+
+    return Single.just(resourceUrl)
+        .flatMap(url -> validateUrlAndLoadResourceBody(url, false));
   }
 
-  private Single<HalResource> validateUrlAndLoadResourceBody(String uriOrTemplate) {
+  private Single<HalResource> validateUrlAndLoadResourceBody(String uriOrTemplate, boolean requestedByProxy) {
 
     Link link = new Link(uriOrTemplate);
 
@@ -113,20 +193,32 @@ public final class HalApiClientProxyFactory {
       resolvedUri = UriTemplate.expand(uriOrTemplate, Collections.emptyMap());
     }
 
+    if (speculativePrefetchingSession != null && requestedByProxy) {
+      speculativePrefetchingSession.onResourceRequested(resolvedUri);
+    }
+
     try (RequestMetricsStopwatch sw = metrics.startStopwatch(HalApiClient.class,
         () -> "assembling a Single<HalResource> with the HalResourceLoader")) {
 
       return resourceLoader.getHalResource(resolvedUri)
+          .doOnSuccess(this::registerWithResourceStateCache)
           .map(HalResponse::getBody);
     }
   }
 
+  private void registerWithResourceStateCache(HalResponse response) {
+
+    if (resourceStateCache != null) {
+      resourceStateCache.registerResponse(response);
+    }
+  }
+
   @SuppressWarnings("unchecked")
-  private <T> T getProxy(Class<T> relatedResourceType, Single<HalResource> rxHal, Link linkToResource) {
+  private <T> T getProxy(Class<T> relatedResourceType, Single<HalResource> rxHal, Link linkToResource, ResourceObservation observation) {
 
     // do not try to cache proxies for resources for which no link is available
     if (linkToResource == null) {
-      return createProxy(relatedResourceType, rxHal, null);
+      return createProxy(relatedResourceType, rxHal, null, observation);
     }
 
     // the same proxy instance can be re-used when the link is pointing to the same resource, and the interface type to proxy are the same.
@@ -135,7 +227,7 @@ public final class HalApiClientProxyFactory {
     String cacheKey = linkToResource.getModel().toString() + relatedResourceType.getName();
 
     try {
-      return (T)proxyCache.get(cacheKey, () -> createProxy(relatedResourceType, rxHal, linkToResource));
+      return (T)proxyCache.get(cacheKey, () -> createProxy(relatedResourceType, rxHal, linkToResource, observation));
     }
     catch (UncheckedExecutionException | ExecutionException ex) {
       // we know that createProxy never throws any checked exception, so it's safe in this case to re-throw the original exception
@@ -143,20 +235,28 @@ public final class HalApiClientProxyFactory {
     }
   }
 
-  private <T> T createProxy(Class<T> relatedResourceType, Single<HalResource> rxHal, Link linkToResource) {
+  private <T> T createProxy(Class<T> relatedResourceType, Single<HalResource> rxHal, Link linkToResource, ResourceObservation observation) {
 
     try (RequestMetricsStopwatch sw = metrics.startStopwatch(HalApiClient.class,
         () -> "creating " + relatedResourceType.getSimpleName() + " proxy instance")) {
 
+      HalApiInterfaceMetadata metadata = HalApiInterfaceMetadata.get(relatedResourceType, typeSupport);
+
       // check that the given class is indeed a HAL api interface
-      if (!isHalApiInterface(relatedResourceType, typeSupport)) {
+      if (!metadata.isHalApiInterface()) {
         throw new HalApiDeveloperException(
             "The given resource interface " + relatedResourceType.getName() + " does not have a @" + HalApiInterface.class.getSimpleName() + " annotation.");
       }
 
       // the main logic of the proxy is implemented in this InvocationHandler
-      HalApiInvocationHandler invocationHandler = new HalApiInvocationHandler(rxHal, relatedResourceType, linkToResource, this, metrics, typeSupport,
-          objectMapper);
+      HalApiInvocationHandler invocationHandler = new HalApiInvocationHandler(rxHal, metadata, linkToResource, observation, this, metrics,
+          typeSupport, objectMapper, resourceStateCache);
+
+      if (generatedProxyClasses) {
+        GeneratedProxyClasses.DispatchTable dispatchTable = dispatchTables.computeIfAbsent(relatedResourceType,
+            type -> new GeneratedProxyClasses.DispatchTable(metadata));
+        return GeneratedProxyClasses.newInstance(relatedResourceType, invocationHandler, dispatchTable);
+      }
 
       @SuppressWarnings("unchecked")
       T proxy = (T)Proxy.newProxyInstance(relatedResourceType.getClassLoader(), new Class[] { relatedResourceType }, invocationHandler);
@@ -24,14 +24,13 @@ import static io.wcm.caravan.rhyme.impl.reflection.RxJavaReflectionUtils.convert
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
@@ -42,7 +41,10 @@ import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsStopwatch;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl.ResourceObservation;
 import io.wcm.caravan.rhyme.impl.metadata.EmissionStopwatch;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 import io.wcm.caravan.rhyme.impl.util.RxJavaTransformers;
 
@@ -51,27 +53,44 @@ import io.wcm.caravan.rhyme.impl.util.RxJavaTransformers;
  */
 final class HalApiInvocationHandler implements InvocationHandler {
 
-  private final Cache<String, Observable<Object>> returnValueCache = CacheBuilder.newBuilder().build();
+  private final Map<Object, MemoizedReturnValue> returnValueCache = new ConcurrentHashMap<>();
 
   private final Single<HalResource> rxResource;
-  private final Class resourceInterface;
+  private final HalApiInterfaceMetadata interfaceMetadata;
   private final Link linkToResource;
+  private final ResourceObservation observation;
 
   private final HalApiClientProxyFactory proxyFactory;
   private final RequestMetricsCollector metrics;
   private final HalApiTypeSupport typeSupport;
   private final ObjectMapper objectMapper;
+  private final ResourceStateCacheImpl resourceStateCache;
 
-  HalApiInvocationHandler(Single<HalResource> rxResource, Class resourceInterface, Link linkToResource,
-      HalApiClientProxyFactory proxyFactory, RequestMetricsCollector metrics, HalApiTypeSupport typeSupport, ObjectMapper objectMapper) {
+  HalApiInvocationHandler(Single<HalResource> rxResource, HalApiInterfaceMetadata interfaceMetadata, Link linkToResource,
+      ResourceObservation observation, HalApiClientProxyFactory proxyFactory, RequestMetricsCollector metrics, HalApiTypeSupport typeSupport,
+      ObjectMapper objectMapper, ResourceStateCacheImpl resourceStateCache) {
 
     this.rxResource = rxResource;
-    this.resourceInterface = resourceInterface;
+    this.interfaceMetadata = interfaceMetadata;
     this.linkToResource = linkToResource;
+    this.observation = observation;
     this.proxyFactory = proxyFactory;
     this.metrics = metrics;
     this.typeSupport = typeSupport;
     this.objectMapper = objectMapper;
+    this.resourceStateCache = resourceStateCache;
+  }
+
+  /**
+   * @return the (lazily loaded) HAL resource that is represented by the proxy, which is not observed for speculative
+   *         prefetching (as the resource is not yet used by the consumer)
+   */
+  Single<HalResource> getResourceForPrefetching() {
+
+    if (observation == null || linkToResource == null) {
+      return rxResource;
+    }
+    return proxyFactory.loadHalResourceForPrefetching(linkToResource.getHref());
   }
 
   @Override
@@ -81,43 +100,70 @@ final class HalApiInvocationHandler implements InvocationHandler {
       throw new HalApiDeveloperException("You cannot call hashCode() on dynamic client proxies. Avoid using collections like LinkedHashSet.");
     }
 
-    // create an object to help with identification of methods and parameters
-    HalApiMethodInvocation invocation = new HalApiMethodInvocation(metrics, resourceInterface, method, args, typeSupport);
+    return invoke(interfaceMetadata.getMethod(method), args);
+  }
+
+  /**
+   * @param metadata of the method that was called on the proxy
+   * @param args the arguments of the invocation (or null for methods without parameters)
+   * @return the return value of the method
+   */
+  Object invoke(HalApiMethodMetadata metadata, Object[] args) {
+
+    // repeated invocations of the same method (with the same parameters) should find the memoized return value
+    // without creating any new objects
+    Object cacheKey = InvocationCacheKey.create(metadata, args);
+    MemoizedReturnValue returnValue = returnValueCache.get(cacheKey);
+    if (returnValue == null) {
+      returnValue = createMemoizedReturnValue(cacheKey, metadata, args);
+    }
 
     // collect the time spend calling all proxy methods during the current request in the HalResponseMetadata object
-    try (RequestMetricsStopwatch sw = metrics.startStopwatch(HalApiClient.class, () -> "calling " + invocation)) {
+    try (RequestMetricsStopwatch sw = metrics.startStopwatch(HalApiClient.class, returnValue.description)) {
+
+      return convertObservableTo(metadata.getMethod().getReturnType(), returnValue.observable, typeSupport);
+    }
+    catch (RuntimeException ex) {
+      throw addContextToException(ex, returnValue.invocation);
+    }
+  }
 
-      Observable<Object> rxReturnValue = getCachingObservableReturnValue(invocation);
+  private MemoizedReturnValue createMemoizedReturnValue(Object cacheKey, HalApiMethodMetadata metadata, Object[] args) {
 
-      return convertObservableTo(method.getReturnType(), rxReturnValue, typeSupport);
+    // create an object to help with identification of methods and parameters
+    HalApiMethodInvocation invocation = new HalApiMethodInvocation(metrics, metadata, args);
+
+    MemoizedReturnValue returnValue;
+    try {
+      returnValue = new MemoizedReturnValue(invocation, callAnnotationSpecificHandler(invocation));
     }
-    // CHECKSTYLE:OFF
-    catch (HalApiDeveloperException | HalApiClientException ex) {
+    catch (RuntimeException ex) {
+      throw addContextToException(ex, invocation);
+    }
+
+    // if another thread was faster to call the same method, its return value should be used
+    MemoizedReturnValue existingValue = returnValueCache.putIfAbsent(cacheKey, returnValue);
+
+    return existingValue != null ? existingValue : returnValue;
+  }
+
+  private static RuntimeException addContextToException(RuntimeException ex, HalApiMethodInvocation invocation) {
+
+    if (ex instanceof HalApiDeveloperException || ex instanceof HalApiClientException) {
       // these exceptions should just be re-thrown as they are either implementation errors by the developer
       // (e.g. using invalid types in the signatures of the HAL API interface), or client errors
       // which both already contain important context information
-      throw ex;
+      return ex;
     }
-    // CHECKSTYLE:ON
-    catch (NoSuchElementException ex) {
+
+    if (ex instanceof NoSuchElementException) {
       // these exceptions should be re-thrown with a better error message
-      throw new HalApiDeveloperException("The invocation of " + invocation + " has failed, "
+      return new HalApiDeveloperException("The invocation of " + invocation + " has failed, "
           + "most likely because no link or embedded resource with the appropriate relation was found in the HAL resource", ex);
     }
-    // CHECKSTYLE:OFF - we really want to catch any other possible runtime exceptions here to add additional information on the method being called
-    catch (Exception e) {
-      // CHECKSTYLE:ON
-      throw new HalApiDeveloperException("The invocation of " + invocation + " on a client proxy has failed with an unexpected exception", e);
-    }
-  }
 
-  private Observable<Object> getCachingObservableReturnValue(HalApiMethodInvocation invocation) throws ExecutionException {
-    try {
-      return returnValueCache.get(invocation.getCacheKey(), () -> callAnnotationSpecificHandler(invocation));
-    }
-    catch (UncheckedExecutionException ex) {
-      throw (RuntimeException)ex.getCause();
-    }
+    // any other runtime exceptions are wrapped to add additional information on the method being called
+    return new HalApiDeveloperException("The invocation of " + invocation + " on a client proxy has failed with an unexpected exception", ex);
   }
 
   private Observable<Object> callAnnotationSpecificHandler(HalApiMethodInvocation invocation) {
@@ -130,7 +176,7 @@ final class HalApiInvocationHandler implements InvocationHandler {
       return Observable.just(handler.handleMethodInvocation(invocation));
     }
 
-    if (invocation.toString().endsWith("#toString()")) {
+    if (invocation.isForToStringMethod()) {
 
       String linkDesc = linkToResource != null ? " at " + linkToResource.getHref() : " (embedded without self link)";
       return Observable.just("dynamic client proxy for " + invocation.getResourceInterfaceName() + linkDesc);
@@ -154,28 +200,23 @@ final class HalApiInvocationHandler implements InvocationHandler {
 
   private Function<HalResource, Observable<Object>> createAnnotationSpecificHandler(HalApiMethodInvocation invocation) {
 
-    if (invocation.isForMethodAnnotatedWithResourceState()) {
+    switch (invocation.getKind()) {
+      case RESOURCE_STATE:
+        return new ResourceStateHandler(invocation, typeSupport, objectMapper, resourceStateCache);
 
-      return new ResourceStateHandler(invocation, typeSupport, objectMapper);
-    }
+      case RESOURCE_PROPERTY:
+        return new ResourcePropertyHandler(invocation, typeSupport, objectMapper, resourceStateCache);
 
-    if (invocation.isForMethodAnnotatedWithResourceProperties()) {
-
-      return new ResourcePropertyHandler(invocation, typeSupport, objectMapper);
-    }
+      case RELATED_RESOURCE:
+        return new RelatedResourceHandler(invocation, typeSupport, proxyFactory, observation);
 
-    if (invocation.isForMethodAnnotatedWithRelatedResource()) {
+      case RESOURCE_REPRESENTATION:
+        return new ResourceRepresentationHandler(invocation);
 
-      return new RelatedResourceHandler(invocation, typeSupport, proxyFactory);
+      default:
+        // unsupported operation
+        throw new HalApiDeveloperException("The method " + invocation + " is not annotated with one of the supported HAL API annotations");
     }
-
-    if (invocation.isForMethodAnnotatedWithResourceRepresentation()) {
-
-      return new ResourceRepresentationHandler(invocation);
-    }
-
-    // unsupported operation
-    throw new HalApiDeveloperException("The method " + invocation + " is not annotated with one of the supported HAL API annotations");
   }
 
   private Observable<HalResource> addContextToHalApiClientException(Throwable ex, HalApiMethodInvocation invocation) {
@@ -186,4 +227,17 @@ final class HalApiInvocationHandler implements InvocationHandler {
     }
     return Observable.error(ex);
   }
+
+  private static final class MemoizedReturnValue {
+
+    private final HalApiMethodInvocation invocation;
+    private final Supplier<String> description;
+    private final Observable<Object> observable;
+
+    MemoizedReturnValue(HalApiMethodInvocation invocation, Observable<Object> observable) {
+      this.invocation = invocation;
+      this.description = () -> "calling " + invocation;
+      this.observable = observable;
+    }
+  }
 }
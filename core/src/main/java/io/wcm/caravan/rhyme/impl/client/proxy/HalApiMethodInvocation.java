@@ -21,13 +21,10 @@
 package io.wcm.caravan.rhyme.impl.client.proxy;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.google.common.base.Preconditions;
 
@@ -35,31 +32,29 @@ import io.wcm.caravan.rhyme.api.annotations.Related;
 import io.wcm.caravan.rhyme.api.client.HalApiClient;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsCollector;
 import io.wcm.caravan.rhyme.api.common.RequestMetricsStopwatch;
-import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
-import io.wcm.caravan.rhyme.impl.reflection.RxJavaReflectionUtils;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata.Kind;
 import io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection;
 
 
 class HalApiMethodInvocation {
 
-  private final Class interfaze;
+  private final HalApiMethodMetadata metadata;
   private final Method method;
   private final Class<?> emissionType;
-  private final HalApiTypeSupport typeSupport;
 
   private final Map<String, Object> templateVariables;
   private final boolean calledWithOnlyNullParameters;
 
 
-  HalApiMethodInvocation(RequestMetricsCollector metrics, Class interfaze, Method method, Object[] args, HalApiTypeSupport typeSupport) {
+  HalApiMethodInvocation(RequestMetricsCollector metrics, HalApiMethodMetadata metadata, Object[] args) {
 
     try (RequestMetricsStopwatch sw = metrics.startStopwatch(HalApiClient.class, () -> "creating HalApiMethodInvocation instances")) {
-      this.interfaze = interfaze;
-      this.method = method;
-      this.emissionType = hasTemplatedReturnType() ? RxJavaReflectionUtils.getObservableEmissionType(method, typeSupport) : method.getReturnType();
-      this.typeSupport = typeSupport;
+      this.metadata = metadata;
+      this.method = metadata.getMethod();
+      this.emissionType = metadata.getEmissionType();
 
-      this.templateVariables = TemplateVariableDetection.getVariablesNameValueMap(method, Optional.ofNullable(args));
+      this.templateVariables = TemplateVariableDetection.getVariablesNameValueMap(metadata.getTemplateVariables(), args);
 
       this.calledWithOnlyNullParameters = args != null && Arrays.stream(args).allMatch(Objects::isNull);
     }
@@ -67,33 +62,37 @@ class HalApiMethodInvocation {
 
 
   String getRelation() {
-    String relation = typeSupport.getRelation(method);
+    String relation = metadata.getRelation();
     Preconditions.checkNotNull(relation, this + " does not have a @" + Related.class.getSimpleName() + " annotation");
     return relation;
   }
 
-  boolean isForMethodAnnotatedWithRelatedResource() {
-    return typeSupport.isRelatedResourceMethod(method);
+  String getPropertyName() {
+    return metadata.getPropertyName();
   }
 
-  boolean isForMethodAnnotatedWithResourceLink() {
-    return typeSupport.isResourceLinkMethod(method);
+  Kind getKind() {
+    return metadata.getKind();
   }
 
-  boolean isForMethodAnnotatedWithResourceState() {
-    return typeSupport.isResourceStateMethod(method);
+  boolean isForMethodAnnotatedWithRelatedResource() {
+    return metadata.getKind() == Kind.RELATED_RESOURCE;
   }
 
-  boolean isForMethodAnnotatedWithResourceProperties() {
-    return typeSupport.isResourcePropertyMethod(method);
+  boolean isForMethodAnnotatedWithResourceLink() {
+    return metadata.getKind() == Kind.RESOURCE_LINK;
   }
 
-  boolean isForMethodAnnotatedWithResourceRepresentation() {
-    return typeSupport.isResourceRepresentationMethod(method);
+  boolean isForToStringMethod() {
+    return metadata.isToStringMethod();
   }
 
   boolean hasTemplatedReturnType() {
-    return method.getGenericReturnType() instanceof ParameterizedType;
+    return metadata.hasTemplatedReturnType();
+  }
+
+  boolean isMultiValue() {
+    return metadata.isMultiValue();
   }
 
   Method getMethod() {
@@ -135,22 +134,13 @@ class HalApiMethodInvocation {
   }
 
   public String getResourceInterfaceName() {
-    return interfaze.getSimpleName();
+    return metadata.getInterface().getSimpleName();
   }
 
   @Override
   public String toString() {
 
-    return interfaze.getSimpleName() + "#" + method.getName() + "(" + getVariableNamesString() + ")";
-  }
-
-  String getCacheKey() {
-
-    String parameterTypeNames = Stream.of(method.getParameterTypes())
-        .map(Class::getName)
-        .collect(Collectors.joining(","));
-
-    return interfaze.getName() + "#" + method.getName() + "/" + parameterTypeNames + "?" + getVariablesString();
+    return getResourceInterfaceName() + "#" + method.getName() + "(" + getVariableNamesString() + ")";
   }
 
   private String getVariableNamesString() {
@@ -159,12 +149,5 @@ class HalApiMethodInvocation {
         .collect(Collectors.joining(","));
   }
 
-  private String getVariablesString() {
-
-    return templateVariables.entrySet().stream()
-        .map(entry -> entry.getKey() + "=" + entry.getValue())
-        .collect(Collectors.joining(","));
-  }
-
 
 }
@@ -0,0 +1,81 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.proxy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.TemplateVariableAccessor;
+
+/**
+ * Identifies the return value of a proxy method invocation in the cache of a {@link HalApiInvocationHandler}, without
+ * building any string representations of the method and its parameters.
+ */
+final class InvocationCacheKey {
+
+  private final HalApiMethodMetadata metadata;
+  private final Object[] variableValues;
+  private final int hashCode;
+
+  private InvocationCacheKey(HalApiMethodMetadata metadata, Object[] variableValues) {
+    this.metadata = metadata;
+    this.variableValues = variableValues;
+    this.hashCode = 31 * metadata.hashCode() + Arrays.hashCode(variableValues);
+  }
+
+  /**
+   * @param metadata of the method being invoked
+   * @param args the arguments of the invocation (or null for methods without parameters)
+   * @return the (shared) metadata instance for methods without template variables, or a key that compares the template
+   *         variable values extracted from the given arguments
+   */
+  static Object create(HalApiMethodMetadata metadata, Object[] args) {
+
+    List<TemplateVariableAccessor> accessors = metadata.getTemplateVariables();
+    if (accessors.isEmpty()) {
+      // the interface metadata always provides the same HalApiMethodMetadata instance for a method, so it can be used as key directly
+      return metadata;
+    }
+
+    Object[] variableValues = new Object[accessors.size()];
+    for (int i = 0; i < variableValues.length; i++) {
+      variableValues[i] = accessors.get(i).getValue(args);
+    }
+    return new InvocationCacheKey(metadata, variableValues);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof InvocationCacheKey)) {
+      return false;
+    }
+    InvocationCacheKey other = (InvocationCacheKey)obj;
+    return metadata == other.metadata && Arrays.equals(variableValues, other.variableValues);
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
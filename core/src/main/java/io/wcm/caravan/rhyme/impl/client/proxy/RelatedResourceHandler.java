@@ -19,8 +19,6 @@
  */
 package io.wcm.caravan.rhyme.impl.client.proxy;
 
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.isHalApiInterface;
-
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -40,8 +38,10 @@ import io.wcm.caravan.hal.resource.HalResource;
 import io.wcm.caravan.hal.resource.Link;
 import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
-import io.wcm.caravan.rhyme.api.spi.HalApiAnnotationSupport;
+import io.wcm.caravan.rhyme.impl.client.proxy.SpeculativePrefetchingImpl.ResourceObservation;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 
 class RelatedResourceHandler implements Function<HalResource, Observable<Object>> {
 
@@ -49,12 +49,15 @@ class RelatedResourceHandler implements Function<HalResource, Observable<Object>
 
   private final HalApiMethodInvocation invocation;
   private final HalApiClientProxyFactory proxyFactory;
-  private final HalApiAnnotationSupport annotationSupport;
+  private final HalApiTypeSupport typeSupport;
+  private final ResourceObservation observation;
 
-  RelatedResourceHandler(HalApiMethodInvocation invocation, HalApiAnnotationSupport annotationSupport, HalApiClientProxyFactory proxyFactory) {
+  RelatedResourceHandler(HalApiMethodInvocation invocation, HalApiTypeSupport typeSupport, HalApiClientProxyFactory proxyFactory,
+      ResourceObservation observation) {
     this.invocation = invocation;
     this.proxyFactory = proxyFactory;
-    this.annotationSupport = annotationSupport;
+    this.typeSupport = typeSupport;
+    this.observation = observation;
   }
 
   @Override
@@ -64,7 +67,7 @@ class RelatedResourceHandler implements Function<HalResource, Observable<Object>
     String relation = invocation.getRelation();
     Class<?> relatedResourceType = invocation.getEmissionType();
 
-    if (!isHalApiInterface(relatedResourceType, annotationSupport)
+    if (!HalApiInterfaceMetadata.get(relatedResourceType, typeSupport).isHalApiInterface()
         && !HalApiReflectionUtils.isPlainLink(relatedResourceType)) {
       throw new HalApiDeveloperException("The method " + invocation + " has an invalid emission type " + relatedResourceType.getName() +
           " which does not have a @" + HalApiInterface.class.getSimpleName() + " annotation.");
@@ -124,7 +127,7 @@ class RelatedResourceHandler implements Function<HalResource, Observable<Object>
     }
 
     // if the resources are linked, then we have to fetch those resources first
-    return createProxiesForLinkedHalResources(relatedResourceType, relevantLinks, variables);
+    return createProxiesForLinkedHalResources(relation, relatedResourceType, relevantLinks, variables);
   }
 
   private static boolean linkTemplateHasAllVariables(Link link, Map<String, Object> variables) {
@@ -170,9 +173,12 @@ class RelatedResourceHandler implements Function<HalResource, Observable<Object>
         });
   }
 
-  private Observable<Object> createProxiesForLinkedHalResources(Class<?> relatedResourceType, List<Link> links, Map<String, Object> parameters) {
+  private Observable<Object> createProxiesForLinkedHalResources(String relation, Class<?> relatedResourceType, List<Link> links,
+      Map<String, Object> parameters) {
 
-    return Observable.fromIterable(links)
+    Observable<Object> rxProxies = Observable.fromIterable(links)
+        // keep track of the resolved links that are followed, so that the linked resources can be prefetched in the future
+        .doOnNext(link -> observeFollowedLink(relation, relatedResourceType, link))
         // if the link is templated then expand it with the method parameters
         .map(link -> link.isTemplated() ? expandLinkTemplates(link, parameters) : link)
         .map(link -> {
@@ -185,6 +191,26 @@ class RelatedResourceHandler implements Function<HalResource, Observable<Object>
           // otherwise create a new proxy implementing the HalApiInterface of the link target
           return proxyFactory.createProxyFromLink(relatedResourceType, link);
         });
+
+    int prefetchConcurrency = proxyFactory.getPrefetchConcurrency(relation);
+    if (prefetchConcurrency > 0 && links.size() > 1 && !Link.class.equals(relatedResourceType)) {
+
+      // all proxies are created immediately, so that loading of the linked resources can already be started
+      List<Object> proxies = rxProxies.toList().blockingGet();
+      ClientProxyPrefetching.prefetch(proxies, prefetchConcurrency);
+
+      return Observable.fromIterable(proxies);
+    }
+
+    return rxProxies;
+  }
+
+  private void observeFollowedLink(String relation, Class<?> relatedResourceType, Link link) {
+
+    // templated links (and methods that only emit links) can't be considered for speculative prefetching
+    if (observation != null && !link.isTemplated() && !Link.class.equals(relatedResourceType)) {
+      observation.onLinkFollowed(relation, link.getHref());
+    }
   }
 
   private static Link expandLinkTemplates(Link link, Map<String, Object> parameters) {
@@ -28,7 +28,6 @@ import io.reactivex.rxjava3.core.Observable;
 import io.wcm.caravan.hal.resource.HalResource;
 import io.wcm.caravan.hal.resource.Link;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
-import io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 
 class ResourcePropertyHandler implements Function<HalResource, Observable<Object>> {
@@ -36,17 +35,20 @@ class ResourcePropertyHandler implements Function<HalResource, Observable<Object
   private final HalApiMethodInvocation invocation;
   private final HalApiTypeSupport typeSupport;
   private final ObjectMapper objectMapper;
+  private final ResourceStateCacheImpl resourceStateCache;
 
-  ResourcePropertyHandler(HalApiMethodInvocation invocation, HalApiTypeSupport typeSupport, ObjectMapper objectMapper) {
+  ResourcePropertyHandler(HalApiMethodInvocation invocation, HalApiTypeSupport typeSupport, ObjectMapper objectMapper,
+      ResourceStateCacheImpl resourceStateCache) {
     this.invocation = invocation;
     this.typeSupport = typeSupport;
     this.objectMapper = objectMapper;
+    this.resourceStateCache = resourceStateCache;
   }
 
   @Override
   public Observable<Object> apply(HalResource contextResource) {
 
-    String propertyName = HalApiReflectionUtils.getPropertyName(invocation.getMethod(), typeSupport);
+    String propertyName = invocation.getPropertyName();
 
     JsonNode jsonNode = contextResource.getModel().path(propertyName);
 
@@ -62,7 +64,7 @@ class ResourcePropertyHandler implements Function<HalResource, Observable<Object
       return Observable.empty();
     }
 
-    if (typeSupport.isProviderOfMultiplerValues(invocation.getReturnType())) {
+    if (invocation.isMultiValue()) {
       if (!jsonNode.isArray()) {
         return errorObservable("The JSON property '" + propertyName + "' is of type " + jsonNode.getNodeType()
             + " but an array was expected. Please adjust " + invocation + " accordingly", contextResource);
@@ -81,6 +83,11 @@ class ResourcePropertyHandler implements Function<HalResource, Observable<Object
   }
 
   Object convertToJavaObject(HalApiMethodInvocation invocation, JsonNode jsonNode) {
+
+    // if the JSON is taken from a caching resource loader, the object converted in a previous request can be re-used
+    if (resourceStateCache != null) {
+      return resourceStateCache.convertValue(objectMapper, jsonNode, invocation.getEmissionType());
+    }
     return objectMapper.convertValue(jsonNode, invocation.getEmissionType());
   }
 
@@ -0,0 +1,211 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.proxy;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.wcm.caravan.rhyme.api.client.ResourceStateCache;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * Implementation of {@link ResourceStateCache} that uses the identity of the {@link JsonNode} being converted
+ * as (weak) key, so that converted objects can only be re-used as long as the exact same JSON instance is still
+ * being used (and referenced) by a caching resource loader. As the off-heap and persistent caches decode a new JSON
+ * tree whenever a response is loaded, the objects converted from an entire resource body are instead identified by
+ * the URI, timestamp and version of the response from which it was taken (if the response was retrieved from a caching
+ * loader). The version is the entity tag of the response, or a hash code of the body if the response doesn't have an
+ * entity tag, so that different bodies with the same timestamp (e.g. if a coarse or fixed clock is used) are never
+ * mixed up. Only the objects converted from the latest response for each URI are kept.
+ */
+public final class ResourceStateCacheImpl implements ResourceStateCache {
+
+  static final long DEFAULT_MAX_NUM_ITEMS = 10000;
+
+  private final Cache<JsonNode, Map<ConversionTarget, Object>> conversions;
+
+  private final Cache<JsonNode, ResponseKey> responseKeys;
+  private final Cache<String, ResponseConversions> conversionsByUri;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Create an instance with default settings
+   */
+  public ResourceStateCacheImpl() {
+    this(DEFAULT_MAX_NUM_ITEMS);
+  }
+
+  /**
+   * @param maxNumItems the maximum number of JSON nodes for which converted objects are kept
+   */
+  public ResourceStateCacheImpl(long maxNumItems) {
+    this.conversions = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(maxNumItems)
+        .build();
+    this.responseKeys = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(maxNumItems)
+        .build();
+    this.conversionsByUri = CacheBuilder.newBuilder()
+        .maximumSize(maxNumItems)
+        .build();
+  }
+
+  /**
+   * Keeps track of the response from which a resource body was taken, so that objects converted from that body can be
+   * re-used even if the same response is decoded again into a new JSON tree (e.g. by an off-heap cache)
+   * @param response that was retrieved by the resource loader
+   */
+  void registerResponse(HalResponse response) {
+
+    if (response.getBody() == null || response.getUri() == null || response.getTimestamp() == null) {
+      return;
+    }
+
+    JsonNode body = response.getBody().getModel();
+
+    // the body's hash code is only calculated if there is no entity tag that identifies the version of the response
+    String version = response.getEntityTag() != null ? response.getEntityTag() : "#" + body.hashCode();
+
+    responseKeys.put(body, new ResponseKey(response.getUri(), response.getTimestamp(), version));
+  }
+
+  Object convertValue(ObjectMapper objectMapper, JsonNode jsonNode, Class<?> targetType) {
+
+    ConversionTarget target = new ConversionTarget(objectMapper, targetType);
+
+    ResponseKey responseKey = responseKeys.getIfPresent(jsonNode);
+
+    Map<ConversionTarget, Object> convertedObjects = responseKey != null
+        ? getConversionsForResponse(responseKey)
+        : conversions.asMap().computeIfAbsent(jsonNode, node -> new ConcurrentHashMap<>());
+
+    Object cached = convertedObjects.get(target);
+    if (cached != null) {
+      hitCount.increment();
+      return cached;
+    }
+
+    missCount.increment();
+
+    Object converted = objectMapper.convertValue(jsonNode, targetType);
+    if (converted != null) {
+      convertedObjects.put(target, converted);
+    }
+    return converted;
+  }
+
+  private Map<ConversionTarget, Object> getConversionsForResponse(ResponseKey responseKey) {
+
+    // objects converted from an older response for the same URI are discarded as soon as a newer response is used
+    // (or if a different version of the response with the same timestamp is used)
+    ResponseConversions latest = conversionsByUri.asMap().compute(responseKey.uri,
+        (uri, existing) -> existing == null || !existing.key.isNewerThanOrSameAs(responseKey) ? new ResponseConversions(responseKey) : existing);
+
+    // if a newer response was already used, the objects converted from an outdated response are not kept at all
+    return latest.key.isSameVersionAs(responseKey) ? latest.convertedObjects : new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  @Override
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  long getSize() {
+    conversions.cleanUp();
+    return conversions.size() + conversionsByUri.size();
+  }
+
+  private static final class ResponseKey {
+
+    private final String uri;
+    private final Instant timestamp;
+    private final String version;
+
+    ResponseKey(String uri, Instant timestamp, String version) {
+      this.uri = uri;
+      this.timestamp = timestamp;
+      this.version = version;
+    }
+
+    boolean isSameVersionAs(ResponseKey other) {
+      return timestamp.equals(other.timestamp) && version.equals(other.version);
+    }
+
+    boolean isNewerThanOrSameAs(ResponseKey other) {
+      return timestamp.isAfter(other.timestamp) || isSameVersionAs(other);
+    }
+  }
+
+  private static final class ResponseConversions {
+
+    private final ResponseKey key;
+    private final Map<ConversionTarget, Object> convertedObjects = new ConcurrentHashMap<>();
+
+    ResponseConversions(ResponseKey key) {
+      this.key = key;
+    }
+  }
+
+  /**
+   * Objects converted with different {@link ObjectMapper} instances (that might be configured differently)
+   * must not be mixed up
+   */
+  private static final class ConversionTarget {
+
+    private final ObjectMapper objectMapper;
+    private final Class<?> targetType;
+
+    ConversionTarget(ObjectMapper objectMapper, Class<?> targetType) {
+      this.objectMapper = objectMapper;
+      this.targetType = targetType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ConversionTarget)) {
+        return false;
+      }
+      ConversionTarget other = (ConversionTarget)obj;
+      return objectMapper == other.objectMapper && targetType == other.targetType;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(objectMapper), targetType);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.reactivex.rxjava3.core.Observable;
@@ -37,11 +38,14 @@ class ResourceStateHandler implements Function<HalResource, Observable<Object>>
   private final HalApiMethodInvocation invocation;
   private final HalApiTypeSupport typeSupport;
   private final ObjectMapper objectMapper;
+  private final ResourceStateCacheImpl resourceStateCache;
 
-  ResourceStateHandler(HalApiMethodInvocation invocation, HalApiTypeSupport typeSupport, ObjectMapper objectMapper) {
+  ResourceStateHandler(HalApiMethodInvocation invocation, HalApiTypeSupport typeSupport, ObjectMapper objectMapper,
+      ResourceStateCacheImpl resourceStateCache) {
     this.invocation = invocation;
     this.typeSupport = typeSupport;
     this.objectMapper = objectMapper;
+    this.resourceStateCache = resourceStateCache;
   }
 
   @Override
@@ -59,8 +63,17 @@ class ResourceStateHandler implements Function<HalResource, Observable<Object>>
     }
 
     // if it is an observable then we have to use the emission type as target of the conversion
-    Object properties = objectMapper.convertValue(contextResource.getModel(), invocation.getEmissionType());
+    Object properties = convertToJavaObject(contextResource.getModel());
 
     return Observable.just(properties);
   }
+
+  private Object convertToJavaObject(JsonNode jsonNode) {
+
+    // if the JSON is taken from a caching resource loader, the object converted in a previous request can be re-used
+    if (resourceStateCache != null) {
+      return resourceStateCache.convertValue(objectMapper, jsonNode, invocation.getEmissionType());
+    }
+    return objectMapper.convertValue(jsonNode, invocation.getEmissionType());
+  }
 }
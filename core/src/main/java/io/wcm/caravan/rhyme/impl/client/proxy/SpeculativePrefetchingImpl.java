@@ -0,0 +1,399 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.client.SpeculativePrefetching;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+
+/**
+ * Implementation of {@link SpeculativePrefetching} that keeps statistics on loaded resources and followed relations
+ * for each HAL API interface (across all clients). Each {@link HalApiClientProxyFactory} uses its own
+ * {@link Session} to observe its proxies, start the prefetches and check which of them were actually used.
+ */
+public final class SpeculativePrefetchingImpl implements SpeculativePrefetching {
+
+  /**
+   * the number of prefetches for a relation that were suppressed because of its waste ratio, after which the waste
+   * ratio is measured again
+   */
+  static final int SUPPRESSED_PREFETCHES_BEFORE_RETRY = 100;
+
+  private static final Logger log = LoggerFactory.getLogger(SpeculativePrefetchingImpl.class);
+
+  // the interfaces are weakly referenced (and compared by identity), so that classes can still be unloaded
+  private final Cache<Class<?>, InterfaceStatistics> statistics = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build();
+
+  private final LongAdder prefetchCount = new LongAdder();
+  private final LongAdder usedCount = new LongAdder();
+  private final LongAdder suppressedCount = new LongAdder();
+
+  // the settings may be changed after sessions were created, and are read by the threads that load the resources
+  private volatile int minSamples = 10;
+  private volatile double minFollowRatio = 0.8;
+  private volatile double maxWasteRatio = 0.25;
+  private volatile int maxPrefetchesPerClient = 50;
+  private volatile int maxConcurrency = 4;
+
+  @Override
+  public SpeculativePrefetching withMinimumSamples(int value) {
+    checkArgument(value > 0, "The minimum number of samples must be greater than 0");
+    minSamples = value;
+    return this;
+  }
+
+  @Override
+  public SpeculativePrefetching withMinimumFollowRatio(double value) {
+    checkArgument(value > 0 && value <= 1, "The minimum follow ratio must be greater than 0 and not greater than 1");
+    minFollowRatio = value;
+    return this;
+  }
+
+  @Override
+  public SpeculativePrefetching withMaxWasteRatio(double value) {
+    checkArgument(value >= 0 && value <= 1, "The maximum waste ratio must be between 0 and 1");
+    maxWasteRatio = value;
+    return this;
+  }
+
+  @Override
+  public SpeculativePrefetching withMaxPrefetchesPerClient(int value) {
+    checkArgument(value >= 0, "The maximum number of prefetches per client must not be negative");
+    maxPrefetchesPerClient = value;
+    return this;
+  }
+
+  @Override
+  public SpeculativePrefetching withMaxConcurrency(int value) {
+    checkArgument(value > 0, "The maximum concurrency must be greater than 0");
+    maxConcurrency = value;
+    return this;
+  }
+
+  private static void checkArgument(boolean condition, String message) {
+    if (!condition) {
+      throw new HalApiDeveloperException(message);
+    }
+  }
+
+  @Override
+  public long getPrefetchCount() {
+    return prefetchCount.sum();
+  }
+
+  @Override
+  public long getUsedPrefetchCount() {
+    return usedCount.sum();
+  }
+
+  @Override
+  public long getWastedPrefetchCount() {
+    return prefetchCount.sum() - usedCount.sum();
+  }
+
+  @Override
+  public long getSuppressedPrefetchCount() {
+    return suppressedCount.sum();
+  }
+
+  /**
+   * @param resourceLoader the loader of the client (which must ensure that the same resource is only loaded once)
+   * @return a new {@link Session} to be used by a single {@link HalApiClientProxyFactory}
+   */
+  Session createSession(HalResourceLoader resourceLoader) {
+    return new Session(resourceLoader);
+  }
+
+  private InterfaceStatistics getStatistics(Class<?> halApiInterface) {
+    return statistics.asMap().computeIfAbsent(halApiInterface, InterfaceStatistics::new);
+  }
+
+  /**
+   * Keeps track of the resources that were prefetched or requested by the proxies of a single client
+   */
+  final class Session {
+
+    private final HalResourceLoader resourceLoader;
+
+    private final Set<String> requestedUrls = ConcurrentHashMap.newKeySet();
+    private final Map<String, Queue<Runnable>> callbacksOnRequest = new ConcurrentHashMap<>();
+    private final Map<String, RelationStatistics> pendingPrefetches = new ConcurrentHashMap<>();
+    private final AtomicInteger numPrefetches = new AtomicInteger();
+
+    private Session(HalResourceLoader resourceLoader) {
+      this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * @param halApiInterface the type of the proxy
+     * @return a new {@link ResourceObservation} for a client proxy that is loading its resource from a link
+     */
+    ResourceObservation observe(Class<?> halApiInterface) {
+      return new ResourceObservation(this, getStatistics(halApiInterface));
+    }
+
+    /**
+     * @param url of a resource that is requested by a client proxy (but not if it is just prefetched with
+     *          {@link ClientProxyPrefetching}, as that doesn't mean that the consumer is actually using the resource)
+     */
+    void onResourceRequested(String url) {
+
+      requestedUrls.add(url);
+
+      Queue<Runnable> callbacks = callbacksOnRequest.remove(url);
+      if (callbacks != null) {
+        callbacks.forEach(Runnable::run);
+      }
+
+      RelationStatistics relation = pendingPrefetches.remove(url);
+      if (relation != null) {
+        relation.onPrefetchUsed();
+        usedCount.increment();
+      }
+    }
+
+    /**
+     * @param url of a resource
+     * @param callback to run as soon as the resource is requested by a client proxy (it may be run more than once)
+     */
+    private void whenRequested(String url, Runnable callback) {
+
+      callbacksOnRequest.computeIfAbsent(url, u -> new ConcurrentLinkedQueue<>()).add(callback);
+
+      // the resource may already have been requested before (or concurrently)
+      if (requestedUrls.contains(url)) {
+        callback.run();
+      }
+    }
+
+    private void prefetchLinkedResources(InterfaceStatistics interfaceStats, HalResource hal) {
+
+      List<Single<HalResponse>> prefetches = new ArrayList<>();
+
+      for (RelationStatistics relation : interfaceStats.getRelationsToPrefetch()) {
+
+        // the budget is checked only once for all links, as the prefetches just started cannot have been used yet
+        boolean withinWasteBudget = relation.isWithinWasteBudget();
+
+        for (String url : getLinkedUrls(hal, relation.name)) {
+
+          // nothing to do if the resource was already requested (by a proxy, or another prefetch)
+          if (requestedUrls.contains(url) || pendingPrefetches.containsKey(url)) {
+            continue;
+          }
+
+          if (!withinWasteBudget) {
+            relation.onPrefetchSuppressed();
+            suppressedCount.increment();
+            continue;
+          }
+
+          // the limit for the client doesn't say anything about the relation, so it must not affect its waste statistics
+          if (numPrefetches.incrementAndGet() > maxPrefetchesPerClient) {
+            suppressedCount.increment();
+            continue;
+          }
+
+          pendingPrefetches.put(url, relation);
+          relation.onPrefetchStarted();
+          prefetchCount.increment();
+
+          prefetches.add(resourceLoader.getHalResource(url));
+        }
+      }
+
+      if (prefetches.isEmpty()) {
+        return;
+      }
+
+      log.debug("Speculatively prefetching {} resources linked from a {} resource", prefetches.size(), interfaceStats.interfaceName);
+
+      Flowable.fromIterable(prefetches)
+          .flatMapMaybe(rxResponse -> rxResponse.toMaybe()
+              // failed requests will be retried (and the error handled) when the resource is requested by a proxy
+              .doOnError(ex -> log.debug("Failed to prefetch a resource", ex))
+              .onErrorComplete(), false, maxConcurrency)
+          .subscribe();
+    }
+
+    private List<String> getLinkedUrls(HalResource hal, String relation) {
+
+      Set<String> embeddedHrefs = hal.getEmbedded(relation).stream()
+          .map(HalResource::getLink)
+          .filter(Objects::nonNull)
+          .map(Link::getHref)
+          .collect(Collectors.toSet());
+
+      return hal.getLinks(relation).stream()
+          .filter(link -> !link.isTemplated())
+          .map(Link::getHref)
+          .filter(href -> href != null && !embeddedHrefs.contains(href))
+          .distinct()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Observes the resource of a single client proxy, and the relations that are followed from it
+   */
+  static final class ResourceObservation {
+
+    private final Session session;
+    private final InterfaceStatistics interfaceStats;
+
+    private final AtomicBoolean loaded = new AtomicBoolean();
+    private final Set<String> followedRelations = ConcurrentHashMap.newKeySet();
+
+    private ResourceObservation(Session session, InterfaceStatistics interfaceStats) {
+      this.session = session;
+      this.interfaceStats = interfaceStats;
+    }
+
+    /**
+     * @param hal the resource that was loaded (this is called for every subscription, but only the first one counts)
+     */
+    void onResourceLoaded(HalResource hal) {
+
+      if (loaded.compareAndSet(false, true)) {
+        session.prefetchLinkedResources(interfaceStats, hal);
+        interfaceStats.loadCount.increment();
+      }
+    }
+
+    /**
+     * @param relation of a {@link io.wcm.caravan.rhyme.api.annotations.Related} method that was called on the proxy
+     * @param url of a resolved link with that relation, for which a client proxy was created
+     */
+    void onLinkFollowed(String relation, String url) {
+
+      // the relation only counts as followed once a linked resource is actually loaded by a client proxy
+      if (loaded.get() && !followedRelations.contains(relation)) {
+        session.whenRequested(url, () -> onRelationFollowed(relation));
+      }
+    }
+
+    private void onRelationFollowed(String relation) {
+
+      if (followedRelations.add(relation)) {
+        interfaceStats.getRelation(relation).followCount.increment();
+      }
+    }
+  }
+
+  private final class InterfaceStatistics {
+
+    // only the name is kept, as a reference to the (weakly referenced) interface would prevent it from being collected
+    private final String interfaceName;
+    private final LongAdder loadCount = new LongAdder();
+    private final Map<String, RelationStatistics> relations = new ConcurrentHashMap<>();
+
+    private InterfaceStatistics(Class<?> halApiInterface) {
+      this.interfaceName = halApiInterface.getSimpleName();
+    }
+
+    private RelationStatistics getRelation(String relation) {
+      return relations.computeIfAbsent(relation, RelationStatistics::new);
+    }
+
+    private List<RelationStatistics> getRelationsToPrefetch() {
+
+      long numLoaded = loadCount.sum();
+      if (numLoaded < minSamples) {
+        return Collections.emptyList();
+      }
+
+      return relations.values().stream()
+          .filter(relation -> relation.followCount.sum() >= minFollowRatio * numLoaded)
+          .collect(Collectors.toList());
+    }
+  }
+
+  private final class RelationStatistics {
+
+    private final String name;
+    private final LongAdder followCount = new LongAdder();
+
+    private long numPrefetched;
+    private long numUsed;
+    private long numSuppressed;
+
+    private RelationStatistics(String name) {
+      this.name = name;
+    }
+
+    private synchronized boolean isWithinWasteBudget() {
+
+      if (numPrefetched < minSamples) {
+        return true;
+      }
+
+      long numWasted = numPrefetched - numUsed;
+      return numWasted <= maxWasteRatio * numPrefetched;
+    }
+
+    private synchronized void onPrefetchStarted() {
+      numPrefetched++;
+    }
+
+    private synchronized void onPrefetchUsed() {
+      numUsed++;
+    }
+
+    private synchronized void onPrefetchSuppressed() {
+
+      numSuppressed++;
+
+      // give the relation another chance, in case the way the resources are used has changed
+      if (numSuppressed >= SUPPRESSED_PREFETCHES_BEFORE_RETRY) {
+        log.debug("Resetting waste statistics for relation {} after {} suppressed prefetches", name, numSuppressed);
+        numPrefetched = 0;
+        numUsed = 0;
+        numSuppressed = 0;
+      }
+    }
+  }
+}
@@ -45,6 +45,10 @@ public class MaxAgeOnlyCollector implements RequestMetricsCollector {
 
   private static final Logger log = LoggerFactory.getLogger(MaxAgeOnlyCollector.class);
 
+  private static final RequestMetricsStopwatch NO_OP_STOPWATCH = () -> {
+    // ignore all measurements
+  };
+
   private final AtomicBoolean metadataWasRendered = new AtomicBoolean();
 
   private final List<TimeMeasurement> inputMaxAgeSeconds = Collections.synchronizedList(new ArrayList<>());
@@ -121,12 +125,6 @@ public class MaxAgeOnlyCollector implements RequestMetricsCollector {
 
   @Override
   public RequestMetricsStopwatch startStopwatch(Class measuringClass, Supplier<String> taskDescription) {
-    return new RequestMetricsStopwatch() {
-
-      @Override
-      public void close() {
-        // ignore all measurements
-      }
-    };
+    return NO_OP_STOPWATCH;
   }
 }
@@ -132,4 +132,17 @@ public class CompositeHalApiTypeSupport implements HalApiTypeSupport {
     return anyMatch(delegate -> delegate.isProviderOfOptionalValue(returnType));
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof CompositeHalApiTypeSupport)) {
+      return false;
+    }
+    return delegates.equals(((CompositeHalApiTypeSupport)obj).delegates);
+  }
+
+  @Override
+  public int hashCode() {
+    return delegates.hashCode();
+  }
+
 }
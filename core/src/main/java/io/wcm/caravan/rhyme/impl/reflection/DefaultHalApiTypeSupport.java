@@ -196,6 +196,18 @@ public class DefaultHalApiTypeSupport implements HalApiTypeSupport {
         || Maybe.class.isAssignableFrom(returnType);
   }
 
+  // all instances of this class behave in exactly the same way, which allows the metadata for
+  // HAL API interfaces and implementation classes to be shared across all clients and renderers
+  @Override
+  public boolean equals(Object obj) {
+    return obj != null && obj.getClass() == getClass();
+  }
+
+  @Override
+  public int hashCode() {
+    return getClass().hashCode();
+  }
+
   /**
    * @param annotationSupport additional support for different annotations
    * @param returnTypeSupport additional support for different return types
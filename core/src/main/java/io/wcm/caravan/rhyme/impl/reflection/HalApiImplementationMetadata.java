@@ -0,0 +1,81 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+
+/**
+ * Immutable information about a server-side resource implementation class that is created only once for each
+ * {@link HalApiTypeSupport} configuration (and kept in a {@link ClassValue}), to avoid that the interface hierarchy
+ * is inspected again whenever an instance is rendered.
+ */
+public final class HalApiImplementationMetadata {
+
+  private static final MetadataClassValue<HalApiImplementationMetadata> METADATA = new MetadataClassValue<>(HalApiImplementationMetadata::new);
+
+  private final Class<?> halApiInterface;
+  private final String halApiInterfaceError;
+  private final String simpleClassName;
+
+  private HalApiImplementationMetadata(Class<?> implClass, HalApiTypeSupport typeSupport) {
+
+    Class<?> foundInterface = null;
+    String error = null;
+    try {
+      foundInterface = HalApiReflectionUtils.findHalApiInterface(implClass, typeSupport);
+    }
+    catch (HalApiDeveloperException ex) {
+      error = ex.getMessage();
+    }
+
+    this.halApiInterface = foundInterface;
+    this.halApiInterfaceError = error;
+    this.simpleClassName = HalApiReflectionUtils.getSimpleClassName(implClass, typeSupport);
+  }
+
+  /**
+   * @param implClass the class of a server-side resource implementation
+   * @param typeSupport the strategy to detect HAL API annotations and perform type conversions
+   * @return the (cached) metadata for the given class and configuration
+   */
+  public static HalApiImplementationMetadata get(Class<?> implClass, HalApiTypeSupport typeSupport) {
+    return METADATA.get(implClass, typeSupport);
+  }
+
+  /**
+   * @return the interface that is annotated with {@link HalApiInterface}
+   * @throws HalApiDeveloperException if none of the implemented interfaces is a valid HAL API interface
+   */
+  public Class<?> getHalApiInterface() {
+
+    if (halApiInterface == null) {
+      throw new HalApiDeveloperException(halApiInterfaceError);
+    }
+    return halApiInterface;
+  }
+
+  /**
+   * @return a name of the class to be used for logging and embedded metadata
+   */
+  public String getSimpleClassName() {
+    return simpleClassName;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableList;
+
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+
+/**
+ * Immutable information about an interface (annotated with {@link HalApiInterface}) that is created only once for
+ * each {@link HalApiTypeSupport} configuration (and kept in a {@link ClassValue}). This avoids that the
+ * annotations, method signatures and relations are inspected again whenever a client proxy method is called or a
+ * resource implementation is rendered.
+ */
+public final class HalApiInterfaceMetadata {
+
+  private static final MetadataClassValue<HalApiInterfaceMetadata> METADATA = new MetadataClassValue<>(HalApiInterfaceMetadata::new);
+
+  private final Class<?> interfaze;
+  private final HalApiTypeSupport typeSupport;
+
+  private final boolean halApiInterface;
+  private final Method resourceStateMethod;
+  private final List<HalApiMethodMetadata> resourcePropertyMethods;
+  private final List<HalApiMethodMetadata> sortedRelatedResourceMethods;
+
+  private final Map<Method, HalApiMethodMetadata> methods = new ConcurrentHashMap<>();
+
+  private HalApiInterfaceMetadata(Class<?> interfaze, HalApiTypeSupport typeSupport) {
+
+    this.interfaze = interfaze;
+    this.typeSupport = typeSupport;
+
+    this.halApiInterface = HalApiReflectionUtils.isHalApiInterface(interfaze, typeSupport);
+
+    this.resourceStateMethod = HalApiReflectionUtils.findResourceStateMethod(interfaze, typeSupport).orElse(null);
+
+    this.resourcePropertyMethods = HalApiReflectionUtils.findResourcePropertyMethods(interfaze, typeSupport).stream()
+        .map(this::getMethod)
+        .collect(ImmutableList.toImmutableList());
+
+    this.sortedRelatedResourceMethods = HalApiReflectionUtils.getSortedRelatedResourceMethods(interfaze, typeSupport).stream()
+        .map(this::getMethod)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * @param interfaze an interface annotated with {@link HalApiInterface} (either directly or by extending)
+   * @param typeSupport the strategy to detect HAL API annotations and perform type conversions
+   * @return the (cached) metadata for the given interface and configuration
+   */
+  public static HalApiInterfaceMetadata get(Class<?> interfaze, HalApiTypeSupport typeSupport) {
+    return METADATA.get(interfaze, typeSupport);
+  }
+
+  /**
+   * @return the interface
+   */
+  public Class<?> getInterface() {
+    return interfaze;
+  }
+
+  /**
+   * @return true if the interface is (or extends another interface) annotated with {@link HalApiInterface}
+   */
+  public boolean isHalApiInterface() {
+    return halApiInterface;
+  }
+
+  /**
+   * @return the method annotated with {@link ResourceState}
+   */
+  public Optional<Method> getResourceStateMethod() {
+    return Optional.ofNullable(resourceStateMethod);
+  }
+
+  /**
+   * @return all methods annotated with {@link ResourceProperty}
+   */
+  public List<HalApiMethodMetadata> getResourcePropertyMethods() {
+    return resourcePropertyMethods;
+  }
+
+  /**
+   * @return all methods annotated with {@link Related}, with standard relations before custom relations
+   */
+  public List<HalApiMethodMetadata> getSortedRelatedResourceMethods() {
+    return sortedRelatedResourceMethods;
+  }
+
+  /**
+   * @param method any method of this interface
+   * @return the metadata for that method (which will only be created on first access)
+   */
+  public HalApiMethodMetadata getMethod(Method method) {
+
+    HalApiMethodMetadata metadata = methods.get(method);
+    if (metadata == null) {
+      metadata = methods.computeIfAbsent(method, m -> new HalApiMethodMetadata(interfaze, m, typeSupport));
+    }
+    return metadata;
+  }
+}
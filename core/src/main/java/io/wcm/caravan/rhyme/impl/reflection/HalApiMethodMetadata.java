@@ -0,0 +1,188 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.annotations.ResourceLink;
+import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
+import io.wcm.caravan.rhyme.api.annotations.ResourceRepresentation;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.TemplateVariableAccessor;
+
+/**
+ * Immutable information about a single method of a HAL API interface that is created only once (by
+ * {@link HalApiInterfaceMetadata}) for each {@link HalApiTypeSupport} configuration. It is shared by the client
+ * proxies and the server-side renderer.
+ */
+public final class HalApiMethodMetadata {
+
+  /**
+   * Defines how a method is handled, depending on its annotation
+   */
+  public enum Kind {
+
+    /** a method annotated with {@link ResourceLink} */
+    RESOURCE_LINK,
+
+    /** a method annotated with {@link ResourceState} */
+    RESOURCE_STATE,
+
+    /** a method annotated with {@link ResourceProperty} */
+    RESOURCE_PROPERTY,
+
+    /** a method annotated with {@link Related} */
+    RELATED_RESOURCE,
+
+    /** a method annotated with {@link ResourceRepresentation} */
+    RESOURCE_REPRESENTATION,
+
+    /** a method without any of the supported annotations */
+    UNSUPPORTED
+  }
+
+  private final Class<?> interfaze;
+  private final Method method;
+  private final Kind kind;
+  private final String relation;
+  private final String propertyName;
+  private final boolean multiValue;
+  private final boolean templatedReturnType;
+  private final boolean toStringMethod;
+
+  // these are only created when required for the first time, as they will fail for invalid method signatures
+  private final Supplier<Class<?>> emissionType;
+  private final Supplier<List<TemplateVariableAccessor>> templateVariables;
+
+  HalApiMethodMetadata(Class<?> interfaze, Method method, HalApiTypeSupport typeSupport) {
+
+    this.interfaze = interfaze;
+    this.method = method;
+    this.kind = detectKind(method, typeSupport);
+    this.relation = typeSupport.isRelatedResourceMethod(method) ? typeSupport.getRelation(method) : null;
+    this.propertyName = typeSupport.isResourcePropertyMethod(method) ? HalApiReflectionUtils.getPropertyName(method, typeSupport) : null;
+    this.multiValue = typeSupport.isProviderOfMultiplerValues(method.getReturnType());
+    this.templatedReturnType = method.getGenericReturnType() instanceof ParameterizedType;
+    this.toStringMethod = "toString".equals(method.getName()) && method.getParameterCount() == 0;
+
+    this.emissionType = Suppliers.memoize(
+        () -> templatedReturnType ? RxJavaReflectionUtils.getObservableEmissionType(method, typeSupport) : method.getReturnType());
+    this.templateVariables = Suppliers.memoize(() -> TemplateVariableDetection.createAccessors(method));
+  }
+
+  private static Kind detectKind(Method method, HalApiTypeSupport typeSupport) {
+
+    if (typeSupport.isResourceLinkMethod(method)) {
+      return Kind.RESOURCE_LINK;
+    }
+    if (typeSupport.isResourceStateMethod(method)) {
+      return Kind.RESOURCE_STATE;
+    }
+    if (typeSupport.isResourcePropertyMethod(method)) {
+      return Kind.RESOURCE_PROPERTY;
+    }
+    if (typeSupport.isRelatedResourceMethod(method)) {
+      return Kind.RELATED_RESOURCE;
+    }
+    if (typeSupport.isResourceRepresentationMethod(method)) {
+      return Kind.RESOURCE_REPRESENTATION;
+    }
+    return Kind.UNSUPPORTED;
+  }
+
+  /**
+   * @return the interface that was inspected (which isn't necessarily the class declaring the method)
+   */
+  public Class<?> getInterface() {
+    return interfaze;
+  }
+
+  /**
+   * @return the method
+   */
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * @return how the method should be handled (according to its annotation)
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the relation from the {@link Related} annotation (or null for any other kind of method)
+   */
+  public String getRelation() {
+    return relation;
+  }
+
+  /**
+   * @return the JSON property name for a method annotated with {@link ResourceProperty} (or null for any other kind
+   *         of method)
+   */
+  public String getPropertyName() {
+    return propertyName;
+  }
+
+  /**
+   * @return true if the return type of this method can provide multiple values (e.g. an Observable or List)
+   */
+  public boolean isMultiValue() {
+    return multiValue;
+  }
+
+  /**
+   * @return true if the return type is a generic type (e.g. a {@link io.reactivex.rxjava3.core.Single})
+   */
+  public boolean hasTemplatedReturnType() {
+    return templatedReturnType;
+  }
+
+  /**
+   * @return true if this is the {@link Object#toString()} method
+   */
+  public boolean isToStringMethod() {
+    return toStringMethod;
+  }
+
+  /**
+   * @return the type of the objects emitted by the (reactive) return type
+   * @throws io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException if the return type is not supported
+   */
+  public Class<?> getEmissionType() {
+    return emissionType.get();
+  }
+
+  /**
+   * @return the accessors for all template variables in the method signature
+   * @throws io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException if the variable names cannot be determined
+   */
+  public List<TemplateVariableAccessor> getTemplateVariables() {
+    return templateVariables.get();
+  }
+}
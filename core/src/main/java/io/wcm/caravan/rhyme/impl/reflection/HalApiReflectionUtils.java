@@ -107,12 +107,17 @@ public final class HalApiReflectionUtils {
    */
   public static Class<?> findHalApiInterface(Object resourceImplInstance, HalApiAnnotationSupport annotationSupport) {
 
-    Class<?> halApiInterface = collectInterfaces(resourceImplInstance.getClass()).stream()
+    return findHalApiInterface(resourceImplInstance.getClass(), annotationSupport);
+  }
+
+  static Class<?> findHalApiInterface(Class<?> implClass, HalApiAnnotationSupport annotationSupport) {
+
+    Class<?> halApiInterface = collectInterfaces(implClass).stream()
         .filter(annotationSupport::isHalApiInterface)
         .findFirst()
         .orElseThrow(
             () -> new HalApiDeveloperException(
-                "None of the interfaces implemented by the given class " + resourceImplInstance.getClass().getName() + " has a @"
+                "None of the interfaces implemented by the given class " + implClass.getName() + " has a @"
                     + HalApiInterface.class.getSimpleName() + " annotation"));
 
     if (!Modifier.isPublic(halApiInterface.getModifiers())) {
@@ -188,14 +193,17 @@ public final class HalApiReflectionUtils {
    */
   public static String getSimpleClassName(Object resourceImplInstance, HalApiAnnotationSupport annotationSupport) {
 
-    Class<?> implClass = resourceImplInstance.getClass();
+    return getSimpleClassName(resourceImplInstance.getClass(), annotationSupport);
+  }
+
+  static String getSimpleClassName(Class<?> implClass, HalApiAnnotationSupport annotationSupport) {
 
     if (!implClass.isAnonymousClass()) {
       return implClass.getSimpleName();
     }
 
     try {
-      Class<?> apiInterface = findHalApiInterface(resourceImplInstance, annotationSupport);
+      Class<?> apiInterface = findHalApiInterface(implClass, annotationSupport);
 
       return "anonymous " + apiInterface.getSimpleName() + " (defined in " + implClass.getEnclosingClass().getSimpleName() + ")";
     }
@@ -20,6 +20,7 @@
 package io.wcm.caravan.rhyme.impl.reflection;
 
 import java.lang.reflect.Method;
+import java.util.Objects;
 import java.util.function.Function;
 
 import io.reactivex.rxjava3.core.Observable;
@@ -128,6 +129,20 @@ public class HalApiTypeSupportAdapter implements HalApiTypeSupport {
     return returnTypeSupport.isProviderOfOptionalValue(returnType);
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof HalApiTypeSupportAdapter)) {
+      return false;
+    }
+    HalApiTypeSupportAdapter other = (HalApiTypeSupportAdapter)obj;
+    return annotationSupport.equals(other.annotationSupport) && returnTypeSupport.equals(other.returnTypeSupport);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(annotationSupport, returnTypeSupport);
+  }
+
   static class NoAdditionalReturnTypeSupport implements HalApiReturnTypeSupport {
 
     @Override
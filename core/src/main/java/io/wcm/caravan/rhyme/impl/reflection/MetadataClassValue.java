@@ -0,0 +1,68 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Holds metadata that was created by inspecting a class with a specific {@link HalApiTypeSupport} configuration.
+ * The {@link HalApiTypeSupport} implementations are comparing equal if they are using the same configuration,
+ * so the metadata is only created once for each class and configuration, even if new {@link HalApiTypeSupport}
+ * instances are created for each request.
+ * @param <T> the metadata type
+ */
+final class MetadataClassValue<T> extends ClassValue<Cache<HalApiTypeSupport, T>> {
+
+  // usually there will only be a single configuration, but this limit ensures that the memory usage is bounded
+  // even if new (non-equal) SPI implementations are used for each request
+  private static final int MAX_CONFIGURATIONS_PER_CLASS = 16;
+
+  private final BiFunction<Class<?>, HalApiTypeSupport, T> factory;
+
+  MetadataClassValue(BiFunction<Class<?>, HalApiTypeSupport, T> factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  protected Cache<HalApiTypeSupport, T> computeValue(Class<?> type) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_CONFIGURATIONS_PER_CLASS)
+        .build();
+  }
+
+  T get(Class<?> clazz, HalApiTypeSupport typeSupport) {
+    try {
+      return get(clazz).get(typeSupport, () -> factory.apply(clazz, typeSupport));
+    }
+    catch (UncheckedExecutionException | ExecutionException | ExecutionError ex) {
+      // the factory functions never throw any checked exceptions, so it's safe to re-throw the original exception
+      if (ex.getCause() instanceof Error) {
+        throw (Error)ex.getCause();
+      }
+      throw (RuntimeException)ex.getCause();
+    }
+  }
+}
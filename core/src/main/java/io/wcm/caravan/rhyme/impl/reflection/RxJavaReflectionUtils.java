@@ -61,16 +61,15 @@ public final class RxJavaReflectionUtils {
   public static Observable<Object> invokeMethodAndReturnObservable(Object resourceImplInstance, Method method, RequestMetricsCollector metrics,
       HalApiTypeSupport typeSupport) {
 
-    String fullMethodName = HalApiReflectionUtils.getClassAndMethodName(resourceImplInstance, method, typeSupport);
-
-    try (RequestMetricsStopwatch sw = metrics.startStopwatch(AsyncHalResponseRenderer.class, () -> "calls to " + fullMethodName)) {
+    try (RequestMetricsStopwatch sw = metrics.startStopwatch(AsyncHalResponseRenderer.class,
+        () -> "calls to " + getClassAndMethodName(resourceImplInstance, method, typeSupport))) {
 
       Object[] args = new Object[method.getParameterCount()];
       Object returnValue = method.invoke(resourceImplInstance, args);
 
       if (returnValue == null) {
-        throw new HalApiDeveloperException(
-            fullMethodName + " must not return null. You should return an empty Maybe/Observable if the related resource does not exist");
+        throw new HalApiDeveloperException(getClassAndMethodName(resourceImplInstance, method, typeSupport)
+            + " must not return null. You should return an empty Maybe/Observable if the related resource does not exist");
       }
 
       return convertToObservable(returnValue, typeSupport);
@@ -80,13 +79,20 @@ public final class RxJavaReflectionUtils {
       if (cause instanceof RuntimeException) {
         throw ((RuntimeException)cause);
       }
-      throw new HalApiServerException(500, "A checked exception was thrown when calling " + fullMethodName, cause);
+      throw new HalApiServerException(500, "A checked exception was thrown when calling " + getClassAndMethodName(resourceImplInstance, method, typeSupport),
+          cause);
     }
     catch (IllegalAccessException | IllegalArgumentException ex) {
-      throw new HalApiDeveloperException("Failed to invoke method " + fullMethodName, ex);
+      throw new HalApiDeveloperException("Failed to invoke method " + getClassAndMethodName(resourceImplInstance, method, typeSupport), ex);
     }
   }
 
+  private static String getClassAndMethodName(Object resourceImplInstance, Method method, HalApiTypeSupport typeSupport) {
+
+    // the full method name is only required for metrics and error messages, so it's only created when needed
+    return "#" + method.getName() + " of " + HalApiImplementationMetadata.get(resourceImplInstance.getClass(), typeSupport).getSimpleClassName();
+  }
+
   /**
    * @param method a method that returns a Observable
    * @return the type of the emitted results
@@ -37,6 +37,8 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+import com.google.common.collect.ImmutableList;
+
 import io.wcm.caravan.rhyme.api.annotations.Related;
 import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
 import io.wcm.caravan.rhyme.api.annotations.TemplateVariables;
@@ -64,10 +66,21 @@ public final class TemplateVariableDetection {
    */
   public static Map<String, Object> getVariablesNameValueMap(Method method, Optional<Object[]> methodArgs) {
 
+    return getVariablesNameValueMap(createAccessors(method), methodArgs.orElse(null));
+  }
+
+  /**
+   * Populates the values of template variables from the arguments of a method call, using the accessors that were
+   * created (only once) for the method with {@link #createAccessors(Method)}
+   * @param accessors for all template variables in the signature of a {@link Related} method
+   * @param args the values of each argument provided in the method call (can be null)
+   * @return an object with the variable names and keys, and the corresponding values (which can be null)
+   */
+  public static Map<String, Object> getVariablesNameValueMap(List<TemplateVariableAccessor> accessors, Object[] args) {
+
     Map<String, Object> map = new LinkedHashMap<>();
 
-    findVariables(method, methodArgs)
-        .forEach(def -> map.put(def.getName(), def.getValue()));
+    accessors.forEach(accessor -> map.put(accessor.getName(), accessor.getValue(args)));
 
     return map;
   }
@@ -80,31 +93,39 @@ public final class TemplateVariableDetection {
    */
   public static List<TemplateVariableWithTypeInfo> findVariables(Method method, Optional<Object[]> methodArgs) {
 
-    Object[] args;
-    if (methodArgs.isPresent()) {
-      args = methodArgs.get();
-    }
-    else {
-      args = new Object[method.getParameterCount()];
-    }
+    Object[] args = methodArgs.orElse(null);
 
-    List<TemplateVariableWithTypeInfo> definitions = new ArrayList<>();
+    return createAccessors(method).stream()
+        .map(accessor -> accessor.createVariableWithTypeInfo(args))
+        .collect(Collectors.toList());
+  }
 
-    for (int i = 0; i < method.getParameterCount(); i++) {
-      Parameter parameter = method.getParameters()[i];
+  /**
+   * Inspects the signature of a {@link Related} method to find all template variables, so that their values
+   * can later be extracted from the arguments of any number of method calls without repeating the reflection.
+   * @param method annotated with {@link Related}
+   * @return an immutable list with one {@link TemplateVariableAccessor} for each variable in the signature
+   */
+  public static List<TemplateVariableAccessor> createAccessors(Method method) {
+
+    List<TemplateVariableAccessor> accessors = new ArrayList<>();
+
+    Parameter[] parameters = method.getParameters();
+    for (int i = 0; i < parameters.length; i++) {
+      Parameter parameter = parameters[i];
 
       TemplateVariables variables = parameter.getAnnotation(TemplateVariables.class);
       TemplateVariable variable = parameter.getAnnotation(TemplateVariable.class);
       if (variables != null) {
-        definitions.addAll(getVariableInfos(args[i], parameter.getType()));
+        accessors.addAll(getDtoAccessors(i, parameter.getType()));
       }
       else if (variable != null) {
-        definitions.add(new TemplateVariableWithTypeInfo(variable.value(), parameter.getType(), args[i]));
+        accessors.add(new TemplateVariableAccessor(variable.value(), parameter.getType(), i));
       }
       // if no annotation was used, we can try to extract the parameter name from the method.
       // these arguments will be called "arg0", "arg1" etc if this information was stripped from the compiler
       else if (!("arg" + i).equals(parameter.getName())) {
-        definitions.add(new TemplateVariableWithTypeInfo(parameter.getName(), parameter.getType(), args[i]));
+        accessors.add(new TemplateVariableAccessor(parameter.getName(), parameter.getType(), i));
       }
       else {
         throw new HalApiDeveloperException("method parameter names have been stripped for  " + method + ", so they do need to be annotated with either"
@@ -114,7 +135,7 @@ public final class TemplateVariableDetection {
 
     }
 
-    return definitions;
+    return ImmutableList.copyOf(accessors);
   }
 
   /**
@@ -186,18 +207,88 @@ public final class TemplateVariableDetection {
     }
   }
 
-  private static List<TemplateVariableWithTypeInfo> getVariableInfos(Object instance, Class dtoClass) {
+  /**
+   * Knows how to extract the value of a single template variable from the arguments of a call to a {@link Related}
+   * method, without having to inspect the method signature again.
+   */
+  public static final class TemplateVariableAccessor {
+
+    private final String name;
+    private final Class type;
+    private final int parameterIndex;
+
+    private final Class dtoClass;
+    private final Method dtoMethod;
+    private final Field dtoField;
+
+    private TemplateVariableAccessor(String name, Class type, int parameterIndex) {
+      this(name, type, parameterIndex, null, null, null);
+    }
+
+    private TemplateVariableAccessor(String name, Class type, int parameterIndex, Class dtoClass, Method dtoMethod, Field dtoField) {
+      this.name = name;
+      this.type = type;
+      this.parameterIndex = parameterIndex;
+      this.dtoClass = dtoClass;
+      this.dtoMethod = dtoMethod;
+      this.dtoField = dtoField;
+    }
+
+    /**
+     * @return the name of the template variable
+     */
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+     * @param args the values of each argument provided in the method call (can be null)
+     * @return the value of the template variable (can be null)
+     */
+    public Object getValue(Object[] args) {
+
+      Object arg = args != null ? args[parameterIndex] : null;
+
+      if (dtoMethod != null) {
+        try {
+          return invokeMethod(dtoMethod, arg);
+        }
+        catch (RuntimeException ex) {
+          throw new HalApiDeveloperException("Failed to extract template variables from interface " + dtoClass.getName() + " through reflection", ex);
+        }
+      }
+      if (dtoField != null) {
+        try {
+          return getFieldValue(dtoField, arg);
+        }
+        catch (RuntimeException ex) {
+          throw new HalApiDeveloperException("Failed to extract template variables from class " + dtoClass.getName() + " through reflection", ex);
+        }
+      }
+      return arg;
+    }
+
+    TemplateVariableWithTypeInfo createVariableWithTypeInfo(Object[] args) {
+
+      TemplateVariableWithTypeInfo variable = new TemplateVariableWithTypeInfo(name, type, getValue(args));
+      variable.dtoClass = dtoClass;
+      variable.dtoMethod = dtoMethod;
+      variable.dtoField = dtoField;
+      return variable;
+    }
+  }
+
+  private static List<TemplateVariableAccessor> getDtoAccessors(int parameterIndex, Class dtoClass) {
 
     if (dtoClass.isInterface()) {
-      return getVariableInfosFromPublicGetter(instance, dtoClass);
+      return getAccessorsForPublicGetters(parameterIndex, dtoClass);
     }
 
-    return getVariablesInfosFromFields(instance, dtoClass);
+    return getAccessorsForFields(parameterIndex, dtoClass);
   }
 
-  private static List<TemplateVariableWithTypeInfo> getVariableInfosFromPublicGetter(Object instance, Class dtoClass) {
+  private static List<TemplateVariableAccessor> getAccessorsForPublicGetters(int parameterIndex, Class dtoClass) {
     try {
-
       PropertyDescriptor[] propertyDescriptors = Introspector.getBeanInfo(dtoClass).getPropertyDescriptors();
       if (propertyDescriptors.length == 0) {
         String msg = "Not a single getter method following the JavaBeans naming conventions was found in " + dtoClass;
@@ -207,11 +298,7 @@ public final class TemplateVariableDetection {
       return Stream.of(propertyDescriptors)
           .map(property -> {
             Method readMethod = property.getReadMethod();
-            Object value = invokeMethod(readMethod, instance);
-            TemplateVariableWithTypeInfo variable = new TemplateVariableWithTypeInfo(property.getName(), readMethod.getReturnType(), value);
-            variable.dtoClass = dtoClass;
-            variable.dtoMethod = readMethod;
-            return variable;
+            return new TemplateVariableAccessor(property.getName(), readMethod.getReturnType(), parameterIndex, dtoClass, readMethod, null);
           })
           .collect(Collectors.toList());
     }
@@ -234,19 +321,13 @@ public final class TemplateVariableDetection {
     }
   }
 
-  private static List<TemplateVariableWithTypeInfo> getVariablesInfosFromFields(Object instance, Class dtoClass) {
+  private static List<TemplateVariableAccessor> getAccessorsForFields(int parameterIndex, Class dtoClass) {
 
     try {
       return Stream.of(FieldUtils.getAllFields(dtoClass))
           .filter(field -> !field.isSynthetic())
           .filter(field -> !Modifier.isStatic(field.getModifiers()))
-          .map(field -> {
-            Object value = getFieldValue(field, instance);
-            TemplateVariableWithTypeInfo variable = new TemplateVariableWithTypeInfo(field.getName(), field.getType(), value);
-            variable.dtoClass = dtoClass;
-            variable.dtoField = field;
-            return variable;
-          })
+          .map(field -> new TemplateVariableAccessor(field.getName(), field.getType(), parameterIndex, dtoClass, null, field))
           .collect(Collectors.toList());
     }
     catch (RuntimeException ex) {
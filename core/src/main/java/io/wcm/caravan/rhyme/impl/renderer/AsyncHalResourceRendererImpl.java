@@ -19,8 +19,6 @@
  */
 package io.wcm.caravan.rhyme.impl.renderer;
 
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.findHalApiInterface;
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.getSimpleClassName;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -42,7 +40,9 @@ import io.wcm.caravan.rhyme.api.common.RequestMetricsStopwatch;
 import io.wcm.caravan.rhyme.api.resources.LinkableResource;
 import io.wcm.caravan.rhyme.api.server.AsyncHalResponseRenderer;
 import io.wcm.caravan.rhyme.impl.metadata.EmissionStopwatch;
-import io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiImplementationMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
 import io.wcm.caravan.rhyme.impl.reflection.RxJavaReflectionUtils;
 import io.wcm.caravan.rhyme.impl.renderer.RelatedResourcesRendererImpl.RelationRenderResult;
@@ -81,12 +81,12 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
   Single<HalResource> renderResourceAndEmbedded(Object resourceImplInstance) {
 
     try (RequestMetricsStopwatch sw = metrics.startStopwatch(AsyncHalResponseRenderer.class,
-        () -> "calls to #renderResourceAndEmbedded with " + getSimpleClassName(resourceImplInstance, typeSupport))) {
+        () -> "calls to #renderResourceAndEmbedded with " + getSimpleClassName(resourceImplInstance))) {
 
       Preconditions.checkNotNull(resourceImplInstance, "Cannot create a HalResource from a null reference");
 
       // find the interface annotated with @HalApiInterface
-      Class<?> apiInterface = findHalApiInterface(resourceImplInstance, typeSupport);
+      Class<?> apiInterface = HalApiImplementationMetadata.get(resourceImplInstance.getClass(), typeSupport).getHalApiInterface();
 
       // get the JSON resource state from the method annotated with @ResourceState
       Single<ObjectNode> rxState = renderResourceStateAndProperties(apiInterface, resourceImplInstance);
@@ -94,7 +94,7 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
       // render links and embedded resources for each method annotated with @RelatedResource
       Single<List<RelationRenderResult>> rxRelated = relatedRenderer.renderRelated(apiInterface, resourceImplInstance);
 
-      String simpleClassName = getSimpleClassName(resourceImplInstance, typeSupport);
+      String simpleClassName = getSimpleClassName(resourceImplInstance);
 
       // wait until all state and related resources are available...
       return Single.zip(rxState, rxRelated,
@@ -118,7 +118,12 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
       return state;
     })
         // and measure the total time of the emissions
-        .compose(EmissionStopwatch.collectMetrics(() -> "rendering resource state of " + getSimpleClassName(resourceImplInstance, typeSupport), metrics));
+        .compose(EmissionStopwatch.collectMetrics(() -> "rendering resource state of " + getSimpleClassName(resourceImplInstance), metrics));
+  }
+
+  private String getSimpleClassName(Object resourceImplInstance) {
+
+    return HalApiImplementationMetadata.get(resourceImplInstance.getClass(), typeSupport).getSimpleClassName();
   }
 
   Single<ObjectNode> renderResourceState(Class<?> apiInterface, Object resourceImplInstance) {
@@ -126,7 +131,7 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
     Single<ObjectNode> emptyObject = Single.fromCallable(JsonNodeFactory.instance::objectNode);
 
     // find the first method annotated with @ResourceState (and return an empty object if there is none)
-    Optional<Method> method = HalApiReflectionUtils.findResourceStateMethod(apiInterface, typeSupport);
+    Optional<Method> method = HalApiInterfaceMetadata.get(apiInterface, typeSupport).getResourceStateMethod();
     if (!method.isPresent()) {
       return emptyObject;
     }
@@ -142,18 +147,18 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
 
   private Observable<Pair<String, JsonNode>> renderResourceProperties(Class<?> apiInterface, Object resourceImplInstance) {
 
-    List<Method> methods = HalApiReflectionUtils.findResourcePropertyMethods(apiInterface, typeSupport);
+    List<HalApiMethodMetadata> methods = HalApiInterfaceMetadata.get(apiInterface, typeSupport).getResourcePropertyMethods();
 
     return Observable.fromIterable(methods)
         .concatMap(method -> {
 
-          String propertyName = HalApiReflectionUtils.getPropertyName(method, typeSupport);
+          String propertyName = method.getPropertyName();
 
-          Observable<?> rxReturnValue = RxJavaReflectionUtils.invokeMethodAndReturnObservable(resourceImplInstance, method, metrics, typeSupport);
+          Observable<?> rxReturnValue = RxJavaReflectionUtils.invokeMethodAndReturnObservable(resourceImplInstance, method.getMethod(), metrics, typeSupport);
 
           // If the getter methods are returning an Observable, Stream or List, then the invocation above would give us a single
           // observable that emits multiple item. We do, however, want to convert this all into one array, so we'll convert the observable to a list first
-          if (typeSupport.isProviderOfMultiplerValues(method.getReturnType())) {
+          if (method.isMultiValue()) {
             rxReturnValue = rxReturnValue.toList().toObservable();
           }
 
@@ -172,7 +177,7 @@ public final class AsyncHalResourceRendererImpl implements AsyncHalResourceRende
     if (resourceImplInstance instanceof LinkableResource) {
 
       try (RequestMetricsStopwatch sw = metrics.startStopwatch(AsyncHalResponseRenderer.class,
-          () -> "calls to #createLink of " + getSimpleClassName(resourceImplInstance, typeSupport))) {
+          () -> "calls to #createLink of " + getSimpleClassName(resourceImplInstance))) {
 
         hal.setLink(((LinkableResource)resourceImplInstance).createLink());
       }
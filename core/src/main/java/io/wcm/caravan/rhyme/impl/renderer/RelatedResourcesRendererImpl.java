@@ -19,8 +19,6 @@
  */
 package io.wcm.caravan.rhyme.impl.renderer;
 
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.getClassAndMethodName;
-import static io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils.getSortedRelatedResourceMethods;
 import static io.wcm.caravan.rhyme.impl.reflection.RxJavaReflectionUtils.invokeMethodAndReturnObservable;
 
 import java.lang.reflect.Method;
@@ -41,9 +39,11 @@ import io.wcm.caravan.rhyme.api.resources.EmbeddableResource;
 import io.wcm.caravan.rhyme.api.resources.LinkableResource;
 import io.wcm.caravan.rhyme.api.server.AsyncHalResponseRenderer;
 import io.wcm.caravan.rhyme.impl.metadata.EmissionStopwatch;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiImplementationMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiInterfaceMetadata;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiReflectionUtils;
 import io.wcm.caravan.rhyme.impl.reflection.HalApiTypeSupport;
-import io.wcm.caravan.rhyme.impl.reflection.RxJavaReflectionUtils;
 
 final class RelatedResourcesRendererImpl {
 
@@ -67,7 +67,7 @@ final class RelatedResourcesRendererImpl {
   Single<List<RelationRenderResult>> renderRelated(Class<?> apiInterface, Object resourceImplInstance) {
 
     // find all methods annotated with @RelatedResource
-    List<Method> methods = getSortedRelatedResourceMethods(apiInterface, typeSupport);
+    List<HalApiMethodMetadata> methods = HalApiInterfaceMetadata.get(apiInterface, typeSupport).getSortedRelatedResourceMethods();
 
     return Observable.fromIterable(methods)
         // create a RelatedContent instance with the links and embedded resources returned by each method
@@ -76,11 +76,12 @@ final class RelatedResourcesRendererImpl {
         .toList();
   }
 
-  private Single<RelationRenderResult> createRelatedContentForMethod(Object resourceImplInstance, Method method) {
+  private Single<RelationRenderResult> createRelatedContentForMethod(Object resourceImplInstance, HalApiMethodMetadata metadata) {
 
-    verifyReturnType(resourceImplInstance, method);
-    String relation = typeSupport.getRelation(method);
-    boolean multiValue = typeSupport.isProviderOfMultiplerValues(method.getReturnType());
+    verifyReturnType(resourceImplInstance, metadata);
+    Method method = metadata.getMethod();
+    String relation = metadata.getRelation();
+    boolean multiValue = metadata.isMultiValue();
 
     // call the implementation of the method to get an observable of related resource implementation instances
     Observable<?> rxRelatedResources = invokeMethodAndReturnObservable(resourceImplInstance, method, metrics, typeSupport)
@@ -109,13 +110,13 @@ final class RelatedResourcesRendererImpl {
           return new RelationRenderResult(relation, links, embeddedResources, multiValue);
         });
 
-    Class<?> emissionType = RxJavaReflectionUtils.getObservableEmissionType(method, typeSupport);
+    Class<?> emissionType = metadata.getEmissionType();
 
     // and measure the time of the emissions
     return renderResult
         .compose(EmissionStopwatch
             .collectMetrics(() -> "processing of related " + emissionType.getSimpleName() + " instances returned by "
-                + getClassAndMethodName(resourceImplInstance, method, typeSupport), metrics));
+                + getClassAndMethodName(resourceImplInstance, method), metrics));
   }
 
   private Single<List<String>> findUnsupportedClassNames(Observable<?> rxRelatedResources) {
@@ -124,22 +125,22 @@ final class RelatedResourcesRendererImpl {
         .filter(res -> !(res instanceof LinkableResource))
         .filter(res -> !(res instanceof EmbeddableResource))
         .filter(res -> !HalApiReflectionUtils.isPlainLink(res.getClass()))
-        .map(res -> HalApiReflectionUtils.getSimpleClassName(res, typeSupport))
+        .map(this::getSimpleClassName)
         .distinct()
         .toList();
   }
 
-  private void verifyReturnType(Object resourceImplInstance, Method method) {
+  private void verifyReturnType(Object resourceImplInstance, HalApiMethodMetadata metadata) {
 
     // get the emitted result resource type from the method signature
-    Class<?> relatedResourceInterface = RxJavaReflectionUtils.getObservableEmissionType(method, typeSupport);
+    Class<?> relatedResourceInterface = metadata.getEmissionType();
 
-    if (!HalApiReflectionUtils.isHalApiInterface(relatedResourceInterface, typeSupport)
+    if (!HalApiInterfaceMetadata.get(relatedResourceInterface, typeSupport).isHalApiInterface()
         && !HalApiReflectionUtils.isPlainLink(relatedResourceInterface)) {
 
-      String returnTypeDesc = getReturnTypeDescription(method, relatedResourceInterface);
+      String returnTypeDesc = getReturnTypeDescription(metadata.getMethod(), relatedResourceInterface);
 
-      String fullMethodName = getClassAndMethodName(resourceImplInstance, method, typeSupport);
+      String fullMethodName = getClassAndMethodName(resourceImplInstance, metadata.getMethod());
       throw new HalApiDeveloperException("The method " + fullMethodName + " returns " + returnTypeDesc + ", "
           + "but it must return a Link or an interface annotated with the @" + HalApiInterface.class.getSimpleName()
           + " annotation (or a supported generic type that provides such instances, e.g. Observable)");
@@ -189,9 +190,14 @@ final class RelatedResourcesRendererImpl {
         .toList();
   }
 
-  private String getSimpleClassName(LinkableResource linkedResource) {
+  private String getSimpleClassName(Object resourceImplInstance) {
 
-    return HalApiReflectionUtils.getSimpleClassName(linkedResource, typeSupport);
+    return HalApiImplementationMetadata.get(resourceImplInstance.getClass(), typeSupport).getSimpleClassName();
+  }
+
+  private String getClassAndMethodName(Object resourceImplInstance, Method method) {
+
+    return "#" + method.getName() + " of " + getSimpleClassName(resourceImplInstance);
   }
 
   private boolean filterLinksToEmbeddedResource(Object relatedResource) {
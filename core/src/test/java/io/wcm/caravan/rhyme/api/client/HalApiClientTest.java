@@ -24,7 +24,7 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import java.net.UnknownHostException;
+import java.nio.channels.UnresolvedAddressException;
 
 import org.junit.jupiter.api.Test;
 
@@ -55,7 +55,7 @@ class HalApiClientTest {
 
     assertThat(ex)
         .isInstanceOf(HalApiClientException.class)
-        .hasRootCauseInstanceOf(UnknownHostException.class);
+        .hasRootCauseInstanceOf(UnresolvedAddressException.class);
   }
 
   private TestState getTestResourceFromUnknownHost(HalApiClient client) {
@@ -25,7 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 
-import java.net.UnknownHostException;
+import java.nio.channels.UnresolvedAddressException;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -113,7 +113,7 @@ class RhymeImplTest {
 
     assertThat(ex)
         .isInstanceOf(HalApiClientException.class)
-        .hasRootCauseInstanceOf(UnknownHostException.class);
+        .hasRootCauseInstanceOf(UnresolvedAddressException.class);
   }
 
   @Test
@@ -127,7 +127,7 @@ class RhymeImplTest {
 
     assertThat(ex)
         .isInstanceOf(HalApiClientException.class)
-        .hasRootCauseInstanceOf(UnknownHostException.class);
+        .hasRootCauseInstanceOf(UnresolvedAddressException.class);
   }
 
   @Test
@@ -0,0 +1,296 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.wcm.caravan.rhyme.api.client.CircuitBreaker;
+import io.wcm.caravan.rhyme.api.client.CircuitBreaker.State;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.testing.TestClock;
+
+class CircuitBreakerHalResourceLoaderTest {
+
+  private static final String HOST = "upstream.example";
+  private static final String URI = "http://" + HOST + "/foo";
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+  private final CircuitBreakerImpl circuitBreaker = new CircuitBreakerImpl(FAILURE_THRESHOLD, OPEN_DURATION);
+
+  private final FakeUpstreamLoader upstream = new FakeUpstreamLoader();
+
+  private final CircuitBreakerHalResourceLoader loader = new CircuitBreakerHalResourceLoader(upstream, circuitBreaker, clock);
+
+  private Throwable loadAndGetError(String uri) {
+
+    return loader.getHalResource(uri)
+        .materialize()
+        .blockingGet()
+        .getError();
+  }
+
+  private void failRequests(int numRequests) {
+
+    upstream.nextStatus = null;
+    for (int i = 0; i < numRequests; i++) {
+      loadAndGetError(URI);
+    }
+  }
+
+  @Test
+  void should_forward_requests_while_circuit_is_closed() {
+
+    assertThat(loadAndGetError(URI))
+        .isNull();
+    assertThat(upstream.numRequests)
+        .isEqualTo(1);
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_open_circuit_after_consecutive_failures() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.OPEN);
+    assertThat(circuitBreaker.getStates())
+        .containsEntry(HOST, State.OPEN);
+  }
+
+  @Test
+  void should_not_open_circuit_if_failures_are_not_consecutive() {
+
+    failRequests(FAILURE_THRESHOLD - 1);
+
+    upstream.nextStatus = 200;
+    loadAndGetError(URI);
+
+    failRequests(FAILURE_THRESHOLD - 1);
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_not_open_circuit_for_client_or_server_errors_with_response() {
+
+    upstream.nextStatus = 404;
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      loadAndGetError(URI);
+    }
+    upstream.nextStatus = 500;
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      loadAndGetError(URI);
+    }
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_open_circuit_for_service_unavailable_responses() {
+
+    upstream.nextStatus = 503;
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      loadAndGetError(URI);
+    }
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.OPEN);
+  }
+
+  @Test
+  void should_fail_fast_while_circuit_is_open() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    Throwable ex = loadAndGetError(URI);
+
+    assertThat(ex)
+        .isInstanceOf(HalApiClientException.class)
+        .hasMessageContaining("circuit breaker for " + HOST + " is open");
+    assertThat(((HalApiClientException)ex).getStatusCode())
+        .isNull();
+    assertThat(upstream.numRequests)
+        .isEqualTo(FAILURE_THRESHOLD);
+    assertThat(circuitBreaker.getRejectedRequestCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_not_affect_other_hosts() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    upstream.nextStatus = 200;
+
+    assertThat(loadAndGetError("http://other.example/foo"))
+        .isNull();
+    assertThat(circuitBreaker.getState("other.example"))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_close_circuit_if_probe_succeeds() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    clock.fastForward(OPEN_DURATION);
+    upstream.nextStatus = 200;
+
+    assertThat(loadAndGetError(URI))
+        .isNull();
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_open_circuit_again_if_probe_fails() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    clock.fastForward(OPEN_DURATION);
+    failRequests(1);
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.OPEN);
+    assertThat(upstream.numRequests)
+        .isEqualTo(FAILURE_THRESHOLD + 1);
+
+    clock.fastForward(OPEN_DURATION.minusSeconds(1));
+
+    assertThat(loadAndGetError(URI))
+        .isInstanceOf(HalApiClientException.class);
+    assertThat(upstream.numRequests)
+        .isEqualTo(FAILURE_THRESHOLD + 1);
+  }
+
+  @Test
+  void should_only_let_through_a_single_probe_request() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    clock.fastForward(OPEN_DURATION);
+
+    SingleSubject<HalResponse> pendingProbe = SingleSubject.create();
+    upstream.nextResponse = pendingProbe;
+
+    loader.getHalResource(URI).subscribe();
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.HALF_OPEN);
+    assertThat(loadAndGetError(URI))
+        .isInstanceOf(HalApiClientException.class);
+
+    pendingProbe.onSuccess(new HalResponse().withUri(URI).withStatus(200));
+
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_allow_another_probe_if_probe_was_cancelled() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    clock.fastForward(OPEN_DURATION);
+
+    upstream.nextResponse = SingleSubject.create();
+    Disposable probe = loader.getHalResource(URI).subscribe();
+    probe.dispose();
+
+    upstream.nextStatus = 200;
+
+    assertThat(loadAndGetError(URI))
+        .isNull();
+    assertThat(circuitBreaker.getState(HOST))
+        .isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void should_not_apply_circuit_breaker_to_relative_uris() {
+
+    failRequests(FAILURE_THRESHOLD);
+
+    upstream.nextStatus = null;
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      loadAndGetError("/relative");
+    }
+
+    assertThat(upstream.numRequests)
+        .isEqualTo(2 * FAILURE_THRESHOLD);
+    assertThat(circuitBreaker.getStates())
+        .containsOnlyKeys(HOST);
+  }
+
+  @Test
+  void create_should_use_default_settings() {
+
+    CircuitBreakerImpl defaultBreaker = (CircuitBreakerImpl)CircuitBreaker.create();
+
+    assertThat(defaultBreaker.getFailureThreshold())
+        .isEqualTo(CircuitBreakerImpl.DEFAULT_FAILURE_THRESHOLD);
+    assertThat(defaultBreaker.getOpenDuration())
+        .isEqualTo(CircuitBreakerImpl.DEFAULT_OPEN_DURATION);
+  }
+
+  static class FakeUpstreamLoader implements HalResourceLoader {
+
+    private Integer nextStatus = 200;
+    private Single<HalResponse> nextResponse;
+    private int numRequests;
+
+    @Override
+    public Single<HalResponse> getHalResource(String uri) {
+
+      numRequests++;
+
+      if (nextResponse != null) {
+        Single<HalResponse> response = nextResponse;
+        nextResponse = null;
+        return response;
+      }
+
+      if (nextStatus == null || nextStatus >= 400) {
+        return Single.error(new HalApiClientException("Simulated failure", nextStatus, uri, null));
+      }
+
+      return Single.just(new HalResponse()
+          .withUri(uri)
+          .withStatus(nextStatus));
+    }
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Ticker;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.testing.TestClock;
+
+class ConcurrencyLimitingHalResourceLoaderTest {
+
+  private static final String HOST = "upstream.example";
+  private static final String URI = "http://" + HOST + "/foo";
+
+  private static final int INITIAL_LIMIT = 2;
+  private static final int MAX_LIMIT = 4;
+  private static final int MAX_QUEUE_SIZE = 2;
+
+  private final TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+  private final ConcurrencyLimiterImpl limiter = new ConcurrencyLimiterImpl(INITIAL_LIMIT, MAX_LIMIT, MAX_QUEUE_SIZE);
+
+  private final PendingUpstreamLoader upstream = new PendingUpstreamLoader();
+
+  private final ManualTicker ticker = new ManualTicker();
+
+  private final ConcurrencyLimitingHalResourceLoader loader = new ConcurrencyLimitingHalResourceLoader(upstream, limiter, ticker);
+
+  private TestObserver<HalResponse> load(String uri) {
+
+    return loader.getHalResource(uri).test();
+  }
+
+  private void completeRequest(int index, Duration latency) {
+
+    ticker.advance(latency);
+    upstream.requests.get(index).onSuccess(new HalResponse().withStatus(200));
+  }
+
+  private void failRequest(int index, Integer status) {
+
+    upstream.requests.get(index).onError(new HalApiClientException("Failed", status, URI, null));
+  }
+
+  @Test
+  void should_execute_requests_within_limit_immediately() {
+
+    load(URI);
+    load(URI);
+
+    assertThat(upstream.requests)
+        .hasSize(2);
+    assertThat(limiter.getQueueSize(HOST))
+        .isZero();
+  }
+
+  @Test
+  void should_queue_requests_that_exceed_limit() {
+
+    load(URI);
+    load(URI);
+    TestObserver<HalResponse> queued = load(URI);
+
+    assertThat(upstream.requests)
+        .hasSize(2);
+    assertThat(limiter.getQueueSize(HOST))
+        .isEqualTo(1);
+    assertThat(limiter.getQueueSizes())
+        .containsEntry(HOST, 1);
+
+    completeRequest(0, Duration.ofMillis(100));
+
+    assertThat(upstream.requests)
+        .hasSize(3);
+    assertThat(limiter.getQueueSize(HOST))
+        .isZero();
+
+    completeRequest(2, Duration.ofMillis(100));
+
+    queued.assertComplete();
+  }
+
+  @Test
+  void should_reject_requests_if_queue_is_full() {
+
+    for (int i = 0; i < INITIAL_LIMIT + MAX_QUEUE_SIZE; i++) {
+      load(URI);
+    }
+
+    TestObserver<HalResponse> rejected = load(URI);
+
+    rejected.assertError(ex -> ex instanceof HalApiClientException && ((HalApiClientException)ex).getStatusCode() == null);
+
+    assertThat(limiter.getRejectedRequestCount())
+        .isEqualTo(1);
+    assertThat(upstream.requests)
+        .hasSize(INITIAL_LIMIT);
+  }
+
+  @Test
+  void should_keep_separate_limits_for_each_host() {
+
+    load(URI);
+    load(URI);
+    load("http://other.example/foo");
+
+    assertThat(upstream.requests)
+        .hasSize(3);
+  }
+
+  @Test
+  void should_not_limit_requests_without_host() {
+
+    for (int i = 0; i < INITIAL_LIMIT + MAX_QUEUE_SIZE + 1; i++) {
+      load("/foo");
+    }
+
+    assertThat(upstream.requests)
+        .hasSize(INITIAL_LIMIT + MAX_QUEUE_SIZE + 1);
+  }
+
+  @Test
+  void should_decrease_limit_for_failed_requests() {
+
+    load(URI);
+    load(URI);
+    load(URI);
+
+    failRequest(0, null);
+
+    assertThat(limiter.getLimit(HOST))
+        .isEqualTo(1);
+    assertThat(limiter.getLimits())
+        .containsEntry(HOST, 1);
+
+    // the queued request should not have been started, as another request is still in flight
+    assertThat(upstream.requests)
+        .hasSize(2);
+  }
+
+  @Test
+  void should_not_decrease_limit_for_client_errors() {
+
+    load(URI);
+
+    failRequest(0, 404);
+
+    assertThat(limiter.getLimit(HOST))
+        .isEqualTo(INITIAL_LIMIT);
+  }
+
+  @Test
+  void should_not_decrease_limit_for_requests_rejected_by_circuit_breaker() {
+
+    CircuitBreakerImpl circuitBreaker = new CircuitBreakerImpl(1, Duration.ofMinutes(1));
+    CircuitBreakerHalResourceLoader circuitBreakerLoader = new CircuitBreakerHalResourceLoader(upstream, circuitBreaker, clock);
+    ConcurrencyLimitingHalResourceLoader limitingLoader = new ConcurrencyLimitingHalResourceLoader(circuitBreakerLoader, limiter, ticker);
+
+    // open the circuit with a request that isn't limited
+    circuitBreakerLoader.getHalResource(URI).test();
+    failRequest(0, null);
+
+    for (int i = 0; i < 5; i++) {
+      limitingLoader.getHalResource(URI).test()
+          .assertError(RejectedRequestException.class);
+    }
+
+    assertThat(upstream.requests)
+        .hasSize(1);
+    assertThat(limiter.getLimit(HOST))
+        .isEqualTo(INITIAL_LIMIT);
+  }
+
+  @Test
+  void should_decrease_limit_for_slow_responses() {
+
+    load(URI);
+    completeRequest(0, Duration.ofMillis(100));
+
+    for (int i = 1; i <= 3; i++) {
+      load(URI);
+      completeRequest(i, Duration.ofMillis(500));
+    }
+
+    assertThat(limiter.getLimit(HOST))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_decrease_limit_only_once_for_requests_that_were_started_before_decrease() {
+
+    ConcurrencyLimiterImpl largeLimiter = new ConcurrencyLimiterImpl(4, MAX_LIMIT, MAX_QUEUE_SIZE);
+    HalResourceLoader largeLimitLoader = new ConcurrencyLimitingHalResourceLoader(upstream, largeLimiter, ticker);
+
+    for (int i = 0; i < 4; i++) {
+      largeLimitLoader.getHalResource(URI).test();
+    }
+    for (int i = 0; i < 4; i++) {
+      failRequest(i, null);
+    }
+
+    assertThat(largeLimiter.getLimit(HOST))
+        .isEqualTo(3);
+
+    // requests started after the decrease will decrease the limit again
+    for (int i = 4; i < 6; i++) {
+      largeLimitLoader.getHalResource(URI).test();
+      failRequest(i, null);
+    }
+
+    assertThat(largeLimiter.getLimit(HOST))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_not_decrease_limit_for_bimodal_latencies() {
+
+    // every fifth request is much slower than the others (e.g. because it is not served from a cache)
+    for (int i = 0; i < 100; i++) {
+      load(URI);
+      completeRequest(i, Duration.ofMillis(i % 5 == 4 ? 100 : 10));
+
+      // slow responses will only decrease the limit until the long-term average latency has adapted to the distribution
+      if (i >= 25) {
+        assertThat(limiter.getLimit(HOST))
+            .isEqualTo(INITIAL_LIMIT);
+      }
+    }
+  }
+
+  @Test
+  void should_increase_limit_for_fast_responses_if_limit_is_used() {
+
+    for (int i = 0; i < 10; i++) {
+      load(URI);
+      load(URI);
+      completeRequest(2 * i, Duration.ofMillis(100));
+      completeRequest(2 * i + 1, Duration.ofMillis(100));
+    }
+
+    assertThat(limiter.getLimit(HOST))
+        .isGreaterThan(INITIAL_LIMIT)
+        .isLessThanOrEqualTo(MAX_LIMIT);
+  }
+
+  @Test
+  void should_not_increase_limit_if_limit_is_not_used() {
+
+    ConcurrencyLimiterImpl largeLimiter = new ConcurrencyLimiterImpl(4, MAX_LIMIT, MAX_QUEUE_SIZE);
+    HalResourceLoader largeLimitLoader = new ConcurrencyLimitingHalResourceLoader(upstream, largeLimiter, ticker);
+
+    // a single request in flight is using less than half of the limit
+    for (int i = 0; i < 10; i++) {
+      largeLimitLoader.getHalResource(URI).test();
+      completeRequest(i, Duration.ofMillis(100));
+    }
+
+    assertThat(largeLimiter.getLimit(HOST))
+        .isEqualTo(4);
+  }
+
+  @Test
+  void should_remove_queued_request_if_disposed() {
+
+    load(URI);
+    load(URI);
+    Disposable queued = loader.getHalResource(URI).subscribe();
+
+    queued.dispose();
+
+    assertThat(limiter.getQueueSize(HOST))
+        .isZero();
+
+    completeRequest(0, Duration.ofMillis(100));
+
+    assertThat(upstream.requests)
+        .hasSize(2);
+  }
+
+  @Test
+  void should_start_queued_request_if_running_request_is_disposed() {
+
+    Disposable running = loader.getHalResource(URI).subscribe();
+    load(URI);
+    load(URI);
+
+    running.dispose();
+
+    assertThat(upstream.requests)
+        .hasSize(3);
+    assertThat(upstream.requests.get(0).hasObservers())
+        .isFalse();
+  }
+
+  private static class PendingUpstreamLoader implements HalResourceLoader {
+
+    private final List<SingleSubject<HalResponse>> requests = new ArrayList<>();
+
+    @Override
+    public Single<HalResponse> getHalResource(String uri) {
+
+      SingleSubject<HalResponse> request = SingleSubject.create();
+      requests.add(request);
+      return request;
+    }
+  }
+
+  private static final class ManualTicker extends Ticker {
+
+    private long nanos;
+
+    void advance(Duration duration) {
+      nanos += duration.toNanos();
+    }
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ITEM;
+import static io.wcm.caravan.rhyme.impl.client.ClientTestSupport.ENTRY_POINT_URI;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.reactivex.rxjava3.core.Observable;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.annotations.ResourceLink;
+import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.client.HalApiClientBuilder;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.impl.client.ClientTestSupport.ResourceTreeClientTestSupport;
+import io.wcm.caravan.rhyme.impl.client.ResourceStateTest.ResourceWithSingleState;
+import io.wcm.caravan.rhyme.testing.resources.TestResource;
+import io.wcm.caravan.rhyme.testing.resources.TestResourceState;
+
+@SuppressFBWarnings("RV_RETURN_VALUE_IGNORED")
+class GeneratedProxyClassesTest {
+
+  private final ResourceTreeClientTestSupport client = ClientTestSupport.withResourceTree();
+  private final TestResource entryPoint = client.getEntryPoint();
+
+  private final HalApiClient halApiClient = HalApiClientBuilder.create()
+      .withResourceLoader(client.jsonLoader)
+      .withGeneratedProxyClasses()
+      .build();
+
+  @HalApiInterface
+  interface ResourceWithMultipleRelated {
+
+    @ResourceLink
+    String getLinkHref();
+
+    @Related(ITEM)
+    Observable<ResourceWithSingleState> getItems();
+
+    @Related(ITEM)
+    Observable<ResourceWithSingleState> getItemsWithTemplate(@TemplateVariable("id") String id);
+  }
+
+  @HalApiInterface
+  interface ExtendedResource extends ResourceWithMultipleRelated {
+
+    @Related("custom:other")
+    Observable<ResourceWithSingleState> getOther();
+  }
+
+  private ResourceWithMultipleRelated createEntryPointProxy() {
+    return halApiClient.getRemoteResource(ENTRY_POINT_URI, ResourceWithMultipleRelated.class);
+  }
+
+  @Test
+  void proxy_should_be_instance_of_generated_class() {
+
+    ResourceWithMultipleRelated proxy = createEntryPointProxy();
+
+    assertThat(Proxy.isProxyClass(proxy.getClass()))
+        .isFalse();
+
+    assertThat(proxy.getClass().getName())
+        .isEqualTo(ResourceWithMultipleRelated.class.getName() + "$RhymeClientProxy");
+  }
+
+  @Test
+  void generated_class_should_be_reused_for_all_proxies_of_the_same_interface() {
+
+    entryPoint.createLinked(ITEM);
+    entryPoint.createLinked(ITEM);
+
+    List<ResourceWithSingleState> items = createEntryPointProxy().getItems().toList().blockingGet();
+
+    assertThat(items)
+        .hasSize(2);
+
+    assertThat(items.get(0))
+        .isNotSameAs(items.get(1));
+
+    assertThat(items.get(0).getClass())
+        .isSameAs(items.get(1).getClass())
+        .isNotEqualTo(createEntryPointProxy().getClass());
+  }
+
+  @Test
+  void related_resources_and_state_should_be_emitted() {
+
+    entryPoint.createLinked(ITEM).setText("linked");
+    entryPoint.createEmbedded(ITEM).setText("embedded");
+
+    List<String> texts = createEntryPointProxy().getItems()
+        .concatMapSingle(ResourceWithSingleState::getProperties)
+        .map(state -> state.text)
+        .toList().blockingGet();
+
+    assertThat(texts)
+        .containsExactly("embedded", "linked");
+  }
+
+  @Test
+  void method_arguments_should_be_passed_to_handler() {
+
+    entryPoint.createLinked(ITEM).setText("item");
+
+    TestResourceState state = createEntryPointProxy().getItemsWithTemplate(null)
+        .concatMapSingle(ResourceWithSingleState::getProperties)
+        .blockingFirst();
+
+    assertThat(state.text)
+        .isEqualTo("item");
+  }
+
+  @Test
+  void resource_link_method_should_be_handled() {
+
+    assertThat(createEntryPointProxy().getLinkHref())
+        .isEqualTo(ENTRY_POINT_URI);
+  }
+
+  @Test
+  void toString_should_be_handled() {
+
+    assertThat(createEntryPointProxy())
+        .hasToString("dynamic client proxy for ResourceWithMultipleRelated at /");
+  }
+
+  @Test
+  void hashCode_should_fail_as_for_jdk_proxies() {
+
+    Throwable ex = catchThrowable(() -> createEntryPointProxy().hashCode());
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("You cannot call hashCode() on dynamic client proxies");
+  }
+
+  @Test
+  void generated_class_should_only_use_reflection_to_dispatch_object_methods() {
+
+    Class<?> proxyClass = createEntryPointProxy().getClass();
+
+    // only toString, hashCode and equals are still called through the invocation handler
+    assertThat(proxyClass.getDeclaredFields())
+        .extracting(Field::getType)
+        .filteredOn(Method.class::equals)
+        .hasSize(3);
+  }
+
+  @Test
+  void inherited_methods_should_be_handled() {
+
+    entryPoint.createLinked(ITEM).setText("item");
+    entryPoint.createLinked("custom:other").setText("other");
+
+    ExtendedResource proxy = halApiClient.getRemoteResource(ENTRY_POINT_URI, ExtendedResource.class);
+
+    assertThat(proxy.getLinkHref())
+        .isEqualTo(ENTRY_POINT_URI);
+
+    assertThat(proxy.getItems().concatMapSingle(ResourceWithSingleState::getProperties).blockingFirst().text)
+        .isEqualTo("item");
+
+    assertThat(proxy.getOther().concatMapSingle(ResourceWithSingleState::getProperties).blockingFirst().text)
+        .isEqualTo("other");
+  }
+
+  @Test
+  void repeated_invocations_should_return_memoized_value() {
+
+    ResourceWithMultipleRelated proxy = createEntryPointProxy();
+
+    assertThat(proxy.getItems())
+        .isSameAs(proxy.getItems());
+  }
+}
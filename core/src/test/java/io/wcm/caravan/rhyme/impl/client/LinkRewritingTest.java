@@ -28,6 +28,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 import com.damnhandy.uri.template.UriTemplate;
@@ -41,9 +45,12 @@ import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
 import io.wcm.caravan.rhyme.api.annotations.Related;
 import io.wcm.caravan.rhyme.api.annotations.ResourceRepresentation;
 import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.resources.LinkableResource;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
 import io.wcm.caravan.rhyme.impl.client.ClientTestSupport.MockClientTestSupport;
 
 class LinkRewritingTest {
@@ -272,4 +279,106 @@ class LinkRewritingTest {
     assertThat(embedded.getLink(NEXT).getHref()).isEqualTo(BASE_URL + createPagePath(1));
   }
 
+  @Test
+  void response_body_should_not_be_modified_when_links_are_rewritten() {
+
+    HalResponse response = createEntryPointResponse();
+    mockEntryPointResponse(ENTRY_POINT_URL, response);
+
+    getEntryPoint(ENTRY_POINT_URL).asHalResource();
+
+    assertThat(response.getBody().getLink().getHref()).isEqualTo(ENTRY_POINT_PATH);
+    assertThat(response.getBody().getLink(FIRST).getHref()).isEqualTo(createPagePath(0));
+  }
+
+  @Test
+  void links_should_be_rewritten_for_each_host_if_cached_bodies_are_deduplicated() {
+
+    String json = "{\"_links\":{\"self\":{\"href\":\"/items/1\"},\"next\":{\"href\":\"/items/2\"}}}";
+
+    HttpClientSupport httpClient = (uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      callback.onBodyAvailable(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    };
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withCustomHttpClient(httpClient)
+        .withDeduplicatedResponseBodies()
+        .withMemoryCache()
+        .build();
+
+    // both responses are loaded into the cache before any links are rewritten, so that their link nodes are shared
+    loader.getHalResource("http://host-a/items/1").blockingGet();
+    loader.getHalResource("http://host-b/items/1").blockingGet();
+
+    HalResource fromHostA = HalApiClient.create(loader)
+        .getRemoteResource("http://host-a/items/1", TestPageResource.class)
+        .asHalResource();
+
+    HalResource fromHostB = HalApiClient.create(loader)
+        .getRemoteResource("http://host-b/items/1", TestPageResource.class)
+        .asHalResource();
+
+    assertThat(fromHostA.getLink().getHref()).isEqualTo("http://host-a/items/1");
+    assertThat(fromHostA.getLink(NEXT).getHref()).isEqualTo("http://host-a/items/2");
+    assertThat(fromHostB.getLink().getHref()).isEqualTo("http://host-b/items/1");
+    assertThat(fromHostB.getLink(NEXT).getHref()).isEqualTo("http://host-b/items/2");
+  }
+
+  @Test
+  void nodes_without_relative_links_should_be_shared_with_the_original_body() {
+
+    HalResponse response = createEntryPointResponseWithEmbeddedFirstPage();
+    response.getBody().getModel().putObject("state").put("foo", "bar");
+
+    HalResponse rewritten = new LinkRewriting(ENTRY_POINT_URL).resolveRelativeLinks(response);
+
+    assertThat(rewritten.getBody().getModel().get("state"))
+        .isSameAs(response.getBody().getModel().get("state"));
+    assertThat(rewritten.getBody().getLink().getHref())
+        .isEqualTo(ENTRY_POINT_URL);
+    assertThat(rewritten.getBody().getEmbeddedResource(FIRST).getLink(NEXT).getHref())
+        .isEqualTo(BASE_URL + createPagePath(1));
+  }
+
+  @Test
+  void response_should_not_be_copied_if_all_links_are_absolute() {
+
+    HalResponse response = createPageResource(0);
+    HalResponse rewritten = new LinkRewriting(ENTRY_POINT_URL).resolveRelativeLinks(response);
+
+    HalResponse rewrittenAgain = new LinkRewriting(ENTRY_POINT_URL).resolveRelativeLinks(rewritten);
+
+    assertThat(rewrittenAgain)
+        .isSameAs(rewritten);
+  }
+
+  @Test
+  void cached_body_should_only_be_rewritten_once() {
+
+    String json = "{\"_links\":{\"self\":{\"href\":\"/items/1\"},\"next\":{\"href\":\"/items/2\"}}}";
+
+    HttpClientSupport httpClient = (uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      callback.onBodyAvailable(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    };
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withCustomHttpClient(httpClient)
+        .withMemoryCache()
+        .build();
+
+    HalResource first = HalApiClient.create(loader)
+        .getRemoteResource("http://host-a/items/1", TestPageResource.class)
+        .asHalResource();
+
+    HalResource second = HalApiClient.create(loader)
+        .getRemoteResource("http://host-a/items/1", TestPageResource.class)
+        .asHalResource();
+
+    assertThat(second.getModel())
+        .isSameAs(first.getModel());
+    assertThat(second.getLink(NEXT).getHref())
+        .isEqualTo("http://host-a/items/2");
+  }
 }
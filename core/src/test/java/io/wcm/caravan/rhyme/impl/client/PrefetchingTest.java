@@ -0,0 +1,248 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ALTERNATE;
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ITEM;
+import static io.wcm.caravan.rhyme.impl.client.ClientTestSupport.ENTRY_POINT_URI;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.client.HalApiClientBuilder;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.impl.client.ClientTestSupport.MockClientTestSupport;
+import io.wcm.caravan.rhyme.testing.LinkableTestResource;
+import io.wcm.caravan.rhyme.testing.TestState;
+
+class PrefetchingTest {
+
+  private static final int NUM_ITEMS = 5;
+
+  private final MockClientTestSupport client = ClientTestSupport.withMocking();
+  private final HalResource entryPointHal = new HalResource(ENTRY_POINT_URI);
+
+  private final List<SingleSubject<HalResource>> itemSubjects = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    client.mockHalResponse(ENTRY_POINT_URI, entryPointHal);
+
+    for (int i = 0; i < NUM_ITEMS; i++) {
+      String itemUrl = "/item/" + i;
+      entryPointHal.addLinks(ITEM, new Link(itemUrl));
+      itemSubjects.add(client.mockHalResponseWithSubject(itemUrl));
+    }
+  }
+
+  @HalApiInterface
+  interface EntryPoint {
+
+    @Related(ITEM)
+    List<LinkableTestResource> getItems();
+
+    @Related(ITEM)
+    Observable<Link> getItemLinks();
+
+    @Related(ALTERNATE)
+    List<LinkableTestResource> getAlternates();
+  }
+
+  private EntryPoint createEntryPoint(HalApiClientBuilder builder) {
+
+    HalApiClient halApiClient = builder
+        .withResourceLoader(client.getMockJsonLoader())
+        .build();
+
+    return halApiClient.getRemoteResource(ENTRY_POINT_URI, EntryPoint.class);
+  }
+
+  private long countSubscribedItems() {
+    return itemSubjects.stream()
+        .filter(SingleSubject::hasObservers)
+        .count();
+  }
+
+  private void completeItem(int index) {
+    itemSubjects.get(index).onSuccess(new HalResource(new TestState("item " + index), "/item/" + index));
+  }
+
+  @Test
+  void linked_resources_should_not_be_loaded_without_prefetching() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create());
+
+    List<LinkableTestResource> items = entryPoint.getItems();
+
+    assertThat(items).hasSize(NUM_ITEMS);
+    assertThat(countSubscribedItems())
+        .isZero();
+  }
+
+  @Test
+  void linked_resources_should_be_loaded_with_limited_concurrency_if_prefetching_is_enabled_for_relation() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withPrefetchedRelation(ITEM, 2));
+
+    List<LinkableTestResource> items = entryPoint.getItems();
+
+    assertThat(items).hasSize(NUM_ITEMS);
+    assertThat(countSubscribedItems())
+        .isEqualTo(2);
+
+    completeItem(0);
+
+    assertThat(countSubscribedItems())
+        .isEqualTo(2);
+    assertThat(itemSubjects.get(2).hasObservers())
+        .isTrue();
+  }
+
+  @Test
+  void prefetched_resources_should_be_used_by_proxies() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withPrefetchedRelation(ITEM, NUM_ITEMS));
+
+    List<LinkableTestResource> items = entryPoint.getItems();
+
+    for (int i = 0; i < NUM_ITEMS; i++) {
+      completeItem(i);
+    }
+
+    assertThat(items.get(3).getState().blockingGet().string)
+        .isEqualTo("item 3");
+  }
+
+  @Test
+  void linked_resources_should_not_be_loaded_if_prefetching_is_enabled_for_other_relation() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withPrefetchedRelation(ALTERNATE, 2));
+
+    entryPoint.getItems();
+
+    assertThat(countSubscribedItems())
+        .isZero();
+  }
+
+  @Test
+  void prefetching_should_be_ignored_for_methods_returning_links() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withPrefetchedRelation(ITEM, 2));
+
+    List<Link> links = entryPoint.getItemLinks().toList().blockingGet();
+
+    assertThat(links).hasSize(NUM_ITEMS);
+    assertThat(countSubscribedItems())
+        .isZero();
+  }
+
+  @Test
+  void linked_resources_should_be_loaded_with_limited_concurrency_if_prefetch_is_called() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create());
+
+    List<LinkableTestResource> items = HalApiClient.prefetch(entryPoint.getItems(), 3);
+
+    assertThat(items).hasSize(NUM_ITEMS);
+    assertThat(countSubscribedItems())
+        .isEqualTo(3);
+
+    completeItem(0);
+    completeItem(1);
+
+    assertThat(countSubscribedItems())
+        .isEqualTo(3);
+    assertThat(itemSubjects.get(4).hasObservers())
+        .isTrue();
+  }
+
+  @Test
+  void prefetch_should_support_generated_proxy_classes() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withGeneratedProxyClasses());
+
+    HalApiClient.prefetch(entryPoint.getItems(), NUM_ITEMS);
+
+    assertThat(countSubscribedItems())
+        .isEqualTo(NUM_ITEMS);
+  }
+
+  @Test
+  void prefetch_should_ignore_objects_that_are_not_proxies() {
+
+    List<Object> objects = new ArrayList<>();
+    objects.add(new Link("/item/0"));
+    objects.add(null);
+
+    assertThat(HalApiClient.prefetch(objects, 2))
+        .isSameAs(objects);
+  }
+
+  @Test
+  void prefetch_should_fail_for_invalid_concurrency() {
+
+    List<Object> objects = new ArrayList<>();
+
+    assertThatThrownBy(() -> HalApiClient.prefetch(objects, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void withPrefetchedRelation_should_fail_for_invalid_concurrency() {
+
+    HalApiClientBuilder builder = HalApiClientBuilder.create();
+
+    assertThatThrownBy(() -> builder.withPrefetchedRelation(ITEM, 0))
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining(ITEM);
+  }
+
+  @Test
+  void failed_prefetch_should_be_retried_when_proxy_is_used() {
+
+    EntryPoint entryPoint = createEntryPoint(HalApiClientBuilder.create()
+        .withPrefetchedRelation(ITEM, NUM_ITEMS));
+
+    List<LinkableTestResource> items = entryPoint.getItems();
+
+    itemSubjects.get(0).onError(new HalApiClientException("Failed to load item", 500, "/item/0", null));
+
+    assertThatThrownBy(() -> items.get(0).getState().blockingGet())
+        .isInstanceOf(HalApiClientException.class);
+  }
+}
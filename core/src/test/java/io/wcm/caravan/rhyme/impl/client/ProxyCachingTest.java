@@ -45,6 +45,7 @@ import io.wcm.caravan.rhyme.api.annotations.Related;
 import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
 import io.wcm.caravan.rhyme.api.annotations.ResourceRepresentation;
 import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
 import io.wcm.caravan.rhyme.api.client.HalApiClient;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.relations.StandardRelations;
@@ -96,6 +97,9 @@ class ProxyCachingTest {
 
     @ResourceRepresentation
     Single<HalResource> asHalResource();
+
+    @Related(ALTERNATE)
+    Observable<LinkableTestResource> getAlternateById(@TemplateVariable("id") Integer id);
   }
 
   @Test
@@ -157,6 +161,43 @@ class ProxyCachingTest {
     verifyNoInteractions(client.getMockJsonLoader());
   }
 
+  @Test
+  void multiple_calls_to_templated_method_with_equal_parameters_should_return_the_same_observable() {
+
+    EntryPoint entryPoint = client.createProxy(EntryPoint.class);
+
+    Observable<LinkableTestResource> linked1 = entryPoint.getAlternateById(Integer.valueOf(1000));
+    Observable<LinkableTestResource> linked2 = entryPoint.getAlternateById(Integer.valueOf(1000));
+
+    assertThat(linked1).isSameAs(linked2);
+
+    verifyNoInteractions(client.getMockJsonLoader());
+  }
+
+  @Test
+  void multiple_calls_to_templated_method_with_different_parameters_should_return_different_observables() {
+
+    EntryPoint entryPoint = client.createProxy(EntryPoint.class);
+
+    Observable<LinkableTestResource> linked1 = entryPoint.getAlternateById(1);
+    Observable<LinkableTestResource> linked2 = entryPoint.getAlternateById(2);
+    Observable<LinkableTestResource> linked3 = entryPoint.getAlternateById(null);
+
+    assertThat(linked1).isNotSameAs(linked2);
+    assertThat(linked1).isNotSameAs(linked3);
+    assertThat(linked3).isSameAs(entryPoint.getAlternateById(null));
+
+    verifyNoInteractions(client.getMockJsonLoader());
+  }
+
+  @Test
+  void calls_to_different_methods_with_the_same_relation_should_return_different_observables() {
+
+    EntryPoint entryPoint = client.createProxy(EntryPoint.class);
+
+    assertThat(entryPoint.getAlternate()).isNotSameAs(entryPoint.getAlternateById(null));
+  }
+
   @Test
   void subscriber_counter_should_count_subscriptions_correctly() {
     Single<HalResponse> item1 = item1Counter.getCountingSingle();
@@ -0,0 +1,344 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.client.HalApiClientBuilder;
+import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
+import io.wcm.caravan.rhyme.api.client.ResourceStateCache;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
+import io.wcm.caravan.rhyme.testing.resources.TestResourceState;
+
+class ResourceStateCacheTest {
+
+  private static final String ENTRY_POINT_URI = "/";
+  private static final String ABSOLUTE_ENTRY_POINT_URI = "http://localhost/";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final ResourceStateCache stateCache = ResourceStateCache.create();
+
+  @HalApiInterface
+  interface ResourceWithState {
+
+    @ResourceState
+    Single<TestResourceState> getState();
+
+    @ResourceProperty
+    Single<TestResourceState> getNested();
+
+    @ResourceProperty
+    Observable<TestResourceState> getItems();
+  }
+
+  private static HalResponse createResponse() {
+
+    ObjectNode json = OBJECT_MAPPER.createObjectNode();
+    json.put("text", "foo");
+    json.set("nested", OBJECT_MAPPER.valueToTree(new TestResourceState().withText("bar")));
+    json.putArray("items")
+        .add(OBJECT_MAPPER.valueToTree(new TestResourceState().withNumber(1)))
+        .add(OBJECT_MAPPER.valueToTree(new TestResourceState().withNumber(2)));
+
+    return new HalResponse()
+        .withStatus(200)
+        .withBody(new HalResource(json));
+  }
+
+  private ResourceWithState createProxy(HalResourceLoader loader, ResourceStateCache cache) {
+
+    return createProxy(loader, cache, ENTRY_POINT_URI);
+  }
+
+  private ResourceWithState createProxy(HalResourceLoader loader, ResourceStateCache cache, String entryPointUri) {
+
+    HalApiClientBuilder builder = HalApiClientBuilder.create()
+        .withResourceLoader(loader);
+
+    if (cache != null) {
+      builder.withResourceStateCache(cache);
+    }
+
+    HalApiClient client = builder.build();
+
+    return client.getRemoteResource(entryPointUri, ResourceWithState.class);
+  }
+
+  @Test
+  void should_reuse_converted_state_if_the_same_response_is_loaded_again() {
+
+    HalResponse response = createResponse();
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    TestResourceState first = createProxy(loader, stateCache).getState().blockingGet();
+    TestResourceState second = createProxy(loader, stateCache).getState().blockingGet();
+
+    assertThat(second)
+        .isSameAs(first);
+    assertThat(stateCache.getMissCount())
+        .isEqualTo(1);
+    assertThat(stateCache.getHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_reuse_converted_properties_if_the_same_response_is_loaded_again() {
+
+    HalResponse response = createResponse();
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    TestResourceState first = createProxy(loader, stateCache).getNested().blockingGet();
+    TestResourceState second = createProxy(loader, stateCache).getNested().blockingGet();
+
+    assertThat(second)
+        .isSameAs(first);
+    assertThat(second.text)
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void should_reuse_converted_array_elements_if_the_same_response_is_loaded_again() {
+
+    HalResponse response = createResponse();
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    List<TestResourceState> first = createProxy(loader, stateCache).getItems().toList().blockingGet();
+    List<TestResourceState> second = createProxy(loader, stateCache).getItems().toList().blockingGet();
+
+    assertThat(second)
+        .hasSize(2)
+        .containsExactlyElementsOf(first);
+    assertThat(second.get(0))
+        .isSameAs(first.get(0));
+    assertThat(stateCache.getHitCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_reuse_converted_state_if_body_with_relative_links_is_loaded_from_memory_cache() {
+
+    String json = "{\"_links\":{\"self\":{\"href\":\"/\"}},\"text\":\"foo\"}";
+
+    HttpClientSupport httpClient = (uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      callback.onBodyAvailable(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    };
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withCustomHttpClient(httpClient)
+        .withMemoryCache()
+        .build();
+
+    TestResourceState first = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    TestResourceState second = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(second)
+        .isSameAs(first);
+    assertThat(stateCache.getHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_reuse_converted_state_if_relative_links_are_rewritten_for_each_request() {
+
+    HalResponse response = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(Instant.now());
+    response.getBody().setLink(new Link("/"));
+
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    TestResourceState first = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    TestResourceState second = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(second)
+        .isSameAs(first);
+    assertThat(stateCache.getHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_discard_converted_state_if_a_newer_response_for_the_same_uri_is_loaded() {
+
+    Instant timestamp = Instant.now();
+    HalResponse older = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp);
+    HalResponse newer = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp.plusSeconds(60));
+
+    createProxy(uri -> Single.just(older), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    createProxy(uri -> Single.just(newer), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    createProxy(uri -> Single.just(older), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(stateCache.getMissCount())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void should_convert_again_if_a_different_body_with_the_same_uri_and_timestamp_is_loaded() {
+
+    Instant timestamp = Instant.now();
+    HalResponse first = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp);
+    HalResponse second = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp);
+    second.getBody().getModel().put("text", "changed");
+
+    TestResourceState firstState = createProxy(uri -> Single.just(first), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    TestResourceState secondState = createProxy(uri -> Single.just(second), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(secondState.text)
+        .isEqualTo("changed");
+    assertThat(firstState.text)
+        .isEqualTo("foo");
+    assertThat(stateCache.getMissCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_convert_again_if_a_response_with_a_different_entity_tag_and_the_same_timestamp_is_loaded() {
+
+    Instant timestamp = Instant.now();
+    HalResponse first = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp)
+        .withEntityTag("\"v1\"");
+    HalResponse second = createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp)
+        .withEntityTag("\"v2\"");
+
+    createProxy(uri -> Single.just(first), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    createProxy(uri -> Single.just(second), stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(stateCache.getMissCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_reuse_converted_state_if_an_equal_body_with_the_same_uri_and_timestamp_is_decoded_again() {
+
+    Instant timestamp = Instant.now();
+    HalResourceLoader loader = uri -> Single.just(createResponse()
+        .withUri(ABSOLUTE_ENTRY_POINT_URI)
+        .withTimestamp(timestamp));
+
+    TestResourceState first = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+    TestResourceState second = createProxy(loader, stateCache, ABSOLUTE_ENTRY_POINT_URI).getState().blockingGet();
+
+    assertThat(second)
+        .isSameAs(first);
+
+    assertThat(stateCache.getHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_convert_again_if_a_different_response_is_loaded() {
+
+    TestResourceState first = createProxy(uri -> Single.just(createResponse()), stateCache).getState().blockingGet();
+    TestResourceState second = createProxy(uri -> Single.just(createResponse()), stateCache).getState().blockingGet();
+
+    assertThat(second)
+        .isNotSameAs(first);
+    assertThat(second.text)
+        .isEqualTo(first.text);
+    assertThat(stateCache.getMissCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_distinguish_state_and_property_conversions_to_the_same_type() {
+
+    HalResponse response = createResponse();
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    ResourceWithState proxy = createProxy(loader, stateCache);
+
+    assertThat(proxy.getState().blockingGet().text)
+        .isEqualTo("foo");
+    assertThat(proxy.getNested().blockingGet().text)
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void should_convert_again_if_no_cache_was_specified() {
+
+    HalResponse response = createResponse();
+    HalResourceLoader loader = uri -> Single.just(response);
+
+    TestResourceState first = createProxy(loader, null).getState().blockingGet();
+    TestResourceState second = createProxy(loader, null).getState().blockingGet();
+
+    assertThat(second)
+        .isNotSameAs(first);
+  }
+
+  @Test
+  void should_fail_if_custom_implementation_is_used() {
+
+    ResourceStateCache customCache = new ResourceStateCache() {
+
+      @Override
+      public long getHitCount() {
+        return 0;
+      }
+
+      @Override
+      public long getMissCount() {
+        return 0;
+      }
+    };
+
+    Throwable ex = catchThrowable(() -> HalApiClientBuilder.create().withResourceStateCache(customCache));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("must be created with ResourceStateCache#create()");
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ALTERNATE;
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ITEM;
+import static io.wcm.caravan.rhyme.impl.client.ClientTestSupport.ENTRY_POINT_URI;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.api.client.HalApiClient;
+import io.wcm.caravan.rhyme.api.client.HalApiClientBuilder;
+import io.wcm.caravan.rhyme.api.client.SpeculativePrefetching;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.impl.client.ClientTestSupport.MockClientTestSupport;
+import io.wcm.caravan.rhyme.impl.client.ClientTestSupport.MockClientTestSupport.SubscriberCounter;
+import io.wcm.caravan.rhyme.testing.LinkableTestResource;
+import io.wcm.caravan.rhyme.testing.TestState;
+
+class SpeculativePrefetchingTest {
+
+  private static final int NUM_ITEMS = 5;
+  private static final int MIN_SAMPLES = 3;
+  // the same value as in SpeculativePrefetchingImpl
+  private static final int SUPPRESSED_PREFETCHES_BEFORE_RETRY = 100;
+
+  private final MockClientTestSupport client = ClientTestSupport.withMocking();
+  private final HalResource entryPointHal = new HalResource(new TestState("entry point"), ENTRY_POINT_URI);
+
+  private final List<SubscriberCounter> itemCounters = new ArrayList<>();
+  private SubscriberCounter alternateCounter;
+
+  private final SpeculativePrefetching prefetching = SpeculativePrefetching.create()
+      .withMinimumSamples(MIN_SAMPLES);
+
+  @BeforeEach
+  void setUp() {
+    client.mockHalResponse(ENTRY_POINT_URI, entryPointHal);
+
+    for (int i = 0; i < NUM_ITEMS; i++) {
+      String itemUrl = "/item/" + i;
+      entryPointHal.addLinks(ITEM, new Link(itemUrl));
+      itemCounters.add(client.mockHalResponseWithState(itemUrl, new TestState("item " + i)));
+    }
+
+    entryPointHal.addLinks(ALTERNATE, new Link("/alternate"));
+    alternateCounter = client.mockHalResponseWithState("/alternate", new TestState("alternate"));
+  }
+
+  @HalApiInterface
+  interface EntryPoint {
+
+    @ResourceState
+    Maybe<TestState> getState();
+
+    @Related(ITEM)
+    List<LinkableTestResource> getItems();
+
+    @Related(ITEM)
+    List<Link> getItemLinks();
+
+    @Related(ALTERNATE)
+    List<LinkableTestResource> getAlternates();
+  }
+
+  private EntryPoint createEntryPoint() {
+
+    return HalApiClientBuilder.create()
+        .withResourceLoader(client.getMockJsonLoader())
+        .withSpeculativePrefetching(prefetching)
+        .build()
+        .getRemoteResource(ENTRY_POINT_URI, EntryPoint.class);
+  }
+
+  private void loadEntryPointAndAllItems() {
+
+    EntryPoint entryPoint = createEntryPoint();
+
+    entryPoint.getState().blockingGet();
+    entryPoint.getItems().forEach(item -> item.getState().blockingGet());
+  }
+
+  private void loadEntryPointOnly() {
+
+    createEntryPoint().getState().blockingGet();
+  }
+
+  private int countItemSubscriptions() {
+    return itemCounters.stream()
+        .mapToInt(SubscriberCounter::getCount)
+        .sum();
+  }
+
+  @Test
+  void nothing_should_be_prefetched_before_minimum_number_of_samples_was_observed() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointOnly();
+    }
+
+    assertThat(countItemSubscriptions())
+        .isZero();
+    assertThat(prefetching.getPrefetchCount())
+        .isZero();
+  }
+
+  @Test
+  void followed_relation_should_be_prefetched_after_minimum_number_of_samples_was_observed() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+    assertThat(countItemSubscriptions())
+        .isEqualTo(MIN_SAMPLES * NUM_ITEMS);
+
+    loadEntryPointOnly();
+
+    assertThat(countItemSubscriptions())
+        .isEqualTo((MIN_SAMPLES + 1) * NUM_ITEMS);
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+
+    // the alternate relation was never followed, so it shouldn't be prefetched
+    assertThat(alternateCounter.getCount())
+        .isZero();
+  }
+
+  @Test
+  void prefetched_resources_should_be_reported_as_used_if_requested_by_proxies() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    loadEntryPointAndAllItems();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+    assertThat(prefetching.getUsedPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+    assertThat(prefetching.getWastedPrefetchCount())
+        .isZero();
+
+    // the resources should not have been requested again by the proxies
+    assertThat(countItemSubscriptions())
+        .isEqualTo((MIN_SAMPLES + 1) * NUM_ITEMS);
+  }
+
+  @Test
+  void prefetched_resources_should_be_reported_as_wasted_if_not_requested_by_proxies() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getUsedPrefetchCount())
+        .isZero();
+    assertThat(prefetching.getWastedPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+  }
+
+  @Test
+  void prefetching_should_be_suppressed_if_waste_budget_is_exceeded() {
+
+    prefetching.withMinimumFollowRatio(0.5);
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    loadEntryPointOnly();
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+
+    loadEntryPointOnly();
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+    assertThat(prefetching.getSuppressedPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+  }
+
+  @Test
+  void relation_should_not_be_prefetched_if_it_is_not_followed_frequently() {
+
+    loadEntryPointAndAllItems();
+    for (int i = 1; i < MIN_SAMPLES; i++) {
+      loadEntryPointOnly();
+    }
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isZero();
+  }
+
+  @Test
+  void relation_should_not_be_prefetched_if_only_links_are_emitted() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      EntryPoint entryPoint = createEntryPoint();
+      entryPoint.getState().blockingGet();
+      entryPoint.getItemLinks();
+    }
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isZero();
+  }
+
+  @Test
+  void relation_should_not_be_prefetched_if_linked_resources_are_not_loaded_by_proxies() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      EntryPoint entryPoint = createEntryPoint();
+      entryPoint.getState().blockingGet();
+      entryPoint.getItems();
+    }
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isZero();
+    assertThat(countItemSubscriptions())
+        .isZero();
+  }
+
+  @Test
+  void number_of_prefetches_per_client_should_be_limited() {
+
+    prefetching.withMaxPrefetchesPerClient(2);
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(2);
+    assertThat(prefetching.getSuppressedPrefetchCount())
+        .isEqualTo(NUM_ITEMS - 2);
+  }
+
+  @Test
+  void limit_per_client_should_not_trigger_retry_of_suppressed_relation() {
+
+    prefetching.withMaxPrefetchesPerClient(1);
+    // the relation should still be considered as usually followed after all the following clients did not follow it
+    prefetching.withMinimumFollowRatio(0.05);
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    // one (wasted) prefetch is started for each of the first clients, until the waste budget is exceeded
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointOnly();
+    }
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(MIN_SAMPLES);
+
+    // only prefetches suppressed by the waste budget count towards the retry (and not those suppressed by the limit)
+    int clientsBeforeRetry = SUPPRESSED_PREFETCHES_BEFORE_RETRY / NUM_ITEMS;
+    for (int i = 0; i < clientsBeforeRetry - 1; i++) {
+      loadEntryPointOnly();
+    }
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(MIN_SAMPLES);
+
+    loadEntryPointOnly();
+    loadEntryPointOnly();
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(MIN_SAMPLES + 1);
+  }
+
+  @Test
+  void resources_loaded_with_HalApiClient_prefetch_should_not_count_as_followed() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      EntryPoint entryPoint = createEntryPoint();
+      entryPoint.getState().blockingGet();
+      HalApiClient.prefetch(entryPoint.getItems(), 2);
+    }
+    assertThat(countItemSubscriptions())
+        .isEqualTo(MIN_SAMPLES * NUM_ITEMS);
+
+    loadEntryPointOnly();
+
+    assertThat(prefetching.getPrefetchCount())
+        .isZero();
+  }
+
+  @Test
+  void resources_loaded_with_HalApiClient_prefetch_should_not_count_as_used() {
+
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      loadEntryPointAndAllItems();
+    }
+
+    EntryPoint entryPoint = createEntryPoint();
+    entryPoint.getState().blockingGet();
+    HalApiClient.prefetch(entryPoint.getItems(), 2);
+
+    assertThat(prefetching.getPrefetchCount())
+        .isEqualTo(NUM_ITEMS);
+    assertThat(prefetching.getUsedPrefetchCount())
+        .isZero();
+  }
+
+  @Test
+  void withMinimumFollowRatio_should_fail_for_invalid_ratio() {
+
+    assertThatThrownBy(() -> prefetching.withMinimumFollowRatio(1.5))
+        .isInstanceOf(HalApiDeveloperException.class);
+  }
+
+  @Test
+  void withMaxConcurrency_should_fail_for_invalid_value() {
+
+    assertThatThrownBy(() -> prefetching.withMaxConcurrency(0))
+        .isInstanceOf(HalApiDeveloperException.class);
+  }
+
+  @Test
+  void withSpeculativePrefetching_should_fail_for_custom_implementation() {
+
+    HalApiClientBuilder builder = HalApiClientBuilder.create();
+    SpeculativePrefetching mock = Mockito.mock(SpeculativePrefetching.class);
+
+    assertThatThrownBy(() -> builder.withSpeculativePrefetching(mock))
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("#create()");
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+class UpstreamHostsTest {
+
+  @Test
+  void getHost_should_extract_host_like_uri_parser() {
+
+    String[] uris = { "http://foo.org", "http://foo.org/path", "https://foo.org:8443/path?query#hash", "http://user:pw@foo.org:8080/",
+        "http://foo.org?x=y", "http://[::1]:8080/path", "/relative/path", "relative?url=http://foo.org/", "", "file:///tmp/foo" };
+
+    for (String uri : uris) {
+      String expected = StringUtils.defaultString(URI.create(uri).getHost());
+      assertThat(UpstreamHosts.getHost(uri))
+          .as(uri)
+          .isEqualTo(expected);
+    }
+  }
+}
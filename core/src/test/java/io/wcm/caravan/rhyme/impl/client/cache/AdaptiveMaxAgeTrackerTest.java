@@ -0,0 +1,231 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.testing.TestClock;
+
+class AdaptiveMaxAgeTrackerTest {
+
+  private static final String URI = "/foo";
+
+  private final CachingConfiguration config = new DefaultCachingConfiguration() {
+
+    @Override
+    public boolean isAdaptiveMaxAgeEnabled() {
+      return true;
+    }
+
+    @Override
+    public int getMinAdaptiveMaxAge() {
+      return 15;
+    }
+
+    @Override
+    public int getMaxAdaptiveMaxAge() {
+      return 200;
+    }
+  };
+
+  private final AdaptiveMaxAgeTracker tracker = new AdaptiveMaxAgeTracker(config);
+
+  private static HalResponse createResponse(String uri, int version) {
+
+    return new HalResponse()
+        .withUri(uri)
+        .withStatus(200)
+        .withBody(JsonNodeFactory.instance.objectNode().put("version", version));
+  }
+
+  @Test
+  void first_response_should_use_default_max_age() {
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 1), 60))
+        .isEqualTo(60);
+  }
+
+  @Test
+  void first_response_should_be_bounded() {
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 1), 1))
+        .isEqualTo(15);
+  }
+
+  @Test
+  void unchanged_response_should_double_max_age() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 1), 60))
+        .isEqualTo(120);
+  }
+
+  @Test
+  void unchanged_response_should_not_exceed_max_adaptive_max_age() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 1), 60))
+        .isEqualTo(200);
+  }
+
+  @Test
+  void changed_response_should_halve_max_age() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 2), 60))
+        .isEqualTo(30);
+  }
+
+  @Test
+  void changed_response_should_not_go_below_min_adaptive_max_age() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+    tracker.adaptMaxAge(createResponse(URI, 2), 60);
+
+    assertThat(tracker.adaptMaxAge(createResponse(URI, 3), 60))
+        .isEqualTo(15);
+  }
+
+  @Test
+  void max_age_should_be_tracked_separately_for_each_uri() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+
+    assertThat(tracker.adaptMaxAge(createResponse("/bar", 1), 60))
+        .isEqualTo(60);
+  }
+
+  @Test
+  void caching_loader_should_use_adapted_max_age_if_upstream_response_has_no_max_age() {
+
+    TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    AtomicInteger upstreamCount = new AtomicInteger();
+    HalResourceLoader upstream = uri -> {
+      upstreamCount.incrementAndGet();
+      return Single.just(createResponse(uri, 1));
+    };
+
+    CachingHalResourceLoader loader = new CachingHalResourceLoader(upstream, new GuavaCacheImplementation(100, Duration.ofDays(1)), config, clock,
+        Schedulers.trampoline());
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(60);
+
+    clock.fastForward(Duration.ofSeconds(61));
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(120);
+
+    clock.fastForward(Duration.ofSeconds(61));
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(59);
+    assertThat(upstreamCount)
+        .hasValue(2);
+  }
+
+  @Test
+  void unchanged_response_should_double_max_age_without_comparing_body() {
+
+    tracker.adaptMaxAge(createResponse(URI, 1), 60);
+
+    assertThat(tracker.adaptMaxAgeOfUnchangedResponse(createResponse(URI, 1), 60))
+        .isEqualTo(120);
+    assertThat(tracker.hasAdaptedMaxAge(createResponse(URI, 1).withMaxAge(120)))
+        .isTrue();
+    assertThat(tracker.hasAdaptedMaxAge(createResponse(URI, 1).withMaxAge(60)))
+        .isFalse();
+  }
+
+  @Test
+  void caching_loader_should_adapt_max_age_if_response_was_revalidated() {
+
+    TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    AtomicInteger revalidationCount = new AtomicInteger();
+    HalResourceLoader upstream = new HalResourceLoader() {
+
+      @Override
+      public Single<HalResponse> getHalResource(String uri) {
+        return Single.just(createResponse(uri, 1).withEntityTag("\"v1\""));
+      }
+
+      @Override
+      public Single<HalResponse> revalidateHalResource(String uri, HalResponse staleResponse) {
+        // this is what the HttpHalResourceLoader does for a "304 Not Modified" response without max-age
+        revalidationCount.incrementAndGet();
+        return Single.just(staleResponse.withUri(uri));
+      }
+    };
+
+    CachingHalResourceLoader loader = new CachingHalResourceLoader(upstream, new GuavaCacheImplementation(100, Duration.ofDays(1)), config, clock,
+        Schedulers.trampoline());
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(60);
+
+    clock.fastForward(Duration.ofSeconds(61));
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(120);
+
+    clock.fastForward(Duration.ofSeconds(121));
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(200);
+    assertThat(revalidationCount)
+        .hasValue(2);
+  }
+
+  @Test
+  void caching_loader_should_not_adapt_max_age_if_disabled() {
+
+    TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+    HalResourceLoader upstream = uri -> Single.just(createResponse(uri, 1));
+
+    CachingHalResourceLoader loader = new CachingHalResourceLoader(upstream, new GuavaCacheImplementation(100, Duration.ofDays(1)),
+        new DefaultCachingConfiguration(), clock, Schedulers.trampoline());
+
+    loader.getHalResource(URI).blockingGet();
+    clock.fastForward(Duration.ofSeconds(61));
+
+    assertThat(loader.getHalResource(URI).blockingGet().getMaxAge())
+        .isEqualTo(new DefaultCachingConfiguration().getDefaultMaxAge(Optional.of(200)));
+  }
+}
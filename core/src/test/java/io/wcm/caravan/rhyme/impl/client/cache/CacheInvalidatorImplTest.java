@@ -0,0 +1,397 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
+import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.testing.TestClock;
+
+class CacheInvalidatorImplTest {
+
+  private final TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+  private final CountingUpstreamLoader upstream = new CountingUpstreamLoader();
+
+  private final CachingConfiguration config = new DefaultCachingConfiguration() {
+
+    @Override
+    public Collection<String> getInvalidationTags(HalResponse response) {
+
+      List<String> tags = new ArrayList<>();
+      response.getBody().getModel().path("tags").forEach(tag -> tags.add(tag.asText()));
+      return tags;
+    }
+  };
+
+  private final GuavaCacheImplementation cache = new GuavaCacheImplementation(100, Duration.ofDays(1));
+
+  private final CacheInvalidatorImpl invalidator = new CacheInvalidatorImpl();
+
+  private CachingHalResourceLoader loader;
+
+  @BeforeEach
+  void setUp() {
+    loader = createLoader(cache);
+  }
+
+  private CachingHalResourceLoader createLoader(HalResponseCache cacheImpl) {
+
+    CachingHalResourceLoader cachingLoader = new CachingHalResourceLoader(upstream, cacheImpl, config, clock, Schedulers.trampoline());
+    invalidator.register(cachingLoader);
+    return cachingLoader;
+  }
+
+  private int loadVersion(String uri) {
+
+    return loader.getHalResource(uri).blockingGet().getBody().getModel().path("version").asInt();
+  }
+
+  @Test
+  void invalidate_should_force_upstream_request() {
+
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(1);
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(1);
+
+    assertThat(invalidator.invalidate("/foo"))
+        .isEqualTo(1);
+
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void invalidate_should_remove_response_from_cache() {
+
+    loadVersion("/foo");
+
+    invalidator.invalidate("/foo");
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+  }
+
+  @Test
+  void invalidate_should_not_affect_other_uris() {
+
+    loadVersion("/foo");
+    loadVersion("/bar");
+
+    invalidator.invalidate("/foo");
+
+    assertThat(loadVersion("/bar"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void invalidate_should_return_zero_if_uri_was_not_cached() {
+
+    assertThat(invalidator.invalidate("/foo"))
+        .isZero();
+  }
+
+  @Test
+  void invalidate_should_ignore_cached_response_if_cache_does_not_support_removal() {
+
+    HalResponseCache cacheWithoutRemoval = new HalResponseCache() {
+
+      private final Map<String, HalResponse> entries = new ConcurrentHashMap<>();
+
+      @Override
+      public Maybe<HalResponse> load(String uri) {
+        return Maybe.fromCallable(() -> entries.get(uri));
+      }
+
+      @Override
+      public void store(HalResponse response) {
+        entries.put(response.getUri(), response);
+      }
+    };
+
+    loader = createLoader(cacheWithoutRemoval);
+
+    loadVersion("/foo");
+
+    invalidator.invalidate("/foo");
+
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void invalidate_should_prevent_storing_response_that_was_requested_before() {
+
+    SingleSubject<HalResponse> pendingResponse = SingleSubject.create();
+    loader = new CachingHalResourceLoader(uri -> pendingResponse, cache, config, clock, Schedulers.trampoline());
+    invalidator.register(loader);
+
+    TestObserver<HalResponse> observer = loader.getHalResource("/foo").test();
+
+    invalidator.invalidate("/foo");
+
+    pendingResponse.onSuccess(new HalResponse()
+        .withUri("/foo")
+        .withStatus(200)
+        .withMaxAge(3600)
+        .withBody(JsonNodeFactory.instance.objectNode()));
+
+    observer.assertComplete();
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+  }
+
+  @Test
+  void invalidate_should_forget_invalidated_uri_when_new_response_was_stored() {
+
+    loadVersion("/foo");
+
+    invalidator.invalidate("/foo");
+
+    assertThat(loader.getInvalidatedUriCount())
+        .isEqualTo(1);
+
+    loadVersion("/foo");
+
+    assertThat(loader.getInvalidatedUriCount())
+        .isZero();
+  }
+
+  @Test
+  void invalidate_should_limit_number_of_invalidated_uris() {
+
+    for (int i = 0; i < CachingHalResourceLoader.MAX_INVALIDATED_URIS + 100; i++) {
+      invalidator.invalidate("/foo/" + i);
+    }
+
+    assertThat(loader.getInvalidatedUriCount())
+        .isLessThanOrEqualTo(CachingHalResourceLoader.MAX_INVALIDATED_URIS);
+  }
+
+  @Test
+  void invalidateByPrefix_should_invalidate_all_uris_with_prefix() {
+
+    loadVersion("/articles/1");
+    loadVersion("/articles/2");
+    loadVersion("/articles");
+    loadVersion("/authors/1");
+
+    assertThat(invalidator.invalidateByPrefix("/articles/"))
+        .isEqualTo(2);
+
+    assertThat(loadVersion("/articles/1"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/articles/2"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/articles"))
+        .isEqualTo(1);
+    assertThat(loadVersion("/authors/1"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void invalidateByPrefix_should_not_find_uris_that_were_already_invalidated() {
+
+    loadVersion("/articles/1");
+
+    invalidator.invalidateByPrefix("/articles/");
+
+    assertThat(invalidator.invalidateByPrefix("/articles/"))
+        .isZero();
+  }
+
+  @Test
+  void invalidateByTag_should_invalidate_all_tagged_uris() {
+
+    upstream.tags.put("/articles/1", new String[] { "article-1", "author-1" });
+    upstream.tags.put("/articles/2", new String[] { "article-2", "author-1" });
+    upstream.tags.put("/authors/1", new String[] { "author-1" });
+    upstream.tags.put("/authors/2", new String[] { "author-2" });
+
+    loadVersion("/articles/1");
+    loadVersion("/articles/2");
+    loadVersion("/authors/1");
+    loadVersion("/authors/2");
+
+    assertThat(invalidator.invalidateByTag("author-1"))
+        .isEqualTo(3);
+
+    assertThat(loadVersion("/articles/1"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/articles/2"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/authors/1"))
+        .isEqualTo(2);
+    assertThat(loadVersion("/authors/2"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void invalidateByTag_should_use_tags_of_latest_response() {
+
+    upstream.tags.put("/foo", new String[] { "old-tag" });
+    loadVersion("/foo");
+
+    upstream.tags.put("/foo", new String[] { "new-tag" });
+    invalidator.invalidate("/foo");
+    loadVersion("/foo");
+
+    assertThat(invalidator.invalidateByTag("old-tag"))
+        .isZero();
+    assertThat(invalidator.invalidateByTag("new-tag"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_invalidate_responses_of_all_registered_loaders() {
+
+    CachingHalResourceLoader otherLoader = createLoader(new GuavaCacheImplementation(100, Duration.ofDays(1)));
+
+    loader.getHalResource("/foo").blockingGet();
+    otherLoader.getHalResource("/foo").blockingGet();
+
+    assertThat(invalidator.invalidateByPrefix("/"))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void responses_should_not_be_indexed_if_loader_is_not_registered() {
+
+    CachingHalResourceLoader unregisteredLoader = new CachingHalResourceLoader(upstream, cache, config, clock, Schedulers.trampoline());
+
+    unregisteredLoader.getHalResource("/foo").blockingGet();
+
+    assertThat(unregisteredLoader.getInvalidationIndex().size())
+        .isZero();
+  }
+
+  @Test
+  void responses_stored_by_another_instance_should_be_indexed_when_loaded_from_cache() {
+
+    // e.g. a response that was stored in a persistent cache before the application was restarted
+    CachingHalResourceLoader previousLoader = new CachingHalResourceLoader(upstream, cache, config, clock, Schedulers.trampoline());
+    previousLoader.getHalResource("/foo").blockingGet();
+
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(1);
+    assertThat(loader.getInvalidationIndex().size())
+        .isEqualTo(1);
+
+    assertThat(invalidator.invalidateByPrefix("/"))
+        .isEqualTo(1);
+    assertThat(loadVersion("/foo"))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void closed_loaders_should_be_unregistered() {
+
+    loader.getHalResource("/foo").blockingGet();
+
+    loader.close();
+
+    assertThat(invalidator.invalidateByPrefix("/"))
+        .isZero();
+  }
+
+  @Test
+  void expired_responses_should_be_removed_from_index() {
+
+    for (int i = 0; i < 999; i++) {
+      loader.getHalResource("/foo/" + i).blockingGet();
+    }
+
+    assertThat(loader.getInvalidationIndex().size())
+        .isEqualTo(999);
+
+    clock.fastForward(Duration.ofHours(2));
+    loader.getHalResource("/bar").blockingGet();
+
+    assertThat(loader.getInvalidationIndex().size())
+        .isEqualTo(1);
+    assertThat(invalidator.invalidateByPrefix("/foo/"))
+        .isZero();
+  }
+
+  @Test
+  void create_should_return_new_instance() {
+
+    assertThat(CacheInvalidator.create())
+        .isInstanceOf(CacheInvalidatorImpl.class)
+        .isNotSameAs(CacheInvalidator.create());
+  }
+
+  static class CountingUpstreamLoader implements HalResourceLoader {
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+    private final Map<String, String[]> tags = new ConcurrentHashMap<>();
+
+    @Override
+    public Single<HalResponse> getHalResource(String uri) {
+
+      int version = versions.merge(uri, 1, Integer::sum);
+
+      ObjectNode body = JsonNodeFactory.instance.objectNode()
+          .put("version", version);
+
+      ArrayNode tagsNode = body.putArray("tags");
+      for (String tag : tags.getOrDefault(uri, new String[0])) {
+        tagsNode.add(tag);
+      }
+
+      return Single.just(new HalResponse()
+          .withUri(uri)
+          .withStatus(200)
+          .withMaxAge(3600)
+          .withBody(body));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import java.time.Instant;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+/**
+ * Creates the responses that are stored in the tests for the {@link io.wcm.caravan.rhyme.api.spi.HalResponseCache}
+ * implementations
+ */
+final class CacheTestResponses {
+
+  // a fixed seed is used, so that the size of the compressed bodies (and therefore the test results) is reproducible
+  private static final Random RANDOM = new Random(0);
+
+  private CacheTestResponses() {
+    // only static methods
+  }
+
+  /**
+   * @param uri of the response
+   * @return a cacheable response with a small body that contains the given URI
+   */
+  static HalResponse createResponse(String uri) {
+
+    ObjectNode body = JsonNodeFactory.instance.objectNode()
+        .put("uri", uri);
+
+    return createResponse(uri, body);
+  }
+
+  /**
+   * @param uri of the response
+   * @param textLength the number of random (and therefore hardly compressible) characters in the body
+   * @return a cacheable response with a body of the given size
+   */
+  static HalResponse createResponse(String uri, int textLength) {
+
+    ObjectNode body = JsonNodeFactory.instance.objectNode()
+        .put("text", randomText(textLength));
+
+    return createResponse(uri, body);
+  }
+
+  /**
+   * @param uri of the response
+   * @param text the value of the "text" property in the body
+   * @param timestamp the time at which the response was retrieved
+   * @param maxAge the max-age of the response (in seconds)
+   * @return a response with the given timestamp and max-age
+   */
+  static HalResponse createResponse(String uri, String text, Instant timestamp, int maxAge) {
+
+    ObjectNode body = JsonNodeFactory.instance.objectNode()
+        .put("text", text);
+
+    return createResponse(uri, body)
+        .withMaxAge(maxAge)
+        .withTimestamp(timestamp);
+  }
+
+  private static HalResponse createResponse(String uri, ObjectNode body) {
+
+    return new HalResponse()
+        .withUri(uri)
+        .withStatus(200)
+        .withMaxAge(60)
+        .withBody(body);
+  }
+
+  /**
+   * @param length the number of characters
+   * @return random (and therefore hardly compressible) text, to create entries of a specific size
+   */
+  static String randomText(int length) {
+
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append((char)('a' + RANDOM.nextInt(26)));
+    }
+    return sb.toString();
+  }
+}
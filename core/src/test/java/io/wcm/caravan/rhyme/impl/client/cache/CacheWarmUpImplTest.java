@@ -0,0 +1,342 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subjects.SingleSubject;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.client.CacheWarmUp;
+import io.wcm.caravan.rhyme.api.client.CacheWarmUp.Progress;
+import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+
+class CacheWarmUpImplTest {
+
+  private final Map<String, HalResource> resources = new HashMap<>();
+  private final List<String> loadedUrls = new ArrayList<>();
+
+  private final HalResourceLoader loader = uri -> {
+    loadedUrls.add(uri);
+    HalResource hal = resources.get(uri);
+    if (hal == null) {
+      return Single.error(new HalApiClientException("Not found", 404, uri, null));
+    }
+    return Single.just(new HalResponse().withUri(uri).withStatus(200).withBody(hal));
+  };
+
+  private HalResource addResource(String uri) {
+    HalResource hal = new HalResource(uri);
+    resources.put(uri, hal);
+    return hal;
+  }
+
+  private void addChain(int length) {
+    for (int i = 0; i < length; i++) {
+      addResource("/" + i).addLinks("item", new Link("/" + (i + 1)));
+    }
+    addResource("/" + length);
+  }
+
+  @Test
+  void should_fail_without_entry_point() {
+
+    Throwable ex = catchThrowable(() -> CacheWarmUp.create(loader).start());
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class);
+  }
+
+  @Test
+  void should_fail_with_negative_max_depth() {
+
+    Throwable ex = catchThrowable(() -> CacheWarmUp.create(loader).withMaxDepth(-1));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("depth");
+  }
+
+  @Test
+  void should_fail_with_zero_max_concurrency() {
+
+    Throwable ex = catchThrowable(() -> CacheWarmUp.create(loader).withMaxConcurrency(0));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("concurrency");
+  }
+
+  @Test
+  void should_fail_with_zero_limit() {
+
+    Throwable ex = catchThrowable(() -> CacheWarmUp.create(loader).withLimit(0));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("number of resources");
+  }
+
+  @Test
+  void should_load_all_linked_resources() {
+
+    addResource("/").addLinks("item", new Link("/a"), new Link("/b"));
+    addResource("/a").addLinks("item", new Link("/b"), new Link("/c"));
+    addResource("/b");
+    addResource("/c");
+
+    Progress progress = CacheWarmUp.create(loader)
+        .withEntryPoint("/")
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactlyInAnyOrder("/", "/a", "/b", "/c");
+    assertThat(progress.getNumLoaded())
+        .isEqualTo(4);
+    assertThat(progress.getNumPending())
+        .isZero();
+    assertThat(progress.isCompleted())
+        .isTrue();
+  }
+
+  @Test
+  void should_promote_resources_from_second_level_cache_in_a_single_batch() {
+
+    TieredCacheImplementationTest.FakeAsyncCache secondLevel = new TieredCacheImplementationTest.FakeAsyncCache();
+    for (String uri : Arrays.asList("/", "/a")) {
+      HalResource hal = addResource(uri);
+      secondLevel.entries.put(uri, new HalResponse().withUri(uri).withStatus(200).withMaxAge(60).withTimestamp(Instant.now()).withBody(hal));
+    }
+
+    HalResourceLoader cachingLoader = HalResourceLoaderBuilder.create()
+        .withExistingLoader(loader)
+        .withSecondLevelCache(secondLevel)
+        .build();
+
+    CacheWarmUp.create(cachingLoader)
+        .withEntryPoint("/")
+        .withEntryPoint("/a")
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .isEmpty();
+    assertThat(secondLevel.numBatchLoads)
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_resolve_relative_links_against_url_of_linking_resource() {
+
+    addResource("http://localhost/items/").addLinks("item", new Link("1"), new Link("/other/2"));
+    addResource("http://localhost/items/1").addLinks("related", new Link("../other/3"));
+    addResource("http://localhost/other/2");
+    addResource("http://localhost/other/3");
+
+    Progress progress = CacheWarmUp.create(loader)
+        .withEntryPoint("http://localhost/items/")
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactlyInAnyOrder("http://localhost/items/", "http://localhost/items/1", "http://localhost/other/2", "http://localhost/other/3");
+    assertThat(progress.getNumFailed())
+        .isZero();
+  }
+
+  @Test
+  void should_crawl_again_for_each_subscription() {
+
+    addChain(2);
+
+    Single<Progress> warmUp = CacheWarmUp.create(loader)
+        .withEntryPoint("/0")
+        .start();
+
+    warmUp.blockingGet();
+    Progress progress = warmUp.blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactly("/0", "/1", "/2", "/0", "/1", "/2");
+    assertThat(progress.getNumLoaded())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void should_follow_links_from_embedded_resources() {
+
+    HalResource embedded = new HalResource("/embedded")
+        .addLinks("item", new Link("/linked-from-embedded"));
+    addResource("/").addEmbedded("item", embedded);
+    addResource("/linked-from-embedded");
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/")
+        .start()
+        .blockingGet();
+
+    // the self link of the embedded resource is followed as well, as it can be requested separately
+    assertThat(loadedUrls)
+        .containsExactlyInAnyOrder("/", "/embedded", "/linked-from-embedded");
+  }
+
+  @Test
+  void should_not_follow_templated_links_and_curies() {
+
+    addResource("/")
+        .addLinks("item", new Link("/{id}"))
+        .addLinks("curies", new Link("/docs/{rel}"));
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/")
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactly("/");
+  }
+
+  @Test
+  void should_respect_max_depth() {
+
+    addChain(5);
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/0")
+        .withMaxDepth(2)
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactly("/0", "/1", "/2");
+  }
+
+  @Test
+  void should_respect_limit() {
+
+    addChain(5);
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/0")
+        .withLimit(3)
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .hasSize(3);
+  }
+
+  @Test
+  void should_only_follow_selected_relations() {
+
+    addResource("/")
+        .addLinks("item", new Link("/item"))
+        .addLinks("section", new Link("/section"));
+    addResource("/item");
+    addResource("/section");
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/")
+        .withRelation("section")
+        .start()
+        .blockingGet();
+
+    assertThat(loadedUrls)
+        .containsExactly("/", "/section");
+  }
+
+  @Test
+  void should_continue_after_failures() {
+
+    addResource("/").addLinks("item", new Link("/missing"), new Link("/found"));
+    addResource("/found");
+
+    Progress progress = CacheWarmUp.create(loader)
+        .withEntryPoint("/")
+        .start()
+        .blockingGet();
+
+    assertThat(progress.getNumLoaded())
+        .isEqualTo(2);
+    assertThat(progress.getNumFailed())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_report_progress() {
+
+    addChain(2);
+
+    List<Progress> reported = new ArrayList<>();
+
+    CacheWarmUp.create(loader)
+        .withEntryPoint("/0")
+        .withProgressListener(reported::add)
+        .start()
+        .blockingGet();
+
+    assertThat(reported)
+        .extracting(Progress::getNumLoaded)
+        .containsExactly(1, 2, 3);
+    assertThat(reported)
+        .extracting(Progress::isCompleted)
+        .containsOnly(false);
+  }
+
+  @Test
+  void should_limit_concurrency() {
+
+    Map<String, SingleSubject<HalResponse>> subjects = new HashMap<>();
+    HalResourceLoader slowLoader = uri -> subjects.computeIfAbsent(uri, key -> SingleSubject.create());
+
+    CacheWarmUp.create(slowLoader)
+        .withEntryPoint("/1")
+        .withEntryPoint("/2")
+        .withEntryPoint("/3")
+        .withEntryPoint("/4")
+        .withMaxConcurrency(2)
+        .start()
+        .test();
+
+    assertThat(subjects)
+        .containsOnlyKeys("/1", "/2");
+
+    subjects.get("/1").onSuccess(new HalResponse().withUri("/1").withBody(new HalResource("/1")));
+
+    assertThat(subjects)
+        .containsOnlyKeys("/1", "/2", "/3");
+  }
+}
@@ -22,7 +22,14 @@ package io.wcm.caravan.rhyme.impl.client.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
@@ -39,7 +46,11 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.SingleSubject;
 import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
@@ -71,7 +82,7 @@ class CachingHalResourceLoaderTest {
   @BeforeEach
   void setUp() {
     cache = new GuavaCacheImplementation(100, Duration.ofDays(1));
-    loader = new CachingHalResourceLoader(upstream.getMockJsonLoader(), cache, config, clock);
+    loader = new CachingHalResourceLoader(upstream.getMockJsonLoader(), cache, config, clock, Schedulers.trampoline());
   }
 
   @Test
@@ -288,6 +299,498 @@ class CachingHalResourceLoaderTest {
 
   }
 
+  @Test
+  void should_use_stale_response_within_stale_while_revalidate_window_and_revalidate_in_background() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, 30, null);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    HalResponse staleResponse = loadResponseAndAssertTextIs("original");
+
+    assertThat(staleResponse.getMaxAge())
+        .isZero();
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+
+    loadResponseAndAssertTextIs("updated");
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_use_default_stale_while_revalidate_if_directive_is_not_present() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+    when(config.getDefaultStaleWhileRevalidate(any()))
+        .thenReturn(30);
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("updated");
+  }
+
+  @Test
+  void should_not_use_stale_response_if_not_enabled_in_configuration() {
+
+    mockOkResponseWithStaleDirectives("original", 60, 30, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("updated");
+  }
+
+  @Test
+  void should_not_use_stale_response_after_stale_while_revalidate_window() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, 30, null);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(90));
+
+    mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("updated");
+  }
+
+  @Test
+  void should_ignore_failure_of_background_revalidation() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, 30, null);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    SubscriberCounter counter = mockHalApiClientExceptionWithMaxAge(503, null);
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_use_stale_response_within_stale_if_error_window_if_upstream_fails() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    SubscriberCounter counter = mockHalApiClientExceptionWithMaxAge(503, null);
+    HalResponse staleResponse = loadResponseAndAssertTextIs("original");
+
+    assertThat(staleResponse.getMaxAge())
+        .isZero();
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_not_replace_stale_response_with_error_response_if_stale_response_was_used() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+    lenient().when(config.isCachingOfHalApiClientExceptionsEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    SubscriberCounter counter = mockHalApiClientExceptionWithMaxAge(503, 60);
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_store_error_response_once_if_stale_response_cannot_be_used() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+    when(config.isCachingOfHalApiClientExceptionsEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    HalResponseCache spyCache = spy(cache);
+    loader = new CachingHalResourceLoader(upstream.getMockJsonLoader(), spyCache, config, clock, Schedulers.trampoline());
+
+    SubscriberCounter counter = mockHalApiClientExceptionWithMaxAge(404, 60);
+    loadResourceAndExpectHalApiClientException(404);
+    loadResourceAndExpectHalApiClientException(404);
+
+    verify(spyCache, times(1)).store(any());
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_use_default_stale_if_error_if_directive_is_not_present() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+    when(config.getDefaultStaleIfError(any()))
+        .thenReturn(600);
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    mockHalApiClientExceptionWithMaxAge(null, null);
+    loadResponseAndAssertTextIs("original");
+  }
+
+  @Test
+  void should_not_use_stale_response_if_upstream_fails_with_client_error() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    mockHalApiClientExceptionWithMaxAge(404, null);
+    loadResourceAndExpectHalApiClientException(404);
+  }
+
+  @Test
+  void should_not_use_stale_response_after_stale_if_error_window() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(700));
+
+    mockHalApiClientExceptionWithMaxAge(503, null);
+    loadResourceAndExpectHalApiClientException(503);
+  }
+
+  @Test
+  void should_share_upstream_request_for_concurrent_cache_misses() {
+
+    SingleSubject<HalResponse> subject = SingleSubject.create();
+    SubscriberCounter counter = upstream.mockResponseWithSingle(URI, subject);
+
+    TestObserver<HalResponse> first = loader.getHalResource(URI).test();
+    TestObserver<HalResponse> second = loader.getHalResource(URI).test();
+    TestObserver<HalResponse> third = loader.getHalResource(URI).test();
+
+    assertThat(loader.getInFlightRequests().getNumRequestsInFlight())
+        .isEqualTo(1);
+
+    subject.onSuccess(createResponseWithTextAndMaxAge(URI, "foo", 60));
+
+    first.assertValueCount(1);
+    second.assertValueCount(1);
+    third.assertValueCount(1);
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+    assertThat(loader.getInFlightRequests().getNumRequestsInFlight())
+        .isZero();
+    assertThat(loader.getInFlightRequests().getNumCoalescedCallers())
+        .isEqualTo(2);
+    assertThat(loader.getStatistics().getCoalescedRequestCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void should_share_upstream_failure_for_concurrent_cache_misses() {
+
+    SingleSubject<HalResponse> subject = SingleSubject.create();
+    SubscriberCounter counter = upstream.mockResponseWithSingle(URI, subject);
+
+    TestObserver<HalResponse> first = loader.getHalResource(URI).test();
+    TestObserver<HalResponse> second = loader.getHalResource(URI).test();
+
+    subject.onError(new HalApiClientException("Upstream request failed", 503, URI, null));
+
+    first.assertError(HalApiClientException.class);
+    second.assertError(HalApiClientException.class);
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_start_new_upstream_request_after_previous_request_was_completed() {
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("original", 0);
+
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isEqualTo(2);
+    assertThat(loader.getInFlightRequests().getNumCoalescedCallers())
+        .isZero();
+  }
+
+  @Test
+  void should_use_conditional_revalidation_if_stale_response_has_entity_tag() {
+
+    HalResponse original = createResponseWithTextAndMaxAge(URI, "original", 60)
+        .withEntityTag("\"v1\"");
+    upstream.mockResponseWithSingle(URI, Single.just(original));
+
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    HalResponse revalidated = original.withMaxAge(120);
+    when(upstream.getMockJsonLoader().revalidateHalResource(eq(URI), any()))
+        .thenReturn(Single.just(revalidated));
+
+    HalResponse response = loadResponseAndAssertTextIs("original");
+
+    assertThat(response.getMaxAge())
+        .isEqualTo(120);
+
+    clock.fastForward(Duration.ofSeconds(100));
+
+    loadResponseAndAssertTextIs("original");
+
+    verify(upstream.getMockJsonLoader()).getHalResource(URI);
+    verify(upstream.getMockJsonLoader()).revalidateHalResource(eq(URI), argThat(stale -> "\"v1\"".equals(stale.getEntityTag())));
+    verifyNoMoreInteractions(upstream.getMockJsonLoader());
+  }
+
+  @Test
+  void should_not_use_conditional_revalidation_if_stale_response_has_no_validators() {
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("updated");
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+    verify(upstream.getMockJsonLoader(), never()).revalidateHalResource(any(), any());
+  }
+
+  private void enableRefreshAhead(int minimumHits) {
+
+    when(config.isRefreshAheadEnabled())
+        .thenReturn(true);
+    when(config.getRefreshAheadMinimumHits())
+        .thenReturn(minimumHits);
+  }
+
+  @Test
+  void should_refresh_hot_response_ahead_of_expiry() {
+
+    enableRefreshAhead(2);
+    when(config.getRefreshAheadFactor())
+        .thenReturn(0.5);
+    when(config.getMaxRefreshAheadRequestsPerSecond())
+        .thenReturn(10);
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(40));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isZero();
+
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+
+    HalResponse refreshed = loadResponseAndAssertTextIs("updated");
+
+    assertThat(refreshed.getMaxAge())
+        .isEqualTo(60);
+  }
+
+  @Test
+  void should_not_refresh_response_before_refresh_ahead_factor_is_reached() {
+
+    enableRefreshAhead(1);
+    when(config.getRefreshAheadFactor())
+        .thenReturn(0.5);
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(20));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isZero();
+  }
+
+  @Test
+  void should_not_refresh_response_that_was_not_read_often_enough() {
+
+    enableRefreshAhead(5);
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(50));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+
+    assertThat(counter.getCount())
+        .isZero();
+  }
+
+  @Test
+  void should_limit_number_of_refreshes_per_second() {
+
+    enableRefreshAhead(1);
+    when(config.getRefreshAheadFactor())
+        .thenReturn(0.5);
+    when(config.getMaxRefreshAheadRequestsPerSecond())
+        .thenReturn(1);
+
+    String otherUri = "/other";
+    upstream.mockResponseWithSingle(otherUri, Single.just(createResponseWithTextAndMaxAge(otherUri, "other", 60)));
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+    loader.getHalResource(otherUri).blockingGet();
+
+    clock.fastForward(Duration.ofSeconds(40));
+
+    SubscriberCounter counter = mockOkResponseWithTextAndMaxAge("updated", 60);
+    loadResponseAndAssertTextIs("original");
+    loader.getHalResource(otherUri).blockingGet();
+
+    assertThat(counter.getCount())
+        .isEqualTo(1);
+    assertThat(loader.getRefreshAheadTracker().getNumRefreshesRejected())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void statistics_should_count_hits_and_misses() {
+
+    mockOkResponseWithTextAndMaxAge("original", 60);
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(60));
+    loadResponseAndAssertTextIs("original");
+
+    CachingStatistics stats = loader.getStatistics();
+    assertThat(stats.getHitCount())
+        .isEqualTo(2);
+    assertThat(stats.getMissCount())
+        .isEqualTo(2);
+    assertThat(stats.getStaleHitCount())
+        .isZero();
+    assertThat(stats.getHitRatio())
+        .isEqualTo(0.5);
+  }
+
+  @Test
+  void statistics_should_count_stale_hits() {
+
+    when(config.isServingOfStaleResponsesEnabled())
+        .thenReturn(true);
+
+    mockOkResponseWithStaleDirectives("original", 60, null, 600);
+    loadResponseAndAssertTextIs("original");
+
+    clock.fastForward(Duration.ofSeconds(70));
+
+    mockHalApiClientExceptionWithMaxAge(503, null);
+    loadResponseAndAssertTextIs("original");
+
+    CachingStatistics stats = loader.getStatistics();
+    assertThat(stats.getMissCount())
+        .isEqualTo(1);
+    assertThat(stats.getStaleHitCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void statistics_should_count_upstream_responses_by_status() {
+
+    mockOkResponseWithTextAndMaxAge("original", 0);
+    loadResponseAndAssertTextIs("original");
+    loadResponseAndAssertTextIs("original");
+
+    mockHalApiClientExceptionWithMaxAge(404, null);
+    loadResourceAndExpectHalApiClientException(404);
+
+    CachingStatistics stats = loader.getStatistics();
+    assertThat(stats.getUpstreamRequestCount())
+        .isEqualTo(3);
+    assertThat(stats.getUpstreamFailureCount())
+        .isEqualTo(1);
+    assertThat(stats.getUpstreamResponseCountByStatus())
+        .containsEntry(200, 2L)
+        .containsEntry(404, 1L);
+    assertThat(stats.getStatisticsByHost())
+        .containsOnlyKeys("");
+  }
+
+  @Test
+  void statistics_should_include_evictions_of_memory_cache() {
+
+    loader = new CachingHalResourceLoader(upstream.getMockJsonLoader(), new GuavaCacheImplementation(1, Duration.ofDays(1), true), config, clock,
+        Schedulers.trampoline());
+
+    upstream.mockResponseWithSingle("/1", Single.just(createResponseWithTextAndMaxAge("/1", "1", 60)));
+    upstream.mockResponseWithSingle("/2", Single.just(createResponseWithTextAndMaxAge("/2", "2", 60)));
+
+    loader.getHalResource("/1").blockingGet();
+    loader.getHalResource("/2").blockingGet();
+
+    assertThat(loader.getStatistics().getEvictionCount())
+        .isEqualTo(1);
+  }
+
   HalApiClientException loadResourceAndExpectHalApiClientException(Integer statusCode) {
 
     Throwable ex = catchThrowable(() -> loadResourceWithCaching());
@@ -339,6 +842,15 @@ class CachingHalResourceLoaderTest {
     return upstream.mockResponseWithSingle(URI, Single.just(response));
   }
 
+  private SubscriberCounter mockOkResponseWithStaleDirectives(String text, Integer maxAge, Integer staleWhileRevalidate, Integer staleIfError) {
+
+    HalResponse response = createResponseWithTextAndMaxAge(URI, text, maxAge)
+        .withStaleWhileRevalidate(staleWhileRevalidate)
+        .withStaleIfError(staleIfError);
+
+    return upstream.mockResponseWithSingle(URI, Single.just(response));
+  }
+
   private SubscriberCounter mockHalApiClientExceptionWithMaxAge(Integer status, Integer maxAge) {
 
     return upstream.mockFailedResponse(URI, status, maxAge);
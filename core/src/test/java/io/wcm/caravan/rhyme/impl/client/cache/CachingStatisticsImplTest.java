@@ -0,0 +1,180 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.core.Maybe;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
+import io.wcm.caravan.rhyme.impl.client.cache.CachingStatisticsImpl.LatencyHistogram;
+
+class CachingStatisticsImplTest {
+
+  private final CachingStatisticsImpl stats = new CachingStatisticsImpl();
+
+  @Test
+  void should_be_empty_initially() {
+
+    assertThat(stats.getHitRatio())
+        .isZero();
+    assertThat(stats.getAverageUpstreamLatency())
+        .isEqualTo(Duration.ZERO);
+    assertThat(stats.getUpstreamLatencyPercentile(99))
+        .isEqualTo(Duration.ZERO);
+    assertThat(stats.getStatisticsByHost())
+        .isEmpty();
+  }
+
+  @Test
+  void should_group_statistics_by_host() {
+
+    stats.recordHit("http://foo.org/1");
+    stats.recordHit("http://foo.org/2");
+    stats.recordMiss("http://bar.org/1");
+    stats.recordMiss("/relative");
+
+    assertThat(stats.getHitCount())
+        .isEqualTo(2);
+    assertThat(stats.getMissCount())
+        .isEqualTo(2);
+
+    assertThat(stats.getStatisticsByHost())
+        .containsOnlyKeys("foo.org", "bar.org", "");
+
+    CachingStatistics foo = stats.getStatisticsByHost().get("foo.org");
+    assertThat(foo.getHitCount())
+        .isEqualTo(2);
+    assertThat(foo.getMissCount())
+        .isZero();
+    assertThat(foo.getStatisticsByHost())
+        .isEmpty();
+  }
+
+  @Test
+  void should_count_upstream_responses_by_status() {
+
+    stats.recordUpstreamResponse("http://foo.org/1", 200, false, 0);
+    stats.recordUpstreamResponse("http://foo.org/2", 200, false, 0);
+    stats.recordUpstreamResponse("http://foo.org/3", 500, true, 0);
+    stats.recordUpstreamResponse("http://foo.org/4", null, true, 0);
+
+    assertThat(stats.getUpstreamRequestCount())
+        .isEqualTo(4);
+    assertThat(stats.getUpstreamFailureCount())
+        .isEqualTo(2);
+    assertThat(stats.getUpstreamResponseCountByStatus())
+        .containsOnlyKeys(200, 500)
+        .containsEntry(200, 2L);
+  }
+
+  private static HalResponseCache createCacheWithEvictions(long evictionCount) {
+
+    return new HalResponseCache() {
+
+      @Override
+      public Maybe<HalResponse> load(String uri) {
+        return Maybe.empty();
+      }
+
+      @Override
+      public void store(HalResponse response) {
+        // not required for this test
+      }
+
+      @Override
+      public long getEvictionCount() {
+        return evictionCount;
+      }
+    };
+  }
+
+  @Test
+  void should_sum_eviction_counts_of_all_caches() {
+
+    stats.registerCache(createCacheWithEvictions(3));
+    stats.registerCache(createCacheWithEvictions(4));
+
+    assertThat(stats.getEvictionCount())
+        .isEqualTo(7);
+  }
+
+  @Test
+  void should_count_evictions_of_same_cache_only_once() {
+
+    HalResponseCache cache = createCacheWithEvictions(3);
+    stats.registerCache(cache);
+    stats.registerCache(cache);
+
+    assertThat(stats.getEvictionCount())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void should_sum_weight_of_all_caches() {
+
+    GuavaCacheImplementation cache = GuavaCacheImplementation.withMaxBytes(1000000, Duration.ofDays(1));
+    HalResponse response = new HalResponse().withUri("/foo").withStatus(200).withMaxAge(60);
+    cache.store(response);
+
+    stats.registerCache(cache);
+    stats.registerCache(createCacheWithEvictions(3));
+
+    assertThat(stats.getWeightInBytes())
+        .isEqualTo(HalResponseSizeEstimator.estimateRetainedBytes(response));
+  }
+
+  @Test
+  void histogram_should_calculate_average_and_percentiles() {
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 90; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(150));
+    }
+
+    assertThat(histogram.getAverage())
+        .isEqualTo(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(17700)));
+    assertThat(histogram.getPercentile(50))
+        .isEqualTo(Duration.ofMillis(5));
+    assertThat(histogram.getPercentile(90))
+        .isEqualTo(Duration.ofMillis(5));
+    assertThat(histogram.getPercentile(99))
+        .isEqualTo(Duration.ofMillis(200));
+  }
+
+  @Test
+  void histogram_should_use_max_value_for_latencies_above_highest_bucket() {
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(TimeUnit.SECONDS.toNanos(90));
+
+    assertThat(histogram.getPercentile(100))
+        .isEqualTo(Duration.ofSeconds(90));
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.createResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Ticker;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+class FrequencyBasedCacheImplementationTest {
+
+  private static final Duration TIME_TO_IDLE = Duration.ofMinutes(10);
+
+  private final ManualTicker ticker = new ManualTicker();
+
+  private final FrequencyBasedCacheImplementation cache = new FrequencyBasedCacheImplementation(3, TIME_TO_IDLE, ticker);
+
+  private void requestAndStore(String uri) {
+
+    if (cache.load(uri).isEmpty().blockingGet()) {
+      cache.store(createResponse(uri));
+    }
+  }
+
+  private boolean isCached(String uri) {
+
+    return !cache.load(uri).isEmpty().blockingGet();
+  }
+
+  @Test
+  void should_store_responses_until_cache_is_full() {
+
+    requestAndStore("/1");
+    requestAndStore("/2");
+    requestAndStore("/3");
+
+    assertThat(cache.getSize())
+        .isEqualTo(3);
+    assertThat(cache.getEvictionCount())
+        .isZero();
+  }
+
+  @Test
+  void should_replace_existing_response_for_the_same_uri() {
+
+    requestAndStore("/1");
+    cache.store(createResponse("/1").withMaxAge(120));
+
+    assertThat(cache.load("/1").blockingGet().getMaxAge())
+        .isEqualTo(120);
+    assertThat(cache.getSize())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_not_evict_hot_entries_during_scan_of_one_off_uris() {
+
+    FrequencyBasedCacheImplementation largerCache = new FrequencyBasedCacheImplementation(100, TIME_TO_IDLE, ticker);
+
+    for (int i = 0; i < 1000; i++) {
+      // a small set of hot resources is requested continuously...
+      String hotUri = "/hot/" + (i % 50);
+      if (largerCache.load(hotUri).isEmpty().blockingGet()) {
+        largerCache.store(createResponse(hotUri));
+      }
+      // ...while a crawler is requesting lots of resources that are never requested again
+      String scanUri = "/scan/" + i;
+      if (largerCache.load(scanUri).isEmpty().blockingGet()) {
+        largerCache.store(createResponse(scanUri));
+      }
+    }
+
+    long numHotEntriesCached = IntStream.range(0, 50)
+        .filter(i -> !largerCache.load("/hot/" + i).isEmpty().blockingGet())
+        .count();
+
+    assertThat(numHotEntriesCached)
+        .isEqualTo(50);
+    assertThat(largerCache.getRejectionCount())
+        .isPositive();
+  }
+
+  @Test
+  void should_admit_uri_that_is_used_more_frequently_than_the_least_recently_used_entry() {
+
+    requestAndStore("/1");
+    requestAndStore("/2");
+    requestAndStore("/3");
+
+    requestAndStore("/new");
+    assertThat(cache.getRejectionCount())
+        .isEqualTo(1);
+
+    requestAndStore("/new");
+
+    assertThat(isCached("/new"))
+        .isTrue();
+    assertThat(isCached("/1"))
+        .isFalse();
+    assertThat(cache.getEvictionCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_discard_idle_responses() {
+
+    requestAndStore("/1");
+
+    ticker.advance(TIME_TO_IDLE);
+
+    assertThat(isCached("/1"))
+        .isFalse();
+    assertThat(cache.getEvictionCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void should_replace_idle_response_when_cache_is_full() {
+
+    for (int i = 0; i < 5; i++) {
+      requestAndStore("/1");
+      requestAndStore("/2");
+      requestAndStore("/3");
+    }
+
+    ticker.advance(TIME_TO_IDLE);
+
+    requestAndStore("/new");
+
+    assertThat(isCached("/new"))
+        .isTrue();
+  }
+
+  @Test
+  void should_not_exceed_max_size_if_used_concurrently() throws Exception {
+
+    FrequencyBasedCacheImplementation largerCache = new FrequencyBasedCacheImplementation(100, TIME_TO_IDLE);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = IntStream.range(0, 8)
+          .mapToObj(t -> executor.submit(() -> {
+            for (int i = 0; i < 10000; i++) {
+              String uri = "/" + ((i * (t + 1)) % 500);
+              if (largerCache.load(uri).isEmpty().blockingGet()) {
+                largerCache.store(createResponse(uri));
+              }
+            }
+          }))
+          .collect(Collectors.toList());
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    assertThat(largerCache.getSize())
+        .isLessThanOrEqualTo(100);
+    assertThat(largerCache.getEvictionCount())
+        .isPositive();
+  }
+
+  @Test
+  void sketch_should_estimate_frequencies() {
+
+    FrequencySketch sketch = new FrequencySketch(100);
+
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("/foo");
+    }
+    sketch.increment("/bar");
+
+    assertThat(sketch.frequency("/foo"))
+        .isEqualTo(5);
+    assertThat(sketch.frequency("/bar"))
+        .isEqualTo(1);
+    assertThat(sketch.frequency("/unknown"))
+        .isZero();
+  }
+
+  @Test
+  void sketch_should_limit_frequency() {
+
+    FrequencySketch sketch = new FrequencySketch(100);
+
+    for (int i = 0; i < 100; i++) {
+      sketch.increment("/foo");
+    }
+
+    assertThat(sketch.frequency("/foo"))
+        .isEqualTo(FrequencySketch.MAX_FREQUENCY);
+  }
+
+  @Test
+  void sketch_should_halve_frequencies_after_sample_size_is_reached() {
+
+    FrequencySketch sketch = new FrequencySketch(10);
+
+    for (int i = 0; i < 8; i++) {
+      sketch.increment("/foo");
+    }
+    for (int i = 0; i < 92; i++) {
+      sketch.increment("/other/" + i);
+    }
+
+    assertThat(sketch.frequency("/foo"))
+        .isLessThanOrEqualTo(4);
+  }
+
+  static class ManualTicker extends Ticker {
+
+    private long nanos;
+
+    void advance(Duration duration) {
+      nanos += duration.toNanos();
+    }
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.createResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+class GuavaCacheImplementationTest {
+
+  @Test
+  void load_should_return_same_instance_that_was_stored() {
+
+    GuavaCacheImplementation cache = new GuavaCacheImplementation(10, Duration.ofDays(1));
+
+    HalResponse stored = createResponse("/foo", 100);
+    cache.store(stored);
+
+    assertThat(cache.load("/foo").blockingGet())
+        .isSameAs(stored);
+  }
+
+  @Test
+  void getWeightInBytes_should_be_sum_of_estimated_response_sizes() {
+
+    GuavaCacheImplementation cache = GuavaCacheImplementation.withMaxBytes(1000000, Duration.ofDays(1));
+
+    HalResponse first = createResponse("/foo", 100);
+    HalResponse second = createResponse("/bar", 1000);
+    cache.store(first);
+    cache.store(second);
+
+    assertThat(cache.getWeightInBytes())
+        .isEqualTo(HalResponseSizeEstimator.estimateRetainedBytes(first) + HalResponseSizeEstimator.estimateRetainedBytes(second));
+  }
+
+  @Test
+  void getWeightInBytes_should_be_updated_when_response_is_replaced() {
+
+    GuavaCacheImplementation cache = GuavaCacheImplementation.withMaxBytes(1000000, Duration.ofDays(1));
+
+    cache.store(createResponse("/foo", 10000));
+    HalResponse replacement = createResponse("/foo", 100);
+    cache.store(replacement);
+
+    assertThat(cache.getWeightInBytes())
+        .isEqualTo(HalResponseSizeEstimator.estimateRetainedBytes(replacement));
+  }
+
+  @Test
+  void getWeightInBytes_should_not_be_calculated_if_limited_by_max_num_items() {
+
+    GuavaCacheImplementation cache = new GuavaCacheImplementation(10, Duration.ofDays(1));
+
+    cache.store(createResponse("/foo", 1000));
+
+    assertThat(cache.getWeightInBytes())
+        .isZero();
+  }
+
+  @Test
+  void getEvictionCount_should_count_responses_evicted_by_max_num_items() {
+
+    GuavaCacheImplementation cache = new GuavaCacheImplementation(10, Duration.ofDays(1), true);
+
+    for (int i = 0; i < 15; i++) {
+      cache.store(createResponse("/foo/" + i, 100));
+    }
+
+    assertThat(cache.getEvictionCount())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void getEvictionCount_should_not_be_recorded_by_default() {
+
+    GuavaCacheImplementation cache = new GuavaCacheImplementation(10, Duration.ofDays(1));
+
+    for (int i = 0; i < 15; i++) {
+      cache.store(createResponse("/foo/" + i, 100));
+    }
+
+    assertThat(cache.getEvictionCount())
+        .isZero();
+  }
+
+  @Test
+  void max_bytes_should_limit_estimated_size_of_all_responses() {
+
+    long maxBytes = 100000;
+    GuavaCacheImplementation cache = GuavaCacheImplementation.withMaxBytes(maxBytes, Duration.ofDays(1));
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo/" + i, 5000));
+    }
+
+    assertThat(cache.getWeightInBytes())
+        .isPositive()
+        .isLessThanOrEqualTo(maxBytes);
+
+    assertThat(cache.getEvictionCount())
+        .isPositive();
+
+    assertThat(cache.load("/foo/99").isEmpty().blockingGet())
+        .isFalse();
+  }
+
+  @Test
+  void max_bytes_should_be_positive() {
+
+    assertThatThrownBy(() -> GuavaCacheImplementation.withMaxBytes(0, Duration.ofDays(1)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("maxBytes");
+  }
+
+  @Test
+  void max_bytes_should_evict_large_response_to_make_room_for_many_small_responses() {
+
+    GuavaCacheImplementation cache = GuavaCacheImplementation.withMaxBytes(100000L, Duration.ofDays(1));
+
+    cache.store(createResponse("/large", 90000));
+    for (int i = 0; i < 20; i++) {
+      cache.store(createResponse("/small/" + i, 500));
+    }
+
+    assertThat(cache.load("/large").isEmpty().blockingGet())
+        .isTrue();
+    assertThat(cache.load("/small/0").isEmpty().blockingGet())
+        .isFalse();
+  }
+}
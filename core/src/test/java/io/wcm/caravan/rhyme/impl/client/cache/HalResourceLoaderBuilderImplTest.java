@@ -22,6 +22,7 @@ package io.wcm.caravan.rhyme.impl.client.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -29,16 +30,32 @@ import java.time.ZoneId;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.rhyme.api.client.CacheInvalidator;
 import io.wcm.caravan.rhyme.api.client.CachingConfiguration;
+import io.wcm.caravan.rhyme.api.client.CachingStatistics;
+import io.wcm.caravan.rhyme.api.client.CircuitBreaker;
+import io.wcm.caravan.rhyme.api.client.CloseableHalResourceLoader;
+import io.wcm.caravan.rhyme.api.client.ConcurrencyLimiter;
 import io.wcm.caravan.rhyme.api.client.HalResourceLoaderBuilder;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
 import io.wcm.caravan.rhyme.api.spi.HalResponseCache;
 import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
+import io.wcm.caravan.rhyme.impl.client.CircuitBreakerHalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.ConcurrencyLimitingHalResourceLoader;
 import io.wcm.caravan.rhyme.impl.client.http.HttpHalResourceLoader;
+import io.wcm.caravan.rhyme.impl.client.http.JdkHttpClientSupport;
 import io.wcm.caravan.rhyme.testing.TestClock;
 
 @ExtendWith(MockitoExtension.class)
@@ -70,6 +87,47 @@ class HalResourceLoaderBuilderImplTest {
         .isSameAs(mockLoader);
   }
 
+  @Test
+  void create_should_build_HttpHalResourceLoader_with_JdkHttpClientSupport() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .build();
+
+    assertThat(((HttpHalResourceLoader)loader).getClient())
+        .isInstanceOf(JdkHttpClientSupport.class);
+  }
+
+  @Test
+  void withRequestTimeout_should_build_JdkHttpClientSupport_with_timeout() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withDeduplicatedResponseBodies()
+        .withRequestTimeout(Duration.ofSeconds(5))
+        .build();
+
+    HttpHalResourceLoader httpLoader = (HttpHalResourceLoader)loader;
+
+    assertThat(((JdkHttpClientSupport)httpLoader.getClient()).getRequestTimeout())
+        .isEqualTo(Duration.ofSeconds(5));
+    assertThat(((JdkHttpClientSupport)httpLoader.getClient()).getClient().connectTimeout())
+        .hasValue(Duration.ofSeconds(10));
+    assertThat(httpLoader.isDeduplicatingBodies())
+        .isTrue();
+  }
+
+  @Test
+  void withRequestTimeout_should_fail_with_custom_http_client() {
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withCustomHttpClient(httpClient);
+
+    Throwable ex = catchThrowable(() -> builder.withRequestTimeout(Duration.ofSeconds(5)));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("#withRequestTimeout can only be used with the default HTTP client");
+  }
+
   @Test
   void withCustomHttpClient_should_build_HttpHalResourceLoader() {
 
@@ -85,6 +143,44 @@ class HalResourceLoaderBuilderImplTest {
   }
 
 
+  @Test
+  void withDeduplicatedResponseBodies_should_build_deduplicating_HttpHalResourceLoader() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withDeduplicatedResponseBodies()
+        .build();
+
+    assertThat(((HttpHalResourceLoader)loader).isDeduplicatingBodies())
+        .isTrue();
+  }
+
+  @Test
+  void withDeduplicatedResponseBodies_should_be_kept_if_withCustomHttpClient_is_called_afterwards() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withDeduplicatedResponseBodies()
+        .withCustomHttpClient(httpClient)
+        .build();
+
+    assertThat(((HttpHalResourceLoader)loader).isDeduplicatingBodies())
+        .isTrue();
+    assertThat(((HttpHalResourceLoader)loader).getClient())
+        .isSameAs(httpClient);
+  }
+
+  @Test
+  void withDeduplicatedResponseBodies_should_fail_for_existing_loader() {
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withExistingLoader(mockLoader);
+
+    Throwable ex = catchThrowable(builder::withDeduplicatedResponseBodies);
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("#withDeduplicatedResponseBodies can only be used");
+  }
+
   @Test
   void withMemoryCache_should_build_CachingHttpHalResourceLoader_with_default_settings() {
 
@@ -144,6 +240,182 @@ class HalResourceLoaderBuilderImplTest {
         .isEqualTo(timeToIdle);
   }
 
+  @Test
+  void withMemoryBudgetCache_should_build_CachingHttpHalResourceLoader_with_custom_settings() {
+
+    long maxBytes = 1024 * 1024;
+    Duration timeToIdle = Duration.ofMinutes(5);
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withMemoryBudgetCache(maxBytes, timeToIdle)
+        .build();
+
+    assertThat(loader)
+        .isInstanceOf(CachingHalResourceLoader.class);
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)loader;
+
+    assertThat(cachingLoader.getCache())
+        .isInstanceOf(GuavaCacheImplementation.class);
+
+    GuavaCacheImplementation impl = (GuavaCacheImplementation)cachingLoader.getCache();
+    assertThat(impl.getMaxBytes())
+        .isEqualTo(maxBytes);
+    assertThat(impl.getTimeToIdle())
+        .isEqualTo(timeToIdle);
+  }
+
+  @Test
+  void withFrequencyBasedCache_should_build_CachingHttpHalResourceLoader_with_custom_settings() {
+
+    int maxNumItems = 100;
+    Duration timeToIdle = Duration.ofMinutes(5);
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withFrequencyBasedCache(maxNumItems, timeToIdle)
+        .build();
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)loader;
+
+    assertThat(cachingLoader.getCache())
+        .isInstanceOf(FrequencyBasedCacheImplementation.class);
+
+    FrequencyBasedCacheImplementation impl = (FrequencyBasedCacheImplementation)cachingLoader.getCache();
+    assertThat(impl.getMaxNumItems())
+        .isEqualTo(maxNumItems);
+    assertThat(impl.getTimeToIdle())
+        .isEqualTo(timeToIdle);
+  }
+
+  @Test
+  void withFrequencyBasedCache_should_create_separate_cache_for_each_loader() {
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withFrequencyBasedCache(100, Duration.ofMinutes(5));
+
+    CachingHalResourceLoader first = (CachingHalResourceLoader)builder.build();
+    CachingHalResourceLoader second = (CachingHalResourceLoader)builder.build();
+
+    assertThat(first.getCache())
+        .isNotSameAs(second.getCache());
+  }
+
+  @Test
+  void withMemoryBudgetCache_should_create_separate_cache_for_each_loader() {
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withMemoryBudgetCache(1024 * 1024, Duration.ofMinutes(5));
+
+    CachingHalResourceLoader first = (CachingHalResourceLoader)builder.build();
+    CachingHalResourceLoader second = (CachingHalResourceLoader)builder.withCachingConfiguration(new DefaultCachingConfiguration()).build();
+
+    assertThat(first.getCache())
+        .isNotSameAs(second.getCache());
+  }
+
+  @Test
+  void withOffHeapCache_should_build_CachingHttpHalResourceLoader_with_custom_settings() {
+
+    long maxBytes = 1024 * 1024;
+    Duration timeToIdle = Duration.ofMinutes(5);
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withOffHeapCache(maxBytes, timeToIdle, true)
+        .build();
+
+    assertThat(loader)
+        .isInstanceOf(CachingHalResourceLoader.class);
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)loader;
+
+    assertThat(cachingLoader.getCache())
+        .isInstanceOf(OffHeapCacheImplementation.class);
+
+    OffHeapCacheImplementation impl = (OffHeapCacheImplementation)cachingLoader.getCache();
+    assertThat(impl.getMaxBytes())
+        .isEqualTo(maxBytes);
+    assertThat(impl.getTimeToIdle())
+        .isEqualTo(timeToIdle);
+  }
+
+  @Test
+  void withPersistentCache_should_build_CachingHttpHalResourceLoader(@TempDir Path directory) {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withPersistentCache(directory)
+        .build();
+
+    assertThat(loader)
+        .isInstanceOf(CachingHalResourceLoader.class);
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)loader;
+
+    assertThat(cachingLoader.getCache())
+        .isInstanceOf(PersistentCacheImplementation.class);
+
+    PersistentCacheImplementation impl = (PersistentCacheImplementation)cachingLoader.getCache();
+    assertThat(impl.getDirectory())
+        .isEqualTo(directory);
+
+    impl.close();
+  }
+
+  @Test
+  void buildCloseable_should_release_persistent_cache_directory_when_closed(@TempDir Path directory) {
+
+    CloseableHalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withPersistentCache(directory)
+        .buildCloseable();
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create().withPersistentCache(directory).buildCloseable());
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class);
+
+    loader.close();
+
+    CloseableHalResourceLoader reopened = HalResourceLoaderBuilder.create()
+        .withPersistentCache(directory)
+        .buildCloseable();
+
+    assertThat(reopened)
+        .isInstanceOf(CachingHalResourceLoader.class);
+
+    reopened.close();
+  }
+
+  @Test
+  void withPersistentCache_should_not_lock_directory_before_loader_is_built(@TempDir Path directory) {
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withPersistentCache(directory);
+
+    CloseableHalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withPersistentCache(directory)
+        .buildCloseable();
+
+    loader.close();
+
+    CloseableHalResourceLoader other = builder.buildCloseable();
+
+    assertThat(other)
+        .isInstanceOf(CachingHalResourceLoader.class);
+
+    other.close();
+  }
+
+  @Test
+  void buildCloseable_should_return_closeable_loader_without_caching() {
+
+    CloseableHalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withCustomHttpClient(httpClient)
+        .buildCloseable();
+
+    assertThat(loader)
+        .isNotNull();
+
+    loader.close();
+  }
+
   @Test
   void withCustomHttpClient_can_be_called_beforewithMemoryCache() {
 
@@ -270,4 +542,291 @@ class HalResourceLoaderBuilderImplTest {
         .isSameAs(clock);
   }
 
+
+  @Test
+  void withBackgroundScheduler_should_allow_to_specify_custom_scheduler() {
+
+    Scheduler scheduler = Schedulers.single();
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withMemoryCache()
+        .withBackgroundScheduler(scheduler)
+        .build();
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)loader;
+
+    assertThat(cachingLoader.getBackgroundScheduler())
+        .isSameAs(scheduler);
+  }
+
+  @Test
+  void withBackgroundScheduler_should_fail_if_caching_is_not_enabled() {
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withBackgroundScheduler(Schedulers.single())
+        .build());
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("You have called #withBackgroundScheduler");
+  }
+
+  @Test
+  void build_should_use_shared_default_background_scheduler() {
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withMemoryCache()
+        .build();
+
+    assertThat(cachingLoader.getBackgroundScheduler())
+        .isSameAs(CachingHalResourceLoader.getDefaultBackgroundScheduler());
+  }
+
+  @Test
+  void withSecondLevelCache_should_use_default_memory_cache_as_first_level() {
+
+    AsyncHalResponseCache secondLevel = new AsyncCacheAdapter(cache, Schedulers.trampoline());
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withSecondLevelCache(secondLevel)
+        .build();
+
+    assertThat(cachingLoader.getCache())
+        .isInstanceOf(TieredCacheImplementation.class);
+
+    TieredCacheImplementation tiered = (TieredCacheImplementation)cachingLoader.getCache();
+    assertThat(tiered.getFirstLevel())
+        .isInstanceOf(GuavaCacheImplementation.class);
+    assertThat(tiered.getSecondLevel())
+        .isSameAs(secondLevel);
+  }
+
+  @Test
+  void withSecondLevelCache_should_use_configured_cache_as_first_level() {
+
+    AsyncHalResponseCache secondLevel = new AsyncCacheAdapter(cache, Schedulers.trampoline());
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withSecondLevelCache(secondLevel)
+        .withOffHeapCache(1024 * 1024, Duration.ofMinutes(5), false)
+        .build();
+
+    TieredCacheImplementation tiered = (TieredCacheImplementation)cachingLoader.getCache();
+    assertThat(tiered.getFirstLevel())
+        .isInstanceOf(OffHeapCacheImplementation.class);
+  }
+
+  @Test
+  void withSecondLevelCache_should_write_pending_responses_when_loader_is_closed() {
+
+    GuavaCacheImplementation secondLevelStorage = new GuavaCacheImplementation(100, Duration.ofDays(1));
+    AsyncHalResponseCache secondLevel = new AsyncCacheAdapter(secondLevelStorage, Schedulers.trampoline());
+
+    CloseableHalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withExistingLoader(uri -> Single.just(new HalResponse().withUri(uri).withStatus(200).withMaxAge(60).withBody(new HalResource())))
+        .withSecondLevelCache(secondLevel)
+        .buildCloseable();
+
+    loader.getHalResource("/foo").blockingGet();
+
+    assertThat(secondLevelStorage.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+
+    loader.close();
+
+    assertThat(secondLevelStorage.load("/foo").isEmpty().blockingGet())
+        .isFalse();
+  }
+
+  @Test
+  void withCachingStatistics_should_use_given_instance() {
+
+    CachingStatistics statistics = CachingStatistics.create();
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withMemoryCache()
+        .withCachingStatistics(statistics)
+        .build();
+
+    assertThat(cachingLoader.getStatistics())
+        .isSameAs(statistics);
+  }
+
+  @Test
+  void withCachingStatistics_should_count_evictions_only_once_if_built_multiple_times() {
+
+    CachingStatistics statistics = CachingStatistics.create();
+
+    HalResourceLoaderBuilder builder = HalResourceLoaderBuilder.create()
+        .withExistingLoader(uri -> Single.just(new HalResponse().withUri(uri).withStatus(200).withMaxAge(60).withBody(new HalResource())))
+        .withMemoryCache(10, Duration.ofDays(1))
+        .withCachingStatistics(statistics);
+
+    HalResourceLoader loader = builder.build();
+    builder.build();
+
+    for (int i = 0; i < 15; i++) {
+      loader.getHalResource("/foo/" + i).blockingGet();
+    }
+
+    assertThat(statistics.getEvictionCount())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void withCachingStatistics_should_include_weight_of_memory_budget_cache() {
+
+    CachingStatistics statistics = CachingStatistics.create();
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withExistingLoader(uri -> Single.just(new HalResponse().withUri(uri).withStatus(200).withMaxAge(60).withBody(new HalResource())))
+        .withMemoryBudgetCache(1024 * 1024, Duration.ofDays(1))
+        .withCachingStatistics(statistics)
+        .build();
+
+    loader.getHalResource("/foo").blockingGet();
+
+    assertThat(statistics.getWeightInBytes())
+        .isPositive();
+  }
+
+  @Test
+  void withCachingStatistics_should_fail_if_caching_is_not_enabled() {
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withCachingStatistics(CachingStatistics.create())
+        .build());
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("You have called #withCachingStatistics");
+  }
+
+  @Test
+  void withCachingStatistics_should_fail_for_custom_implementation() {
+
+    CachingStatistics statistics = Mockito.mock(CachingStatistics.class);
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withCachingStatistics(statistics));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("CachingStatistics#create()");
+  }
+
+  @Test
+  void withCacheInvalidator_should_register_caching_loader() {
+
+    CacheInvalidator invalidator = CacheInvalidator.create();
+
+    HalResourceLoader cachingLoader = HalResourceLoaderBuilder.create()
+        .withExistingLoader(uri -> Single.just(new HalResponse().withUri(uri).withStatus(200).withMaxAge(60).withBody(new HalResource())))
+        .withMemoryCache()
+        .withCacheInvalidator(invalidator)
+        .build();
+
+    cachingLoader.getHalResource("/foo").blockingGet();
+
+    assertThat(invalidator.invalidateByPrefix("/"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void withCacheInvalidator_should_fail_if_caching_is_not_enabled() {
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withCacheInvalidator(CacheInvalidator.create())
+        .build());
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("You have called #withCacheInvalidator");
+  }
+
+  @Test
+  void withCacheInvalidator_should_fail_for_custom_implementation() {
+
+    CacheInvalidator invalidator = Mockito.mock(CacheInvalidator.class);
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withCacheInvalidator(invalidator));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("CacheInvalidator#create()");
+  }
+
+  @Test
+  void withCircuitBreaker_should_wrap_upstream_loader_of_caching_loader() {
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withMemoryCache()
+        .withCircuitBreaker(CircuitBreaker.create())
+        .build();
+
+    assertThat(cachingLoader.getUpstream())
+        .isInstanceOf(CircuitBreakerHalResourceLoader.class);
+  }
+
+  @Test
+  void withCircuitBreaker_should_wrap_loader_without_caching() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withCircuitBreaker(CircuitBreaker.create())
+        .build();
+
+    assertThat(loader)
+        .isInstanceOf(CircuitBreakerHalResourceLoader.class);
+  }
+
+  @Test
+  void withCircuitBreaker_should_fail_for_custom_implementation() {
+
+    CircuitBreaker circuitBreaker = Mockito.mock(CircuitBreaker.class);
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withCircuitBreaker(circuitBreaker));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("CircuitBreaker#create()");
+  }
+
+  @Test
+  void withConcurrencyLimiter_should_wrap_upstream_loader_of_caching_loader() {
+
+    CachingHalResourceLoader cachingLoader = (CachingHalResourceLoader)HalResourceLoaderBuilder.create()
+        .withMemoryCache()
+        .withConcurrencyLimiter(ConcurrencyLimiter.create())
+        .build();
+
+    assertThat(cachingLoader.getUpstream())
+        .isInstanceOf(ConcurrencyLimitingHalResourceLoader.class);
+  }
+
+  @Test
+  void withConcurrencyLimiter_should_wrap_loader_without_caching() {
+
+    HalResourceLoader loader = HalResourceLoaderBuilder.create()
+        .withConcurrencyLimiter(ConcurrencyLimiter.create(5, 50, 10))
+        .withCircuitBreaker(CircuitBreaker.create())
+        .build();
+
+    assertThat(loader)
+        .isInstanceOf(ConcurrencyLimitingHalResourceLoader.class);
+  }
+
+  @Test
+  void withConcurrencyLimiter_should_fail_for_custom_implementation() {
+
+    ConcurrencyLimiter limiter = Mockito.mock(ConcurrencyLimiter.class);
+
+    Throwable ex = catchThrowable(() -> HalResourceLoaderBuilder.create()
+        .withConcurrencyLimiter(limiter));
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("ConcurrencyLimiter#create()");
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.wcm.caravan.hal.resource.HalResource;
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+class HalResponseCodecTest {
+
+  private static final Instant TIMESTAMP = Instant.ofEpochSecond(1609459200L, 123456789);
+
+  private static HalResponse createFullResponse() {
+
+    ObjectNode state = JsonNodeFactory.instance.objectNode()
+        .put("text", "foo")
+        .put("number", 123)
+        .put("öäü", "€");
+
+    HalResource hal = new HalResource(state, "/foo")
+        .addLinks("item", new Link("/foo/1"), new Link("/foo/2"))
+        .addEmbedded("embedded", new HalResource("/bar"));
+
+    return new HalResponse()
+        .withUri("/foo")
+        .withStatus(200)
+        .withContentType("application/hal+json")
+        .withBody(hal)
+        .withMaxAge(60)
+        .withStaleWhileRevalidate(30)
+        .withStaleIfError(600)
+        .withEntityTag("\"abc\"")
+        .withLastModified("Fri, 01 Jan 2021 00:00:00 GMT")
+        .withTimestamp(TIMESTAMP);
+  }
+
+  private static HalResponse encodeAndDecode(HalResponse response, boolean compressed) {
+
+    HalResponseCodec codec = new HalResponseCodec(compressed);
+
+    byte[] encoded = codec.encode(response);
+
+    return codec.decode(encoded);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void should_retain_all_fields(boolean compressed) {
+
+    HalResponse original = createFullResponse();
+
+    HalResponse decoded = encodeAndDecode(original, compressed);
+
+    assertThat(decoded)
+        .usingRecursiveComparison()
+        .isEqualTo(original);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void should_retain_null_values(boolean compressed) {
+
+    HalResponse original = new HalResponse()
+        .withTimestamp(null);
+
+    HalResponse decoded = encodeAndDecode(original, compressed);
+
+    assertThat(decoded)
+        .usingRecursiveComparison()
+        .isEqualTo(original);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void should_decode_regardless_of_compression_setting(boolean compressed) {
+
+    HalResponse original = createFullResponse();
+
+    byte[] encoded = new HalResponseCodec(compressed).encode(original);
+    HalResponse decoded = new HalResponseCodec(!compressed).decode(encoded);
+
+    assertThat(decoded.getBody().getModel())
+        .isEqualTo(original.getBody().getModel());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void should_fail_to_decode_unsupported_format_version(boolean compressed) {
+
+    byte[] encoded = new HalResponseCodec(compressed).encode(createFullResponse());
+    encoded[0] = (byte)(HalResponseCodec.FORMAT_VERSION + 1);
+
+    Throwable ex = catchThrowable(() -> new HalResponseCodec(compressed).decode(encoded));
+
+    assertThat(ex)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasRootCauseMessage("Unsupported format version " + encoded[0]);
+  }
+}
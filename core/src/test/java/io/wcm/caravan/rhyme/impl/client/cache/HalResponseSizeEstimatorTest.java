@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.HalResponseSizeEstimator.estimateRetainedBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+class HalResponseSizeEstimatorTest {
+
+  private final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+  @Test
+  void should_estimate_response_without_body() {
+
+    HalResponse response = new HalResponse();
+
+    assertThat(estimateRetainedBytes(response))
+        .isPositive();
+  }
+
+  @Test
+  void should_grow_with_length_of_text_values() {
+
+    JsonNode shortText = factory.objectNode().put("text", "a");
+    JsonNode longText = factory.objectNode().put("text", StringUtils.repeat('a', 1001));
+
+    assertThat(estimateRetainedBytes(longText) - estimateRetainedBytes(shortText))
+        .isEqualTo(1000);
+  }
+
+  @Test
+  void should_include_nested_objects_and_arrays() {
+
+    ObjectNode parent = factory.objectNode();
+    ArrayNode array = parent.putArray("array");
+    array.addObject().put("text", "foo");
+    array.addObject().put("text", "bar");
+
+    ObjectNode child = factory.objectNode().put("text", "foo");
+
+    assertThat(estimateRetainedBytes(parent))
+        .isGreaterThan(2 * estimateRetainedBytes(child));
+  }
+
+  @Test
+  void should_handle_deeply_nested_documents() {
+
+    ObjectNode root = factory.objectNode();
+    ObjectNode node = root;
+    for (int i = 0; i < 100000; i++) {
+      node = node.putObject("child");
+    }
+
+    assertThat(estimateRetainedBytes(root))
+        .isGreaterThan(100000);
+  }
+}
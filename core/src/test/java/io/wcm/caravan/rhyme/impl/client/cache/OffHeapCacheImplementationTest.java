@@ -0,0 +1,148 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.createResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+
+class OffHeapCacheImplementationTest {
+
+  private final OffHeapCacheImplementation cache = new OffHeapCacheImplementation(10000, Duration.ofDays(1), true);
+
+  @Test
+  void load_should_return_empty_maybe_if_not_found() {
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+  }
+
+  @Test
+  void load_should_return_stored_response() {
+
+    HalResponse stored = createResponse("/foo", 100);
+    cache.store(stored);
+
+    HalResponse loaded = cache.load("/foo").blockingGet();
+
+    assertThat(loaded)
+        .usingRecursiveComparison()
+        .isEqualTo(stored);
+  }
+
+  @Test
+  void load_should_allow_repeated_reads() {
+
+    cache.store(createResponse("/foo", 100));
+
+    HalResponse first = cache.load("/foo").blockingGet();
+    HalResponse second = cache.load("/foo").blockingGet();
+
+    assertThat(second.getBody().getModel())
+        .isEqualTo(first.getBody().getModel());
+  }
+
+  @Test
+  void store_should_ignore_response_larger_than_max_bytes() {
+
+    cache.store(createResponse("/foo", 20000));
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+    assertThat(cache.getUsedBytes())
+        .isZero();
+  }
+
+  @Test
+  void store_should_evict_entries_if_max_bytes_is_exceeded() {
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo/" + i, 500));
+    }
+
+    assertThat(cache.getUsedBytes())
+        .isPositive()
+        .isLessThanOrEqualTo(cache.getMaxBytes());
+
+    assertThat(cache.load("/foo/99").isEmpty().blockingGet())
+        .isFalse();
+  }
+
+  @Test
+  void store_should_reuse_buffers_of_evicted_entries() {
+
+    for (int i = 0; i < 1000; i++) {
+      cache.store(createResponse("/foo/" + i, 500));
+    }
+
+    assertThat(cache.getAllocatedBytes())
+        .isLessThanOrEqualTo(cache.getMaxBytes() + DirectBufferPool.getCapacity(1000));
+  }
+
+  @Test
+  void store_should_reuse_buffer_of_replaced_entry() {
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo", 500));
+    }
+
+    assertThat(cache.getAllocatedBytes())
+        .isLessThanOrEqualTo(2L * cache.getUsedBytes());
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isFalse();
+  }
+
+  @Test
+  void buffer_pool_should_not_return_content_of_released_allocation() {
+
+    DirectBufferPool pool = new DirectBufferPool(10000);
+
+    DirectBufferPool.Allocation released = pool.acquire(new byte[] { 1, 2, 3 });
+    released.release();
+
+    DirectBufferPool.Allocation reused = pool.acquire(new byte[] { 4, 5, 6 });
+
+    assertThat(released.read())
+        .isNull();
+    assertThat(reused.read())
+        .containsExactly(4, 5, 6);
+    assertThat(pool.getAllocatedBytes())
+        .isEqualTo(reused.capacity());
+  }
+
+  @Test
+  void buffer_pool_should_use_size_classes_with_limited_overhead() {
+
+    assertThat(DirectBufferPool.getCapacity(1))
+        .isEqualTo(256);
+    assertThat(DirectBufferPool.getCapacity(257))
+        .isEqualTo(320);
+    assertThat(DirectBufferPool.getCapacity(1024))
+        .isEqualTo(1024);
+    assertThat(DirectBufferPool.getCapacity(1025))
+        .isEqualTo(1280);
+  }
+}
@@ -0,0 +1,537 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.createResponse;
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.randomText;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.testing.TestClock;
+
+class PersistentCacheImplementationTest {
+
+  private static final int SEGMENT_SIZE = 16 * 1024;
+
+  @TempDir
+  Path directory;
+
+  private final TestClock clock = TestClock.fixed(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+  private final List<PersistentCacheImplementation> openedCaches = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    openedCaches.forEach(PersistentCacheImplementation::close);
+  }
+
+  private PersistentCacheImplementation openCache() {
+
+    PersistentCacheImplementation cache = new PersistentCacheImplementation(directory, SEGMENT_SIZE, clock, null);
+    openedCaches.add(cache);
+    return cache;
+  }
+
+  private static String loadText(PersistentCacheImplementation cache, String uri) {
+
+    return cache.load(uri)
+        .map(response -> response.getBody().getModel().path("text").asText())
+        .blockingGet();
+  }
+
+  private Path getSingleSegmentFile() throws IOException {
+
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> segmentFiles = files
+          .filter(path -> path.getFileName().toString().startsWith("segment-"))
+          .collect(Collectors.toList());
+      assertThat(segmentFiles)
+          .hasSize(1);
+      return segmentFiles.get(0);
+    }
+  }
+
+  private static int findEndOfData(Path segmentFile) throws IOException {
+
+    byte[] bytes = Files.readAllBytes(segmentFile);
+    int end = bytes.length;
+    while (end > 0 && bytes[end - 1] == 0) {
+      end--;
+    }
+    return end;
+  }
+
+  @Test
+  void load_should_return_empty_maybe_if_not_found() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    assertThat(cache.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+  }
+
+  @Test
+  void load_should_return_stored_response() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    HalResponse stored = createResponse("/foo", "foo", clock.instant(), 60);
+    cache.store(stored);
+
+    assertThat(cache.load("/foo").blockingGet())
+        .usingRecursiveComparison()
+        .isEqualTo(stored);
+  }
+
+  @Test
+  void load_should_return_latest_stored_response() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    cache.store(createResponse("/foo", "original", clock.instant(), 60));
+    cache.store(createResponse("/foo", "updated", clock.instant(), 60));
+
+    assertThat(loadText(cache, "/foo"))
+        .isEqualTo("updated");
+  }
+
+  @Test
+  void store_should_create_new_segments_if_required() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo/" + i, randomText(1000), clock.instant(), 60));
+    }
+
+    assertThat(cache.getNumSegments())
+        .isGreaterThan(1);
+    assertThat(cache.getNumEntries())
+        .isEqualTo(100);
+    assertThat(loadText(cache, "/foo/0"))
+        .hasSize(1000);
+  }
+
+  @Test
+  void store_should_evict_oldest_segment_if_max_bytes_are_exceeded() {
+
+    PersistentCacheImplementation cache = new PersistentCacheImplementation(directory, SEGMENT_SIZE, 3L * SEGMENT_SIZE, clock, null);
+    openedCaches.add(cache);
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo/" + i, randomText(1000), clock.instant(), 60));
+    }
+
+    assertThat(cache.getNumSegments())
+        .isEqualTo(3);
+    assertThat(cache.getEvictionCount())
+        .isEqualTo(100 - cache.getNumEntries());
+    assertThat(cache.load("/foo/0").isEmpty().blockingGet())
+        .isTrue();
+    assertThat(loadText(cache, "/foo/99"))
+        .hasSize(1000);
+  }
+
+  @Test
+  void store_should_not_restore_evicted_entries_after_reopening() {
+
+    PersistentCacheImplementation cache = new PersistentCacheImplementation(directory, SEGMENT_SIZE, 3L * SEGMENT_SIZE, clock, null);
+    openedCaches.add(cache);
+
+    for (int i = 0; i < 100; i++) {
+      cache.store(createResponse("/foo/" + i, randomText(1000), clock.instant(), 60));
+    }
+    int numEntries = cache.getNumEntries();
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(numEntries);
+    assertThat(reopened.load("/foo/0").isEmpty().blockingGet())
+        .isTrue();
+  }
+
+  @Test
+  void should_fail_to_open_directory_that_is_already_used() {
+
+    openCache();
+
+    Throwable ex = catchThrowable(this::openCache);
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageContaining("is already used by another loader");
+  }
+
+  @Test
+  void close_should_release_lock_on_directory() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.close();
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(loadText(reopened, "/foo"))
+        .isEqualTo("foo");
+  }
+
+  @Test
+  void store_should_ignore_response_larger_than_segment_size() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    cache.store(createResponse("/foo", randomText(4 * SEGMENT_SIZE), clock.instant(), 60));
+
+    assertThat(cache.getNumEntries())
+        .isZero();
+  }
+
+  @Test
+  void should_reopen_fresh_entries_from_previous_instance() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 60));
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(2);
+    assertThat(loadText(reopened, "/foo"))
+        .isEqualTo("foo");
+    assertThat(loadText(reopened, "/bar"))
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void should_not_reopen_expired_entries_from_previous_instance() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 600));
+    cache.close();
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(reopened, "/bar"))
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void remove_should_remove_entry() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 60));
+
+    cache.remove("/foo");
+
+    assertThat(cache.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(cache, "/foo"))
+        .isNull();
+  }
+
+  @Test
+  void should_not_reopen_removed_entries_from_previous_instance() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 60));
+    cache.remove("/foo");
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(reopened, "/foo"))
+        .isNull();
+    assertThat(loadText(reopened, "/bar"))
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void should_keep_entries_within_stale_if_error_window() {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60).withStaleIfError(600));
+    cache.close();
+
+    clock.fastForward(Duration.ofSeconds(120));
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(loadText(reopened, "/foo"))
+        .isEqualTo("foo");
+  }
+
+  @Test
+  void should_recover_from_truncated_segment_file() throws IOException {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 60));
+    cache.close();
+
+    Path segmentFile = getSingleSegmentFile();
+    try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+      channel.truncate(findEndOfData(segmentFile) - 10);
+    }
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(reopened, "/foo"))
+        .isEqualTo("foo");
+
+    reopened.store(createResponse("/baz", "baz", clock.instant(), 60));
+    reopened.close();
+
+    PersistentCacheImplementation reopenedAgain = openCache();
+
+    assertThat(reopenedAgain.getNumEntries())
+        .isEqualTo(2);
+    assertThat(loadText(reopenedAgain, "/baz"))
+        .isEqualTo("baz");
+  }
+
+  @Test
+  void should_recover_from_corrupted_segment_file() throws IOException {
+
+    PersistentCacheImplementation cache = openCache();
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    cache.store(createResponse("/bar", "bar", clock.instant(), 60));
+    cache.close();
+
+    Path segmentFile = getSingleSegmentFile();
+    byte[] bytes = Files.readAllBytes(segmentFile);
+    int lastByte = findEndOfData(segmentFile) - 1;
+    bytes[lastByte] = (byte)~bytes[lastByte];
+    Files.write(segmentFile, bytes);
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(reopened, "/foo"))
+        .isEqualTo("foo");
+
+    reopened.store(createResponse("/baz", "baz", clock.instant(), 60));
+    reopened.close();
+
+    PersistentCacheImplementation reopenedAgain = openCache();
+
+    assertThat(reopenedAgain.getNumEntries())
+        .isEqualTo(2);
+    assertThat(loadText(reopenedAgain, "/bar"))
+        .isNull();
+  }
+
+  @Test
+  void compact_should_delete_segments_with_only_expired_entries() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    for (int i = 0; i < 50; i++) {
+      cache.store(createResponse("/foo/" + i, randomText(1000), clock.instant(), 60));
+    }
+    cache.store(createResponse("/bar", "bar", clock.instant(), 600));
+
+    int numSegmentsBeforeCompaction = cache.getNumSegments();
+    assertThat(numSegmentsBeforeCompaction)
+        .isGreaterThan(2);
+
+    clock.fastForward(Duration.ofSeconds(120));
+    cache.compact();
+
+    assertThat(cache.getNumSegments())
+        .isLessThanOrEqualTo(2);
+    assertThat(cache.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(cache, "/bar"))
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void compact_should_relocate_remaining_entries_of_sparse_segments() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    cache.store(createResponse("/bar", "bar", clock.instant(), 600));
+    for (int i = 0; i < 50; i++) {
+      cache.store(createResponse("/foo/" + i, randomText(1000), clock.instant(), 60));
+    }
+
+    clock.fastForward(Duration.ofSeconds(120));
+    cache.compact();
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(1);
+    assertThat(loadText(reopened, "/bar"))
+        .isEqualTo("bar");
+  }
+
+  @Test
+  void should_not_reopen_removed_entries_after_segment_with_tombstone_was_compacted() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    // the first segment contains the removed entry, and enough other entries so that it won't be compacted
+    cache.store(createResponse("/foo", "foo", clock.instant(), 600));
+    for (int i = 0; i < 10; i++) {
+      cache.store(createResponse("/bar/" + i, randomText(1000), clock.instant(), 600));
+    }
+    // the segment with the tombstone for the removed entry will contain only entries that will expire soon
+    for (int i = 0; i < 20; i++) {
+      cache.store(createResponse("/baz/" + i, randomText(1000), clock.instant(), 60));
+    }
+    cache.remove("/foo");
+    for (int i = 20; i < 40; i++) {
+      cache.store(createResponse("/baz/" + i, randomText(1000), clock.instant(), 60));
+    }
+
+    clock.fastForward(Duration.ofSeconds(120));
+    cache.compact();
+
+    assertThat(cache.getNumTombstones())
+        .isEqualTo(1);
+
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(reopened.getNumEntries())
+        .isEqualTo(10);
+    assertThat(loadText(reopened, "/foo"))
+        .isNull();
+  }
+
+  @Test
+  void should_not_reopen_replaced_entries_after_replacing_entry_has_expired() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    cache.store(createResponse("/foo", "original", clock.instant(), 600));
+    for (int i = 0; i < 10; i++) {
+      cache.store(createResponse("/bar/" + i, randomText(1000), clock.instant(), 600));
+    }
+    for (int i = 0; i < 20; i++) {
+      cache.store(createResponse("/baz/" + i, randomText(1000), clock.instant(), 60));
+    }
+    cache.store(createResponse("/foo", "replaced", clock.instant(), 60));
+    for (int i = 20; i < 40; i++) {
+      cache.store(createResponse("/baz/" + i, randomText(1000), clock.instant(), 60));
+    }
+
+    clock.fastForward(Duration.ofSeconds(120));
+    cache.compact();
+    cache.close();
+
+    PersistentCacheImplementation reopened = openCache();
+
+    assertThat(loadText(reopened, "/foo"))
+        .isNull();
+  }
+
+  @Test
+  void compact_should_drop_tombstones_once_older_segments_were_deleted() {
+
+    PersistentCacheImplementation cache = openCache();
+
+    cache.store(createResponse("/foo", "foo", clock.instant(), 60));
+    for (int i = 0; i < 20; i++) {
+      cache.store(createResponse("/baz/" + i, randomText(1000), clock.instant(), 60));
+    }
+    cache.remove("/foo");
+
+    assertThat(cache.getNumTombstones())
+        .isEqualTo(1);
+
+    clock.fastForward(Duration.ofSeconds(120));
+    cache.compact();
+    cache.compact();
+
+    assertThat(cache.getNumTombstones())
+        .isZero();
+  }
+
+  @Test
+  void should_handle_concurrent_reads_and_writes() throws Exception {
+
+    PersistentCacheImplementation cache = openCache();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        String uri = "/foo/" + (i % 20);
+        futures.add(executor.submit(() -> {
+          cache.store(createResponse(uri, uri, clock.instant(), 60));
+          assertThat(loadText(cache, uri))
+              .isEqualTo(uri);
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    assertThat(cache.getNumEntries())
+        .isEqualTo(20);
+  }
+}
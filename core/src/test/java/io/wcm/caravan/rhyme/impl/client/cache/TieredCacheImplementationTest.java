@@ -0,0 +1,356 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.cache;
+
+import static io.wcm.caravan.rhyme.impl.client.cache.CacheTestResponses.createResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.wcm.caravan.rhyme.api.common.HalResponse;
+import io.wcm.caravan.rhyme.api.spi.AsyncHalResponseCache;
+
+class TieredCacheImplementationTest {
+
+  private static final int MAX_BATCH_SIZE = 3;
+  private static final Duration MAX_WRITE_DELAY = Duration.ofSeconds(1);
+
+  private final TestScheduler scheduler = new TestScheduler();
+
+  private final GuavaCacheImplementation firstLevel = new GuavaCacheImplementation(100, Duration.ofDays(1));
+  private final FakeAsyncCache secondLevel = new FakeAsyncCache();
+
+  private TieredCacheImplementation tiered;
+
+  @BeforeEach
+  void setUp() {
+    tiered = new TieredCacheImplementation(firstLevel, secondLevel, scheduler, MAX_BATCH_SIZE, MAX_WRITE_DELAY);
+  }
+
+  @Test
+  void load_should_use_first_level_response() {
+
+    HalResponse response = createResponse("/foo");
+    firstLevel.store(response);
+
+    assertThat(tiered.load("/foo").blockingGet())
+        .isSameAs(response);
+    assertThat(secondLevel.numLoads)
+        .isZero();
+  }
+
+  @Test
+  void load_should_promote_second_level_response() {
+
+    HalResponse response = createResponse("/foo");
+    secondLevel.entries.put("/foo", response);
+
+    assertThat(tiered.load("/foo").blockingGet())
+        .isSameAs(response);
+    assertThat(firstLevel.load("/foo").blockingGet())
+        .isSameAs(response);
+    assertThat(tiered.getNumPromotions())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void load_should_be_empty_if_response_is_not_found_in_any_level() {
+
+    assertThat(tiered.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+    assertThat(secondLevel.numLoads)
+        .isEqualTo(1);
+  }
+
+  @Test
+  void store_should_write_to_first_level_immediately_and_to_second_level_after_delay() {
+
+    HalResponse response = createResponse("/foo");
+    tiered.store(response);
+
+    assertThat(firstLevel.load("/foo").blockingGet())
+        .isSameAs(response);
+    assertThat(secondLevel.entries)
+        .isEmpty();
+    assertThat(tiered.getNumPendingWrites())
+        .isEqualTo(1);
+
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(secondLevel.entries)
+        .containsEntry("/foo", response);
+    assertThat(tiered.getNumPendingWrites())
+        .isZero();
+  }
+
+  @Test
+  void store_should_write_multiple_responses_in_a_single_batch() {
+
+    tiered.store(createResponse("/foo"));
+    tiered.store(createResponse("/bar"));
+
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(secondLevel.batchSizes)
+        .containsExactly(2);
+  }
+
+  @Test
+  void store_should_write_batch_immediately_when_it_is_full() {
+
+    tiered.store(createResponse("/1"));
+    tiered.store(createResponse("/2"));
+    tiered.store(createResponse("/3"));
+
+    scheduler.triggerActions();
+
+    assertThat(secondLevel.batchSizes)
+        .containsExactly(3);
+  }
+
+  @Test
+  void store_should_only_write_latest_response_for_the_same_uri() {
+
+    HalResponse latest = createResponse("/foo").withMaxAge(120);
+
+    tiered.store(createResponse("/foo"));
+    tiered.store(latest);
+
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(secondLevel.batchSizes)
+        .containsExactly(1);
+    assertThat(secondLevel.entries)
+        .containsEntry("/foo", latest);
+  }
+
+  @Test
+  void flush_should_write_pending_responses() {
+
+    tiered.store(createResponse("/foo"));
+
+    tiered.flush().blockingAwait();
+
+    assertThat(secondLevel.entries)
+        .containsKey("/foo");
+
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(secondLevel.batchSizes)
+        .containsExactly(1);
+  }
+
+  @Test
+  void close_should_write_pending_responses() throws Exception {
+
+    tiered.store(createResponse("/foo"));
+
+    tiered.close();
+
+    assertThat(secondLevel.entries)
+        .containsKey("/foo");
+    assertThat(tiered.getNumPendingWrites())
+        .isZero();
+  }
+
+  @Test
+  void close_should_close_first_level_after_writing_pending_responses() throws Exception {
+
+    ClosableFirstLevelCache closableFirstLevel = new ClosableFirstLevelCache();
+    tiered = new TieredCacheImplementation(closableFirstLevel, secondLevel, scheduler, MAX_BATCH_SIZE, MAX_WRITE_DELAY);
+
+    tiered.store(createResponse("/foo"));
+
+    tiered.close();
+
+    assertThat(closableFirstLevel.closed)
+        .isTrue();
+    assertThat(closableFirstLevel.numPendingWritesWhenClosed)
+        .isZero();
+  }
+
+  @Test
+  void close_should_close_first_level_even_if_writes_failed() throws Exception {
+
+    ClosableFirstLevelCache closableFirstLevel = new ClosableFirstLevelCache();
+    tiered = new TieredCacheImplementation(closableFirstLevel, secondLevel, scheduler, MAX_BATCH_SIZE, MAX_WRITE_DELAY);
+    secondLevel.failWrites = true;
+
+    tiered.store(createResponse("/foo"));
+
+    tiered.close();
+
+    assertThat(closableFirstLevel.closed)
+        .isTrue();
+    assertThat(tiered.getNumFailedWrites())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void failed_writes_should_be_counted() {
+
+    secondLevel.failWrites = true;
+
+    tiered.store(createResponse("/foo"));
+    tiered.store(createResponse("/bar"));
+
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(tiered.getNumFailedWrites())
+        .isEqualTo(2);
+    assertThat(firstLevel.load("/foo").blockingGet())
+        .isNotNull();
+  }
+
+  @Test
+  void promoteAll_should_load_multiple_responses_from_second_level() {
+
+    secondLevel.entries.put("/foo", createResponse("/foo"));
+    secondLevel.entries.put("/bar", createResponse("/bar"));
+
+    tiered.promoteAll(Arrays.asList("/foo", "/bar", "/unknown")).blockingAwait();
+
+    assertThat(firstLevel.load("/foo").blockingGet())
+        .isNotNull();
+    assertThat(firstLevel.load("/bar").blockingGet())
+        .isNotNull();
+    assertThat(tiered.getNumPromotions())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void promoteAll_should_only_load_responses_missing_in_first_level() {
+
+    HalResponse firstLevelResponse = createResponse("/foo");
+    firstLevel.store(firstLevelResponse);
+    secondLevel.entries.put("/foo", createResponse("/foo"));
+    secondLevel.entries.put("/bar", createResponse("/bar"));
+
+    tiered.promoteAll(Arrays.asList("/foo", "/bar")).blockingAwait();
+
+    assertThat(firstLevel.load("/foo").blockingGet())
+        .isSameAs(firstLevelResponse);
+    assertThat(tiered.getNumPromotions())
+        .isEqualTo(1);
+    assertThat(secondLevel.numBatchLoads)
+        .isEqualTo(1);
+  }
+
+  @Test
+  void remove_should_remove_response_from_all_levels_and_discard_pending_write() {
+
+    secondLevel.entries.put("/foo", createResponse("/foo"));
+    tiered.store(createResponse("/foo"));
+
+    tiered.remove("/foo");
+    scheduler.advanceTimeBy(MAX_WRITE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+
+    assertThat(tiered.load("/foo").isEmpty().blockingGet())
+        .isTrue();
+    assertThat(secondLevel.entries)
+        .isEmpty();
+    assertThat(tiered.getNumPendingWrites())
+        .isZero();
+  }
+
+  @Test
+  void AsyncCacheAdapter_should_store_on_given_scheduler() {
+
+    GuavaCacheImplementation blockingCache = new GuavaCacheImplementation(100, Duration.ofDays(1));
+    AsyncCacheAdapter adapter = new AsyncCacheAdapter(blockingCache, Schedulers.trampoline());
+
+    HalResponse response = createResponse("/foo");
+    adapter.storeAll(Arrays.asList(response)).blockingAwait();
+
+    assertThat(adapter.loadAll(Arrays.asList("/foo", "/bar")).blockingGet())
+        .containsOnlyKeys("/foo");
+  }
+
+  private final class ClosableFirstLevelCache extends GuavaCacheImplementation implements AutoCloseable {
+
+    private boolean closed;
+    private int numPendingWritesWhenClosed = -1;
+
+    ClosableFirstLevelCache() {
+      super(100, Duration.ofDays(1));
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      numPendingWritesWhenClosed = tiered.getNumPendingWrites();
+    }
+  }
+
+  static class FakeAsyncCache implements AsyncHalResponseCache {
+
+    final Map<String, HalResponse> entries = new ConcurrentHashMap<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private int numLoads;
+    int numBatchLoads;
+    private boolean failWrites;
+
+    @Override
+    public Maybe<HalResponse> load(String uri) {
+      numLoads++;
+      return Maybe.fromCallable(() -> entries.get(uri));
+    }
+
+    @Override
+    public Completable store(HalResponse response) {
+      return Completable.fromAction(() -> entries.put(response.getUri(), response));
+    }
+
+    @Override
+    public Completable remove(String uri) {
+      return Completable.fromAction(() -> entries.remove(uri));
+    }
+
+    @Override
+    public Single<Map<String, HalResponse>> loadAll(Collection<String> uris) {
+      numBatchLoads++;
+      return AsyncHalResponseCache.super.loadAll(uris);
+    }
+
+    @Override
+    public Completable storeAll(Collection<HalResponse> responses) {
+      if (failWrites) {
+        return Completable.error(new RuntimeException("Simulated failure"));
+      }
+      batchSizes.add(responses.size());
+      return AsyncHalResponseCache.super.storeAll(responses);
+    }
+  }
+}
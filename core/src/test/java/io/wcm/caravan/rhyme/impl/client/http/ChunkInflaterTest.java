@@ -0,0 +1,176 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ChunkInflaterTest {
+
+  private static final String CONTENT = createContent();
+
+  private final ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+
+  private static String createContent() {
+
+    StringBuilder sb = new StringBuilder("{\"items\":[");
+    for (int i = 0; i < 5000; i++) {
+      sb.append(i > 0 ? "," : "").append("{\"href\":\"/item/").append(i).append("\"}");
+    }
+    return sb.append("]}").toString();
+  }
+
+  private static byte[] gzip(String content) throws IOException {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream os = new GZIPOutputStream(bytes)) {
+      os.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(String content) throws IOException {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream os = new DeflaterOutputStream(bytes)) {
+      os.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private String inflate(ChunkInflater inflater, byte[] compressed, int chunkSize) throws IOException {
+
+    for (int i = 0; i < compressed.length; i += chunkSize) {
+      ByteBuffer chunk = ByteBuffer.wrap(compressed, i, Math.min(chunkSize, compressed.length - i));
+      inflater.inflate(chunk, buffer -> inflated.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+
+      assertThat(chunk.hasRemaining())
+          .isFalse();
+    }
+    inflater.finish();
+
+    return new String(inflated.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 3, 100, 100000 })
+  void should_inflate_gzip_chunks(int chunkSize) throws IOException {
+
+    assertThat(inflate(new ChunkInflater(true), gzip(CONTENT), chunkSize))
+        .isEqualTo(CONTENT);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 3, 100, 100000 })
+  void should_inflate_deflate_chunks(int chunkSize) throws IOException {
+
+    assertThat(inflate(new ChunkInflater(false), deflate(CONTENT), chunkSize))
+        .isEqualTo(CONTENT);
+  }
+
+  @Test
+  void should_skip_optional_gzip_header_fields() throws IOException {
+
+    byte[] compressed = gzip(CONTENT);
+
+    // insert FEXTRA, FNAME and FCOMMENT fields into the standard 10 byte header
+    ByteArrayOutputStream withHeaderFields = new ByteArrayOutputStream();
+    withHeaderFields.write(compressed, 0, 3);
+    withHeaderFields.write(4 | 8 | 16);
+    withHeaderFields.write(compressed, 4, 6);
+    withHeaderFields.write(new byte[] { 2, 0, 'x', 'y' });
+    withHeaderFields.write("name.json\0comment\0".getBytes(StandardCharsets.US_ASCII));
+    withHeaderFields.write(compressed, 10, compressed.length - 10);
+
+    assertThat(inflate(new ChunkInflater(true), withHeaderFields.toByteArray(), 1))
+        .isEqualTo(CONTENT);
+  }
+
+  @Test
+  void should_ignore_empty_body() throws IOException {
+
+    assertThat(inflate(new ChunkInflater(true), new byte[0], 1))
+        .isEmpty();
+  }
+
+  @Test
+  void should_fail_if_body_is_not_in_gzip_format() {
+
+    byte[] uncompressed = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+    Throwable ex = catchThrowable(() -> inflate(new ChunkInflater(true), uncompressed, 100));
+
+    assertThat(ex)
+        .isInstanceOf(ZipException.class)
+        .hasMessage("The response body is not in gzip format");
+  }
+
+  @Test
+  void should_fail_if_compressed_data_is_corrupt() throws IOException {
+
+    byte[] compressed = deflate(CONTENT);
+    Arrays.fill(compressed, 10, 20, (byte)0xff);
+
+    Throwable ex = catchThrowable(() -> inflate(new ChunkInflater(false), compressed, 100));
+
+    assertThat(ex)
+        .isInstanceOf(ZipException.class);
+  }
+
+  @Test
+  void should_fail_if_gzip_body_is_truncated() throws IOException {
+
+    byte[] compressed = gzip(CONTENT);
+    byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+    Throwable ex = catchThrowable(() -> inflate(new ChunkInflater(true), truncated, 100));
+
+    assertThat(ex)
+        .isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  void should_fail_if_gzip_trailer_does_not_match() throws IOException {
+
+    byte[] compressed = gzip(CONTENT);
+    compressed[compressed.length - 8] ^= 0xff;
+
+    Throwable ex = catchThrowable(() -> inflate(new ChunkInflater(true), compressed, 100));
+
+    assertThat(ex)
+        .isInstanceOf(ZipException.class)
+        .hasMessage("The checksum of the decompressed response body doesn't match the gzip trailer");
+  }
+}
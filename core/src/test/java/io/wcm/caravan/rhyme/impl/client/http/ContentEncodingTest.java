@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class ContentEncodingTest {
+
+  @Test
+  void fromHeaderValue_should_return_empty_for_missing_or_identity_encoding() throws IOException {
+
+    assertThat(ContentEncoding.fromHeaderValue(null))
+        .isEmpty();
+    assertThat(ContentEncoding.fromHeaderValue("identity"))
+        .isEmpty();
+  }
+
+  @Test
+  void fromHeaderValue_should_find_supported_encodings() throws IOException {
+
+    assertThat(ContentEncoding.fromHeaderValue("gzip"))
+        .contains(ContentEncoding.GZIP);
+    assertThat(ContentEncoding.fromHeaderValue(" X-GZIP "))
+        .contains(ContentEncoding.GZIP);
+    assertThat(ContentEncoding.fromHeaderValue("deflate"))
+        .contains(ContentEncoding.DEFLATE);
+  }
+
+  @Test
+  void fromHeaderValue_should_fail_for_unsupported_encoding() {
+
+    Throwable ex = catchThrowable(() -> ContentEncoding.fromHeaderValue("br"));
+
+    assertThat(ex)
+        .isInstanceOf(IOException.class)
+        .hasMessage("The response has an unsupported content encoding br");
+  }
+
+  @Test
+  void decode_should_decompress_gzip_stream() throws IOException {
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream os = new GZIPOutputStream(bytes)) {
+      os.write("{\"foo\":\"bar\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    InputStream decoded = ContentEncoding.GZIP.decode(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertThat(new String(decoded.readAllBytes(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"foo\":\"bar\"}");
+  }
+
+  @Test
+  void decode_should_handle_empty_and_null_streams() throws IOException {
+
+    InputStream decoded = ContentEncoding.GZIP.decode(new ByteArrayInputStream(new byte[0]));
+
+    assertThat(decoded.read())
+        .isEqualTo(-1);
+    assertThat(ContentEncoding.DEFLATE.decode(null))
+        .isNull();
+  }
+}
@@ -26,6 +26,7 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,6 +43,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.net.HttpHeaders;
@@ -49,6 +52,7 @@ import com.google.common.net.HttpHeaders;
 import io.wcm.caravan.rhyme.api.common.HalResponse;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
 import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HttpClientCallback;
 import io.wcm.caravan.rhyme.api.spi.HttpClientSupport;
 
 
@@ -112,6 +116,21 @@ class HttpHalResourceLoaderTest {
         .hasRootCauseInstanceOf(URISyntaxException.class);
   }
 
+  @Test
+  void withDeduplicatedBodies_should_share_identical_json_between_responses() {
+
+    HttpHalResourceLoader loader = createLoader((uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      callback.onBodyAvailable(createUtf8Stream("{\"_links\":{\"self\":{\"href\":\"/foo\"}}}"));
+    }).withDeduplicatedBodies();
+
+    HalResponse first = executeGetRequestWith(VALID_URI, loader);
+    HalResponse second = executeGetRequestWith(VALID_URI, loader);
+
+    assertThat(second.getBody().getModel().get("_links"))
+        .isSameAs(first.getBody().getModel().get("_links"));
+  }
+
   @Test
   void should_use_modified_URI_in_response() {
 
@@ -189,6 +208,131 @@ class HttpHalResourceLoaderTest {
         .isEqualTo(123);
   }
 
+  @Test
+  void should_extract_stale_directives_from_headers() {
+
+    Map<String, Collection<String>> headers = new HashMap<>();
+    headers.put("cache-control", ImmutableList.of("max-age=60, stale-while-revalidate=30, stale-if-error=600"));
+
+    HalResponse response = executeSuccessfulRequestWithResponseHeaders(headers);
+
+    assertThat(response.getStaleWhileRevalidate())
+        .isEqualTo(30);
+    assertThat(response.getStaleIfError())
+        .isEqualTo(600);
+  }
+
+  @Test
+  void should_extract_entity_tag_and_last_modified_from_headers() {
+
+    Map<String, Collection<String>> headers = new HashMap<>();
+    headers.put("ETag", ImmutableList.of("\"abc\""));
+    headers.put("Last-Modified", ImmutableList.of("Fri, 01 Jan 2021 00:00:00 GMT"));
+
+    HalResponse response = executeSuccessfulRequestWithResponseHeaders(headers);
+
+    assertThat(response.getEntityTag())
+        .isEqualTo("\"abc\"");
+    assertThat(response.getLastModified())
+        .isEqualTo("Fri, 01 Jan 2021 00:00:00 GMT");
+  }
+
+  private HttpClientSupport createConditionalClient(Map<String, String> sentHeaders, int statusCode,
+      Map<String, Collection<String>> responseHeaders, String body) {
+
+    return new HttpClientSupport() {
+
+      @Override
+      public void executeGetRequest(URI uri, HttpClientCallback callback) {
+        executeGetRequest(uri, Collections.emptyMap(), callback);
+      }
+
+      @Override
+      public void executeGetRequest(URI uri, Map<String, String> requestHeaders, HttpClientCallback callback) {
+        sentHeaders.putAll(requestHeaders);
+
+        callback.onHeadersAvailable(statusCode, responseHeaders);
+        callback.onBodyAvailable(body != null ? createUtf8Stream(body) : null);
+      }
+    };
+  }
+
+  private static HalResponse createStaleResponse() {
+
+    return new HalResponse()
+        .withUri(VALID_URI)
+        .withStatus(200)
+        .withBody(JsonNodeFactory.instance.objectNode().put("foo", "stale"))
+        .withMaxAge(60)
+        .withEntityTag("\"abc\"")
+        .withLastModified("Fri, 01 Jan 2021 00:00:00 GMT");
+  }
+
+  @Test
+  void should_send_conditional_headers_when_revalidating() {
+
+    Map<String, String> sentHeaders = new HashMap<>();
+    HttpHalResourceLoader loader = createLoader(createConditionalClient(sentHeaders, 304, Collections.emptyMap(), null));
+
+    loader.revalidateHalResource(VALID_URI, createStaleResponse()).blockingGet();
+
+    assertThat(sentHeaders)
+        .containsEntry("If-None-Match", "\"abc\"")
+        .containsEntry("If-Modified-Since", "Fri, 01 Jan 2021 00:00:00 GMT");
+  }
+
+  @Test
+  void should_use_stale_body_and_updated_headers_for_304_response() {
+
+    Map<String, Collection<String>> headers = new HashMap<>();
+    headers.put("cache-control", ImmutableList.of("max-age=120"));
+    headers.put("etag", ImmutableList.of("\"def\""));
+
+    HttpHalResourceLoader loader = createLoader(createConditionalClient(new HashMap<>(), 304, headers, ""));
+
+    HalResponse response = loader.revalidateHalResource(VALID_URI, createStaleResponse()).blockingGet();
+
+    assertThat(response.getStatus())
+        .isEqualTo(200);
+    assertThat(response.getBody().getModel().path("foo").asText())
+        .isEqualTo("stale");
+    assertThat(response.getMaxAge())
+        .isEqualTo(120);
+    assertThat(response.getEntityTag())
+        .isEqualTo("\"def\"");
+    assertThat(response.getLastModified())
+        .isEqualTo("Fri, 01 Jan 2021 00:00:00 GMT");
+  }
+
+  @Test
+  void should_use_new_body_if_resource_was_modified() {
+
+    HttpHalResourceLoader loader = createLoader(createConditionalClient(new HashMap<>(), 200, Collections.emptyMap(), "{\"foo\": \"new\"}"));
+
+    HalResponse response = loader.revalidateHalResource(VALID_URI, createStaleResponse()).blockingGet();
+
+    assertThat(response.getBody().getModel().path("foo").asText())
+        .isEqualTo("new");
+    assertThat(response.getEntityTag())
+        .isNull();
+  }
+
+  @Test
+  void should_not_send_conditional_headers_if_stale_response_has_no_validators() {
+
+    Map<String, String> sentHeaders = new HashMap<>();
+    HttpHalResourceLoader loader = createLoader(createConditionalClient(sentHeaders, 200, Collections.emptyMap(), "{}"));
+
+    HalResponse staleResponse = createStaleResponse()
+        .withEntityTag(null)
+        .withLastModified(null);
+
+    loader.revalidateHalResource(VALID_URI, staleResponse).blockingGet();
+
+    assertThat(sentHeaders)
+        .isEmpty();
+  }
+
   private HalResponse executeSuccessfulRequestWithResponseHeaders(Map<String, Collection<String>> headers) {
 
     HttpHalResourceLoader loader = createLoader((uri, callback) -> {
@@ -294,6 +438,96 @@ class HttpHalResourceLoaderTest {
         .hasMessage("onHeadersAvailable() should be called before onBodyAvailable()");
   }
 
+  private static void feedUtf8Chunks(HttpClientCallback callback, String json, int chunkSize) {
+
+    byte[] bytes = json.getBytes(Charsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      callback.onBodyChunkAvailable(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+    }
+  }
+
+  @Test
+  void should_parse_body_from_chunks() {
+
+    HttpHalResourceLoader loader = createLoader((uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      feedUtf8Chunks(callback, "{\"_links\":{\"self\":{\"href\":\"/foo\"}},\"föö\":[1,2.5,true,null]}", 3);
+      callback.onBodyComplete();
+    });
+
+    HalResponse response = executeGetRequestWith(VALID_URI, loader);
+
+    assertThat(response.getBody().getModel())
+        .hasToString("{\"_links\":{\"self\":{\"href\":\"/foo\"}},\"föö\":[1,2.5,true,null]}");
+  }
+
+  @Test
+  void should_fail_if_body_from_chunks_is_not_valid_json() {
+
+    HttpHalResourceLoader loader = createLoader((uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      feedUtf8Chunks(callback, "<html></html>", 5);
+      callback.onBodyComplete();
+    });
+
+    HalApiClientException ex = loadResourceAndExpectClientException(loader, VALID_URI);
+
+    assertThat(ex.getCause())
+        .hasMessage("An HTTP response with status code 200 was retrieved, but the body could not be successfully read and parsed as a JSON document")
+        .hasRootCauseInstanceOf(JsonProcessingException.class);
+  }
+
+  @Test
+  void should_fail_if_body_from_chunks_is_empty() {
+
+    HttpHalResourceLoader loader = createLoader((uri, callback) -> {
+      callback.onHeadersAvailable(200, Collections.emptyMap());
+      callback.onBodyComplete();
+    });
+
+    HalApiClientException ex = loadResourceAndExpectClientException(loader, VALID_URI);
+
+    assertThat(ex)
+        .hasRootCauseMessage("The response body was completely empty (or consisted only of whitespace)");
+  }
+
+  @Test
+  void should_fail_if_onBodyChunkAvailable_is_called_before_onHeaderAvailable() {
+
+    HttpHalResourceLoader loader = createLoader((uri, callback) -> {
+      feedUtf8Chunks(callback, "{}", 1);
+    });
+
+    HalApiClientException ex = loadResourceAndExpectClientException(loader, VALID_URI);
+
+    assertThat(ex.getCause())
+        .hasMessage("onHeadersAvailable() should be called before onBodyChunkAvailable()");
+  }
+
+  @Test
+  void should_use_stale_body_if_chunks_are_received_for_304_response() {
+
+    HttpHalResourceLoader loader = createLoader(new HttpClientSupport() {
+
+      @Override
+      public void executeGetRequest(URI uri, HttpClientCallback callback) {
+        executeGetRequest(uri, Collections.emptyMap(), callback);
+      }
+
+      @Override
+      public void executeGetRequest(URI uri, Map<String, String> requestHeaders, HttpClientCallback callback) {
+        callback.onHeadersAvailable(304, Collections.emptyMap());
+        feedUtf8Chunks(callback, " ", 1);
+        callback.onBodyComplete();
+      }
+    });
+
+    HalResponse response = loader.revalidateHalResource(VALID_URI, createStaleResponse()).blockingGet();
+
+    assertThat(response.getBody().getModel().path("foo").asText())
+        .isEqualTo("stale");
+  }
+
   @Test
   void should_ignore_if_onBodyAvailable_is_called_multiple_times() {
 
@@ -20,6 +20,8 @@
 package io.wcm.caravan.rhyme.impl.client.http;
 
 import static io.wcm.caravan.rhyme.impl.client.http.HttpHeadersParser.parseMaxAge;
+import static io.wcm.caravan.rhyme.impl.client.http.HttpHeadersParser.parseStaleIfError;
+import static io.wcm.caravan.rhyme.impl.client.http.HttpHeadersParser.parseStaleWhileRevalidate;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
@@ -113,4 +115,46 @@ class HttpHeadersParserTest {
     assertThat(parseMaxAge("max-age=" + longerThanMaxInt))
         .isEqualTo(Integer.MAX_VALUE);
   }
+
+  @Test
+  void parseMaxAge_should_ignore_stale_directives() {
+
+    assertThat(parseMaxAge("stale-while-revalidate=30, stale-if-error=60"))
+        .isNull();
+  }
+
+  @Test
+  void parseStaleWhileRevalidate_should_handle_null_value() {
+
+    assertThat(parseStaleWhileRevalidate(null))
+        .isNull();
+  }
+
+  @Test
+  void parseStaleWhileRevalidate_should_handle_value_after_max_age() {
+
+    assertThat(parseStaleWhileRevalidate("max-age=60, stale-while-revalidate=30"))
+        .isEqualTo(30);
+  }
+
+  @Test
+  void parseStaleWhileRevalidate_should_ignore_missing_directive() {
+
+    assertThat(parseStaleWhileRevalidate("max-age=60, stale-if-error=30"))
+        .isNull();
+  }
+
+  @Test
+  void parseStaleIfError_should_handle_null_value() {
+
+    assertThat(parseStaleIfError(null))
+        .isNull();
+  }
+
+  @Test
+  void parseStaleIfError_should_handle_upper_case() {
+
+    assertThat(parseStaleIfError("Max-Age=60, Stale-If-Error=600"))
+        .isEqualTo(600);
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import io.wcm.caravan.rhyme.impl.client.http.HttpHalResourceLoader.HttpClientSupportException;
+
+class IncrementalJsonParserTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String JSON = "{\"_links\":{\"self\":{\"href\":\"/foo\"},\"item\":[{\"href\":\"/1\"},{\"href\":\"/2\"}]},"
+      + "\"string\":\"官ar\",\"int\":1,\"long\":12345678901,\"bigInt\":123456789012345678901234567890,\"double\":-1.5e3,"
+      + "\"true\":true,\"false\":false,\"null\":null,\"emptyObject\":{},\"emptyArray\":[],\"nested\":[[1],[{\"a\":[]}]]}";
+
+  private final IncrementalJsonParser parser = new IncrementalJsonParser(new JsonFactory(), JsonNodeFactory.instance);
+
+  private void feed(String json, int chunkSize) {
+
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 1, 2, 7, 64, 100000 })
+  void should_create_same_tree_as_object_mapper(int chunkSize) throws Exception {
+
+    feed(JSON, chunkSize);
+
+    JsonNode expected = OBJECT_MAPPER.readTree(JSON);
+
+    assertThat(parser.finish())
+        .isEqualTo(expected)
+        .hasToString(expected.toString());
+  }
+
+  @Test
+  void should_parse_scalar_root_value() {
+
+    feed(" \"foo\" ", 1);
+
+    assertThat(parser.finish().asText())
+        .isEqualTo("foo");
+  }
+
+  @Test
+  void should_ignore_content_after_first_value() {
+
+    feed("{\"a\":1} {\"b\":2}", 3);
+
+    assertThat(parser.finish())
+        .hasToString("{\"a\":1}");
+  }
+
+  @Test
+  void should_consume_the_given_chunks_completely() {
+
+    ByteBuffer chunk = ByteBuffer.wrap("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+    parser.feed(chunk);
+
+    assertThat(chunk.hasRemaining())
+        .isFalse();
+  }
+
+  @Test
+  void finish_should_fail_for_empty_body() {
+
+    feed("  ", 1);
+
+    Throwable ex = catchThrowable(parser::finish);
+
+    assertThat(ex)
+        .isInstanceOf(HttpClientSupportException.class)
+        .hasMessage("The response body was completely empty (or consisted only of whitespace)");
+  }
+
+  @Test
+  void finish_should_fail_for_invalid_json() {
+
+    feed("<html><body>{}</body></html>", 4);
+
+    Throwable ex = catchThrowable(parser::finish);
+
+    assertThat(ex)
+        .isInstanceOf(HttpClientSupportException.class)
+        .hasMessage("The response body was read completely, but it's not valid JSON.")
+        .hasCauseInstanceOf(JsonProcessingException.class);
+  }
+
+  @Test
+  void finish_should_fail_for_incomplete_json() {
+
+    feed("{\"a\":[1,2", 4);
+
+    Throwable ex = catchThrowable(parser::finish);
+
+    assertThat(ex)
+        .isInstanceOf(HttpClientSupportException.class)
+        .hasMessageStartingWith("The response body was read completely, but");
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+class JsonDeduplicatorTest {
+
+  private final JsonDeduplicator deduplicator = new JsonDeduplicator();
+
+  private JsonNode parse(String json) {
+
+    try (JsonParser parser = deduplicator.getJsonFactory().createParser(json.replace('\'', '"'))) {
+      return deduplicator.deduplicate(parser.readValueAsTree());
+    }
+    catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @Test
+  void should_share_equal_text_nodes() {
+
+    JsonNode first = parse("{'href': '/foo'}");
+    JsonNode second = parse("{'title': 'bar', 'other': '/foo'}");
+
+    assertThat(second.get("other"))
+        .isSameAs(first.get("href"));
+  }
+
+  @Test
+  void should_share_identical_objects() {
+
+    JsonNode first = parse("{'_links': {'self': {'href': '/foo'}}, 'id': 1}");
+    JsonNode second = parse("{'_links': {'self': {'href': '/foo'}}, 'id': 2}");
+
+    assertThat(second.get("_links"))
+        .isSameAs(first.get("_links"));
+  }
+
+  @Test
+  void should_share_identical_arrays() {
+
+    JsonNode first = parse("{'items': [{'name': 'a'}, {'name': 'b'}]}");
+    JsonNode second = parse("{'entries': [{'name': 'a'}, {'name': 'b'}]}");
+
+    assertThat(second.get("entries"))
+        .isSameAs(first.get("items"));
+  }
+
+  @Test
+  void should_share_identical_nested_objects_within_different_parents() {
+
+    JsonNode first = parse("{'_embedded': {'item': {'name': 'a', 'value': 1}}}");
+    JsonNode second = parse("{'_embedded': {'item': {'name': 'a', 'value': 1}, 'other': {}}}");
+
+    assertThat(second.path("_embedded").get("item"))
+        .isSameAs(first.path("_embedded").get("item"));
+  }
+
+  @Test
+  void should_not_share_root_node() {
+
+    JsonNode first = parse("{'id': 1}");
+    JsonNode second = parse("{'id': 1}");
+
+    assertThat(second)
+        .isNotSameAs(first);
+  }
+
+  @Test
+  void should_not_share_objects_with_different_property_order() {
+
+    JsonNode first = parse("{'item': {'a': 1, 'b': 2}}");
+    JsonNode second = parse("{'item': {'b': 2, 'a': 1}}");
+
+    assertThat(second.get("item"))
+        .isNotSameAs(first.get("item"));
+    assertThat(second.get("item").fieldNames())
+        .toIterable()
+        .containsExactly("b", "a");
+  }
+
+  @Test
+  void should_not_share_objects_with_different_value_types() {
+
+    JsonNode first = parse("{'item': {'value': 1}}");
+    JsonNode second = parse("{'item': {'value': 1.0}}");
+
+    assertThat(second.get("item"))
+        .isNotSameAs(first.get("item"));
+    assertThat(second.path("item").get("value").isDouble())
+        .isTrue();
+  }
+
+  @Test
+  void should_keep_content_unchanged() {
+
+    String json = "{'_links':{'self':{'href':'/foo'},'curies':[{'name':'ex','href':'/docs/{rel}','templated':true}]},"
+        + "'_embedded':{'ex:item':[{'id':1},{'id':1},{'id':2}]},'title':null}";
+
+    JsonNode first = parse(json);
+    JsonNode second = parse(json);
+
+    assertThat(second)
+        .hasToString(json.replace('\'', '"'))
+        .isEqualTo(first);
+    assertThat(second.path("_embedded").path("ex:item").get(1))
+        .isSameAs(first.path("_embedded").path("ex:item").get(0));
+  }
+
+  private static String createItemWithLongText(int index, int textLength) {
+
+    StringBuilder text = new StringBuilder().append(index);
+    while (text.length() < textLength) {
+      text.append('x');
+    }
+    return "{'item': {'text': '" + text + "'}}";
+  }
+
+  @Test
+  void should_not_share_large_subtrees() {
+
+    String json = createItemWithLongText(0, JsonDeduplicator.MAX_SHARED_SUBTREE_BYTES);
+
+    JsonNode first = parse(json);
+    JsonNode second = parse(json);
+
+    assertThat(second.get("item"))
+        .isNotSameAs(first.get("item"));
+    assertThat(deduplicator.getNumSharedSubtrees())
+        .isZero();
+  }
+
+  @Test
+  void should_limit_estimated_size_of_all_shared_subtrees() {
+
+    int numItems = (int)(2 * JsonDeduplicator.MAX_SHARED_BYTES / 1000);
+    for (int i = 0; i < numItems; i++) {
+      parse(createItemWithLongText(i, 400));
+    }
+
+    assertThat(deduplicator.getSharedBytes())
+        .isPositive()
+        .isLessThanOrEqualTo(JsonDeduplicator.MAX_SHARED_BYTES);
+  }
+}
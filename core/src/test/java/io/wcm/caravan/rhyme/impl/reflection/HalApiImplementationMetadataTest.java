@@ -0,0 +1,78 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.caravan.hal.resource.Link;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.testing.LinkableTestResource;
+import io.wcm.caravan.rhyme.testing.TestResource;
+
+class HalApiImplementationMetadataTest {
+
+  private final HalApiTypeSupport typeSupport = new DefaultHalApiTypeSupport();
+
+  static class TestResourceImpl implements LinkableTestResource {
+
+    @Override
+    public Link createLink() {
+      return new Link("/foo");
+    }
+  }
+
+  @Test
+  void get_should_return_same_instance_for_equal_type_support() {
+
+    HalApiImplementationMetadata metadata = HalApiImplementationMetadata.get(TestResourceImpl.class, typeSupport);
+
+    assertThat(HalApiImplementationMetadata.get(TestResourceImpl.class, new DefaultHalApiTypeSupport()))
+        .isSameAs(metadata);
+  }
+
+  @Test
+  void getHalApiInterface_should_find_annotated_interface() {
+
+    HalApiImplementationMetadata metadata = HalApiImplementationMetadata.get(TestResourceImpl.class, typeSupport);
+
+    assertThat(metadata.getHalApiInterface())
+        .isEqualTo(TestResource.class);
+
+    assertThat(metadata.getSimpleClassName())
+        .isEqualTo("TestResourceImpl");
+  }
+
+  @Test
+  void getHalApiInterface_should_fail_repeatedly_if_no_annotated_interface_is_implemented() {
+
+    HalApiImplementationMetadata metadata = HalApiImplementationMetadata.get(String.class, typeSupport);
+
+    for (int i = 0; i < 2; i++) {
+      Throwable ex = catchThrowable(metadata::getHalApiInterface);
+
+      assertThat(ex)
+          .isInstanceOf(HalApiDeveloperException.class)
+          .hasMessageStartingWith("None of the interfaces implemented by the given class java.lang.String has a @HalApiInterface annotation");
+    }
+  }
+}
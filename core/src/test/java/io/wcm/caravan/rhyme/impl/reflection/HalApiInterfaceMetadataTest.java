@@ -0,0 +1,200 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.reflection;
+
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ITEM;
+import static io.wcm.caravan.rhyme.api.relations.StandardRelations.SECTION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
+import io.wcm.caravan.rhyme.api.annotations.Related;
+import io.wcm.caravan.rhyme.api.annotations.ResourceProperty;
+import io.wcm.caravan.rhyme.api.annotations.ResourceState;
+import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
+import io.wcm.caravan.rhyme.api.exceptions.HalApiDeveloperException;
+import io.wcm.caravan.rhyme.api.spi.HalApiAnnotationSupport;
+import io.wcm.caravan.rhyme.impl.reflection.HalApiMethodMetadata.Kind;
+import io.wcm.caravan.rhyme.testing.LinkableTestResource;
+import io.wcm.caravan.rhyme.testing.TestState;
+
+class HalApiInterfaceMetadataTest {
+
+  @HalApiInterface
+  public interface ResourceWithMetadata {
+
+    @ResourceState
+    Single<TestState> getState();
+
+    @ResourceProperty("renamed")
+    Single<String> getProperty();
+
+    @ResourceProperty
+    Observable<Integer> getNumbers();
+
+    @Related("custom:relation")
+    Observable<LinkableTestResource> getCustom();
+
+    @Related(SECTION)
+    Observable<LinkableTestResource> getSections();
+
+    @Related(ITEM)
+    Single<LinkableTestResource> getItem(@TemplateVariable("id") String id);
+
+    @Related(ITEM)
+    Future<LinkableTestResource> getUnsupported();
+
+    String getNotAnnotated();
+  }
+
+  public interface ExtendedResource extends ResourceWithMetadata {
+    // inherits the @HalApiInterface annotation
+  }
+
+  private final HalApiTypeSupport typeSupport = new DefaultHalApiTypeSupport();
+
+  private HalApiInterfaceMetadata getMetadata() {
+    return HalApiInterfaceMetadata.get(ResourceWithMetadata.class, typeSupport);
+  }
+
+  private HalApiMethodMetadata getMethod(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+    return getMetadata().getMethod(ResourceWithMetadata.class.getMethod(name, parameterTypes));
+  }
+
+  @Test
+  void get_should_return_same_instance_for_equal_type_support() {
+
+    HalApiInterfaceMetadata metadata = HalApiInterfaceMetadata.get(ResourceWithMetadata.class, new DefaultHalApiTypeSupport());
+
+    assertThat(metadata)
+        .isSameAs(getMetadata());
+  }
+
+  @Test
+  void get_should_return_different_instance_for_different_type_support() {
+
+    HalApiTypeSupport extendedSupport = DefaultHalApiTypeSupport.extendWith(Mockito.mock(HalApiAnnotationSupport.class), null);
+
+    HalApiInterfaceMetadata metadata = HalApiInterfaceMetadata.get(ResourceWithMetadata.class, extendedSupport);
+
+    assertThat(metadata)
+        .isNotSameAs(getMetadata());
+  }
+
+  @Test
+  void isHalApiInterface_should_detect_annotation_on_extended_interface() {
+
+    assertThat(HalApiInterfaceMetadata.get(ExtendedResource.class, typeSupport).isHalApiInterface())
+        .isTrue();
+
+    assertThat(HalApiInterfaceMetadata.get(Map.class, typeSupport).isHalApiInterface())
+        .isFalse();
+  }
+
+  @Test
+  void getResourceStateMethod_should_find_annotated_method() {
+
+    assertThat(getMetadata().getResourceStateMethod())
+        .hasValueSatisfying(method -> assertThat(method.getName()).isEqualTo("getState"));
+  }
+
+  @Test
+  void getResourcePropertyMethods_should_contain_property_names() {
+
+    assertThat(getMetadata().getResourcePropertyMethods())
+        .extracting(HalApiMethodMetadata::getPropertyName)
+        .containsExactlyInAnyOrder("renamed", "numbers");
+  }
+
+  @Test
+  void getSortedRelatedResourceMethods_should_sort_standard_relations_first() {
+
+    assertThat(getMetadata().getSortedRelatedResourceMethods())
+        .extracting(HalApiMethodMetadata::getRelation)
+        .containsExactly(ITEM, ITEM, SECTION, "custom:relation");
+  }
+
+  @Test
+  void getMethod_should_return_same_instance_for_each_call() throws NoSuchMethodException {
+
+    assertThat(getMethod("getSections"))
+        .isSameAs(getMethod("getSections"))
+        .isIn(getMetadata().getSortedRelatedResourceMethods());
+  }
+
+  @Test
+  void getMethod_should_detect_kind() throws NoSuchMethodException {
+
+    assertThat(getMethod("getState").getKind())
+        .isEqualTo(Kind.RESOURCE_STATE);
+
+    assertThat(getMethod("getProperty").getKind())
+        .isEqualTo(Kind.RESOURCE_PROPERTY);
+
+    assertThat(getMethod("getSections").getKind())
+        .isEqualTo(Kind.RELATED_RESOURCE);
+
+    assertThat(getMethod("getNotAnnotated").getKind())
+        .isEqualTo(Kind.UNSUPPORTED);
+  }
+
+  @Test
+  void getMethod_should_provide_emission_type_and_multi_value_flag() throws NoSuchMethodException {
+
+    HalApiMethodMetadata sections = getMethod("getSections");
+
+    assertThat(sections.getEmissionType())
+        .isEqualTo(LinkableTestResource.class);
+
+    assertThat(sections.isMultiValue())
+        .isTrue();
+
+    assertThat(getMethod("getNotAnnotated").getEmissionType())
+        .isEqualTo(String.class);
+  }
+
+  @Test
+  void getMethod_should_provide_template_variables() throws NoSuchMethodException {
+
+    assertThat(getMethod("getItem", String.class).getTemplateVariables())
+        .extracting(TemplateVariableDetection.TemplateVariableAccessor::getName)
+        .containsExactly("id");
+  }
+
+  @Test
+  void getEmissionType_should_only_fail_for_method_with_unsupported_return_type() throws NoSuchMethodException {
+
+    HalApiMethodMetadata unsupported = getMethod("getUnsupported");
+
+    Throwable ex = catchThrowable(unsupported::getEmissionType);
+
+    assertThat(ex)
+        .isInstanceOf(HalApiDeveloperException.class)
+        .hasMessageStartingWith("The return type Future of method ResourceWithMetadata#getUnsupported is not supported.");
+  }
+}
@@ -20,6 +20,7 @@
 package io.wcm.caravan.rhyme.impl.reflection;
 
 import static io.wcm.caravan.rhyme.api.relations.StandardRelations.ITEM;
+import static io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.createAccessors;
 import static io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.findVariables;
 import static io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.getVariablesNameValueMap;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +38,7 @@ import io.wcm.caravan.rhyme.api.annotations.HalApiInterface;
 import io.wcm.caravan.rhyme.api.annotations.Related;
 import io.wcm.caravan.rhyme.api.annotations.TemplateVariable;
 import io.wcm.caravan.rhyme.api.annotations.TemplateVariables;
+import io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.TemplateVariableAccessor;
 import io.wcm.caravan.rhyme.impl.reflection.TemplateVariableDetection.TemplateVariableWithTypeInfo;
 import io.wcm.caravan.rhyme.testing.LinkableTestResource;
 
@@ -157,6 +159,20 @@ class TemplateVariableDetectionTest {
     assertThat(map.values()).containsOnlyNulls();
   }
 
+  @Test
+  void createAccessors_should_allow_to_extract_values_from_multiple_invocations() throws NoSuchMethodException {
+
+    List<TemplateVariableAccessor> accessors = createAccessors(getMethod("linkTemplate"));
+
+    DtoClass dtoClass = new DtoClass();
+    dtoClass.fromClass = 123;
+
+    Map<String, Object> first = getVariablesNameValueMap(accessors, new Object[] { "first", dtoClass, null });
+    Map<String, Object> second = getVariablesNameValueMap(accessors, new Object[] { "second", null, (DtoInterface)() -> false });
+
+    assertThat(first.values()).containsExactly("first", 123, null);
+    assertThat(second.values()).containsExactly("second", null, false);
+  }
 
   @HalApiInterface
   public interface ResourceWithMissingAnnotations {
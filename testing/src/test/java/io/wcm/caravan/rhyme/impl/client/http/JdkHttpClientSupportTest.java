@@ -0,0 +1,52 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.caravan.rhyme.impl.client.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.ConnectException;
+
+import org.junit.jupiter.api.Test;
+
+import io.wcm.caravan.rhyme.api.exceptions.HalApiClientException;
+import io.wcm.caravan.rhyme.api.spi.HalResourceLoader;
+import io.wcm.caravan.rhyme.testing.client.AbstractHalResourceLoaderTest;
+
+
+class JdkHttpClientSupportTest extends AbstractHalResourceLoaderTest {
+
+  @Override
+  protected HalResourceLoader createLoaderUnderTest() {
+
+    return HalResourceLoader.create(new JdkHttpClientSupport());
+  }
+
+  // the JDK's HttpClient doesn't expose an UnknownHostException for unresolvable host names
+
+  @Override
+  @Test
+  public void cause_should_be_present_in_HalApiClientException_for_for_network_errors() {
+
+    HalApiClientException ex = loadResourceAndExpectClientException(UNKNOWN_HOST_URL);
+
+    assertThat(ex)
+        .hasCauseInstanceOf(ConnectException.class);
+  }
+}